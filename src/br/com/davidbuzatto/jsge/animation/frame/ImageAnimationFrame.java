@@ -17,6 +17,7 @@
 package br.com.davidbuzatto.jsge.animation.frame;
 
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.engine.SpriteBatch;
 import br.com.davidbuzatto.jsge.image.Image;
 import java.awt.Color;
 
@@ -118,4 +119,45 @@ public class ImageAnimationFrame implements AnimationFrame {
         engine.drawImage( baseImage, x, y, originX, originY, rotation, bgColor );
     }
     
+    /**
+     * Adds the animation frame to a sprite batch.
+     *
+     * @param batch The sprite batch.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     */
+    public void draw( SpriteBatch batch, double x, double y ) {
+        batch.draw( baseImage, x, y );
+    }
+
+    /**
+     * Adds the animation frame to a sprite batch.
+     *
+     * @param batch The sprite batch.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param originX X coordinate of the rotation axis.
+     * @param originY Y coordinate of the rotation axis.
+     * @param rotation Rotation in degrees for drawing the image (clockwise).
+     */
+    public void draw( SpriteBatch batch, double x, double y, double originX, double originY, double rotation ) {
+        batch.draw( baseImage, x, y, originX, originY, rotation );
+    }
+
+    /**
+     * Adds the animation frame to a sprite batch.
+     *
+     * @param batch The sprite batch.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param originX X coordinate of the rotation and scale axis.
+     * @param originY Y coordinate of the rotation and scale axis.
+     * @param rotation Rotation in degrees for drawing the image (clockwise).
+     * @param scale Scale for drawing the image.
+     * @param tint Tint color or null for no tint.
+     */
+    public void draw( SpriteBatch batch, double x, double y, double originX, double originY, double rotation, double scale, Color tint ) {
+        batch.draw( baseImage, 0, 0, baseImage.getWidth(), baseImage.getHeight(), x, y, originX, originY, rotation, scale, scale, tint );
+    }
+    
 }
@@ -17,6 +17,7 @@
 package br.com.davidbuzatto.jsge.animation.frame;
 
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.engine.SpriteBatch;
 import br.com.davidbuzatto.jsge.geom.Rectangle;
 import br.com.davidbuzatto.jsge.image.Image;
 import java.awt.Color;
@@ -78,4 +79,19 @@ public class SpriteMapAnimationFrame extends ImageAnimationFrame {
         engine.drawImage( baseImage, source, x, y, originX, originY, rotation, bgColor );
     }
     
+    @Override
+    public void draw( SpriteBatch batch, double x, double y ) {
+        batch.draw( baseImage, source, x, y );
+    }
+    
+    @Override
+    public void draw( SpriteBatch batch, double x, double y, double originX, double originY, double rotation ) {
+        batch.draw( baseImage, source, x, y, originX, originY, rotation );
+    }
+    
+    @Override
+    public void draw( SpriteBatch batch, double x, double y, double originX, double originY, double rotation, double scale, Color tint ) {
+        batch.draw( baseImage, source, x, y, originX, originY, rotation, scale, tint );
+    }
+    
 }
@@ -0,0 +1,363 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.animation.tween;
+
+import br.com.davidbuzatto.jsge.animation.tween.easing.TweenEasing;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Manager of many simple tweens, each one interpolating a single value from
+ * a start to an end value during some time with an easing.
+ *
+ * The tweens are stored in parallel primitive arrays (start, end, duration,
+ * elapsed time, easing and current value) and all of them are updated in
+ * one loop per frame, with no boxing. Each tween is identified by a handle
+ * returned when it is added. The slots of finished or removed tweens are
+ * reused by the next tweens, so a handle becomes stale when its tween ends.
+ * The handles carry an 11 bit generation of their slot, so a stale handle
+ * is only confused with a newer tween if its slot is reused 2048 times
+ * while the handle is kept; handles must not be kept for longer than that.
+ *
+ * The current value of a tween can be read through its handle or delivered
+ * to a DoubleConsumer on every update. Existing components can be animated
+ * through their TweenAnimationComponentMapper.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TweenManager {
+
+    private static final byte FREE = 0;
+    private static final byte RUNNING = 1;
+    private static final byte PAUSED = 2;
+
+    // a handle is the slot in the lower bits and its generation in the upper ones
+    private static final int SLOT_BITS = 20;
+    private static final int SLOT_MASK = ( 1 << SLOT_BITS ) - 1;
+    private static final int GENERATION_MASK = ( 1 << ( 31 - SLOT_BITS ) ) - 1;
+
+    private double[] starts;
+    private double[] ends;
+    private double[] durations;
+    private double[] elapsedTimes;
+    private double[] values;
+    private int[] easings;
+    private byte[] states;
+    private int[] generations;
+    private DoubleConsumer[] targets;
+
+    private int slotCount;
+    private int[] freeSlots;
+    private int freeCount;
+    private int activeCount;
+
+    /**
+     * Constructs an empty manager.
+     */
+    public TweenManager() {
+        this( 64 );
+    }
+
+    /**
+     * Constructs an empty manager.
+     *
+     * @param initialCapacity The initial number of tweens.
+     */
+    public TweenManager( int initialCapacity ) {
+        int capacity = Math.max( 1, initialCapacity );
+        starts = new double[capacity];
+        ends = new double[capacity];
+        durations = new double[capacity];
+        elapsedTimes = new double[capacity];
+        values = new double[capacity];
+        easings = new int[capacity];
+        states = new byte[capacity];
+        generations = new int[capacity];
+        targets = new DoubleConsumer[capacity];
+        freeSlots = new int[capacity];
+    }
+
+    /**
+     * Adds a tween whose value is read through its handle.
+     *
+     * @param start The start value.
+     * @param end The end value.
+     * @param duration The duration, in seconds.
+     * @param easing The easing.
+     * @return The handle of the tween.
+     */
+    public int add( double start, double end, double duration, TweenEasing easing ) {
+        return add( start, end, duration, easing, null );
+    }
+
+    /**
+     * Adds a tween.
+     *
+     * @param start The start value.
+     * @param end The end value.
+     * @param duration The duration, in seconds.
+     * @param easing The easing.
+     * @param target Receives the value of the tween on every update, or null.
+     * @return The handle of the tween.
+     */
+    public int add( double start, double end, double duration, TweenEasing easing, DoubleConsumer target ) {
+
+        if ( duration < 0 ) {
+            throw new IllegalArgumentException( "the duration must not be negative" );
+        }
+
+        int slot = allocateSlot();
+        starts[slot] = start;
+        ends[slot] = end;
+        durations[slot] = duration;
+        elapsedTimes[slot] = 0;
+        values[slot] = start;
+        easings[slot] = easing.ordinal();
+        states[slot] = RUNNING;
+        targets[slot] = target;
+        activeCount++;
+
+        return generations[slot] << SLOT_BITS | slot;
+
+    }
+
+    /**
+     * Adds a tween that animates a property of a component through its
+     * mapper, starting from the current value of the property. The mapper
+     * works with objects, so each update boxes the value once; the rest of
+     * the update is primitive.
+     *
+     * @param componentMapper The mapper of the component.
+     * @param property The property, whose value must be a Number.
+     * @param end The end value.
+     * @param duration The duration, in seconds.
+     * @param easing The easing.
+     * @return The handle of the tween.
+     */
+    public int add( TweenAnimationComponentMapper<?> componentMapper, String property, double end, double duration, TweenEasing easing ) {
+
+        if ( !( componentMapper.get( property ) instanceof Number start ) ) {
+            throw new IllegalArgumentException( "the property must have a numeric value" );
+        }
+
+        return add( start.doubleValue(), end, duration, easing, value -> componentMapper.set( property, value ) );
+
+    }
+
+    /**
+     * Advances all running tweens. Each finished tween receives its end
+     * value and frees its slot.
+     *
+     * @param delta Time variation, in seconds.
+     */
+    public void update( double delta ) {
+
+        int count = slotCount;
+
+        for ( int i = 0; i < count; i++ ) {
+
+            if ( states[i] != RUNNING ) {
+                continue;
+            }
+
+            double elapsedTime = elapsedTimes[i] + delta;
+            double duration = durations[i];
+            boolean finished = elapsedTime >= duration;
+            double value;
+
+            if ( finished ) {
+                value = ends[i];
+            } else {
+                double start = starts[i];
+                value = start + ( ends[i] - start ) * TweenEasing.fromOrdinal( easings[i] ).apply( elapsedTime / duration );
+            }
+
+            elapsedTimes[i] = elapsedTime;
+            values[i] = value;
+
+            DoubleConsumer target = targets[i];
+            if ( target != null ) {
+                int generation = generations[i];
+                target.accept( value );
+                // the target may have removed the tween or reused its slot
+                if ( states[i] == FREE || generations[i] != generation ) {
+                    continue;
+                }
+            }
+
+            if ( finished ) {
+                freeSlot( i );
+            }
+
+        }
+
+    }
+
+    /**
+     * Checks whether a tween is still active, running or paused.
+     *
+     * @param handle The handle of the tween.
+     * @return True if the tween has not finished nor was removed, false
+     * otherwise.
+     */
+    public boolean isActive( int handle ) {
+        return slotOf( handle ) >= 0;
+    }
+
+    /**
+     * Gets the current value of an active tween.
+     *
+     * @param handle The handle of the tween.
+     * @return The current value.
+     */
+    public double getValue( int handle ) {
+        return values[checkSlot( handle )];
+    }
+
+    /**
+     * Gets the execution percentage of an active tween.
+     *
+     * @param handle The handle of the tween.
+     * @return The execution percentage, from 0 to 1.
+     */
+    public double getPercentage( int handle ) {
+        int slot = checkSlot( handle );
+        return durations[slot] > 0 ? Math.min( 1, elapsedTimes[slot] / durations[slot] ) : 1;
+    }
+
+    /**
+     * Pauses an active tween.
+     *
+     * @param handle The handle of the tween.
+     */
+    public void pause( int handle ) {
+        states[checkSlot( handle )] = PAUSED;
+    }
+
+    /**
+     * Resumes a paused tween.
+     *
+     * @param handle The handle of the tween.
+     */
+    public void resume( int handle ) {
+        states[checkSlot( handle )] = RUNNING;
+    }
+
+    /**
+     * Removes a tween, leaving its last value. Stale handles are ignored.
+     *
+     * @param handle The handle of the tween.
+     */
+    public void remove( int handle ) {
+        int slot = slotOf( handle );
+        if ( slot >= 0 ) {
+            freeSlot( slot );
+        }
+    }
+
+    /**
+     * Removes all tweens.
+     */
+    public void clear() {
+        for ( int i = 0; i < slotCount; i++ ) {
+            if ( states[i] != FREE ) {
+                freeSlot( i );
+            }
+        }
+    }
+
+    /**
+     * Gets the number of active tweens.
+     *
+     * @return The number of tweens running or paused.
+     */
+    public int size() {
+        return activeCount;
+    }
+
+    /**
+     * Checks whether there are no active tweens.
+     *
+     * @return True if there are no tweens running or paused, false otherwise.
+     */
+    public boolean isEmpty() {
+        return activeCount == 0;
+    }
+
+    private int allocateSlot() {
+
+        if ( freeCount > 0 ) {
+            return freeSlots[--freeCount];
+        }
+
+        if ( slotCount == starts.length ) {
+            if ( slotCount > SLOT_MASK ) {
+                throw new IllegalStateException( "too many tweens" );
+            }
+            int capacity = Math.min( slotCount * 2, SLOT_MASK + 1 );
+            starts = Arrays.copyOf( starts, capacity );
+            ends = Arrays.copyOf( ends, capacity );
+            durations = Arrays.copyOf( durations, capacity );
+            elapsedTimes = Arrays.copyOf( elapsedTimes, capacity );
+            values = Arrays.copyOf( values, capacity );
+            easings = Arrays.copyOf( easings, capacity );
+            states = Arrays.copyOf( states, capacity );
+            generations = Arrays.copyOf( generations, capacity );
+            targets = Arrays.copyOf( targets, capacity );
+            freeSlots = Arrays.copyOf( freeSlots, capacity );
+        }
+
+        return slotCount++;
+
+    }
+
+    /*
+     * Advancing the generation makes the handles of the slot stale.
+     */
+    private void freeSlot( int slot ) {
+        if ( states[slot] == FREE ) {
+            return;
+        }
+        states[slot] = FREE;
+        targets[slot] = null;
+        generations[slot] = ( generations[slot] + 1 ) & GENERATION_MASK;
+        freeSlots[freeCount++] = slot;
+        activeCount--;
+    }
+
+    private int slotOf( int handle ) {
+        int slot = handle & SLOT_MASK;
+        if ( handle < 0 || slot >= slotCount || states[slot] == FREE || generations[slot] != handle >>> SLOT_BITS ) {
+            return -1;
+        }
+        return slot;
+    }
+
+    private int checkSlot( int handle ) {
+        int slot = slotOf( handle );
+        if ( slot < 0 ) {
+            throw new IllegalArgumentException( "the tween is not active" );
+        }
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "TweenManager[%d active, %d slots]", activeCount, slotCount );
+    }
+
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.animation.tween.easing;
+
+import java.util.function.DoubleFunction;
+
+/**
+ * The easing functions of TweenAnimationEasingFunctions as constants that
+ * work on primitive doubles, used by TweenManager. The results are the same
+ * of the corresponding functions, without boxing the argument or the
+ * result.
+ * Reference: https://easings.net/
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public enum TweenEasing {
+
+    /**
+     * Linear interpolation, without easing.
+     */
+    LINEAR( null ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInSine.
+     */
+    IN_SINE( TweenAnimationEasingFunctions.easeInSine ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutSine.
+     */
+    OUT_SINE( TweenAnimationEasingFunctions.easeOutSine ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutSine.
+     */
+    IN_OUT_SINE( TweenAnimationEasingFunctions.easeInOutSine ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInQuad.
+     */
+    IN_QUAD( TweenAnimationEasingFunctions.easeInQuad ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutQuad.
+     */
+    OUT_QUAD( TweenAnimationEasingFunctions.easeOutQuad ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutQuad.
+     */
+    IN_OUT_QUAD( TweenAnimationEasingFunctions.easeInOutQuad ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInCubic.
+     */
+    IN_CUBIC( TweenAnimationEasingFunctions.easeInCubic ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutCubic.
+     */
+    OUT_CUBIC( TweenAnimationEasingFunctions.easeOutCubic ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutCubic.
+     */
+    IN_OUT_CUBIC( TweenAnimationEasingFunctions.easeInOutCubic ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInQuart.
+     */
+    IN_QUART( TweenAnimationEasingFunctions.easeInQuart ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutQuart.
+     */
+    OUT_QUART( TweenAnimationEasingFunctions.easeOutQuart ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutQuart.
+     */
+    IN_OUT_QUART( TweenAnimationEasingFunctions.easeInOutQuart ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInQuint.
+     */
+    IN_QUINT( TweenAnimationEasingFunctions.easeInQuint ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutQuint.
+     */
+    OUT_QUINT( TweenAnimationEasingFunctions.easeOutQuint ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutQuint.
+     */
+    IN_OUT_QUINT( TweenAnimationEasingFunctions.easeInOutQuint ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInExpo.
+     */
+    IN_EXPO( TweenAnimationEasingFunctions.easeInExpo ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutExpo.
+     */
+    OUT_EXPO( TweenAnimationEasingFunctions.easeOutExpo ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutExpo.
+     */
+    IN_OUT_EXPO( TweenAnimationEasingFunctions.easeInOutExpo ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInCirc.
+     */
+    IN_CIRC( TweenAnimationEasingFunctions.easeInCirc ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutCirc.
+     */
+    OUT_CIRC( TweenAnimationEasingFunctions.easeOutCirc ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutCirc.
+     */
+    IN_OUT_CIRC( TweenAnimationEasingFunctions.easeInOutCirc ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInBack.
+     */
+    IN_BACK( TweenAnimationEasingFunctions.easeInBack ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutBack.
+     */
+    OUT_BACK( TweenAnimationEasingFunctions.easeOutBack ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutBack.
+     */
+    IN_OUT_BACK( TweenAnimationEasingFunctions.easeInOutBack ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInElastic.
+     */
+    IN_ELASTIC( TweenAnimationEasingFunctions.easeInElastic ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutElastic.
+     */
+    OUT_ELASTIC( TweenAnimationEasingFunctions.easeOutElastic ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutElastic.
+     */
+    IN_OUT_ELASTIC( TweenAnimationEasingFunctions.easeInOutElastic ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInBounce.
+     */
+    IN_BOUNCE( TweenAnimationEasingFunctions.easeInBounce ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeOutBounce.
+     */
+    OUT_BOUNCE( TweenAnimationEasingFunctions.easeOutBounce ),
+
+    /**
+     * Same as TweenAnimationEasingFunctions.easeInOutBounce.
+     */
+    IN_OUT_BOUNCE( TweenAnimationEasingFunctions.easeInOutBounce );
+
+    private static final TweenEasing[] VALUES = values();
+
+    private final DoubleFunction<Double> function;
+
+    private TweenEasing( DoubleFunction<Double> function ) {
+        this.function = function;
+    }
+
+    /**
+     * Applies the easing function.
+     *
+     * @param x The percentage, from 0 to 1.
+     * @return The eased percentage.
+     */
+    public double apply( double x ) {
+
+        return switch ( this ) {
+            case LINEAR -> x;
+            case IN_SINE -> 1 - Math.cos( ( x * Math.PI ) / 2 );
+            case OUT_SINE -> Math.sin( ( x * Math.PI ) / 2 );
+            case IN_OUT_SINE -> -( Math.cos( Math.PI * x ) - 1 ) / 2;
+            case IN_QUAD -> x * x;
+            case OUT_QUAD -> 1 - ( 1 - x ) * ( 1 - x );
+            case IN_OUT_QUAD -> x < 0.5 ? 2 * x * x : 1 - Math.pow( -2 * x + 2, 2 ) / 2;
+            case IN_CUBIC -> x * x * x;
+            case OUT_CUBIC -> 1 - Math.pow( 1 - x, 3 );
+            case IN_OUT_CUBIC -> x < 0.5 ? 4 * x * x * x : 1 - Math.pow( -2 * x + 2, 3 ) / 2;
+            case IN_QUART -> x * x * x * x;
+            case OUT_QUART -> 1 - Math.pow( 1 - x, 4 );
+            case IN_OUT_QUART -> x < 0.5 ? 8 * x * x * x * x : 1 - Math.pow( -2 * x + 2, 4 ) / 2;
+            case IN_QUINT -> x * x * x * x * x;
+            case OUT_QUINT -> 1 - Math.pow( 1 - x, 5 );
+            case IN_OUT_QUINT -> x < 0.5 ? 16 * x * x * x * x * x : 1 - Math.pow( -2 * x + 2, 5 ) / 2;
+            case IN_EXPO -> x == 0 ? 0 : Math.pow( 2, 10 * x - 10 );
+            case OUT_EXPO -> x == 1 ? 1 : 1 - Math.pow( 2, -10 * x );
+            case IN_OUT_EXPO -> x == 0 ? 0 : x == 1 ? 1 : x < 0.5 ? Math.pow( 2, 20 * x - 10 ) / 2 : ( 2 - Math.pow( 2, -20 * x + 10 ) ) / 2;
+            case IN_CIRC -> 1 - Math.sqrt( 1 - Math.pow( x, 2 ) );
+            case OUT_CIRC -> Math.sqrt( 1 - Math.pow( x - 1, 2 ) );
+            case IN_OUT_CIRC -> x < 0.5 ? ( 1 - Math.sqrt( 1 - Math.pow( 2 * x, 2 ) ) ) / 2 : ( Math.sqrt( 1 - Math.pow( -2 * x + 2, 2 ) ) + 1 ) / 2;
+            case IN_BACK -> ( 1.70158 + 1 ) * x * x * x - 1.70158 * x * x;
+            case OUT_BACK -> 1 + ( 1.70158 + 1 ) * Math.pow( x - 1, 3 ) + 1.70158 * Math.pow( x - 1, 2 );
+            case IN_OUT_BACK -> inOutBack( x );
+            case IN_ELASTIC -> x == 0 ? 0 : x == 1 ? 1 : -Math.pow( 2, 10 * x - 10 ) * Math.sin( ( x * 10 - 10.75 ) * ( ( 2 * Math.PI ) / 3 ) );
+            case OUT_ELASTIC -> x == 0 ? 0 : x == 1 ? 1 : Math.pow( 2, -10 * x ) * Math.sin( ( x * 10 - 0.75 ) * ( ( 2 * Math.PI ) / 3 ) ) + 1;
+            case IN_OUT_ELASTIC -> inOutElastic( x );
+            case IN_BOUNCE -> 1 - outBounce( 1 - x );
+            case OUT_BOUNCE -> outBounce( x );
+            case IN_OUT_BOUNCE -> x < 0.5 ? ( 1 - outBounce( 1 - 2 * x ) ) / 2 : ( 1 + outBounce( 2 * x - 1 ) ) / 2;
+        };
+
+    }
+
+    /**
+     * Gets the easing of an ordinal, as stored by TweenManager.
+     *
+     * @param ordinal The ordinal.
+     * @return The easing.
+     */
+    public static TweenEasing fromOrdinal( int ordinal ) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Gets the constant of one of the functions of
+     * TweenAnimationEasingFunctions, for migrating existing animations.
+     *
+     * @param function One of the functions of TweenAnimationEasingFunctions.
+     * @return The corresponding constant.
+     * @throws IllegalArgumentException If the function is not one of them.
+     */
+    public static TweenEasing fromFunction( DoubleFunction<Double> function ) {
+        for ( TweenEasing easing : VALUES ) {
+            if ( easing.function == function ) {
+                return easing;
+            }
+        }
+        throw new IllegalArgumentException( "the function is not one of TweenAnimationEasingFunctions" );
+    }
+
+    private static double inOutBack( double x ) {
+        double c2 = 1.70158 * 1.525;
+        return x < 0.5
+            ? ( Math.pow( 2 * x, 2 ) * ( ( c2 + 1 ) * 2 * x - c2 ) ) / 2
+            : ( Math.pow( 2 * x - 2, 2 ) * ( ( c2 + 1 ) * ( x * 2 - 2 ) + c2 ) + 2 ) / 2;
+    }
+
+    private static double inOutElastic( double x ) {
+        double c5 = ( 2 * Math.PI ) / 4.5;
+        return x == 0
+            ? 0
+            : x == 1
+                ? 1
+                : x < 0.5
+                    ? -( Math.pow( 2, 20 * x - 10 ) * Math.sin( ( 20 * x - 11.125 ) * c5 ) ) / 2
+                    : ( Math.pow( 2, -20 * x + 10 ) * Math.sin( ( 20 * x - 11.125 ) * c5 ) ) / 2 + 1;
+    }
+
+    private static double outBounce( double x ) {
+        double n1 = 7.5625;
+        double d1 = 2.75;
+        if ( x < 1 / d1 ) {
+            return n1 * x * x;
+        } else if ( x < 2 / d1 ) {
+            return n1 * ( x -= 1.5 / d1 ) * x + 0.75;
+        } else if ( x < 2.5 / d1 ) {
+            return n1 * ( x -= 2.25 / d1 ) * x + 0.9375;
+        } else {
+            return n1 * ( x -= 2.625 / d1 ) * x + 0.984375;
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Executes the batch collision checks of CollisionUtils in parallel,
+ * splitting the candidate pairs into chunks that are processed by the
+ * tasks of a ForkJoinPool.
+ *
+ * Each chunk covers a multiple of 64 pairs, so each word of the result
+ * bitset is written by a single task. Batches with less pairs than the
+ * parallelism threshold are processed sequentially in the calling thread.
+ *
+ * Note: All configuration methods act globally!
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class CollisionBatchExecutor {
+
+    /**
+     * Default parallelism threshold, in pairs.
+     */
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 8192;
+
+    /**
+     * Number of pairs of each chunk. Must be a multiple of 64.
+     */
+    private static final int CHUNK_PAIRS = 2048;
+
+    private static volatile int parallelismThreshold = DEFAULT_PARALLELISM_THRESHOLD;
+    private static volatile ForkJoinPool pool;
+
+    /**
+     * Checks a chunk of pairs.
+     */
+    interface ChunkTask {
+
+        /**
+         * Checks the pairs from fromPair (inclusive) to toPair (exclusive),
+         * writing the whole result words that cover them.
+         *
+         * @return The number of colliding pairs.
+         */
+        int process( int fromPair, int toPair );
+
+    }
+
+    private CollisionBatchExecutor() {
+    }
+
+    /**
+     * Sets the minimum number of pairs of a batch for it to be checked in
+     * parallel.
+     *
+     * @param pairs The threshold, in pairs. Use Integer.MAX_VALUE to
+     * always check sequentially.
+     */
+    public static void setParallelismThreshold( int pairs ) {
+        parallelismThreshold = Math.max( 1, pairs );
+    }
+
+    /**
+     * Gets the minimum number of pairs of a batch for it to be checked in
+     * parallel.
+     *
+     * @return The threshold, in pairs.
+     */
+    public static int getParallelismThreshold() {
+        return parallelismThreshold;
+    }
+
+    /**
+     * Sets the pool used to check the batches in parallel.
+     *
+     * @param pool The pool or null to use the common pool.
+     */
+    public static void setPool( ForkJoinPool pool ) {
+        CollisionBatchExecutor.pool = pool;
+    }
+
+    /**
+     * Checks all pairs of a batch, in parallel if it is large enough.
+     *
+     * @param pairCount The number of pairs.
+     * @param task The task that checks each chunk of pairs.
+     * @return The number of colliding pairs.
+     */
+    static int forEachChunk( int pairCount, ChunkTask task ) {
+
+        if ( pairCount <= 0 ) {
+            return 0;
+        }
+
+        ForkJoinPool p = pool == null ? ForkJoinPool.commonPool() : pool;
+
+        if ( pairCount < parallelismThreshold || p.getParallelism() == 1 ) {
+            return task.process( 0, pairCount );
+        }
+
+        return p.invoke( new ChunkAction( task, 0, pairCount ) );
+
+    }
+
+    /**
+     * Recursively splits the pairs in halves, on word boundaries, until
+     * they fit in a chunk.
+     */
+    @SuppressWarnings( "serial" )
+    private static class ChunkAction extends RecursiveTask<Integer> {
+
+        private final ChunkTask task;
+        private final int fromPair;
+        private final int toPair;
+
+        ChunkAction( ChunkTask task, int fromPair, int toPair ) {
+            this.task = task;
+            this.fromPair = fromPair;
+            this.toPair = toPair;
+        }
+
+        @Override
+        protected Integer compute() {
+
+            if ( toPair - fromPair <= CHUNK_PAIRS ) {
+                return task.process( fromPair, toPair );
+            }
+
+            int middle = ( ( fromPair + toPair ) >>> 1 ) & ~63;
+            ChunkAction right = new ChunkAction( task, middle, toPair );
+            right.fork();
+
+            int count = new ChunkAction( task, fromPair, middle ).compute();
+            return count + right.join();
+
+        }
+
+    }
+
+}
@@ -91,15 +91,7 @@ public interface CollisionUtils {
      * @return True if the circles have collided, false otherwise.
      */
     public static boolean checkCollisionCircles( Vector2 center1, double radius1, Vector2 center2, double radius2 ) {
-        
-        double dx = center2.x - center1.x;
-        double dy = center2.y - center1.y;
-    
-        double distanceSquared = dx * dx + dy * dy;
-        double radiusSum = radius1 + radius2;
-    
-        return distanceSquared <= radiusSum * radiusSum;
-
+        return circles( center1.x, center1.y, radius1, center2.x, center2.y, radius2 );
     }
 
     /**
@@ -110,10 +102,7 @@ public interface CollisionUtils {
      * @return True if the circles have collided, false otherwise.
      */
     public static boolean checkCollisionCircles( Circle circle1, Circle circle2 ) {
-        return checkCollisionCircles( 
-            new Vector2( circle1.x, circle1.y ), circle1.radius,
-            new Vector2( circle2.x, circle2.y ), circle2.radius
-        );
+        return circles( circle1.x, circle1.y, circle1.radius, circle2.x, circle2.y, circle2.radius );
     }
     
     /**
@@ -190,32 +179,10 @@ public interface CollisionUtils {
      * @return True if the circle has collided with the rectangle, false otherwise.
      */
     public static boolean checkCollisionCircleRectangle( Vector2 center, double radius, Rectangle rec ) {
-
-        double recCenterX = rec.x + rec.width / 2.0;
-        double recCenterY = rec.y + rec.height / 2.0;
-
-        double dx = Math.abs( center.x - recCenterX );
-        double dy = Math.abs( center.y - recCenterY );
-
-        if ( dx > ( rec.width / 2.0 + radius ) ) {
-            return false;
-        }
-        if ( dy > ( rec.height / 2.0 + radius ) ) { 
-            return false;
-        }
-
-        if ( dx <= ( rec.width / 2.0 ) ) { 
-            return true;
-        }
-        if ( dy <= ( rec.height / 2.0 ) ) { 
-            return true;
-        }
-
-        double cornerDistanceSq = ( dx - rec.width / 2.0 ) * ( dx - rec.width / 2.0 ) +
-                                  ( dy - rec.height / 2.0 ) * ( dy - rec.height / 2.0 );
-
-        return cornerDistanceSq <= ( radius * radius );
-
+        return circleBox(
+            center.x, center.y, radius,
+            rec.x + rec.width / 2.0, rec.y + rec.height / 2.0, rec.width / 2.0, rec.height / 2.0
+        );
     }
 
     /**
@@ -226,7 +193,10 @@ public interface CollisionUtils {
      * @return True if the circle has collided with the rectangle, false otherwise.
      */
     public static boolean checkCollisionCircleRectangle( Circle circle, Rectangle rec ) {
-        return checkCollisionCircleRectangle( new Vector2( circle.x, circle.y ), circle.radius, rec );
+        return circleBox(
+            circle.x, circle.y, circle.radius,
+            rec.x + rec.width / 2.0, rec.y + rec.height / 2.0, rec.width / 2.0, rec.height / 2.0
+        );
     }
     
     /**
@@ -239,32 +209,10 @@ public interface CollisionUtils {
      * @return True if the circle has collided with the AABB, false otherwise.
      */
     public static boolean checkCollisionCircleAABB( Vector2 center, double radius, AABB aabb ) {
-
-        double recCenterX = aabb.x1 + aabb.width / 2.0;
-        double recCenterY = aabb.y1 + aabb.height / 2.0;
-
-        double dx = Math.abs( center.x - recCenterX );
-        double dy = Math.abs( center.y - recCenterY );
-
-        if ( dx > ( aabb.width / 2.0 + radius ) ) {
-            return false;
-        }
-        if ( dy > ( aabb.height / 2.0 + radius ) ) { 
-            return false;
-        }
-
-        if ( dx <= ( aabb.width / 2.0 ) ) { 
-            return true;
-        }
-        if ( dy <= ( aabb.height / 2.0 ) ) { 
-            return true;
-        }
-
-        double cornerDistanceSq = ( dx - aabb.width / 2.0 ) * ( dx - aabb.width / 2.0 ) +
-                                  ( dy - aabb.height / 2.0 ) * ( dy - aabb.height / 2.0 );
-
-        return cornerDistanceSq <= ( radius * radius );
-
+        return circleBox(
+            center.x, center.y, radius,
+            aabb.x1 + aabb.width / 2.0, aabb.y1 + aabb.height / 2.0, aabb.width / 2.0, aabb.height / 2.0
+        );
     }
 
     /**
@@ -275,7 +223,10 @@ public interface CollisionUtils {
      * @return True if the circle has collided with the AABB, false otherwise.
      */
     public static boolean checkCollisionCircleAABB( Circle circle, AABB aabb ) {
-        return checkCollisionCircleAABB( new Vector2( circle.x, circle.y ), circle.radius, aabb );
+        return circleBox(
+            circle.x, circle.y, circle.radius,
+            aabb.x1 + aabb.width / 2.0, aabb.y1 + aabb.height / 2.0, aabb.width / 2.0, aabb.height / 2.0
+        );
     }
 
     /**
@@ -399,17 +350,7 @@ public interface CollisionUtils {
      * @return True if the point has collided with the triangle, false otherwise.
      */
     public static boolean checkCollisionPointTriangle( Vector2 point, Vector2 p1, Vector2 p2, Vector2 p3 ) {
-
-        double alpha = ((p2.y - p3.y)*(point.x - p3.x) + (p3.x - p2.x)*(point.y - p3.y)) /
-                       ((p2.y - p3.y)*(p1.x - p3.x) + (p3.x - p2.x)*(p1.y - p3.y));
-
-        double beta = ((p3.y - p1.y)*(point.x - p3.x) + (p1.x - p3.x)*(point.y - p3.y)) /
-                      ((p2.y - p3.y)*(p1.x - p3.x) + (p3.x - p2.x)*(p1.y - p3.y));
-
-        double gamma = 1.0 - alpha - beta;
-
-        return (alpha > 0 ) && ( beta > 0 ) && ( gamma > 0 );
-
+        return pointTriangle( point.x, point.y, p1.x, p1.y, p2.x, p2.y, p3.x, p3.y );
     }
 
     /**
@@ -420,12 +361,7 @@ public interface CollisionUtils {
      * @return True if the point has collided with the triangle, false otherwise.
      */
     public static boolean checkCollisionPointTriangle( Vector2 point, Triangle triangle ) {
-        return checkCollisionPointTriangle(
-            point,
-            new Vector2( triangle.x1, triangle.y1 ),
-            new Vector2( triangle.x2, triangle.y2 ),
-            new Vector2( triangle.x3, triangle.y3 )
-        );
+        return pointTriangle( point.x, point.y, triangle.x1, triangle.y1, triangle.x2, triangle.y2, triangle.x3, triangle.y3 );
     }
 
     /**
@@ -437,7 +373,7 @@ public interface CollisionUtils {
      * @return True if the point has collided with the triangle, false otherwise.
      */
     public static boolean checkCollisionPointTriangle( double x, double y, Triangle triangle ) {
-        return checkCollisionPointTriangle( new Vector2( x, y ), triangle );
+        return pointTriangle( x, y, triangle.x1, triangle.y1, triangle.x2, triangle.y2, triangle.x3, triangle.y3 );
     }
 
     /**
@@ -455,7 +391,7 @@ public interface CollisionUtils {
      * @return True if the point has collided with the triangle, false otherwise.
      */
     public static boolean checkCollisionPointTriangle( double x, double y, double p1x, double p1y, double p2x, double p2y, double p3x, double p3y ) {
-        return checkCollisionPointTriangle( new Vector2( x, y ), new Vector2( p1x, p1y ), new Vector2( p2x, p2y ), new Vector2( p3x, p3y ) );
+        return pointTriangle( x, y, p1x, p1y, p2x, p2y, p3x, p3y );
     }
 
     /**
@@ -466,32 +402,7 @@ public interface CollisionUtils {
      * @return True if the point has collided with the polygon, false otherwise.
      */
     public static boolean checkCollisionPointPolygon( Vector2 point, Polygon polygon ) {
-
-        boolean inside = false;
-
-        if ( polygon.sides > 2 ) {
-
-            Vector2[] points = new Vector2[polygon.sides];
-            double angle = 360.0 / polygon.sides;
-
-            for ( int i = 0; i < polygon.sides; i++ ) {
-                points[i] = new Vector2(
-                    polygon.x + Math.cos( Math.toRadians( polygon.rotation + angle * i ) ) * polygon.radius,
-                    polygon.y + Math.sin( Math.toRadians( polygon.rotation + angle * i ) ) * polygon.radius
-                );
-            }
-
-            for ( int i = 0, j = polygon.sides - 1; i < polygon.sides; j = i++ ) {
-                if ( ( points[i].y > point.y ) != ( points[j].y > point.y ) &&
-                     ( point.x < ( points[j].x - points[i].x ) * ( point.y - points[i].y ) / ( points[j].y - points[i].y ) + points[i].x ) ) {
-                    inside = !inside;
-                }
-            }
-
-        }
-
-        return inside;
-
+        return pointPolygon( point.x, point.y, polygon );
     }
 
     /**
@@ -503,7 +414,7 @@ public interface CollisionUtils {
      * @return True if the point has collided with the polygon, false otherwise.
      */
     public static boolean checkCollisionPointPolygon( double x, double y, Polygon polygon ) {
-        return checkCollisionPointPolygon( new Vector2( x, y ), polygon );
+        return pointPolygon( x, y, polygon );
     }
 
     /**
@@ -726,4 +637,589 @@ public interface CollisionUtils {
 
     }
 
+    /**
+     * Casts a ray, defined by a start point and a displacement, against an
+     * AABB, using the slab test. A ray that starts inside the AABB hits it at
+     * time 0, with a zero normal.
+     *
+     * @param x X coordinate of the start of the ray.
+     * @param y Y coordinate of the start of the ray.
+     * @param deltaX Displacement along x from the start to the end of the ray.
+     * @param deltaY Displacement along y from the start to the end of the ray.
+     * @param aabb The AABB.
+     * @param result The result, with the time of impact as a fraction of the
+     * displacement and the normal of the hit face.
+     * @return True if the ray hits the AABB, false otherwise.
+     */
+    public static boolean raycastAABB( double x, double y, double deltaX, double deltaY, AABB aabb, SweepResult result ) {
+        return raycastBox( x, y, deltaX, deltaY, aabb.x1, aabb.y1, aabb.x2, aabb.y2, false, result );
+    }
+
+    /**
+     * Sweeps a moving AABB against a static AABB, so a fast AABB does not
+     * tunnel through a thin one. To sweep two moving AABBs, use the
+     * displacement of the first minus the displacement of the second.
+     *
+     * AABBs that only touch do not collide, as in checkCollisionAABBs. If
+     * they already overlap, the time of impact is 0 and the normal points
+     * along the axis of least penetration.
+     *
+     * @param aabb The moving AABB, at the start of its movement.
+     * @param deltaX Displacement of the moving AABB along x.
+     * @param deltaY Displacement of the moving AABB along y.
+     * @param target The static AABB.
+     * @param result The result, with the time of impact as a fraction of the
+     * displacement and the normal of the hit face of the target.
+     * @return True if the AABBs collide during the movement, false otherwise.
+     */
+    public static boolean sweepAABBs( AABB aabb, double deltaX, double deltaY, AABB target, SweepResult result ) {
+
+        // the moving AABB shrinks to its upper-left vertex and the target
+        // grows by its size (Minkowski difference), so a ray test is enough
+        return raycastBox(
+            aabb.x1, aabb.y1, deltaX, deltaY,
+            target.x1 - aabb.width, target.y1 - aabb.height, target.x2, target.y2,
+            true, result
+        );
+
+    }
+
+    /**
+     * Sweeps a moving circle against a static AABB, so a fast circle does not
+     * tunnel through a thin AABB.
+     *
+     * If they already overlap, the time of impact is 0 and the normal points
+     * from the closest point of the AABB to the center of the circle.
+     *
+     * @param x X coordinate of the center of the circle, at the start of its
+     * movement.
+     * @param y Y coordinate of the center of the circle, at the start of its
+     * movement.
+     * @param radius Radius of the circle.
+     * @param deltaX Displacement of the circle along x.
+     * @param deltaY Displacement of the circle along y.
+     * @param aabb The static AABB.
+     * @param result The result, with the time of impact as a fraction of the
+     * displacement and the contact normal.
+     * @return True if the circle and the AABB collide during the movement,
+     * false otherwise.
+     */
+    public static boolean sweepCircleAABB( double x, double y, double radius, double deltaX, double deltaY, AABB aabb, SweepResult result ) {
+
+        double closestX = x < aabb.x1 ? aabb.x1 : x > aabb.x2 ? aabb.x2 : x;
+        double closestY = y < aabb.y1 ? aabb.y1 : y > aabb.y2 ? aabb.y2 : y;
+        double dx = x - closestX;
+        double dy = y - closestY;
+        double distanceSq = dx * dx + dy * dy;
+
+        // already overlapping
+        if ( distanceSq < radius * radius ) {
+            result.reset();
+            result.hit = true;
+            result.time = 0;
+            result.x = x;
+            result.y = y;
+            if ( distanceSq > 0 ) {
+                double distance = Math.sqrt( distanceSq );
+                result.normalX = dx / distance;
+                result.normalY = dy / distance;
+            } else {
+                setPenetrationNormal( x, y, aabb.x1, aabb.y1, aabb.x2, aabb.y2, result );
+            }
+            return true;
+        }
+
+        // the circle shrinks to its center and the AABB grows by the radius,
+        // with rounded corners
+        if ( !raycastBox( x, y, deltaX, deltaY,
+                aabb.x1 - radius, aabb.y1 - radius, aabb.x2 + radius, aabb.y2 + radius,
+                true, result ) ) {
+            return false;
+        }
+
+        boolean outsideX = result.x < aabb.x1 || result.x > aabb.x2;
+        boolean outsideY = result.y < aabb.y1 || result.y > aabb.y2;
+
+        if ( !outsideX || !outsideY ) {
+            return true;
+        }
+
+        // the ray entered by a corner of the grown AABB, where it is rounded
+        double cornerX = result.x < aabb.x1 ? aabb.x1 : aabb.x2;
+        double cornerY = result.y < aabb.y1 ? aabb.y1 : aabb.y2;
+        double fx = x - cornerX;
+        double fy = y - cornerY;
+        double a = deltaX * deltaX + deltaY * deltaY;
+        double b = fx * deltaX + fy * deltaY;
+        double c = fx * fx + fy * fy - radius * radius;
+        double discriminant = b * b - a * c;
+
+        if ( discriminant < 0 ) {
+            result.reset();
+            return false;
+        }
+
+        double t = ( -b - Math.sqrt( discriminant ) ) / a;
+
+        if ( t < 0 || t > 1 ) {
+            result.reset();
+            return false;
+        }
+
+        result.time = t;
+        result.x = x + deltaX * t;
+        result.y = y + deltaY * t;
+        result.normalX = ( result.x - cornerX ) / radius;
+        result.normalY = ( result.y - cornerY ) / radius;
+
+        return true;
+
+    }
+
+    /**
+     * Checks a batch of candidate pairs of circles, stored as structure of
+     * arrays. Large batches are checked in parallel by CollisionBatchExecutor.
+     *
+     * The result of pair i is the bit i % 64 of result[i / 64], as in
+     * java.util.BitSet.valueOf( result ).
+     *
+     * @param x The x coordinates of the centers of the circles.
+     * @param y The y coordinates of the centers of the circles.
+     * @param radius The radii of the circles.
+     * @param pairs The indexes of the circles of each pair, interleaved:
+     * the pair i is pairs[2*i] and pairs[2*i+1].
+     * @param pairCount The number of pairs.
+     * @param result The bitset that receives the results, with at least
+     * ( pairCount + 63 ) / 64 words.
+     * @return The number of colliding pairs.
+     */
+    public static int checkCollisionCirclesBatch(
+            double[] x, double[] y, double[] radius,
+            int[] pairs, int pairCount, long[] result ) {
+
+        checkBatchArguments( pairs, pairCount, result );
+
+        return CollisionBatchExecutor.forEachChunk( pairCount, ( fromPair, toPair ) -> {
+
+            int count = 0;
+
+            for ( int word = fromPair >> 6; word << 6 < toPair; word++ ) {
+
+                long bits = 0;
+                int end = Math.min( toPair, ( word + 1 ) << 6 );
+
+                for ( int i = word << 6; i < end; i++ ) {
+                    int a = pairs[i << 1];
+                    int b = pairs[( i << 1 ) + 1];
+                    if ( circles( x[a], y[a], radius[a], x[b], y[b], radius[b] ) ) {
+                        bits |= 1L << i;
+                        count++;
+                    }
+                }
+
+                result[word] = bits;
+
+            }
+
+            return count;
+
+        });
+
+    }
+
+    /**
+     * Checks a batch of candidate pairs of axis-aligned boxes, stored as
+     * structure of arrays with centers and half extents. As in
+     * checkCollisionRectangles, boxes that only touch do not collide.
+     * Large batches are checked in parallel by CollisionBatchExecutor.
+     *
+     * The result of pair i is the bit i % 64 of result[i / 64], as in
+     * java.util.BitSet.valueOf( result ).
+     *
+     * @param x The x coordinates of the centers of the boxes.
+     * @param y The y coordinates of the centers of the boxes.
+     * @param halfWidth The half widths of the boxes.
+     * @param halfHeight The half heights of the boxes.
+     * @param pairs The indexes of the boxes of each pair, interleaved:
+     * the pair i is pairs[2*i] and pairs[2*i+1].
+     * @param pairCount The number of pairs.
+     * @param result The bitset that receives the results, with at least
+     * ( pairCount + 63 ) / 64 words.
+     * @return The number of colliding pairs.
+     */
+    public static int checkCollisionBoxesBatch(
+            double[] x, double[] y, double[] halfWidth, double[] halfHeight,
+            int[] pairs, int pairCount, long[] result ) {
+
+        checkBatchArguments( pairs, pairCount, result );
+
+        return CollisionBatchExecutor.forEachChunk( pairCount, ( fromPair, toPair ) -> {
+
+            int count = 0;
+
+            for ( int word = fromPair >> 6; word << 6 < toPair; word++ ) {
+
+                long bits = 0;
+                int end = Math.min( toPair, ( word + 1 ) << 6 );
+
+                for ( int i = word << 6; i < end; i++ ) {
+                    int a = pairs[i << 1];
+                    int b = pairs[( i << 1 ) + 1];
+                    if ( Math.abs( x[a] - x[b] ) < halfWidth[a] + halfWidth[b] &&
+                         Math.abs( y[a] - y[b] ) < halfHeight[a] + halfHeight[b] ) {
+                        bits |= 1L << i;
+                        count++;
+                    }
+                }
+
+                result[word] = bits;
+
+            }
+
+            return count;
+
+        });
+
+    }
+
+    /**
+     * Checks a batch of candidate pairs of circles and axis-aligned boxes,
+     * stored as structure of arrays. The first index of each pair refers to
+     * a circle and the second to a box. Large batches are checked in
+     * parallel by CollisionBatchExecutor.
+     *
+     * The result of pair i is the bit i % 64 of result[i / 64], as in
+     * java.util.BitSet.valueOf( result ).
+     *
+     * @param circleX The x coordinates of the centers of the circles.
+     * @param circleY The y coordinates of the centers of the circles.
+     * @param radius The radii of the circles.
+     * @param boxX The x coordinates of the centers of the boxes.
+     * @param boxY The y coordinates of the centers of the boxes.
+     * @param halfWidth The half widths of the boxes.
+     * @param halfHeight The half heights of the boxes.
+     * @param pairs The indexes of the circle and of the box of each pair,
+     * interleaved: the pair i is pairs[2*i] and pairs[2*i+1].
+     * @param pairCount The number of pairs.
+     * @param result The bitset that receives the results, with at least
+     * ( pairCount + 63 ) / 64 words.
+     * @return The number of colliding pairs.
+     */
+    public static int checkCollisionCircleBoxesBatch(
+            double[] circleX, double[] circleY, double[] radius,
+            double[] boxX, double[] boxY, double[] halfWidth, double[] halfHeight,
+            int[] pairs, int pairCount, long[] result ) {
+
+        checkBatchArguments( pairs, pairCount, result );
+
+        return CollisionBatchExecutor.forEachChunk( pairCount, ( fromPair, toPair ) -> {
+
+            int count = 0;
+
+            for ( int word = fromPair >> 6; word << 6 < toPair; word++ ) {
+
+                long bits = 0;
+                int end = Math.min( toPair, ( word + 1 ) << 6 );
+
+                for ( int i = word << 6; i < end; i++ ) {
+                    int a = pairs[i << 1];
+                    int b = pairs[( i << 1 ) + 1];
+                    if ( circleBox( circleX[a], circleY[a], radius[a], boxX[b], boxY[b], halfWidth[b], halfHeight[b] ) ) {
+                        bits |= 1L << i;
+                        count++;
+                    }
+                }
+
+                result[word] = bits;
+
+            }
+
+            return count;
+
+        });
+
+    }
+
+    /**
+     * Checks the collision between two convex shapes. Works with rotated
+     * polygons, circles and capsules, using the separating axis theorem for
+     * polygons and GJK for rounded shapes.
+     *
+     * @param a The first shape.
+     * @param b The second shape.
+     * @return True if the shapes collide, false otherwise.
+     */
+    public static boolean checkCollisionConvexShapes( ConvexShape a, ConvexShape b ) {
+        return ConvexCollision.collide( a, b, null );
+    }
+
+    /**
+     * Checks the collision between two convex shapes and fills a contact
+     * manifold with the collision normal, pointing from the first shape to
+     * the second, and up to two contact points with their penetration
+     * depths. The manifold is reset when the shapes do not collide.
+     *
+     * @param a The first shape.
+     * @param b The second shape.
+     * @param manifold The manifold that receives the contact.
+     * @return True if the shapes collide, false otherwise.
+     */
+    public static boolean checkCollisionConvexShapes( ConvexShape a, ConvexShape b, ContactManifold manifold ) {
+        return ConvexCollision.collide( a, b, manifold );
+    }
+
+    /**
+     * Checks whether two convex shapes are closer than a margin and fills
+     * a contact manifold with the contact points closer than the margin.
+     * The points where the shapes are separated have negative depths.
+     * Physics engines use it to create contacts slightly before the shapes
+     * touch, so resting shapes do not lose and regain their contact points
+     * at each step.
+     *
+     * @param a The first shape.
+     * @param b The second shape.
+     * @param manifold The manifold that receives the contact.
+     * @param margin The margin.
+     * @return True if the shapes are closer than the margin, false
+     * otherwise.
+     */
+    public static boolean checkCollisionConvexShapes( ConvexShape a, ConvexShape b, ContactManifold manifold, double margin ) {
+        return ConvexCollision.collide( a, b, manifold, Math.max( 0, margin ) );
+    }
+
+    /**
+     * Checks the collision between a point and a convex shape.
+     *
+     * @param x X coordinate of the point.
+     * @param y Y coordinate of the point.
+     * @param shape The shape.
+     * @return True if the point is inside the shape, false otherwise.
+     */
+    public static boolean checkCollisionPointConvexShape( double x, double y, ConvexShape shape ) {
+        return ConvexCollision.containsPoint( shape, x, y );
+    }
+
+    /*
+     * Ray against a box with the slab test. When strict, a box that is only
+     * touched is not hit and a start inside the box gets the normal of the
+     * axis of least penetration.
+     */
+    private static boolean raycastBox( double ox, double oy, double dx, double dy,
+                                       double x1, double y1, double x2, double y2,
+                                       boolean strict, SweepResult result ) {
+
+        result.reset();
+
+        boolean inside = strict ?
+                ox > x1 && ox < x2 && oy > y1 && oy < y2 :
+                ox >= x1 && ox <= x2 && oy >= y1 && oy <= y2;
+
+        if ( inside ) {
+            result.hit = true;
+            result.time = 0;
+            result.x = ox;
+            result.y = oy;
+            if ( strict ) {
+                setPenetrationNormal( ox, oy, x1, y1, x2, y2, result );
+            }
+            return true;
+        }
+
+        double tEnter = Double.NEGATIVE_INFINITY;
+        double tExit = Double.POSITIVE_INFINITY;
+        double nx = 0;
+        double ny = 0;
+
+        if ( dx == 0 ) {
+            if ( strict ? ox <= x1 || ox >= x2 : ox < x1 || ox > x2 ) {
+                return false;
+            }
+        } else {
+            double inv = 1.0 / dx;
+            double ta = ( x1 - ox ) * inv;
+            double tb = ( x2 - ox ) * inv;
+            double n = -1;
+            if ( ta > tb ) {
+                double t = ta;
+                ta = tb;
+                tb = t;
+                n = 1;
+            }
+            if ( ta > tEnter ) {
+                tEnter = ta;
+                nx = n;
+                ny = 0;
+            }
+            tExit = Math.min( tExit, tb );
+        }
+
+        if ( dy == 0 ) {
+            if ( strict ? oy <= y1 || oy >= y2 : oy < y1 || oy > y2 ) {
+                return false;
+            }
+        } else {
+            double inv = 1.0 / dy;
+            double ta = ( y1 - oy ) * inv;
+            double tb = ( y2 - oy ) * inv;
+            double n = -1;
+            if ( ta > tb ) {
+                double t = ta;
+                ta = tb;
+                tb = t;
+                n = 1;
+            }
+            if ( ta > tEnter ) {
+                tEnter = ta;
+                nx = 0;
+                ny = n;
+            }
+            tExit = Math.min( tExit, tb );
+        }
+
+        if ( strict ? tEnter >= tExit : tEnter > tExit ) {
+            return false;
+        }
+
+        if ( tEnter < 0 || tEnter > 1 ) {
+            return false;
+        }
+
+        result.hit = true;
+        result.time = tEnter;
+        result.normalX = nx;
+        result.normalY = ny;
+        result.x = ox + dx * tEnter;
+        result.y = oy + dy * tEnter;
+
+        return true;
+
+    }
+
+    /*
+     * Normal of the face of a box closest to a point inside it.
+     */
+    private static void setPenetrationNormal( double x, double y, double x1, double y1, double x2, double y2, SweepResult result ) {
+
+        double left = x - x1;
+        double right = x2 - x;
+        double top = y - y1;
+        double bottom = y2 - y;
+        double min = Math.min( Math.min( left, right ), Math.min( top, bottom ) );
+
+        if ( min == left ) {
+            result.normalX = -1;
+        } else if ( min == right ) {
+            result.normalX = 1;
+        } else if ( min == top ) {
+            result.normalY = -1;
+        } else {
+            result.normalY = 1;
+        }
+
+    }
+
+    private static void checkBatchArguments( int[] pairs, int pairCount, long[] result ) {
+        if ( pairCount < 0 || pairs.length < pairCount * 2 ) {
+            throw new IllegalArgumentException( "the pairs array must hold 2 * pairCount indexes" );
+        }
+        if ( result.length < ( pairCount + 63 ) / 64 ) {
+            throw new IllegalArgumentException( "the result array must hold ( pairCount + 63 ) / 64 words" );
+        }
+    }
+
+    private static boolean circles( double x1, double y1, double radius1, double x2, double y2, double radius2 ) {
+
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+
+        double distanceSquared = dx * dx + dy * dy;
+        double radiusSum = radius1 + radius2;
+
+        return distanceSquared <= radiusSum * radiusSum;
+
+    }
+
+    /*
+     * Circle against a box defined by its center and half extents.
+     */
+    private static boolean circleBox( double cx, double cy, double radius,
+                                      double bx, double by, double halfWidth, double halfHeight ) {
+
+        double dx = Math.abs( cx - bx );
+        double dy = Math.abs( cy - by );
+
+        if ( dx > ( halfWidth + radius ) ) {
+            return false;
+        }
+        if ( dy > ( halfHeight + radius ) ) {
+            return false;
+        }
+
+        if ( dx <= halfWidth ) {
+            return true;
+        }
+        if ( dy <= halfHeight ) {
+            return true;
+        }
+
+        double cornerDistanceSq = ( dx - halfWidth ) * ( dx - halfWidth ) +
+                                  ( dy - halfHeight ) * ( dy - halfHeight );
+
+        return cornerDistanceSq <= ( radius * radius );
+
+    }
+
+    private static boolean pointTriangle( double x, double y, double p1x, double p1y, double p2x, double p2y, double p3x, double p3y ) {
+
+        double alpha = ((p2y - p3y)*(x - p3x) + (p3x - p2x)*(y - p3y)) /
+                       ((p2y - p3y)*(p1x - p3x) + (p3x - p2x)*(p1y - p3y));
+
+        double beta = ((p3y - p1y)*(x - p3x) + (p1x - p3x)*(y - p3y)) /
+                      ((p2y - p3y)*(p1x - p3x) + (p3x - p2x)*(p1y - p3y));
+
+        double gamma = 1.0 - alpha - beta;
+
+        return (alpha > 0 ) && ( beta > 0 ) && ( gamma > 0 );
+
+    }
+
+    /*
+     * The vertices come from the cache of the polygon, so they are only
+     * computed again when the polygon changes. Both arrays are read from
+     * the same snapshot.
+     */
+    private static boolean pointPolygon( double x, double y, Polygon polygon ) {
+
+        boolean inside = false;
+        double[][] vertices = polygon.getVertices();
+        double[] xs = vertices[0];
+        double[] ys = vertices[1];
+        int sides = xs.length;
+
+        if ( sides > 2 ) {
+
+            double jx = xs[sides - 1];
+            double jy = ys[sides - 1];
+
+            for ( int i = 0; i < sides; i++ ) {
+
+                double ix = xs[i];
+                double iy = ys[i];
+
+                if ( ( iy > y ) != ( jy > y ) &&
+                     ( x < ( jx - ix ) * ( y - iy ) / ( jy - iy ) + ix ) ) {
+                    inside = !inside;
+                }
+
+                jx = ix;
+                jy = iy;
+
+            }
+
+        }
+
+        return inside;
+
+    }
+
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision;
+
+/**
+ * Contact manifold of two colliding convex shapes: the collision normal and
+ * up to two contact points, each with its penetration depth.
+ *
+ * It is meant to be reused, so the collision tests do not create objects.
+ * Each test overwrites all fields.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ContactManifold {
+
+    /**
+     * Maximum number of contact points.
+     */
+    public static final int MAX_POINTS = 2;
+
+    /**
+     * Indicates whether the shapes collide.
+     */
+    public boolean colliding;
+
+    /**
+     * X coordinate of the collision normal, pointing from the first shape
+     * to the second.
+     */
+    public double normalX;
+
+    /**
+     * Y coordinate of the collision normal, pointing from the first shape
+     * to the second.
+     */
+    public double normalY;
+
+    /**
+     * Largest penetration depth among the contact points. Moving the
+     * second shape by the normal times this depth separates the shapes.
+     * It is negative when the shapes are separated but closer than the
+     * margin of the test.
+     */
+    public double depth;
+
+    /**
+     * Number of contact points.
+     */
+    public int pointCount;
+
+    /**
+     * X coordinates of the contact points.
+     */
+    public final double[] pointX = new double[MAX_POINTS];
+
+    /**
+     * Y coordinates of the contact points.
+     */
+    public final double[] pointY = new double[MAX_POINTS];
+
+    /**
+     * Penetration depth of each contact point, negative for the points
+     * where the shapes are separated but closer than the margin of the
+     * test.
+     */
+    public final double[] pointDepth = new double[MAX_POINTS];
+
+    /**
+     * Resets the manifold to no collision.
+     */
+    public void reset() {
+        colliding = false;
+        normalX = 0;
+        normalY = 0;
+        depth = 0;
+        pointCount = 0;
+    }
+
+    /**
+     * Adds a contact point.
+     */
+    void addPoint( double x, double y, double depth ) {
+        if ( pointCount < MAX_POINTS ) {
+            pointX[pointCount] = x;
+            pointY[pointCount] = y;
+            pointDepth[pointCount] = depth;
+            this.depth = pointCount == 0 ? depth : Math.max( this.depth, depth );
+            pointCount++;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append( String.format( "ContactManifold[%b, %.4f, %.4f, %.4f", colliding, normalX, normalY, depth ) );
+        for ( int i = 0; i < pointCount; i++ ) {
+            sb.append( String.format( ", (%.2f, %.2f, %.4f)", pointX[i], pointY[i], pointDepth[i] ) );
+        }
+        return sb.append( "]" ).toString();
+    }
+
+}
@@ -0,0 +1,991 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision;
+
+/**
+ * Collision algorithms for convex shapes, used by CollisionUtils.
+ *
+ * Polygons are tested with the separating axis theorem (SAT) and their
+ * manifold is built by clipping the incident edge against the reference
+ * edge. Circles against circles and polygons have direct tests. Rounded
+ * shapes, like capsules, use GJK to find the distance between their core
+ * polygons and, if the cores overlap, EPA to find the penetration.
+ *
+ * The temporary data of the algorithms lives in a workspace per thread, so
+ * the tests do not create objects.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class ConvexCollision {
+
+    /**
+     * A reference edge of the second polygon is chosen only if it is
+     * separated by more than this tolerance, which keeps the manifold
+     * stable between frames.
+     */
+    private static final double REFERENCE_EDGE_TOLERANCE = 0.001;
+
+    private static final int GJK_MAX_ITERATIONS = 32;
+    private static final int EPA_MAX_VERTICES = 48;
+    private static final double EPA_TOLERANCE = 1e-7;
+
+    private static final double[] AXIS_X = { 1, -1, 0, 0 };
+    private static final double[] AXIS_Y = { 0, 0, 1, -1 };
+
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial( Workspace::new );
+
+    private ConvexCollision() {
+    }
+
+    /**
+     * Checks two shapes, filling the manifold if it is not null.
+     */
+    static boolean collide( ConvexShape a, ConvexShape b, ContactManifold m ) {
+        return collide( a, b, m, 0 );
+    }
+
+    /**
+     * Checks whether two shapes are closer than a margin, filling the
+     * manifold, if it is not null, with the points closer than the margin.
+     * The points where the shapes are separated have negative depths.
+     */
+    static boolean collide( ConvexShape a, ConvexShape b, ContactManifold m, double margin ) {
+
+        a.update();
+        b.update();
+
+        if ( m != null ) {
+            m.reset();
+        }
+
+        int countA = a.count();
+        int countB = b.count();
+        double radiusA = a.getRadius();
+        double radiusB = b.getRadius();
+
+        if ( countA == 1 && countB == 1 ) {
+            return circles( a, b, m, margin );
+        }
+
+        if ( radiusA == 0 && radiusB == 0 && countA > 1 && countB > 1 ) {
+            return polygons( a, b, m, margin );
+        }
+
+        if ( countA == 1 && radiusB == 0 ) {
+            return polygonCircle( b, a, m, margin, true );
+        }
+
+        if ( countB == 1 && radiusA == 0 ) {
+            return polygonCircle( a, b, m, margin, false );
+        }
+
+        return roundedShapes( a, b, m, margin );
+
+    }
+
+    /**
+     * Checks whether a point is inside a shape.
+     */
+    static boolean containsPoint( ConvexShape s, double px, double py ) {
+
+        s.update();
+
+        int count = s.count();
+        double[] vx = s.worldX();
+        double[] vy = s.worldY();
+        double radius = s.getRadius();
+
+        if ( count > 2 ) {
+
+            double[] nx = s.normalX();
+            double[] ny = s.normalY();
+            boolean inside = true;
+
+            for ( int i = 0; i < count && inside; i++ ) {
+                inside = nx[i] * ( px - vx[i] ) + ny[i] * ( py - vy[i] ) <= 0;
+            }
+
+            if ( inside || radius == 0 ) {
+                return inside;
+            }
+
+        }
+
+        if ( count == 1 ) {
+            double dx = px - vx[0];
+            double dy = py - vy[0];
+            return dx * dx + dy * dy <= radius * radius;
+        }
+
+        // distance to the edges of the core
+        int edges = count == 2 ? 1 : count;
+
+        for ( int i = 0; i < edges; i++ ) {
+
+            int j = ( i + 1 ) % count;
+            double ex = vx[j] - vx[i];
+            double ey = vy[j] - vy[i];
+            double lengthSq = ex * ex + ey * ey;
+            double t = lengthSq == 0 ? 0 : ( ( px - vx[i] ) * ex + ( py - vy[i] ) * ey ) / lengthSq;
+            t = t < 0 ? 0 : t > 1 ? 1 : t;
+
+            double dx = px - ( vx[i] + ex * t );
+            double dy = py - ( vy[i] + ey * t );
+
+            if ( dx * dx + dy * dy <= radius * radius ) {
+                return true;
+            }
+
+        }
+
+        return false;
+
+    }
+
+    private static boolean circles( ConvexShape a, ConvexShape b, ContactManifold m, double margin ) {
+
+        double radiusA = a.getRadius();
+        double dx = b.worldX()[0] - a.worldX()[0];
+        double dy = b.worldY()[0] - a.worldY()[0];
+        double distanceSq = dx * dx + dy * dy;
+        double radiusSum = radiusA + b.getRadius();
+        double reach = radiusSum + margin;
+
+        if ( distanceSq > reach * reach ) {
+            return false;
+        }
+
+        if ( m != null ) {
+
+            double distance = Math.sqrt( distanceSq );
+            double nx = 1;
+            double ny = 0;
+
+            if ( distance > 0 ) {
+                nx = dx / distance;
+                ny = dy / distance;
+            }
+
+            double depth = radiusSum - distance;
+            setNormal( m, nx, ny );
+            m.addPoint(
+                a.worldX()[0] + nx * ( radiusA - depth / 2 ),
+                a.worldY()[0] + ny * ( radiusA - depth / 2 ),
+                depth );
+
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Polygon against circle. The normal goes from the polygon to the
+     * circle, unless flipped.
+     */
+    private static boolean polygonCircle( ConvexShape p, ConvexShape c, ContactManifold m, double margin, boolean flip ) {
+
+        int count = p.count();
+        double[] vx = p.worldX();
+        double[] vy = p.worldY();
+        double[] nx = p.normalX();
+        double[] ny = p.normalY();
+        double cx = c.worldX()[0];
+        double cy = c.worldY()[0];
+        double radius = c.getRadius();
+        double reach = radius + margin;
+
+        double separation = Double.NEGATIVE_INFINITY;
+        int edge = 0;
+
+        for ( int i = 0; i < count; i++ ) {
+            double s = nx[i] * ( cx - vx[i] ) + ny[i] * ( cy - vy[i] );
+            if ( s > reach ) {
+                return false;
+            }
+            if ( s > separation ) {
+                separation = s;
+                edge = i;
+            }
+        }
+
+        int i1 = edge;
+        int i2 = ( edge + 1 ) % count;
+        double normalX = nx[edge];
+        double normalY = ny[edge];
+        double pointX = cx - normalX * separation;
+        double pointY = cy - normalY * separation;
+        double depth = radius - separation;
+
+        // outside the polygon, in the region of a vertex
+        if ( separation > 0 ) {
+
+            double u1 = ( cx - vx[i1] ) * ( vx[i2] - vx[i1] ) + ( cy - vy[i1] ) * ( vy[i2] - vy[i1] );
+            double u2 = ( cx - vx[i2] ) * ( vx[i1] - vx[i2] ) + ( cy - vy[i2] ) * ( vy[i1] - vy[i2] );
+            int vertex = u1 <= 0 ? i1 : u2 <= 0 ? i2 : -1;
+
+            if ( vertex >= 0 ) {
+
+                double dx = cx - vx[vertex];
+                double dy = cy - vy[vertex];
+                double distanceSq = dx * dx + dy * dy;
+
+                if ( distanceSq > reach * reach ) {
+                    return false;
+                }
+
+                double distance = Math.sqrt( distanceSq );
+                if ( distance > 0 ) {
+                    normalX = dx / distance;
+                    normalY = dy / distance;
+                }
+                pointX = vx[vertex];
+                pointY = vy[vertex];
+                depth = radius - distance;
+
+            }
+
+        }
+
+        if ( m != null ) {
+            setNormal( m, flip ? -normalX : normalX, flip ? -normalY : normalY );
+            m.addPoint( pointX, pointY, depth );
+        }
+
+        return true;
+
+    }
+
+    private static boolean polygons( ConvexShape a, ConvexShape b, ContactManifold m, double margin ) {
+
+        Workspace ws = WORKSPACE.get();
+
+        double separationA = maxSeparation( a, b, ws );
+        if ( separationA > margin ) {
+            return false;
+        }
+        int edgeA = ws.edge;
+
+        double separationB = maxSeparation( b, a, ws );
+        if ( separationB > margin ) {
+            return false;
+        }
+        int edgeB = ws.edge;
+
+        if ( m == null ) {
+            return true;
+        }
+
+        ConvexShape reference;
+        ConvexShape incident;
+        int edge;
+        boolean flip;
+
+        if ( separationB > separationA + REFERENCE_EDGE_TOLERANCE ) {
+            reference = b;
+            incident = a;
+            edge = edgeB;
+            flip = true;
+        } else {
+            reference = a;
+            incident = b;
+            edge = edgeA;
+            flip = false;
+        }
+
+        double nx = reference.normalX()[edge];
+        double ny = reference.normalY()[edge];
+
+        // the incident edge is the most antiparallel to the reference normal
+        int incidentCount = incident.count();
+        double[] inx = incident.normalX();
+        double[] iny = incident.normalY();
+        int incidentEdge = 0;
+        double minDot = Double.POSITIVE_INFINITY;
+
+        for ( int i = 0; i < incidentCount; i++ ) {
+            double dot = nx * inx[i] + ny * iny[i];
+            if ( dot < minDot ) {
+                minDot = dot;
+                incidentEdge = i;
+            }
+        }
+
+        int i2 = ( incidentEdge + 1 ) % incidentCount;
+        ws.clipX[0] = incident.worldX()[incidentEdge];
+        ws.clipY[0] = incident.worldY()[incidentEdge];
+        ws.clipX[1] = incident.worldX()[i2];
+        ws.clipY[1] = incident.worldY()[i2];
+
+        // clips the incident edge to the sides of the reference edge
+        int r2 = ( edge + 1 ) % reference.count();
+        double r1x = reference.worldX()[edge];
+        double r1y = reference.worldY()[edge];
+        double r2x = reference.worldX()[r2];
+        double r2y = reference.worldY()[r2];
+        double tx = r2x - r1x;
+        double ty = r2y - r1y;
+        double length = Math.sqrt( tx * tx + ty * ty );
+
+        int count = 2;
+
+        if ( length > 0 ) {
+            tx /= length;
+            ty /= length;
+            count = clip( ws, count, -tx, -ty, -( tx * r1x + ty * r1y ) );
+            count = clip( ws, count, tx, ty, tx * r2x + ty * r2y );
+        }
+
+        setNormal( m, flip ? -nx : nx, flip ? -ny : ny );
+
+        // keeps the points below the reference edge, plus the margin
+        int deepest = 0;
+        double deepestSeparation = Double.POSITIVE_INFINITY;
+
+        for ( int i = 0; i < count; i++ ) {
+            double s = nx * ( ws.clipX[i] - r1x ) + ny * ( ws.clipY[i] - r1y );
+            if ( s <= margin ) {
+                m.addPoint( ws.clipX[i], ws.clipY[i], -s );
+            }
+            if ( s < deepestSeparation ) {
+                deepestSeparation = s;
+                deepest = i;
+            }
+        }
+
+        // touching within the numeric error
+        if ( m.pointCount == 0 && count > 0 ) {
+            m.addPoint( ws.clipX[deepest], ws.clipY[deepest], 0 );
+        }
+
+        return true;
+
+    }
+
+    /**
+     * Largest separation between the edges of a and the vertices of b. The
+     * edge is stored in the workspace.
+     */
+    private static double maxSeparation( ConvexShape a, ConvexShape b, Workspace ws ) {
+
+        int countA = a.count();
+        int countB = b.count();
+        double[] ax = a.worldX();
+        double[] ay = a.worldY();
+        double[] anx = a.normalX();
+        double[] any = a.normalY();
+        double[] bx = b.worldX();
+        double[] by = b.worldY();
+
+        double maxSeparation = Double.NEGATIVE_INFINITY;
+        int bestEdge = 0;
+
+        for ( int i = 0; i < countA; i++ ) {
+
+            double nx = anx[i];
+            double ny = any[i];
+            double minSeparation = Double.POSITIVE_INFINITY;
+
+            for ( int j = 0; j < countB; j++ ) {
+                double s = nx * ( bx[j] - ax[i] ) + ny * ( by[j] - ay[i] );
+                if ( s < minSeparation ) {
+                    minSeparation = s;
+                }
+            }
+
+            if ( minSeparation > maxSeparation ) {
+                maxSeparation = minSeparation;
+                bestEdge = i;
+            }
+
+        }
+
+        ws.edge = bestEdge;
+        return maxSeparation;
+
+    }
+
+    /**
+     * Clips the segment in the workspace, keeping the points where
+     * n . p &lt;= offset.
+     */
+    private static int clip( Workspace ws, int count, double nx, double ny, double offset ) {
+
+        if ( count < 2 ) {
+            return count;
+        }
+
+        double x0 = ws.clipX[0];
+        double y0 = ws.clipY[0];
+        double x1 = ws.clipX[1];
+        double y1 = ws.clipY[1];
+        double d0 = nx * x0 + ny * y0 - offset;
+        double d1 = nx * x1 + ny * y1 - offset;
+        int out = 0;
+
+        if ( d0 <= 0 ) {
+            ws.clipX[out] = x0;
+            ws.clipY[out] = y0;
+            out++;
+        }
+
+        if ( d1 <= 0 ) {
+            ws.clipX[out] = x1;
+            ws.clipY[out] = y1;
+            out++;
+        }
+
+        if ( d0 * d1 < 0 && out < 2 ) {
+            double t = d0 / ( d0 - d1 );
+            ws.clipX[out] = x0 + ( x1 - x0 ) * t;
+            ws.clipY[out] = y0 + ( y1 - y0 ) * t;
+            out++;
+        }
+
+        return out;
+
+    }
+
+    /**
+     * Shapes with radius: GJK on the cores and, if they overlap, EPA.
+     */
+    private static boolean roundedShapes( ConvexShape a, ConvexShape b, ContactManifold m, double margin ) {
+
+        Workspace ws = WORKSPACE.get();
+        double radiusA = a.getRadius();
+        double radiusB = b.getRadius();
+        double radiusSum = radiusA + radiusB;
+
+        boolean overlap = gjk( a, b, ws );
+
+        if ( !overlap && ws.distance > radiusSum + margin ) {
+            return false;
+        }
+
+        if ( m == null ) {
+            return true;
+        }
+
+        double nx;
+        double ny;
+        double depth;
+
+        if ( !overlap ) {
+            nx = ( ws.pointBx - ws.pointAx ) / ws.distance;
+            ny = ( ws.pointBy - ws.pointAy ) / ws.distance;
+            depth = radiusSum - ws.distance;
+        } else {
+            epa( a, b, ws );
+            nx = ws.normalX;
+            ny = ws.normalY;
+            depth = ws.distance + radiusSum;
+        }
+
+        // middle of the surface points of both shapes
+        double surfaceAx = ws.pointAx + nx * radiusA;
+        double surfaceAy = ws.pointAy + ny * radiusA;
+        double surfaceBx = ws.pointBx - nx * radiusB;
+        double surfaceBy = ws.pointBy - ny * radiusB;
+
+        setNormal( m, nx, ny );
+        m.addPoint( ( surfaceAx + surfaceBx ) / 2, ( surfaceAy + surfaceBy ) / 2, depth );
+
+        return true;
+
+    }
+
+    /**
+     * GJK distance between the cores of two shapes. Stores the closest
+     * points and the distance in the workspace.
+     *
+     * @return True if the cores overlap.
+     */
+    private static boolean gjk( ConvexShape a, ConvexShape b, Workspace ws ) {
+
+        double[] ax = a.worldX();
+        double[] ay = a.worldY();
+        double[] bx = b.worldX();
+        double[] by = b.worldY();
+
+        // starts with a support point, so every vertex of the simplex is on
+        // the boundary of the Minkowski difference, as EPA needs
+        double dx = b.getX() - a.getX();
+        double dy = b.getY() - a.getY();
+        if ( dx == 0 && dy == 0 ) {
+            dx = 1;
+        }
+
+        int startA = a.support( dx, dy );
+        int startB = b.support( -dx, -dy );
+
+        ws.count = 1;
+        ws.setVertex( 0, startA, startB, ax[startA], ay[startA], bx[startB], by[startB] );
+        ws.weight[0] = 1;
+
+        boolean overlap = false;
+
+        for ( int iteration = 0; iteration < GJK_MAX_ITERATIONS; iteration++ ) {
+
+            int savedCount = ws.count;
+            for ( int i = 0; i < savedCount; i++ ) {
+                ws.savedA[i] = ws.indexA[i];
+                ws.savedB[i] = ws.indexB[i];
+            }
+
+            if ( ws.count == 2 ) {
+                ws.solve2();
+            } else if ( ws.count == 3 ) {
+                ws.solve3();
+            }
+
+            if ( ws.count == 3 ) {
+                overlap = true;
+                break;
+            }
+
+            double vx = 0;
+            double vy = 0;
+            for ( int i = 0; i < ws.count; i++ ) {
+                vx += ws.weight[i] * ws.wx[i];
+                vy += ws.weight[i] * ws.wy[i];
+            }
+
+            if ( vx * vx + vy * vy < 1e-20 ) {
+                overlap = true;
+                break;
+            }
+
+            int iA = a.support( -vx, -vy );
+            int iB = b.support( vx, vy );
+
+            // no progress: the vertex is already in the simplex
+            boolean duplicate = false;
+            for ( int i = 0; i < savedCount; i++ ) {
+                if ( ws.savedA[i] == iA && ws.savedB[i] == iB ) {
+                    duplicate = true;
+                    break;
+                }
+            }
+
+            if ( duplicate ) {
+                break;
+            }
+
+            ws.setVertex( ws.count, iA, iB, ax[iA], ay[iA], bx[iB], by[iB] );
+            ws.weight[ws.count] = 0;
+            ws.count++;
+
+        }
+
+        double pax = 0;
+        double pay = 0;
+        double pbx = 0;
+        double pby = 0;
+
+        for ( int i = 0; i < ws.count; i++ ) {
+            pax += ws.weight[i] * ws.ax[i];
+            pay += ws.weight[i] * ws.ay[i];
+            pbx += ws.weight[i] * ws.bx[i];
+            pby += ws.weight[i] * ws.by[i];
+        }
+
+        ws.pointAx = pax;
+        ws.pointAy = pay;
+        ws.pointBx = pbx;
+        ws.pointBy = pby;
+        ws.distance = overlap ? 0 : Math.sqrt( ( pbx - pax ) * ( pbx - pax ) + ( pby - pay ) * ( pby - pay ) );
+
+        if ( ws.distance < 1e-10 ) {
+            overlap = true;
+        }
+
+        return overlap;
+
+    }
+
+    /**
+     * EPA, expanding the GJK simplex towards the boundary of the Minkowski
+     * difference. Stores the normal, the penetration (in distance) and the
+     * deepest points in the workspace.
+     */
+    private static void epa( ConvexShape a, ConvexShape b, Workspace ws ) {
+
+        double[] ax = a.worldX();
+        double[] ay = a.worldY();
+        double[] bx = b.worldX();
+        double[] by = b.worldY();
+
+        int n = ws.count;
+        for ( int i = 0; i < n; i++ ) {
+            ws.epaAx[i] = ws.ax[i];
+            ws.epaAy[i] = ws.ay[i];
+            ws.epaBx[i] = ws.bx[i];
+            ws.epaBy[i] = ws.by[i];
+        }
+
+        // touching or flat cores end GJK with a point or a segment, that
+        // is grown with support points to a triangle when possible
+        for ( int i = 0; i < 4 && n == 1; i++ ) {
+            n = addEpaVertex( a, b, ws, n, AXIS_X[i], AXIS_Y[i] );
+        }
+
+        if ( n == 2 ) {
+            double ex = ( ws.epaAx[1] - ws.epaBx[1] ) - ( ws.epaAx[0] - ws.epaBx[0] );
+            double ey = ( ws.epaAy[1] - ws.epaBy[1] ) - ( ws.epaAy[0] - ws.epaBy[0] );
+            n = addEpaVertex( a, b, ws, n, ey, -ex );
+            if ( n == 2 ) {
+                n = addEpaVertex( a, b, ws, n, -ey, ex );
+            }
+        }
+
+        // counterclockwise, so the edge normals point outwards
+        if ( n == 3 ) {
+
+            double cross = ( ( ws.epaAx[1] - ws.epaBx[1] ) - ( ws.epaAx[0] - ws.epaBx[0] ) ) *
+                           ( ( ws.epaAy[2] - ws.epaBy[2] ) - ( ws.epaAy[0] - ws.epaBy[0] ) ) -
+                           ( ( ws.epaAy[1] - ws.epaBy[1] ) - ( ws.epaAy[0] - ws.epaBy[0] ) ) *
+                           ( ( ws.epaAx[2] - ws.epaBx[2] ) - ( ws.epaAx[0] - ws.epaBx[0] ) );
+
+            if ( cross < 0 ) {
+                ws.swapEpa( 1, 2 );
+            }
+
+        }
+
+        int best = 0;
+        double bestDistance = 0;
+        double bestNx = 1;
+        double bestNy = 0;
+
+        while ( true ) {
+
+            best = -1;
+            bestDistance = Double.POSITIVE_INFINITY;
+
+            for ( int i = 0; i < n; i++ ) {
+
+                int j = ( i + 1 ) % n;
+                double wix = ws.epaAx[i] - ws.epaBx[i];
+                double wiy = ws.epaAy[i] - ws.epaBy[i];
+                double ex = ( ws.epaAx[j] - ws.epaBx[j] ) - wix;
+                double ey = ( ws.epaAy[j] - ws.epaBy[j] ) - wiy;
+                double length = Math.sqrt( ex * ex + ey * ey );
+
+                if ( length == 0 ) {
+                    continue;
+                }
+
+                double nx = ey / length;
+                double ny = -ex / length;
+                double d = nx * wix + ny * wiy;
+
+                if ( d < bestDistance ) {
+                    bestDistance = d;
+                    best = i;
+                    bestNx = nx;
+                    bestNy = ny;
+                }
+
+            }
+
+            if ( best < 0 ) {
+                break;
+            }
+
+            int iA = a.support( bestNx, bestNy );
+            int iB = b.support( -bestNx, -bestNy );
+            double support = bestNx * ( ax[iA] - bx[iB] ) + bestNy * ( ay[iA] - by[iB] );
+
+            if ( support - bestDistance < EPA_TOLERANCE * Math.max( 1, bestDistance ) || n == EPA_MAX_VERTICES ) {
+                break;
+            }
+
+            // inserts the new vertex after the closest edge
+            for ( int k = n; k > best + 1; k-- ) {
+                ws.epaAx[k] = ws.epaAx[k - 1];
+                ws.epaAy[k] = ws.epaAy[k - 1];
+                ws.epaBx[k] = ws.epaBx[k - 1];
+                ws.epaBy[k] = ws.epaBy[k - 1];
+            }
+
+            ws.epaAx[best + 1] = ax[iA];
+            ws.epaAy[best + 1] = ay[iA];
+            ws.epaBx[best + 1] = bx[iB];
+            ws.epaBy[best + 1] = by[iB];
+            n++;
+
+        }
+
+        if ( best < 0 ) {
+            ws.normalX = 1;
+            ws.normalY = 0;
+            ws.distance = 0;
+            return;
+        }
+
+        // the deepest points come from the projection of the origin on the edge
+        int j = ( best + 1 ) % n;
+        double wix = ws.epaAx[best] - ws.epaBx[best];
+        double wiy = ws.epaAy[best] - ws.epaBy[best];
+        double ex = ( ws.epaAx[j] - ws.epaBx[j] ) - wix;
+        double ey = ( ws.epaAy[j] - ws.epaBy[j] ) - wiy;
+        double t = -( wix * ex + wiy * ey ) / ( ex * ex + ey * ey );
+        t = t < 0 ? 0 : t > 1 ? 1 : t;
+
+        ws.pointAx = ws.epaAx[best] + ( ws.epaAx[j] - ws.epaAx[best] ) * t;
+        ws.pointAy = ws.epaAy[best] + ( ws.epaAy[j] - ws.epaAy[best] ) * t;
+        ws.pointBx = ws.epaBx[best] + ( ws.epaBx[j] - ws.epaBx[best] ) * t;
+        ws.pointBy = ws.epaBy[best] + ( ws.epaBy[j] - ws.epaBy[best] ) * t;
+        ws.normalX = bestNx;
+        ws.normalY = bestNy;
+        ws.distance = bestDistance;
+
+    }
+
+    /**
+     * Adds the support point of the Minkowski difference in a direction to
+     * the EPA polytope, unless it is already there.
+     *
+     * @return The new number of vertices.
+     */
+    private static int addEpaVertex( ConvexShape a, ConvexShape b, Workspace ws, int n, double dx, double dy ) {
+
+        int iA = a.support( dx, dy );
+        int iB = b.support( -dx, -dy );
+        double pax = a.worldX()[iA];
+        double pay = a.worldY()[iA];
+        double pbx = b.worldX()[iB];
+        double pby = b.worldY()[iB];
+
+        for ( int i = 0; i < n; i++ ) {
+            double ex = ( pax - pbx ) - ( ws.epaAx[i] - ws.epaBx[i] );
+            double ey = ( pay - pby ) - ( ws.epaAy[i] - ws.epaBy[i] );
+            if ( ex * ex + ey * ey < 1e-20 ) {
+                return n;
+            }
+        }
+
+        if ( n == 2 ) {
+            // a point on the line of the segment does not make a triangle
+            double ex = ( ws.epaAx[1] - ws.epaBx[1] ) - ( ws.epaAx[0] - ws.epaBx[0] );
+            double ey = ( ws.epaAy[1] - ws.epaBy[1] ) - ( ws.epaAy[0] - ws.epaBy[0] );
+            double fx = ( pax - pbx ) - ( ws.epaAx[0] - ws.epaBx[0] );
+            double fy = ( pay - pby ) - ( ws.epaAy[0] - ws.epaBy[0] );
+            if ( Math.abs( ex * fy - ey * fx ) < 1e-12 * ( ex * ex + ey * ey + fx * fx + fy * fy ) ) {
+                return n;
+            }
+        }
+
+        ws.epaAx[n] = pax;
+        ws.epaAy[n] = pay;
+        ws.epaBx[n] = pbx;
+        ws.epaBy[n] = pby;
+
+        return n + 1;
+
+    }
+
+    private static void setNormal( ContactManifold m, double nx, double ny ) {
+        m.colliding = true;
+        m.normalX = nx;
+        m.normalY = ny;
+    }
+
+    /**
+     * Temporary data of the algorithms.
+     */
+    private static final class Workspace {
+
+        /* GJK simplex: vertices of a, of b, of the difference and weights */
+        final double[] ax = new double[3];
+        final double[] ay = new double[3];
+        final double[] bx = new double[3];
+        final double[] by = new double[3];
+        final double[] wx = new double[3];
+        final double[] wy = new double[3];
+        final double[] weight = new double[3];
+        final int[] indexA = new int[3];
+        final int[] indexB = new int[3];
+        final int[] savedA = new int[3];
+        final int[] savedB = new int[3];
+        int count;
+
+        /* EPA polytope, with the vertices of a and b */
+        final double[] epaAx = new double[EPA_MAX_VERTICES];
+        final double[] epaAy = new double[EPA_MAX_VERTICES];
+        final double[] epaBx = new double[EPA_MAX_VERTICES];
+        final double[] epaBy = new double[EPA_MAX_VERTICES];
+
+        /* clipped incident edge */
+        final double[] clipX = new double[2];
+        final double[] clipY = new double[2];
+
+        /* outputs */
+        int edge;
+        double pointAx;
+        double pointAy;
+        double pointBx;
+        double pointBy;
+        double normalX;
+        double normalY;
+        double distance;
+
+        void setVertex( int i, int iA, int iB, double pax, double pay, double pbx, double pby ) {
+            indexA[i] = iA;
+            indexB[i] = iB;
+            ax[i] = pax;
+            ay[i] = pay;
+            bx[i] = pbx;
+            by[i] = pby;
+            wx[i] = pax - pbx;
+            wy[i] = pay - pby;
+        }
+
+        void copyVertex( int to, int from ) {
+            setVertex( to, indexA[from], indexB[from], ax[from], ay[from], bx[from], by[from] );
+            weight[to] = weight[from];
+        }
+
+        void swapEpa( int i, int j ) {
+            double t = epaAx[i]; epaAx[i] = epaAx[j]; epaAx[j] = t;
+            t = epaAy[i]; epaAy[i] = epaAy[j]; epaAy[j] = t;
+            t = epaBx[i]; epaBx[i] = epaBx[j]; epaBx[j] = t;
+            t = epaBy[i]; epaBy[i] = epaBy[j]; epaBy[j] = t;
+        }
+
+        /**
+         * Closest point of a segment to the origin, keeping only the
+         * vertices of its Voronoi region.
+         */
+        void solve2() {
+
+            double e12x = wx[1] - wx[0];
+            double e12y = wy[1] - wy[0];
+
+            double d12n2 = -( wx[0] * e12x + wy[0] * e12y );
+            if ( d12n2 <= 0 ) {
+                weight[0] = 1;
+                count = 1;
+                return;
+            }
+
+            double d12n1 = wx[1] * e12x + wy[1] * e12y;
+            if ( d12n1 <= 0 ) {
+                copyVertex( 0, 1 );
+                weight[0] = 1;
+                count = 1;
+                return;
+            }
+
+            double inv = 1 / ( d12n1 + d12n2 );
+            weight[0] = d12n1 * inv;
+            weight[1] = d12n2 * inv;
+            count = 2;
+
+        }
+
+        /**
+         * Closest point of a triangle to the origin, keeping only the
+         * vertices of its Voronoi region.
+         */
+        void solve3() {
+
+            double w1x = wx[0], w1y = wy[0];
+            double w2x = wx[1], w2y = wy[1];
+            double w3x = wx[2], w3y = wy[2];
+
+            double e12x = w2x - w1x, e12y = w2y - w1y;
+            double d12n1 = w2x * e12x + w2y * e12y;
+            double d12n2 = -( w1x * e12x + w1y * e12y );
+
+            double e13x = w3x - w1x, e13y = w3y - w1y;
+            double d13n1 = w3x * e13x + w3y * e13y;
+            double d13n2 = -( w1x * e13x + w1y * e13y );
+
+            double e23x = w3x - w2x, e23y = w3y - w2y;
+            double d23n1 = w3x * e23x + w3y * e23y;
+            double d23n2 = -( w2x * e23x + w2y * e23y );
+
+            double n123 = e12x * e13y - e12y * e13x;
+            double d123n1 = n123 * ( w2x * w3y - w2y * w3x );
+            double d123n2 = n123 * ( w3x * w1y - w3y * w1x );
+            double d123n3 = n123 * ( w1x * w2y - w1y * w2x );
+
+            // vertex 1
+            if ( d12n2 <= 0 && d13n2 <= 0 ) {
+                weight[0] = 1;
+                count = 1;
+                return;
+            }
+
+            // edge 12
+            if ( d12n1 > 0 && d12n2 > 0 && d123n3 <= 0 ) {
+                double inv = 1 / ( d12n1 + d12n2 );
+                weight[0] = d12n1 * inv;
+                weight[1] = d12n2 * inv;
+                count = 2;
+                return;
+            }
+
+            // edge 13
+            if ( d13n1 > 0 && d13n2 > 0 && d123n2 <= 0 ) {
+                double inv = 1 / ( d13n1 + d13n2 );
+                weight[0] = d13n1 * inv;
+                copyVertex( 1, 2 );
+                weight[1] = d13n2 * inv;
+                count = 2;
+                return;
+            }
+
+            // vertex 2
+            if ( d12n1 <= 0 && d23n2 <= 0 ) {
+                copyVertex( 0, 1 );
+                weight[0] = 1;
+                count = 1;
+                return;
+            }
+
+            // vertex 3
+            if ( d13n1 <= 0 && d23n1 <= 0 ) {
+                copyVertex( 0, 2 );
+                weight[0] = 1;
+                count = 1;
+                return;
+            }
+
+            // edge 23
+            if ( d23n1 > 0 && d23n2 > 0 && d123n1 <= 0 ) {
+                double inv = 1 / ( d23n1 + d23n2 );
+                copyVertex( 0, 2 );
+                weight[0] = d23n2 * inv;
+                weight[1] = d23n1 * inv;
+                count = 2;
+                return;
+            }
+
+            // inside the triangle
+            double inv = 1 / ( d123n1 + d123n2 + d123n3 );
+            weight[0] = d123n1 * inv;
+            weight[1] = d123n2 * inv;
+            weight[2] = d123n3 * inv;
+            count = 3;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,510 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.Polygon;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.geom.Star;
+import br.com.davidbuzatto.jsge.geom.Triangle;
+
+/**
+ * A convex shape for the convex collision tests of CollisionUtils: a convex
+ * polygon, optionally rounded by a radius. A circle is a single vertex with
+ * a radius and a capsule is a segment with a radius.
+ *
+ * The vertices are stored relative to the position of the shape and the
+ * shape has a rotation. The vertices and edge normals in world coordinates
+ * are cached and computed again, with a single sine and cosine, only when
+ * the position or the rotation changes, so the collision tests never
+ * compute trigonometric functions.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ConvexShape {
+
+    private final int count;
+    private final double radius;
+
+    /* vertices and edge normals relative to the position, without rotation */
+    private final double[] localX;
+    private final double[] localY;
+    private final double[] localNormalX;
+    private final double[] localNormalY;
+
+    /* cached vertices and edge normals in world coordinates */
+    private final double[] worldX;
+    private final double[] worldY;
+    private final double[] normalX;
+    private final double[] normalY;
+
+    private double x;
+    private double y;
+    private double rotation;
+    private boolean dirty;
+
+    /**
+     * Creates a convex shape from its vertices. The vertices must form a
+     * convex polygon and may be in clockwise or counterclockwise order.
+     *
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @param localX X coordinates of the vertices, relative to the position.
+     * @param localY Y coordinates of the vertices, relative to the position.
+     * @param radius Radius that rounds the polygon, or zero.
+     */
+    public ConvexShape( double x, double y, double[] localX, double[] localY, double radius ) {
+
+        if ( localX.length == 0 || localX.length != localY.length ) {
+            throw new IllegalArgumentException( "the shape needs at least one vertex and the same number of x and y coordinates" );
+        }
+
+        this.count = localX.length;
+        this.radius = Math.max( 0, radius );
+        this.localX = localX.clone();
+        this.localY = localY.clone();
+        this.localNormalX = new double[count];
+        this.localNormalY = new double[count];
+        this.worldX = new double[count];
+        this.worldY = new double[count];
+        this.normalX = new double[count];
+        this.normalY = new double[count];
+        this.x = x;
+        this.y = y;
+        this.dirty = true;
+
+        // the normals are outward only for counterclockwise vertices
+        double area = 0;
+        for ( int i = 0; i < count; i++ ) {
+            int j = ( i + 1 ) % count;
+            area += this.localX[i] * this.localY[j] - this.localX[j] * this.localY[i];
+        }
+
+        if ( area < 0 ) {
+            for ( int i = 0, j = count - 1; i < j; i++, j-- ) {
+                double t = this.localX[i];
+                this.localX[i] = this.localX[j];
+                this.localX[j] = t;
+                t = this.localY[i];
+                this.localY[i] = this.localY[j];
+                this.localY[j] = t;
+            }
+        }
+
+        if ( count > 1 ) {
+            for ( int i = 0; i < count; i++ ) {
+                int j = ( i + 1 ) % count;
+                double ex = this.localX[j] - this.localX[i];
+                double ey = this.localY[j] - this.localY[i];
+                double length = Math.sqrt( ex * ex + ey * ey );
+                if ( length > 0 ) {
+                    localNormalX[i] = ey / length;
+                    localNormalY[i] = -ex / length;
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Creates a circle.
+     *
+     * @param x X coordinate of the center.
+     * @param y Y coordinate of the center.
+     * @param radius Radius.
+     * @return The shape.
+     */
+    public static ConvexShape createCircle( double x, double y, double radius ) {
+        return new ConvexShape( x, y, new double[]{ 0 }, new double[]{ 0 }, radius );
+    }
+
+    /**
+     * Creates a circle.
+     *
+     * @param circle The circle.
+     * @return The shape.
+     */
+    public static ConvexShape createCircle( Circle circle ) {
+        return createCircle( circle.x, circle.y, circle.radius );
+    }
+
+    /**
+     * Creates a capsule, i.e., a segment rounded by a radius. The position is
+     * the middle of the segment.
+     *
+     * @param x1 X coordinate of the start of the segment.
+     * @param y1 Y coordinate of the start of the segment.
+     * @param x2 X coordinate of the end of the segment.
+     * @param y2 Y coordinate of the end of the segment.
+     * @param radius Radius.
+     * @return The shape.
+     */
+    public static ConvexShape createCapsule( double x1, double y1, double x2, double y2, double radius ) {
+        double cx = ( x1 + x2 ) / 2;
+        double cy = ( y1 + y2 ) / 2;
+        return new ConvexShape( cx, cy, new double[]{ x1 - cx, x2 - cx }, new double[]{ y1 - cy, y2 - cy }, radius );
+    }
+
+    /**
+     * Creates a box rotated around its center.
+     *
+     * @param x X coordinate of the center.
+     * @param y Y coordinate of the center.
+     * @param width Width.
+     * @param height Height.
+     * @param rotation Rotation in degrees (clockwise).
+     * @return The shape.
+     */
+    public static ConvexShape createBox( double x, double y, double width, double height, double rotation ) {
+        double hw = width / 2;
+        double hh = height / 2;
+        ConvexShape shape = new ConvexShape( x, y, new double[]{ -hw, hw, hw, -hw }, new double[]{ -hh, -hh, hh, hh }, 0 );
+        shape.setRotation( rotation );
+        return shape;
+    }
+
+    /**
+     * Creates a rectangle rotated around its center.
+     *
+     * @param rectangle The rectangle.
+     * @param rotation Rotation in degrees (clockwise).
+     * @return The shape.
+     */
+    public static ConvexShape createRectangle( Rectangle rectangle, double rotation ) {
+        return createBox(
+            rectangle.x + rectangle.width / 2, rectangle.y + rectangle.height / 2,
+            rectangle.width, rectangle.height, rotation );
+    }
+
+    /**
+     * Creates a triangle. The position is the centroid of the triangle.
+     *
+     * @param triangle The triangle.
+     * @return The shape.
+     */
+    public static ConvexShape createTriangle( Triangle triangle ) {
+        double cx = ( triangle.x1 + triangle.x2 + triangle.x3 ) / 3;
+        double cy = ( triangle.y1 + triangle.y2 + triangle.y3 ) / 3;
+        return new ConvexShape( cx, cy,
+            new double[]{ triangle.x1 - cx, triangle.x2 - cx, triangle.x3 - cx },
+            new double[]{ triangle.y1 - cy, triangle.y2 - cy, triangle.y3 - cy },
+            0 );
+    }
+
+    /**
+     * Creates a regular polygon. The rotation of the polygon becomes the
+     * rotation of the shape, so rotating the shape later is cheap.
+     *
+     * @param polygon The polygon.
+     * @return The shape.
+     */
+    public static ConvexShape createPolygon( Polygon polygon ) {
+
+        int sides = Math.max( 3, polygon.sides );
+        double[] xs = new double[sides];
+        double[] ys = new double[sides];
+        double angle = 360.0 / sides;
+
+        for ( int i = 0; i < sides; i++ ) {
+            xs[i] = Math.cos( Math.toRadians( angle * i ) ) * polygon.radius;
+            ys[i] = Math.sin( Math.toRadians( angle * i ) ) * polygon.radius;
+        }
+
+        ConvexShape shape = new ConvexShape( polygon.x, polygon.y, xs, ys, 0 );
+        shape.setRotation( polygon.rotation );
+        return shape;
+
+    }
+
+    /**
+     * Decomposes a regular star in convex shapes: the inner polygon and one
+     * triangle per tip. Stars with less than five tips become the polygon
+     * or the segments that join their tips, as they are drawn.
+     *
+     * @param star The star.
+     * @return The convex shapes that cover the star.
+     */
+    public static ConvexShape[] createStar( Star star ) {
+
+        int tips = Math.max( 3, star.tips );
+        double angle = 360.0 / tips;
+
+        if ( tips == 3 ) {
+            return new ConvexShape[]{ createPolygon( new Polygon( star.x, star.y, 3, star.radius, star.rotation ) ) };
+        }
+
+        if ( tips == 4 ) {
+            ConvexShape[] shapes = new ConvexShape[2];
+            for ( int i = 0; i < 2; i++ ) {
+                double a = Math.toRadians( star.rotation + angle * i );
+                double dx = Math.cos( a ) * star.radius;
+                double dy = Math.sin( a ) * star.radius;
+                shapes[i] = new ConvexShape( star.x, star.y, new double[]{ dx, -dx }, new double[]{ dy, -dy }, 0 );
+            }
+            return shapes;
+        }
+
+        // the edges join every other tip, crossing at this radius
+        double innerRadius = star.radius * Math.cos( Math.toRadians( angle ) ) / Math.cos( Math.toRadians( angle / 2 ) );
+        ConvexShape[] shapes = new ConvexShape[tips + 1];
+        double[] innerX = new double[tips];
+        double[] innerY = new double[tips];
+
+        for ( int i = 0; i < tips; i++ ) {
+            innerX[i] = Math.cos( Math.toRadians( angle * i + angle / 2 ) ) * innerRadius;
+            innerY[i] = Math.sin( Math.toRadians( angle * i + angle / 2 ) ) * innerRadius;
+        }
+
+        shapes[0] = new ConvexShape( star.x, star.y, innerX, innerY, 0 );
+        shapes[0].setRotation( star.rotation );
+
+        for ( int i = 0; i < tips; i++ ) {
+            int previous = ( i + tips - 1 ) % tips;
+            shapes[i + 1] = new ConvexShape( star.x, star.y,
+                new double[]{ Math.cos( Math.toRadians( angle * i ) ) * star.radius, innerX[i], innerX[previous] },
+                new double[]{ Math.sin( Math.toRadians( angle * i ) ) * star.radius, innerY[i], innerY[previous] },
+                0 );
+            shapes[i + 1].setRotation( star.rotation );
+        }
+
+        return shapes;
+
+    }
+
+    /**
+     * Sets the position.
+     *
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     */
+    public void setPosition( double x, double y ) {
+        this.x = x;
+        this.y = y;
+        dirty = true;
+    }
+
+    /**
+     * Moves the shape.
+     *
+     * @param deltaX Displacement along x.
+     * @param deltaY Displacement along y.
+     */
+    public void move( double deltaX, double deltaY ) {
+        setPosition( x + deltaX, y + deltaY );
+    }
+
+    /**
+     * Sets the rotation.
+     *
+     * @param rotation Rotation in degrees (clockwise).
+     */
+    public void setRotation( double rotation ) {
+        this.rotation = rotation;
+        dirty = true;
+    }
+
+    /**
+     * Sets the position and the rotation.
+     *
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     * @param rotation Rotation in degrees (clockwise).
+     */
+    public void setTransform( double x, double y, double rotation ) {
+        this.x = x;
+        this.y = y;
+        this.rotation = rotation;
+        dirty = true;
+    }
+
+    /**
+     * Gets the x coordinate of the position.
+     *
+     * @return The x coordinate of the position.
+     */
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * Gets the y coordinate of the position.
+     *
+     * @return The y coordinate of the position.
+     */
+    public double getY() {
+        return y;
+    }
+
+    /**
+     * Gets the rotation.
+     *
+     * @return The rotation in degrees.
+     */
+    public double getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Gets the radius that rounds the shape.
+     *
+     * @return The radius.
+     */
+    public double getRadius() {
+        return radius;
+    }
+
+    /**
+     * Gets the number of vertices.
+     *
+     * @return The number of vertices.
+     */
+    public int getVertexCount() {
+        return count;
+    }
+
+    /**
+     * Gets the x coordinate of a vertex, in world coordinates.
+     *
+     * @param index The index of the vertex.
+     * @return The x coordinate of the vertex.
+     */
+    public double getVertexX( int index ) {
+        update();
+        return worldX[index];
+    }
+
+    /**
+     * Gets the y coordinate of a vertex, in world coordinates.
+     *
+     * @param index The index of the vertex.
+     * @return The y coordinate of the vertex.
+     */
+    public double getVertexY( int index ) {
+        update();
+        return worldY[index];
+    }
+
+    /**
+     * Updates an AABB to the bounds of the shape, including its radius.
+     *
+     * @param aabb The AABB.
+     */
+    public void updateAABB( AABB aabb ) {
+        updateAABB( aabb, 0 );
+    }
+
+    /**
+     * Updates an AABB to the bounds of the shape, including its radius,
+     * enlarged by a margin on every side.
+     *
+     * @param aabb The AABB.
+     * @param margin The margin.
+     */
+    public void updateAABB( AABB aabb, double margin ) {
+
+        update();
+
+        double x1 = worldX[0];
+        double y1 = worldY[0];
+        double x2 = x1;
+        double y2 = y1;
+
+        for ( int i = 1; i < count; i++ ) {
+            x1 = Math.min( x1, worldX[i] );
+            y1 = Math.min( y1, worldY[i] );
+            x2 = Math.max( x2, worldX[i] );
+            y2 = Math.max( y2, worldY[i] );
+        }
+
+        double extent = radius + margin;
+        aabb.setSize( x2 - x1 + 2 * extent, y2 - y1 + 2 * extent );
+        aabb.moveTo( x1 - extent, y1 - extent );
+
+    }
+
+    /**
+     * Computes the cached vertices and normals, if the transform changed.
+     */
+    void update() {
+
+        if ( !dirty ) {
+            return;
+        }
+
+        double rad = Math.toRadians( rotation );
+        double cos = Math.cos( rad );
+        double sin = Math.sin( rad );
+
+        for ( int i = 0; i < count; i++ ) {
+            worldX[i] = x + localX[i] * cos - localY[i] * sin;
+            worldY[i] = y + localX[i] * sin + localY[i] * cos;
+            normalX[i] = localNormalX[i] * cos - localNormalY[i] * sin;
+            normalY[i] = localNormalX[i] * sin + localNormalY[i] * cos;
+        }
+
+        dirty = false;
+
+    }
+
+    /*
+     * Direct access to the caches for the collision algorithms. The shape
+     * must be updated first.
+     */
+
+    int count() {
+        return count;
+    }
+
+    double[] worldX() {
+        return worldX;
+    }
+
+    double[] worldY() {
+        return worldY;
+    }
+
+    double[] normalX() {
+        return normalX;
+    }
+
+    double[] normalY() {
+        return normalY;
+    }
+
+    /**
+     * Index of the vertex farthest along a direction. The shape must be
+     * updated first.
+     */
+    int support( double dx, double dy ) {
+
+        int best = 0;
+        double bestValue = worldX[0] * dx + worldY[0] * dy;
+
+        for ( int i = 1; i < count; i++ ) {
+            double value = worldX[i] * dx + worldY[i] * dy;
+            if ( value > bestValue ) {
+                best = i;
+                bestValue = value;
+            }
+        }
+
+        return best;
+
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision;
+
+/**
+ * Result of a swept collision test or raycast of CollisionUtils.
+ *
+ * It is meant to be reused, so the tests do not create objects. Each test
+ * overwrites all fields.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class SweepResult {
+
+    /**
+     * Indicates whether there was a collision.
+     */
+    public boolean hit;
+
+    /**
+     * Time of impact, from 0 (start of the movement) to 1 (end of the
+     * movement). It is 0 if the objects were already overlapping.
+     */
+    public double time;
+
+    /**
+     * X coordinate of the contact normal, pointing from the hit object to
+     * the moving object.
+     */
+    public double normalX;
+
+    /**
+     * Y coordinate of the contact normal, pointing from the hit object to
+     * the moving object.
+     */
+    public double normalY;
+
+    /**
+     * X coordinate of the moving object at the time of impact: the ray
+     * point, the circle center or the AABB upper-left vertex.
+     */
+    public double x;
+
+    /**
+     * Y coordinate of the moving object at the time of impact: the ray
+     * point, the circle center or the AABB upper-left vertex.
+     */
+    public double y;
+
+    /**
+     * Resets the result to no collision.
+     */
+    public void reset() {
+        hit = false;
+        time = 1;
+        normalX = 0;
+        normalY = 0;
+        x = 0;
+        y = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "SweepResult[%b, %.4f, %.2f, %.2f, %.2f, %.2f]", hit, time, normalX, normalY, x, y );
+    }
+
+}
@@ -27,6 +27,9 @@ import java.awt.Paint;
  * the AABB type (static or dynamic), whether it is an active AABB, and which
  * object it references.
  *
+ * When the AABB belongs to an AABBTree, moving or resizing it through its
+ * methods refits its leaf in the tree.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public class AABB implements Drawable {
@@ -101,6 +104,12 @@ public class AABB implements Drawable {
      */
     public AABB nearby;
 
+    /*
+     * Dynamic tree that contains this AABB and the index of its leaf.
+     */
+    AABBTree tree;
+    int proxyId = -1;
+
     /**
      * Constructs a static AABB with the upper-left vertex at 0, 0 and
      * lower-right vertex at 50, 50 that does not reference any object.
@@ -178,6 +187,9 @@ public class AABB implements Drawable {
         y1 += deltaY;
         x2 += deltaX;
         y2 += deltaY;
+        if ( tree != null ) {
+            tree.moveProxy( this, deltaX, deltaY );
+        }
     }
     
     /**
@@ -187,10 +199,15 @@ public class AABB implements Drawable {
      * @param y1 Y coordinate of the upper-left vertex.
      */
     public void moveTo( double x1, double y1 ) {
+        double deltaX = x1 - this.x1;
+        double deltaY = y1 - this.y1;
         this.x1 = x1;
         this.y1 = y1;
         this.x2 = x1 + this.width;
         this.y2 = y1 + this.height;
+        if ( tree != null ) {
+            tree.moveProxy( this, deltaX, deltaY );
+        }
     }
 
     /**
@@ -204,6 +221,9 @@ public class AABB implements Drawable {
         y2 = y1 + height;
         this.width = x2 - x1;
         this.height = y2 - y1;
+        if ( tree != null ) {
+            tree.moveProxy( this, 0, 0 );
+        }
     }
     
     @Override
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision.aabb;
+
+/**
+ * Receives the overlap events of a broad-phase. All methods do nothing by
+ * default, so only the events of interest need to be implemented.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public interface AABBOverlapListener {
+
+    /**
+     * Called when two AABBs start to overlap.
+     *
+     * @param a The first AABB.
+     * @param b The second AABB.
+     */
+    default void overlapBegin( AABB a, AABB b ) {
+    }
+
+    /**
+     * Called when two AABBs that were already overlapping keep overlapping.
+     *
+     * @param a The first AABB.
+     * @param b The second AABB.
+     */
+    default void overlapPersist( AABB a, AABB b ) {
+    }
+
+    /**
+     * Called when two AABBs stop overlapping, or when one of them is
+     * deactivated or removed.
+     *
+     * @param a The first AABB.
+     * @param b The second AABB.
+     */
+    default void overlapEnd( AABB a, AABB b ) {
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision.aabb;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A reusable buffer of AABB pairs, filled by the broad-phase structures.
+ *
+ * The pairs are stored in two parallel arrays that only grow, so a buffer
+ * reused every frame does not create any object after it reaches the
+ * number of pairs of the scene.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBPairBuffer {
+
+    private AABB[] first;
+    private AABB[] second;
+    private int size;
+
+    /**
+     * Constructs an empty buffer.
+     */
+    public AABBPairBuffer() {
+        this( 64 );
+    }
+
+    /**
+     * Constructs an empty buffer.
+     *
+     * @param initialCapacity The initial number of pairs.
+     */
+    public AABBPairBuffer( int initialCapacity ) {
+        first = new AABB[Math.max( 1, initialCapacity )];
+        second = new AABB[first.length];
+    }
+
+    /**
+     * Adds a pair.
+     *
+     * @param a The first AABB.
+     * @param b The second AABB.
+     */
+    public void add( AABB a, AABB b ) {
+        if ( size == first.length ) {
+            first = Arrays.copyOf( first, size * 2 );
+            second = Arrays.copyOf( second, size * 2 );
+        }
+        first[size] = a;
+        second[size] = b;
+        size++;
+    }
+
+    /**
+     * Gets the first AABB of a pair.
+     *
+     * @param index The index of the pair.
+     * @return The first AABB.
+     */
+    public AABB getFirst( int index ) {
+        return first[Objects.checkIndex( index, size )];
+    }
+
+    /**
+     * Gets the second AABB of a pair.
+     *
+     * @param index The index of the pair.
+     * @return The second AABB.
+     */
+    public AABB getSecond( int index ) {
+        return second[Objects.checkIndex( index, size )];
+    }
+
+    /**
+     * Gets the number of pairs.
+     *
+     * @return The number of pairs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the buffer is empty.
+     *
+     * @return True if there are no pairs, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all pairs, keeping the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill( first, 0, size, null );
+        Arrays.fill( second, 0, size, null );
+        size = 0;
+    }
+
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision.aabb;
+
+import br.com.davidbuzatto.jsge.collision.CollisionUtils;
+import br.com.davidbuzatto.jsge.collision.SweepResult;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid broad-phase for AABBs, with the cells stored in a hash
+ * table, so the grid is unbounded and its memory depends only on the
+ * number of occupied cells.
+ *
+ * Each update inserts the active AABBs in all cells they touch, using a
+ * counting sort by bucket into primitive int arrays, so rebuilding the
+ * grid every frame is linear and does not create objects. The grid works
+ * best when the AABBs have similar sizes, with the cell size about the
+ * size of the largest common AABB.
+ *
+ * A pair of AABBs that share several cells is reported only by the cell
+ * that contains the upper-left vertex of their intersection, so each pair
+ * is reported once. As in AABBQuadtree, inactive AABBs and pairs of
+ * static AABBs are ignored.
+ *
+ * Usage:
+ * <pre>
+ * AABBSpatialHashGrid grid = new AABBSpatialHashGrid( 32 );
+ * AABBPairBuffer pairs = new AABBPairBuffer();
+ * grid.addAll( aabbs );
+ *
+ * // each frame, after moving the AABBs
+ * grid.update();
+ * grid.findPairs( pairs );
+ * </pre>
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBSpatialHashGrid {
+
+    private static final Color OUTLINE_COLOR = EngineFrame.BLACK;
+    private static final Color AABB_COLOR = ColorUtils.fade( EngineFrame.GOLD, 1 );
+    private static final Color INACTIVE_AABB_COLOR = ColorUtils.fade( EngineFrame.RED, 1 );
+
+    /* cells are clamped to this range, so the loops over cells never overflow */
+    private static final int MAX_CELL = 1 << 30;
+
+    private final double cellSize;
+
+    /* AABBs by slot and the slot of each AABB */
+    private AABB[] aabbs;
+    private final Map<AABB, Integer> slots;
+    private int slotCount;
+    private int[] freeSlots;
+    private int freeSlotCount;
+
+    /* entries, one per AABB and cell, grouped by bucket */
+    private int[] entrySlots;
+    private int[] entryCellXs;
+    private int[] entryCellYs;
+    private int entryCount;
+
+    /* unsorted entries, used while building */
+    private int[] tempSlots;
+    private int[] tempCellXs;
+    private int[] tempCellYs;
+    private int[] tempBuckets;
+
+    /* first entry of each bucket, plus one element with the entry count */
+    private int[] bucketStarts;
+    private int bucketMask;
+
+    /* marks the AABBs already visited by a query */
+    private int[] queryStamps;
+    private int queryStamp;
+    private final SweepResult sweepResult;
+
+    /**
+     * Constructs an empty grid.
+     *
+     * @param cellSize The size of the cells.
+     */
+    public AABBSpatialHashGrid( double cellSize ) {
+
+        if ( cellSize <= 0 ) {
+            throw new IllegalArgumentException( "the cell size must be positive" );
+        }
+
+        this.cellSize = cellSize;
+        this.aabbs = new AABB[16];
+        this.slots = new IdentityHashMap<>();
+        this.freeSlots = new int[16];
+        this.queryStamps = new int[16];
+        this.entrySlots = new int[64];
+        this.entryCellXs = new int[64];
+        this.entryCellYs = new int[64];
+        this.tempSlots = new int[64];
+        this.tempCellXs = new int[64];
+        this.tempCellYs = new int[64];
+        this.tempBuckets = new int[64];
+        this.bucketStarts = new int[17];
+        this.bucketMask = 15;
+        this.sweepResult = new SweepResult();
+
+    }
+
+    /**
+     * Adds an AABB. It enters the grid in the next update.
+     *
+     * @param aabb The AABB.
+     * @throws IllegalArgumentException If the AABB was already added.
+     */
+    public void add( AABB aabb ) {
+
+        if ( slots.containsKey( aabb ) ) {
+            throw new IllegalArgumentException( "the AABB was already added" );
+        }
+
+        int slot;
+
+        if ( freeSlotCount > 0 ) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            slot = slotCount++;
+            if ( slot == aabbs.length ) {
+                aabbs = Arrays.copyOf( aabbs, slot * 2 );
+                queryStamps = Arrays.copyOf( queryStamps, slot * 2 );
+            }
+        }
+
+        aabbs[slot] = aabb;
+        slots.put( aabb, slot );
+
+    }
+
+    /**
+     * Adds a list of AABBs. They enter the grid in the next update.
+     *
+     * @param aabbs The AABBs.
+     */
+    public void addAll( List<AABB> aabbs ) {
+        for ( AABB aabb : aabbs ) {
+            add( aabb );
+        }
+    }
+
+    /**
+     * Removes an AABB. It leaves the grid in the next update.
+     *
+     * @param aabb The AABB.
+     * @throws IllegalArgumentException If the AABB was not added.
+     */
+    public void remove( AABB aabb ) {
+
+        Integer slot = slots.remove( aabb );
+
+        if ( slot == null ) {
+            throw new IllegalArgumentException( "the AABB was not added" );
+        }
+
+        aabbs[slot] = null;
+
+        if ( freeSlotCount == freeSlots.length ) {
+            freeSlots = Arrays.copyOf( freeSlots, freeSlotCount * 2 );
+        }
+        freeSlots[freeSlotCount++] = slot;
+
+    }
+
+    /**
+     * Checks whether an AABB was added.
+     *
+     * @param aabb The AABB.
+     * @return True if the AABB was added, false otherwise.
+     */
+    public boolean contains( AABB aabb ) {
+        return slots.containsKey( aabb );
+    }
+
+    /**
+     * Gets the number of AABBs.
+     *
+     * @return The number of AABBs.
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Gets the size of the cells.
+     *
+     * @return The size of the cells.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Rebuilds the grid with the current position of the active AABBs.
+     * Must be called once per frame, after the AABBs move and before
+     * finding pairs or querying.
+     *
+     * @throws IllegalArgumentException If an active AABB has non-finite
+     * bounds.
+     */
+    public void update() {
+
+        // collects one entry per AABB and cell
+        int count = 0;
+
+        for ( int slot = 0; slot < slotCount; slot++ ) {
+
+            AABB aabb = aabbs[slot];
+
+            if ( aabb == null || !aabb.active ) {
+                continue;
+            }
+
+            if ( !Double.isFinite( aabb.x1 ) || !Double.isFinite( aabb.y1 ) ||
+                 !Double.isFinite( aabb.x2 ) || !Double.isFinite( aabb.y2 ) ) {
+                throw new IllegalArgumentException( "the bounds of the AABB must be finite" );
+            }
+
+            int cx1 = cell( aabb.x1 );
+            int cy1 = cell( aabb.y1 );
+            int cx2 = cell( aabb.x2 );
+            int cy2 = cell( aabb.y2 );
+
+            for ( int cy = cy1; cy <= cy2; cy++ ) {
+                for ( int cx = cx1; cx <= cx2; cx++ ) {
+                    if ( count == tempSlots.length ) {
+                        growEntries( count * 2 );
+                    }
+                    tempSlots[count] = slot;
+                    tempCellXs[count] = cx;
+                    tempCellYs[count] = cy;
+                    count++;
+                }
+            }
+
+        }
+
+        // about two buckets per entry
+        int bucketCount = Integer.highestOneBit( Math.max( 16, count * 2 ) - 1 ) << 1;
+        if ( bucketStarts.length < bucketCount + 1 ) {
+            bucketStarts = new int[bucketCount + 1];
+        } else {
+            Arrays.fill( bucketStarts, 0, bucketCount + 1, 0 );
+        }
+        bucketMask = bucketCount - 1;
+
+        // counting sort by bucket
+        for ( int i = 0; i < count; i++ ) {
+            int bucket = hash( tempCellXs[i], tempCellYs[i] ) & bucketMask;
+            tempBuckets[i] = bucket;
+            bucketStarts[bucket + 1]++;
+        }
+
+        for ( int i = 0; i < bucketCount; i++ ) {
+            bucketStarts[i + 1] += bucketStarts[i];
+        }
+
+        for ( int i = 0; i < count; i++ ) {
+            // bucketStarts[b] is used as the insertion position of bucket b
+            int position = bucketStarts[tempBuckets[i]]++;
+            entrySlots[position] = tempSlots[i];
+            entryCellXs[position] = tempCellXs[i];
+            entryCellYs[position] = tempCellYs[i];
+        }
+
+        // the insertion positions became the ends of the buckets
+        System.arraycopy( bucketStarts, 0, bucketStarts, 1, bucketCount );
+        bucketStarts[0] = 0;
+
+        entryCount = count;
+
+    }
+
+    /**
+     * Finds all pairs of overlapping AABBs in the grid. Each pair is
+     * reported once.
+     *
+     * @param pairs The buffer that receives the pairs. It is cleared first.
+     * @return The number of pairs.
+     */
+    public int findPairs( AABBPairBuffer pairs ) {
+
+        pairs.clear();
+
+        for ( int bucket = 0; bucket <= bucketMask; bucket++ ) {
+
+            int end = bucketStarts[bucket + 1];
+
+            for ( int i = bucketStarts[bucket]; i < end; i++ ) {
+
+                AABB a = aabbs[entrySlots[i]];
+                int cx = entryCellXs[i];
+                int cy = entryCellYs[i];
+
+                // null if it was removed after the last update
+                if ( a == null ) {
+                    continue;
+                }
+
+                for ( int j = i + 1; j < end; j++ ) {
+
+                    // other cells with the same hash
+                    if ( entryCellXs[j] != cx || entryCellYs[j] != cy ) {
+                        continue;
+                    }
+
+                    AABB b = aabbs[entrySlots[j]];
+
+                    if ( b != null &&
+                         ( a.type == AABB.Type.DYNAMIC || b.type == AABB.Type.DYNAMIC ) &&
+                         a.collidesWith( b ) &&
+                         cell( Math.max( a.x1, b.x1 ) ) == cx &&
+                         cell( Math.max( a.y1, b.y1 ) ) == cy ) {
+                        pairs.add( a, b );
+                    }
+
+                }
+
+            }
+
+        }
+
+        return pairs.size();
+
+    }
+
+    /**
+     * Finds the AABBs in the grid that overlap a region.
+     *
+     * @param x1 X coordinate of the upper-left vertex of the region.
+     * @param y1 Y coordinate of the upper-left vertex of the region.
+     * @param x2 X coordinate of the lower-right vertex of the region.
+     * @param y2 Y coordinate of the lower-right vertex of the region.
+     * @param result The list that receives the AABBs. It is not cleared.
+     * @return The number of AABBs found.
+     */
+    public int query( double x1, double y1, double x2, double y2, List<AABB> result ) {
+        return query( x1, y1, x2, y2, null, result );
+    }
+
+    /**
+     * Finds the neighbours of an AABB, i.e., the AABBs in the grid that
+     * overlap it. The AABB is not included in the result.
+     *
+     * @param aabb The AABB.
+     * @param result The list that receives the AABBs. It is not cleared.
+     * @return The number of AABBs found.
+     */
+    public int query( AABB aabb, List<AABB> result ) {
+        return query( aabb.x1, aabb.y1, aabb.x2, aabb.y2, aabb, result );
+    }
+
+    /**
+     * Finds the AABBs in the grid hit by an AABB during a movement. The grid
+     * is queried with the swept bounds of the movement and the candidates
+     * are confirmed with CollisionUtils.sweepAABBs, so a fast AABB does not
+     * tunnel through thin ones. The AABB is not included in the result.
+     *
+     * @param aabb The moving AABB, at the start of its movement.
+     * @param deltaX Displacement along x.
+     * @param deltaY Displacement along y.
+     * @param result The list that receives the AABBs. It is not cleared.
+     * @return The number of AABBs found.
+     */
+    public int querySwept( AABB aabb, double deltaX, double deltaY, List<AABB> result ) {
+
+        int start = result.size();
+
+        query(
+            aabb.x1 + Math.min( 0, deltaX ), aabb.y1 + Math.min( 0, deltaY ),
+            aabb.x2 + Math.max( 0, deltaX ), aabb.y2 + Math.max( 0, deltaY ),
+            aabb, result
+        );
+
+        // keeps only the candidates confirmed by the sweep
+        int k = start;
+        for ( int i = start; i < result.size(); i++ ) {
+            AABB a = result.get( i );
+            if ( CollisionUtils.sweepAABBs( aabb, deltaX, deltaY, a, sweepResult ) ) {
+                result.set( k++, a );
+            }
+        }
+
+        while ( result.size() > k ) {
+            result.remove( result.size() - 1 );
+        }
+
+        return k - start;
+
+    }
+
+    /**
+     * Draws the AABBs and outlines the occupied cells.
+     *
+     * @param engine The engine.
+     * @param x X coordinate of the drawing position.
+     * @param y Y coordinate of the drawing position.
+     */
+    public void draw( EngineFrame engine, double x, double y ) {
+        draw( engine, x, y, 1.0 );
+    }
+
+    /**
+     * Draws the AABBs and outlines the occupied cells.
+     *
+     * @param engine The engine.
+     * @param x X coordinate of the drawing position.
+     * @param y Y coordinate of the drawing position.
+     * @param scale The drawing scale.
+     */
+    public void draw( EngineFrame engine, double x, double y, double scale ) {
+
+        for ( int slot = 0; slot < slotCount; slot++ ) {
+            AABB aabb = aabbs[slot];
+            if ( aabb != null ) {
+                engine.fillRectangle(
+                    x + aabb.x1 * scale,
+                    y + aabb.y1 * scale,
+                    aabb.width * scale,
+                    aabb.height * scale,
+                    aabb.active ? AABB_COLOR : INACTIVE_AABB_COLOR
+                );
+            }
+        }
+
+        for ( int i = 0; i < entryCount; i++ ) {
+            engine.drawRectangle(
+                x + entryCellXs[i] * cellSize * scale,
+                y + entryCellYs[i] * cellSize * scale,
+                cellSize * scale,
+                cellSize * scale,
+                OUTLINE_COLOR
+            );
+        }
+
+    }
+
+    private int query( double x1, double y1, double x2, double y2, AABB ignored, List<AABB> result ) {
+
+        // a new stamp, so each AABB is visited once even if it is in many cells
+        if ( ++queryStamp == 0 ) {
+            Arrays.fill( queryStamps, 0 );
+            queryStamp = 1;
+        }
+
+        int count = 0;
+        int cx1 = cell( x1 );
+        int cy1 = cell( y1 );
+        int cx2 = cell( x2 );
+        int cy2 = cell( y2 );
+
+        // walking a region with more cells than entries costs more than
+        // scanning all entries
+        if ( ( (long) cx2 - cx1 + 1 ) * ( (long) cy2 - cy1 + 1 ) > entryCount ) {
+            for ( int i = 0; i < entryCount; i++ ) {
+                count += collect( entrySlots[i], x1, y1, x2, y2, ignored, result );
+            }
+            return count;
+        }
+
+        for ( int cy = cy1; cy <= cy2; cy++ ) {
+            for ( int cx = cx1; cx <= cx2; cx++ ) {
+
+                int bucket = hash( cx, cy ) & bucketMask;
+                int end = bucketStarts[bucket + 1];
+
+                for ( int i = bucketStarts[bucket]; i < end; i++ ) {
+                    if ( entryCellXs[i] == cx && entryCellYs[i] == cy ) {
+                        count += collect( entrySlots[i], x1, y1, x2, y2, ignored, result );
+                    }
+                }
+
+            }
+        }
+
+        return count;
+
+    }
+
+    /*
+     * Adds the AABB of a slot to the result if it was not visited by the
+     * current query and overlaps the region, returning the number added.
+     */
+    private int collect( int slot, double x1, double y1, double x2, double y2, AABB ignored, List<AABB> result ) {
+
+        if ( queryStamps[slot] == queryStamp ) {
+            return 0;
+        }
+
+        queryStamps[slot] = queryStamp;
+        AABB a = aabbs[slot];
+
+        // null if it was removed after the last update
+        if ( a != null && a != ignored &&
+             !( a.x1 > x2 || x1 > a.x2 || a.y2 < y1 || y2 < a.y1 ) ) {
+            result.add( a );
+            return 1;
+        }
+
+        return 0;
+
+    }
+
+    private int cell( double value ) {
+        double cell = Math.floor( value / cellSize );
+        return (int) Math.max( -MAX_CELL, Math.min( cell, MAX_CELL ) );
+    }
+
+    private void growEntries( int capacity ) {
+        entrySlots = Arrays.copyOf( entrySlots, capacity );
+        entryCellXs = Arrays.copyOf( entryCellXs, capacity );
+        entryCellYs = Arrays.copyOf( entryCellYs, capacity );
+        tempSlots = Arrays.copyOf( tempSlots, capacity );
+        tempCellXs = Arrays.copyOf( tempCellXs, capacity );
+        tempCellYs = Arrays.copyOf( tempCellYs, capacity );
+        tempBuckets = Arrays.copyOf( tempBuckets, capacity );
+    }
+
+    private static int hash( int cx, int cy ) {
+        int h = cx * 0x8DA6B343 ^ cy * 0xD8163841;
+        return h ^ ( h >>> 16 );
+    }
+
+}
@@ -0,0 +1,508 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision.aabb;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A sweep-and-prune broad-phase for AABBs.
+ *
+ * The start and end of each AABB along the sweep axis are kept in a sorted
+ * array of endpoints. Each update refreshes the endpoints and sorts them
+ * again with insertion sort, which runs in almost linear time because the
+ * AABBs move little between frames. Then the endpoints are swept in order,
+ * keeping the AABBs whose intervals are open, and only these are tested
+ * against each other on the other axis.
+ *
+ * The overlapping pairs of an update are compared with those of the
+ * previous update to emit begin, persist and end events. As in
+ * AABBQuadtree, inactive AABBs and pairs of static AABBs are ignored.
+ *
+ * The sweep axis should be the one along which the AABBs are more spread,
+ * usually the x axis in side-scrolling scenes.
+ *
+ * Usage:
+ * <pre>
+ * AABBSweepAndPrune sap = new AABBSweepAndPrune();
+ * sap.addAll( aabbs );
+ * sap.setOverlapListener( new AABBOverlapListener() {
+ *     &#64;Override
+ *     public void overlapBegin( AABB a, AABB b ) {
+ *         ...
+ *     }
+ * });
+ *
+ * // each frame, after moving the AABBs
+ * sap.update();
+ * </pre>
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBSweepAndPrune {
+
+    /**
+     * Sweep axis.
+     */
+    public static enum Axis {
+        X,
+        Y;
+    }
+
+    private Axis axis;
+    private AABBOverlapListener listener;
+
+    /* AABBs by slot and the slot of each AABB */
+    private AABB[] aabbs;
+    private final Map<AABB, Integer> slots;
+    private int slotCount;
+    private int[] freeSlots;
+    private int freeSlotCount;
+
+    /* slots removed since the last update, freed after their end events */
+    private int[] removedSlots;
+    private int removedSlotCount;
+
+    /* endpoints, sorted by value. Each handle is slot << 1 | 1 if it is an end */
+    private double[] endpointValues;
+    private int[] endpointHandles;
+    private int endpointCount;
+
+    /* slots whose interval is open during the sweep */
+    private int[] open;
+    private int[] openIndex;
+    private int openCount;
+
+    /* pairs of the current and previous updates */
+    private PairSet currentPairs;
+    private PairSet previousPairs;
+    private final AABBPairBuffer pairs;
+
+    /**
+     * Constructs an empty sweep-and-prune along the x axis.
+     */
+    public AABBSweepAndPrune() {
+        this( Axis.X );
+    }
+
+    /**
+     * Constructs an empty sweep-and-prune.
+     *
+     * @param axis The sweep axis.
+     */
+    public AABBSweepAndPrune( Axis axis ) {
+        this.axis = axis;
+        this.aabbs = new AABB[16];
+        this.slots = new IdentityHashMap<>();
+        this.freeSlots = new int[16];
+        this.removedSlots = new int[16];
+        this.endpointValues = new double[32];
+        this.endpointHandles = new int[32];
+        this.open = new int[16];
+        this.openIndex = new int[16];
+        this.currentPairs = new PairSet();
+        this.previousPairs = new PairSet();
+        this.pairs = new AABBPairBuffer();
+    }
+
+    /**
+     * Adds an AABB.
+     *
+     * @param aabb The AABB.
+     * @throws IllegalArgumentException If the AABB was already added.
+     */
+    public void add( AABB aabb ) {
+
+        if ( slots.containsKey( aabb ) ) {
+            throw new IllegalArgumentException( "the AABB was already added" );
+        }
+
+        int slot;
+
+        if ( freeSlotCount > 0 ) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            slot = slotCount++;
+            if ( slot == aabbs.length ) {
+                aabbs = Arrays.copyOf( aabbs, slot * 2 );
+                open = Arrays.copyOf( open, slot * 2 );
+                openIndex = Arrays.copyOf( openIndex, slot * 2 );
+            }
+        }
+
+        aabbs[slot] = aabb;
+        slots.put( aabb, slot );
+
+        if ( endpointCount + 2 > endpointValues.length ) {
+            endpointValues = Arrays.copyOf( endpointValues, endpointValues.length * 2 );
+            endpointHandles = Arrays.copyOf( endpointHandles, endpointHandles.length * 2 );
+        }
+
+        // appended at the end, the next update sorts them
+        endpointHandles[endpointCount++] = slot << 1;
+        endpointHandles[endpointCount++] = slot << 1 | 1;
+
+    }
+
+    /**
+     * Adds a list of AABBs.
+     *
+     * @param aabbs The AABBs.
+     */
+    public void addAll( List<AABB> aabbs ) {
+        for ( AABB aabb : aabbs ) {
+            add( aabb );
+        }
+    }
+
+    /**
+     * Removes an AABB. The end events of its pairs are emitted in the next
+     * update.
+     *
+     * @param aabb The AABB.
+     * @throws IllegalArgumentException If the AABB was not added.
+     */
+    public void remove( AABB aabb ) {
+
+        Integer slot = slots.remove( aabb );
+
+        if ( slot == null ) {
+            throw new IllegalArgumentException( "the AABB was not added" );
+        }
+
+        int k = 0;
+        for ( int i = 0; i < endpointCount; i++ ) {
+            if ( endpointHandles[i] >> 1 != slot ) {
+                endpointValues[k] = endpointValues[i];
+                endpointHandles[k] = endpointHandles[i];
+                k++;
+            }
+        }
+        endpointCount = k;
+
+        if ( removedSlotCount == removedSlots.length ) {
+            removedSlots = Arrays.copyOf( removedSlots, removedSlotCount * 2 );
+        }
+        removedSlots[removedSlotCount++] = slot;
+
+    }
+
+    /**
+     * Checks whether an AABB was added.
+     *
+     * @param aabb The AABB.
+     * @return True if the AABB was added, false otherwise.
+     */
+    public boolean contains( AABB aabb ) {
+        return slots.containsKey( aabb );
+    }
+
+    /**
+     * Gets the number of AABBs.
+     *
+     * @return The number of AABBs.
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Sorts the endpoints, finds the overlapping pairs and emits the
+     * overlap events. Must be called once per frame, after the AABBs move.
+     *
+     * @return The number of overlapping pairs.
+     */
+    public int update() {
+
+        refreshEndpoints();
+        sortEndpoints();
+
+        PairSet swap = previousPairs;
+        previousPairs = currentPairs;
+        currentPairs = swap;
+        currentPairs.clear();
+        pairs.clear();
+
+        sweep();
+
+        // pairs that were not found again ended
+        if ( listener != null ) {
+            long[] keys = previousPairs.keys;
+            for ( int i = 0; i < keys.length; i++ ) {
+                long key = keys[i];
+                if ( key != PairSet.EMPTY && !currentPairs.contains( key ) ) {
+                    listener.overlapEnd( aabbs[(int) ( key >>> 32 )], aabbs[(int) key] );
+                }
+            }
+        }
+
+        for ( int i = 0; i < removedSlotCount; i++ ) {
+            int slot = removedSlots[i];
+            aabbs[slot] = null;
+            if ( freeSlotCount == freeSlots.length ) {
+                freeSlots = Arrays.copyOf( freeSlots, freeSlotCount * 2 );
+            }
+            freeSlots[freeSlotCount++] = slot;
+        }
+        removedSlotCount = 0;
+
+        return pairs.size();
+
+    }
+
+    /**
+     * Gets the overlapping pairs found by the last update. The buffer is
+     * reused by the next update.
+     *
+     * @return The overlapping pairs.
+     */
+    public AABBPairBuffer getPairs() {
+        return pairs;
+    }
+
+    /**
+     * Sets the listener of the overlap events.
+     *
+     * @param listener The listener or null to not emit events.
+     */
+    public void setOverlapListener( AABBOverlapListener listener ) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the listener of the overlap events.
+     *
+     * @return The listener.
+     */
+    public AABBOverlapListener getOverlapListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the sweep axis. The next update sorts all endpoints again.
+     *
+     * @param axis The sweep axis.
+     */
+    public void setAxis( Axis axis ) {
+        this.axis = axis;
+    }
+
+    /**
+     * Gets the sweep axis.
+     *
+     * @return The sweep axis.
+     */
+    public Axis getAxis() {
+        return axis;
+    }
+
+    private void refreshEndpoints() {
+
+        boolean alongX = axis == Axis.X;
+
+        for ( int i = 0; i < endpointCount; i++ ) {
+            int handle = endpointHandles[i];
+            AABB aabb = aabbs[handle >> 1];
+            if ( ( handle & 1 ) == 0 ) {
+                endpointValues[i] = alongX ? aabb.x1 : aabb.y1;
+            } else {
+                endpointValues[i] = alongX ? aabb.x2 : aabb.y2;
+            }
+        }
+
+    }
+
+    /**
+     * Insertion sort of the endpoints. Starts come before ends with the
+     * same value, so touching AABBs overlap, as in AABB.collidesWith.
+     */
+    private void sortEndpoints() {
+
+        double[] values = endpointValues;
+        int[] handles = endpointHandles;
+
+        for ( int i = 1; i < endpointCount; i++ ) {
+
+            double value = values[i];
+            int handle = handles[i];
+            int j = i - 1;
+
+            while ( j >= 0 && ( values[j] > value ||
+                    ( values[j] == value && ( handles[j] & 1 ) > ( handle & 1 ) ) ) ) {
+                values[j + 1] = values[j];
+                handles[j + 1] = handles[j];
+                j--;
+            }
+
+            values[j + 1] = value;
+            handles[j + 1] = handle;
+
+        }
+
+    }
+
+    private void sweep() {
+
+        openCount = 0;
+
+        for ( int i = 0; i < endpointCount; i++ ) {
+
+            int handle = endpointHandles[i];
+            int slot = handle >> 1;
+            AABB a = aabbs[slot];
+
+            if ( !a.active ) {
+                continue;
+            }
+
+            if ( ( handle & 1 ) == 1 ) {
+                // closes the interval, moving the last open slot to its place
+                int index = openIndex[slot];
+                int last = open[--openCount];
+                open[index] = last;
+                openIndex[last] = index;
+                continue;
+            }
+
+            for ( int k = 0; k < openCount; k++ ) {
+
+                int other = open[k];
+                AABB b = aabbs[other];
+
+                if ( ( a.type == AABB.Type.DYNAMIC || b.type == AABB.Type.DYNAMIC ) &&
+                     a.collidesWith( b ) ) {
+                    addPair( other, slot );
+                }
+
+            }
+
+            openIndex[slot] = openCount;
+            open[openCount++] = slot;
+
+        }
+
+    }
+
+    private void addPair( int slotA, int slotB ) {
+
+        if ( slotA > slotB ) {
+            int t = slotA;
+            slotA = slotB;
+            slotB = t;
+        }
+
+        AABB a = aabbs[slotA];
+        AABB b = aabbs[slotB];
+        long key = (long) slotA << 32 | slotB;
+
+        currentPairs.add( key );
+        pairs.add( a, b );
+
+        if ( listener != null ) {
+            if ( previousPairs.contains( key ) ) {
+                listener.overlapPersist( a, b );
+            } else {
+                listener.overlapBegin( a, b );
+            }
+        }
+
+    }
+
+    /**
+     * An open addressing hash set of pair keys.
+     */
+    private static class PairSet {
+
+        static final long EMPTY = -1;
+
+        long[] keys;
+        int size;
+
+        PairSet() {
+            keys = new long[64];
+            Arrays.fill( keys, EMPTY );
+        }
+
+        void add( long key ) {
+
+            if ( ( size + 1 ) * 2 > keys.length ) {
+                rehash( keys.length * 2 );
+            }
+
+            int mask = keys.length - 1;
+            int i = hash( key ) & mask;
+
+            while ( keys[i] != EMPTY ) {
+                if ( keys[i] == key ) {
+                    return;
+                }
+                i = ( i + 1 ) & mask;
+            }
+
+            keys[i] = key;
+            size++;
+
+        }
+
+        boolean contains( long key ) {
+
+            int mask = keys.length - 1;
+            int i = hash( key ) & mask;
+
+            while ( keys[i] != EMPTY ) {
+                if ( keys[i] == key ) {
+                    return true;
+                }
+                i = ( i + 1 ) & mask;
+            }
+
+            return false;
+
+        }
+
+        void clear() {
+            if ( size > 0 ) {
+                Arrays.fill( keys, EMPTY );
+                size = 0;
+            }
+        }
+
+        private void rehash( int capacity ) {
+
+            long[] old = keys;
+            keys = new long[capacity];
+            Arrays.fill( keys, EMPTY );
+            size = 0;
+
+            for ( int i = 0; i < old.length; i++ ) {
+                if ( old[i] != EMPTY ) {
+                    add( old[i] );
+                }
+            }
+
+        }
+
+        private static int hash( long key ) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) ( h ^ ( h >>> 32 ) );
+        }
+
+    }
+
+}
@@ -0,0 +1,1030 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.collision.aabb;
+
+import br.com.davidbuzatto.jsge.collision.CollisionUtils;
+import br.com.davidbuzatto.jsge.collision.SweepResult;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A dynamic bounding volume hierarchy for AABBs, an alternative to
+ * AABBQuadtree for scenes with many moving AABBs or without fixed bounds.
+ *
+ * Each AABB is a leaf of a binary tree whose internal nodes enclose their
+ * children. The leaves store a fattened copy of the AABB, enlarged by a
+ * margin and by the predicted displacement, so an AABB that moves a
+ * little stays inside its fat box and the tree does not change. When an
+ * AABB leaves its fat box, only its leaf is removed and reinserted, and
+ * the tree is rebalanced with rotations while it is walked up.
+ *
+ * The AABBs added to the tree are refitted automatically by move, moveTo
+ * and setSize. If the coordinates of an AABB are changed directly, update
+ * must be called. An AABB can belong to only one tree at a time.
+ *
+ * The nodes are stored in primitive arrays and the traversals use an
+ * internal stack, so querying the tree does not create objects. The tree
+ * is not thread safe.
+ *
+ * Usage:
+ * <pre>
+ * AABBTree tree = new AABBTree();
+ * AABBPairBuffer pairs = new AABBPairBuffer();
+ *
+ * tree.add( aabb );
+ * ...
+ * aabb.move( 10, 0 );
+ * ...
+ * tree.findPairs( pairs );
+ * for ( int i = 0; i &lt; pairs.size(); i++ ) {
+ *     handle( pairs.getFirst( i ), pairs.getSecond( i ) );
+ * }
+ * </pre>
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBTree {
+
+    /**
+     * Default margin of the fat AABBs.
+     */
+    public static final double DEFAULT_MARGIN = 4;
+
+    private static final Color OUTLINE_COLOR = EngineFrame.BLACK;
+    private static final Color AABB_COLOR = ColorUtils.fade( EngineFrame.GOLD, 1 );
+    private static final Color INACTIVE_AABB_COLOR = ColorUtils.fade( EngineFrame.RED, 1 );
+
+    private static final int NULL_NODE = -1;
+
+    /**
+     * How many frames ahead the displacement of a moving AABB is predicted.
+     */
+    private static final double DISPLACEMENT_MULTIPLIER = 4;
+
+    private final double margin;
+
+    /* fat boxes of the nodes */
+    private double[] minX;
+    private double[] minY;
+    private double[] maxX;
+    private double[] maxY;
+
+    /* structure of the nodes. Free nodes use parent as the next free node */
+    private int[] parent;
+    private int[] child1;
+    private int[] child2;
+    private int[] height;
+
+    /* AABB of each leaf, null for internal and free nodes */
+    private AABB[] items;
+
+    private int root;
+    private int freeList;
+    private int capacity;
+    private int aabbCount;
+
+    private int[] stack;
+    private final SweepResult sweepResult;
+
+    /**
+     * Constructs an empty tree with the default margin.
+     */
+    public AABBTree() {
+        this( DEFAULT_MARGIN );
+    }
+
+    /**
+     * Constructs an empty tree.
+     *
+     * @param margin Margin of the fat AABBs. Larger margins mean less
+     * reinsertions of moving AABBs and more candidate pairs.
+     */
+    public AABBTree( double margin ) {
+
+        this.margin = Math.max( 0, margin );
+        this.root = NULL_NODE;
+        this.freeList = NULL_NODE;
+        this.stack = new int[64];
+        this.sweepResult = new SweepResult();
+
+        minX = new double[0];
+        minY = new double[0];
+        maxX = new double[0];
+        maxY = new double[0];
+        parent = new int[0];
+        child1 = new int[0];
+        child2 = new int[0];
+        height = new int[0];
+        items = new AABB[0];
+
+        grow( 16 );
+
+    }
+
+    /**
+     * Adds an AABB to the tree.
+     *
+     * @param aabb The AABB.
+     * @throws IllegalArgumentException If the AABB already belongs to a tree.
+     */
+    public void add( AABB aabb ) {
+
+        if ( aabb.tree != null ) {
+            throw new IllegalArgumentException( "the AABB already belongs to a tree" );
+        }
+
+        int leaf = allocateNode();
+        minX[leaf] = aabb.x1 - margin;
+        minY[leaf] = aabb.y1 - margin;
+        maxX[leaf] = aabb.x2 + margin;
+        maxY[leaf] = aabb.y2 + margin;
+        items[leaf] = aabb;
+        height[leaf] = 0;
+
+        insertLeaf( leaf );
+
+        aabb.tree = this;
+        aabb.proxyId = leaf;
+        aabbCount++;
+
+    }
+
+    /**
+     * Adds a list of AABBs to the tree.
+     *
+     * @param aabbs The AABBs.
+     */
+    public void addAll( List<AABB> aabbs ) {
+        for ( AABB aabb : aabbs ) {
+            add( aabb );
+        }
+    }
+
+    /**
+     * Removes an AABB from the tree.
+     *
+     * @param aabb The AABB.
+     * @throws IllegalArgumentException If the AABB does not belong to this tree.
+     */
+    public void remove( AABB aabb ) {
+
+        if ( aabb.tree != this ) {
+            throw new IllegalArgumentException( "the AABB does not belong to this tree" );
+        }
+
+        int leaf = aabb.proxyId;
+        removeLeaf( leaf );
+        freeNode( leaf );
+
+        aabb.tree = null;
+        aabb.proxyId = NULL_NODE;
+        aabbCount--;
+
+    }
+
+    /**
+     * Removes all AABBs from the tree.
+     */
+    public void clear() {
+
+        for ( int i = 0; i < capacity; i++ ) {
+            if ( items[i] != null ) {
+                items[i].tree = null;
+                items[i].proxyId = NULL_NODE;
+            }
+        }
+
+        Arrays.fill( items, null );
+        root = NULL_NODE;
+        freeList = NULL_NODE;
+        aabbCount = 0;
+
+        for ( int i = capacity - 1; i >= 0; i-- ) {
+            parent[i] = freeList;
+            height[i] = -1;
+            freeList = i;
+        }
+
+    }
+
+    /**
+     * Refits an AABB whose coordinates were changed directly.
+     *
+     * @param aabb The AABB.
+     * @throws IllegalArgumentException If the AABB does not belong to this tree.
+     */
+    public void update( AABB aabb ) {
+
+        if ( aabb.tree != this ) {
+            throw new IllegalArgumentException( "the AABB does not belong to this tree" );
+        }
+
+        moveProxy( aabb, 0, 0 );
+
+    }
+
+    /**
+     * Checks whether an AABB belongs to this tree.
+     *
+     * @param aabb The AABB.
+     * @return True if the AABB belongs to this tree, false otherwise.
+     */
+    public boolean contains( AABB aabb ) {
+        return aabb.tree == this;
+    }
+
+    /**
+     * Gets the number of AABBs in the tree.
+     *
+     * @return The number of AABBs.
+     */
+    public int size() {
+        return aabbCount;
+    }
+
+    /**
+     * Gets the height of the tree.
+     *
+     * @return The height of the tree, or -1 if it is empty.
+     */
+    public int getHeight() {
+        return root == NULL_NODE ? -1 : height[root];
+    }
+
+    /**
+     * Gets the margin of the fat AABBs.
+     *
+     * @return The margin.
+     */
+    public double getMargin() {
+        return margin;
+    }
+
+    /**
+     * Finds all pairs of overlapping active AABBs. As in AABBQuadtree,
+     * pairs of static AABBs are ignored. Each pair is reported once.
+     *
+     * @param pairs The buffer that receives the pairs. It is cleared first.
+     * @return The number of pairs.
+     */
+    public int findPairs( AABBPairBuffer pairs ) {
+
+        pairs.clear();
+
+        for ( int leaf = 0; leaf < capacity; leaf++ ) {
+
+            AABB a = items[leaf];
+
+            if ( a == null || !a.active ) {
+                continue;
+            }
+
+            int top = push( 0, root );
+
+            while ( top > 0 ) {
+
+                int node = stack[--top];
+
+                if ( !overlaps( node, a.x1, a.y1, a.x2, a.y2 ) ) {
+                    continue;
+                }
+
+                if ( isLeaf( node ) ) {
+                    // each pair is reported by its leaf with the lower index
+                    AABB b = items[node];
+                    if ( node > leaf && b.active &&
+                         ( a.type == AABB.Type.DYNAMIC || b.type == AABB.Type.DYNAMIC ) &&
+                         a.collidesWith( b ) ) {
+                        pairs.add( a, b );
+                    }
+                } else {
+                    top = push( top, child1[node] );
+                    top = push( top, child2[node] );
+                }
+
+            }
+
+        }
+
+        return pairs.size();
+
+    }
+
+    /**
+     * Finds the active AABBs that overlap a region.
+     *
+     * @param x1 X coordinate of the upper-left vertex of the region.
+     * @param y1 Y coordinate of the upper-left vertex of the region.
+     * @param x2 X coordinate of the lower-right vertex of the region.
+     * @param y2 Y coordinate of the lower-right vertex of the region.
+     * @param result The list that receives the AABBs. It is not cleared.
+     * @return The number of AABBs found.
+     */
+    public int query( double x1, double y1, double x2, double y2, List<AABB> result ) {
+
+        int count = 0;
+        int top = push( 0, root );
+
+        while ( top > 0 ) {
+
+            int node = stack[--top];
+
+            if ( !overlaps( node, x1, y1, x2, y2 ) ) {
+                continue;
+            }
+
+            if ( isLeaf( node ) ) {
+                AABB a = items[node];
+                if ( a.active && !( a.x1 > x2 || x1 > a.x2 || a.y2 < y1 || y2 < a.y1 ) ) {
+                    result.add( a );
+                    count++;
+                }
+            } else {
+                top = push( top, child1[node] );
+                top = push( top, child2[node] );
+            }
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Finds the active AABBs that overlap another AABB, which is not
+     * included in the result.
+     *
+     * @param aabb The AABB.
+     * @param result The list that receives the AABBs. It is not cleared.
+     * @return The number of AABBs found.
+     */
+    public int query( AABB aabb, List<AABB> result ) {
+
+        int count = 0;
+        int top = push( 0, root );
+
+        while ( top > 0 ) {
+
+            int node = stack[--top];
+
+            if ( !overlaps( node, aabb.x1, aabb.y1, aabb.x2, aabb.y2 ) ) {
+                continue;
+            }
+
+            if ( isLeaf( node ) ) {
+                AABB a = items[node];
+                if ( a != aabb && a.active && a.collidesWith( aabb ) ) {
+                    result.add( a );
+                    count++;
+                }
+            } else {
+                top = push( top, child1[node] );
+                top = push( top, child2[node] );
+            }
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Finds the active AABBs hit by an AABB during a movement. The tree is
+     * queried with the swept bounds of the movement and the candidates are
+     * confirmed with CollisionUtils.sweepAABBs, so a fast AABB does not
+     * tunnel through thin ones. The AABB is not included in the result.
+     *
+     * @param aabb The moving AABB, at the start of its movement.
+     * @param deltaX Displacement along x.
+     * @param deltaY Displacement along y.
+     * @param result The list that receives the AABBs. It is not cleared.
+     * @return The number of AABBs found.
+     */
+    public int querySwept( AABB aabb, double deltaX, double deltaY, List<AABB> result ) {
+
+        double x1 = aabb.x1 + Math.min( 0, deltaX );
+        double y1 = aabb.y1 + Math.min( 0, deltaY );
+        double x2 = aabb.x2 + Math.max( 0, deltaX );
+        double y2 = aabb.y2 + Math.max( 0, deltaY );
+
+        int count = 0;
+        int top = push( 0, root );
+
+        while ( top > 0 ) {
+
+            int node = stack[--top];
+
+            if ( !overlaps( node, x1, y1, x2, y2 ) ) {
+                continue;
+            }
+
+            if ( isLeaf( node ) ) {
+                AABB a = items[node];
+                if ( a != aabb && a.active && CollisionUtils.sweepAABBs( aabb, deltaX, deltaY, a, sweepResult ) ) {
+                    result.add( a );
+                    count++;
+                }
+            } else {
+                top = push( top, child1[node] );
+                top = push( top, child2[node] );
+            }
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Finds the active AABBs crossed by a line segment.
+     *
+     * @param x1 X coordinate of the start of the segment.
+     * @param y1 Y coordinate of the start of the segment.
+     * @param x2 X coordinate of the end of the segment.
+     * @param y2 Y coordinate of the end of the segment.
+     * @param result The list that receives the AABBs, in no particular
+     * order. It is not cleared.
+     * @return The number of AABBs found.
+     */
+    public int raycast( double x1, double y1, double x2, double y2, List<AABB> result ) {
+
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        int count = 0;
+        int top = push( 0, root );
+
+        while ( top > 0 ) {
+
+            int node = stack[--top];
+
+            if ( segmentEntry( minX[node], minY[node], maxX[node], maxY[node], x1, y1, dx, dy, 1 ) < 0 ) {
+                continue;
+            }
+
+            if ( isLeaf( node ) ) {
+                AABB a = items[node];
+                if ( a.active && segmentEntry( a.x1, a.y1, a.x2, a.y2, x1, y1, dx, dy, 1 ) >= 0 ) {
+                    result.add( a );
+                    count++;
+                }
+            } else {
+                top = push( top, child1[node] );
+                top = push( top, child2[node] );
+            }
+
+        }
+
+        return count;
+
+    }
+
+    /**
+     * Finds the first active AABB crossed by a line segment, starting from
+     * its start.
+     *
+     * @param x1 X coordinate of the start of the segment.
+     * @param y1 Y coordinate of the start of the segment.
+     * @param x2 X coordinate of the end of the segment.
+     * @param y2 Y coordinate of the end of the segment.
+     * @return The first AABB crossed by the segment, or null if none.
+     */
+    public AABB raycastFirst( double x1, double y1, double x2, double y2 ) {
+
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double maxFraction = 1;
+        AABB first = null;
+        int top = push( 0, root );
+
+        while ( top > 0 ) {
+
+            int node = stack[--top];
+
+            // nodes entered after the nearest hit can be skipped
+            if ( segmentEntry( minX[node], minY[node], maxX[node], maxY[node], x1, y1, dx, dy, maxFraction ) < 0 ) {
+                continue;
+            }
+
+            if ( isLeaf( node ) ) {
+                AABB a = items[node];
+                if ( a.active ) {
+                    double t = segmentEntry( a.x1, a.y1, a.x2, a.y2, x1, y1, dx, dy, maxFraction );
+                    if ( t >= 0 ) {
+                        maxFraction = t;
+                        first = a;
+                    }
+                }
+            } else {
+                top = push( top, child1[node] );
+                top = push( top, child2[node] );
+            }
+
+        }
+
+        return first;
+
+    }
+
+    /**
+     * Draws the tree, outlining the fat box of each node.
+     *
+     * @param engine The engine.
+     * @param x X coordinate of the drawing position.
+     * @param y Y coordinate of the drawing position.
+     */
+    public void draw( EngineFrame engine, double x, double y ) {
+        draw( engine, x, y, 1.0 );
+    }
+
+    /**
+     * Draws the tree, outlining the fat box of each node.
+     *
+     * @param engine The engine.
+     * @param x X coordinate of the drawing position.
+     * @param y Y coordinate of the drawing position.
+     * @param scale The drawing scale.
+     */
+    public void draw( EngineFrame engine, double x, double y, double scale ) {
+
+        for ( int i = 0; i < capacity; i++ ) {
+            AABB aabb = items[i];
+            if ( aabb != null ) {
+                engine.fillRectangle(
+                    x + aabb.x1 * scale,
+                    y + aabb.y1 * scale,
+                    aabb.width * scale,
+                    aabb.height * scale,
+                    aabb.active ? AABB_COLOR : INACTIVE_AABB_COLOR
+                );
+            }
+        }
+
+        for ( int i = 0; i < capacity; i++ ) {
+            if ( height[i] >= 0 ) {
+                engine.drawRectangle(
+                    x + minX[i] * scale,
+                    y + minY[i] * scale,
+                    ( maxX[i] - minX[i] ) * scale,
+                    ( maxY[i] - minY[i] ) * scale,
+                    OUTLINE_COLOR
+                );
+            }
+        }
+
+    }
+
+    /**
+     * Refits the leaf of an AABB after it moved. The leaf is reinserted only
+     * if the AABB left its fat box or if the fat box became too large.
+     *
+     * @param aabb The AABB.
+     * @param deltaX Displacement along x, used to predict the next moves.
+     * @param deltaY Displacement along y, used to predict the next moves.
+     */
+    void moveProxy( AABB aabb, double deltaX, double deltaY ) {
+
+        int leaf = aabb.proxyId;
+
+        double x1 = aabb.x1 - margin;
+        double y1 = aabb.y1 - margin;
+        double x2 = aabb.x2 + margin;
+        double y2 = aabb.y2 + margin;
+
+        // the prediction is limited to the size of the AABB, so a teleport
+        // does not leave a huge fat box behind
+        double px = clamp( deltaX * DISPLACEMENT_MULTIPLIER, aabb.width + margin );
+        double py = clamp( deltaY * DISPLACEMENT_MULTIPLIER, aabb.height + margin );
+
+        if ( px < 0 ) {
+            x1 += px;
+        } else {
+            x2 += px;
+        }
+
+        if ( py < 0 ) {
+            y1 += py;
+        } else {
+            y2 += py;
+        }
+
+        if ( minX[leaf] <= aabb.x1 && minY[leaf] <= aabb.y1 &&
+             maxX[leaf] >= aabb.x2 && maxY[leaf] >= aabb.y2 ) {
+
+            // still inside, unless the fat box is much larger than needed
+            double large = 4 * margin;
+            if ( minX[leaf] >= x1 - large && minY[leaf] >= y1 - large &&
+                 maxX[leaf] <= x2 + large && maxY[leaf] <= y2 + large ) {
+                return;
+            }
+
+        }
+
+        removeLeaf( leaf );
+
+        minX[leaf] = x1;
+        minY[leaf] = y1;
+        maxX[leaf] = x2;
+        maxY[leaf] = y2;
+
+        insertLeaf( leaf );
+
+    }
+
+    private void insertLeaf( int leaf ) {
+
+        if ( root == NULL_NODE ) {
+            root = leaf;
+            parent[leaf] = NULL_NODE;
+            return;
+        }
+
+        double lx1 = minX[leaf];
+        double ly1 = minY[leaf];
+        double lx2 = maxX[leaf];
+        double ly2 = maxY[leaf];
+
+        // finds the best sibling using the surface area heuristic (perimeter in 2D)
+        int index = root;
+
+        while ( !isLeaf( index ) ) {
+
+            int c1 = child1[index];
+            int c2 = child2[index];
+
+            double area = perimeter( minX[index], minY[index], maxX[index], maxY[index] );
+            double combinedArea = perimeter(
+                    Math.min( minX[index], lx1 ), Math.min( minY[index], ly1 ),
+                    Math.max( maxX[index], lx2 ), Math.max( maxY[index], ly2 ) );
+
+            // cost of creating a new parent for this node and the leaf
+            double cost = 2 * combinedArea;
+
+            // minimum cost of pushing the leaf further down the tree
+            double inheritanceCost = 2 * ( combinedArea - area );
+
+            double cost1 = descendCost( c1, lx1, ly1, lx2, ly2 ) + inheritanceCost;
+            double cost2 = descendCost( c2, lx1, ly1, lx2, ly2 ) + inheritanceCost;
+
+            if ( cost < cost1 && cost < cost2 ) {
+                break;
+            }
+
+            index = cost1 < cost2 ? c1 : c2;
+
+        }
+
+        int sibling = index;
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+
+        parent[newParent] = oldParent;
+        items[newParent] = null;
+        setUnion( newParent, leaf, sibling );
+        height[newParent] = height[sibling] + 1;
+
+        if ( oldParent != NULL_NODE ) {
+            if ( child1[oldParent] == sibling ) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refitAncestors( parent[leaf] );
+
+    }
+
+    private void removeLeaf( int leaf ) {
+
+        if ( leaf == root ) {
+            root = NULL_NODE;
+            return;
+        }
+
+        int p = parent[leaf];
+        int grandParent = parent[p];
+        int sibling = child1[p] == leaf ? child2[p] : child1[p];
+
+        if ( grandParent != NULL_NODE ) {
+
+            if ( child1[grandParent] == p ) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+
+            parent[sibling] = grandParent;
+            freeNode( p );
+            refitAncestors( grandParent );
+
+        } else {
+            root = sibling;
+            parent[sibling] = NULL_NODE;
+            freeNode( p );
+        }
+
+    }
+
+    /**
+     * Walks up the tree from a node, balancing and refitting each ancestor.
+     */
+    private void refitAncestors( int index ) {
+
+        while ( index != NULL_NODE ) {
+
+            index = balance( index );
+
+            int c1 = child1[index];
+            int c2 = child2[index];
+
+            height[index] = 1 + Math.max( height[c1], height[c2] );
+            setUnion( index, c1, c2 );
+
+            index = parent[index];
+
+        }
+
+    }
+
+    /**
+     * Performs a left or right rotation if the node is imbalanced.
+     *
+     * @return The new root of the subtree.
+     */
+    private int balance( int a ) {
+
+        if ( isLeaf( a ) || height[a] < 2 ) {
+            return a;
+        }
+
+        int b = child1[a];
+        int c = child2[a];
+        int balance = height[c] - height[b];
+
+        // rotates c up
+        if ( balance > 1 ) {
+
+            int f = child1[c];
+            int g = child2[c];
+
+            child1[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild( parent[c], a, c );
+
+            if ( height[f] > height[g] ) {
+                child2[c] = f;
+                child2[a] = g;
+                parent[g] = a;
+                setUnion( a, b, g );
+                setUnion( c, a, f );
+                height[a] = 1 + Math.max( height[b], height[g] );
+                height[c] = 1 + Math.max( height[a], height[f] );
+            } else {
+                child2[c] = g;
+                child2[a] = f;
+                parent[f] = a;
+                setUnion( a, b, f );
+                setUnion( c, a, g );
+                height[a] = 1 + Math.max( height[b], height[f] );
+                height[c] = 1 + Math.max( height[a], height[g] );
+            }
+
+            return c;
+
+        }
+
+        // rotates b up
+        if ( balance < -1 ) {
+
+            int d = child1[b];
+            int e = child2[b];
+
+            child1[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild( parent[b], a, b );
+
+            if ( height[d] > height[e] ) {
+                child2[b] = d;
+                child1[a] = e;
+                parent[e] = a;
+                setUnion( a, c, e );
+                setUnion( b, a, d );
+                height[a] = 1 + Math.max( height[c], height[e] );
+                height[b] = 1 + Math.max( height[a], height[d] );
+            } else {
+                child2[b] = e;
+                child1[a] = d;
+                parent[d] = a;
+                setUnion( a, c, d );
+                setUnion( b, a, e );
+                height[a] = 1 + Math.max( height[c], height[d] );
+                height[b] = 1 + Math.max( height[a], height[e] );
+            }
+
+            return b;
+
+        }
+
+        return a;
+
+    }
+
+    private void replaceChild( int p, int oldChild, int newChild ) {
+        if ( p == NULL_NODE ) {
+            root = newChild;
+        } else if ( child1[p] == oldChild ) {
+            child1[p] = newChild;
+        } else {
+            child2[p] = newChild;
+        }
+    }
+
+    private double descendCost( int node, double x1, double y1, double x2, double y2 ) {
+
+        double combined = perimeter(
+                Math.min( minX[node], x1 ), Math.min( minY[node], y1 ),
+                Math.max( maxX[node], x2 ), Math.max( maxY[node], y2 ) );
+
+        if ( isLeaf( node ) ) {
+            return combined;
+        }
+
+        return combined - perimeter( minX[node], minY[node], maxX[node], maxY[node] );
+
+    }
+
+    private void setUnion( int node, int a, int b ) {
+        minX[node] = Math.min( minX[a], minX[b] );
+        minY[node] = Math.min( minY[a], minY[b] );
+        maxX[node] = Math.max( maxX[a], maxX[b] );
+        maxY[node] = Math.max( maxY[a], maxY[b] );
+    }
+
+    private boolean isLeaf( int node ) {
+        return child1[node] == NULL_NODE;
+    }
+
+    private boolean overlaps( int node, double x1, double y1, double x2, double y2 ) {
+        return !( minX[node] > x2 || x1 > maxX[node] || maxY[node] < y1 || y2 < minY[node] );
+    }
+
+    private int push( int top, int node ) {
+
+        if ( node == NULL_NODE ) {
+            return top;
+        }
+
+        if ( top == stack.length ) {
+            stack = Arrays.copyOf( stack, top * 2 );
+        }
+
+        stack[top] = node;
+        return top + 1;
+
+    }
+
+    private int allocateNode() {
+
+        if ( freeList == NULL_NODE ) {
+            grow( capacity * 2 );
+        }
+
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL_NODE;
+        child1[node] = NULL_NODE;
+        child2[node] = NULL_NODE;
+        height[node] = 0;
+
+        return node;
+
+    }
+
+    private void freeNode( int node ) {
+        parent[node] = freeList;
+        child1[node] = NULL_NODE;
+        child2[node] = NULL_NODE;
+        height[node] = -1;
+        items[node] = null;
+        freeList = node;
+    }
+
+    /**
+     * Grows the node arrays, linking the new nodes to the free list.
+     */
+    private void grow( int newCapacity ) {
+
+        minX = Arrays.copyOf( minX, newCapacity );
+        minY = Arrays.copyOf( minY, newCapacity );
+        maxX = Arrays.copyOf( maxX, newCapacity );
+        maxY = Arrays.copyOf( maxY, newCapacity );
+        parent = Arrays.copyOf( parent, newCapacity );
+        child1 = Arrays.copyOf( child1, newCapacity );
+        child2 = Arrays.copyOf( child2, newCapacity );
+        height = Arrays.copyOf( height, newCapacity );
+        items = Arrays.copyOf( items, newCapacity );
+
+        for ( int i = newCapacity - 1; i >= capacity; i-- ) {
+            parent[i] = freeList;
+            child1[i] = NULL_NODE;
+            child2[i] = NULL_NODE;
+            height[i] = -1;
+            freeList = i;
+        }
+
+        capacity = newCapacity;
+
+    }
+
+    private static double clamp( double value, double limit ) {
+        return value < -limit ? -limit : value > limit ? limit : value;
+    }
+
+    private static double perimeter( double x1, double y1, double x2, double y2 ) {
+        return 2 * ( ( x2 - x1 ) + ( y2 - y1 ) );
+    }
+
+    /**
+     * Computes where a segment enters a box, using the slab method.
+     *
+     * @return The fraction of the segment where it enters the box, zero if
+     * it starts inside, or -1 if it does not cross the box before maxFraction.
+     */
+    private static double segmentEntry( double x1, double y1, double x2, double y2,
+                                         double ox, double oy, double dx, double dy,
+                                         double maxFraction ) {
+
+        double tMin = 0;
+        double tMax = maxFraction;
+
+        if ( dx == 0 ) {
+            if ( ox < x1 || ox > x2 ) {
+                return -1;
+            }
+        } else {
+            double inv = 1 / dx;
+            double ta = ( x1 - ox ) * inv;
+            double tb = ( x2 - ox ) * inv;
+            if ( ta > tb ) {
+                double t = ta;
+                ta = tb;
+                tb = t;
+            }
+            tMin = Math.max( tMin, ta );
+            tMax = Math.min( tMax, tb );
+            if ( tMin > tMax ) {
+                return -1;
+            }
+        }
+
+        if ( dy == 0 ) {
+            if ( oy < y1 || oy > y2 ) {
+                return -1;
+            }
+        } else {
+            double inv = 1 / dy;
+            double ta = ( y1 - oy ) * inv;
+            double tb = ( y2 - oy ) * inv;
+            if ( ta > tb ) {
+                double t = ta;
+                ta = tb;
+                tb = t;
+            }
+            tMin = Math.max( tMin, ta );
+            tMax = Math.min( tMax, tb );
+            if ( tMin > tMax ) {
+                return -1;
+            }
+        }
+
+        return tMin;
+
+    }
+
+}
@@ -0,0 +1,874 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.engine;
+
+import br.com.davidbuzatto.jsge.core.utils.DrawingUtils;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.CubicCurve2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.QuadCurve2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RoundRectangle2D;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A buffer of deferred drawing commands.
+ *
+ * Each command is stored as an opcode plus its arguments in primitive
+ * arrays, so the common primitives do not allocate any shape while being
+ * recorded. The paint, stroke and font of each command are interned and
+ * stored as ids, and the transformation and clip are stored as contexts
+ * that change only when the graphics context is transformed or clipped.
+ *
+ * When the buffer is replayed, the commands recorded inside sorting runs
+ * are stably sorted by paint, stroke and font, and the state of the target
+ * graphics context is changed only when it differs from the previous
+ * command. Replaying reuses the same shape instances for every command.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class DrawCommandBuffer {
+
+    /** Line (and pixel) command. Data: x1, y1, x2, y2. */
+    static final int LINE = 0;
+    /** Rectangle outline command. Data: x, y, width, height. */
+    static final int DRAW_RECTANGLE = 1;
+    /** Filled rectangle command. Data: x, y, width, height. */
+    static final int FILL_RECTANGLE = 2;
+    /** Rotated rectangle outline command. Data: x, y, width, height, pivot x, pivot y, rotation. */
+    static final int DRAW_ROTATED_RECTANGLE = 3;
+    /** Filled rotated rectangle command. Data: x, y, width, height, pivot x, pivot y, rotation. */
+    static final int FILL_ROTATED_RECTANGLE = 4;
+    /** Rounded rectangle outline command. Data: x, y, width, height, arc width, arc height. */
+    static final int DRAW_ROUND_RECTANGLE = 5;
+    /** Filled rounded rectangle command. Data: x, y, width, height, arc width, arc height. */
+    static final int FILL_ROUND_RECTANGLE = 6;
+    /** Ellipse (and circle) outline command. Data: x, y, width, height. */
+    static final int DRAW_ELLIPSE = 7;
+    /** Filled ellipse (and circle) command. Data: x, y, width, height. */
+    static final int FILL_ELLIPSE = 8;
+    /** Arc outline command. Data: x, y, width, height, start, extent, arc type. */
+    static final int DRAW_ARC = 9;
+    /** Filled arc command. Data: x, y, width, height, start, extent, arc type. */
+    static final int FILL_ARC = 10;
+    /** Triangle outline command. Data: the coordinates of the three vertices. */
+    static final int DRAW_TRIANGLE = 11;
+    /** Filled triangle command. Data: the coordinates of the three vertices. */
+    static final int FILL_TRIANGLE = 12;
+    /** Quadratic curve outline command. Data: start, control and end points. */
+    static final int DRAW_QUAD_CURVE = 13;
+    /** Filled quadratic curve command. Data: start, control and end points. */
+    static final int FILL_QUAD_CURVE = 14;
+    /** Cubic curve outline command. Data: start, two control and end points. */
+    static final int DRAW_CUBIC_CURVE = 15;
+    /** Filled cubic curve command. Data: start, two control and end points. */
+    static final int FILL_CUBIC_CURVE = 16;
+    /** Arbitrary shape outline command. References: the shape. */
+    static final int DRAW_SHAPE = 17;
+    /** Filled arbitrary shape command. References: the shape. */
+    static final int FILL_SHAPE = 18;
+    /** Text command. Data: x, y, pivot x, pivot y, rotation. References: the text. */
+    static final int TEXT = 19;
+    /** Image command. Data: destination and source corners, pivot x, pivot y, rotation. References: the image and the background color. */
+    static final int IMAGE = 20;
+    /** Custom command. References: a consumer of the graphics context. */
+    static final int CUSTOM = 21;
+
+    /** Id used when a command does not change a state component. */
+    private static final int NO_STATE = -1;
+
+    // commands
+    private int[] ops;
+    private int[] contexts;
+    private int[] paintIds;
+    private int[] strokeIds;
+    private int[] fontIds;
+    private int[] dataStarts;
+    private int[] refStarts;
+    private int count;
+
+    // arguments
+    private double[] data;
+    private int dataSize;
+    private Object[] refs;
+    private int refSize;
+
+    // interned states
+    private Paint[] paints;
+    private int paintCount;
+    private Stroke[] strokes;
+    private int strokeCount;
+    private Font[] fonts;
+    private int fontCount;
+    private final Map<Object, Integer> paintIdMap;
+    private final Map<Object, Integer> strokeIdMap;
+    private final Map<Font, Integer> fontIdMap;
+
+    // pending state of the next command
+    private Paint currentPaint;
+    private Stroke currentStroke;
+    private Font currentFont;
+    private Paint lastPaint;
+    private int lastPaintId;
+    private Stroke lastStroke;
+    private int lastStrokeId;
+    private Font lastFont;
+    private int lastFontId;
+
+    // contexts (transformation and clip)
+    private AffineTransform[] contextTransforms;
+    private Shape[] contextClips;
+    private int contextCount;
+
+    // sorting runs (pairs of start, end)
+    private boolean sorting;
+    private int runStart;
+    private int[] runs;
+    private int runCount;
+    private int[] order;
+    private long[] keys;
+
+    // replay
+    private final AffineTransform replayTransform;
+    private final Line2D.Double line;
+    private final Rectangle2D.Double rectangle;
+    private final RoundRectangle2D.Double roundRectangle;
+    private final Ellipse2D.Double ellipse;
+    private final Arc2D.Double arc;
+    private final Path2D.Double path;
+    private final QuadCurve2D.Double quadCurve;
+    private final CubicCurve2D.Double cubicCurve;
+
+    // statistics of the last replay
+    private int stateChangeCount;
+    private int avoidedShapeAllocationCount;
+
+    /**
+     * Creates a new empty buffer.
+     */
+    DrawCommandBuffer() {
+
+        int capacity = 1024;
+
+        ops = new int[capacity];
+        contexts = new int[capacity];
+        paintIds = new int[capacity];
+        strokeIds = new int[capacity];
+        fontIds = new int[capacity];
+        dataStarts = new int[capacity];
+        refStarts = new int[capacity];
+        order = new int[capacity];
+        keys = new long[capacity];
+        data = new double[capacity * 8];
+        refs = new Object[capacity];
+
+        paints = new Paint[64];
+        strokes = new Stroke[16];
+        fonts = new Font[16];
+        paintIdMap = new IdentityHashMap<>();
+        strokeIdMap = new IdentityHashMap<>();
+        // fonts are interned by value, since deriveFont creates a new
+        // instance on every text drawn with a size
+        fontIdMap = new HashMap<>();
+
+        contextTransforms = new AffineTransform[16];
+        contextClips = new Shape[16];
+        runs = new int[32];
+
+        replayTransform = new AffineTransform();
+        line = new Line2D.Double();
+        rectangle = new Rectangle2D.Double();
+        roundRectangle = new RoundRectangle2D.Double();
+        ellipse = new Ellipse2D.Double();
+        arc = new Arc2D.Double();
+        path = new Path2D.Double();
+        quadCurve = new QuadCurve2D.Double();
+        cubicCurve = new CubicCurve2D.Double();
+
+        reset();
+
+    }
+
+    /**
+     * Discards all recorded commands, preparing the buffer for a new frame.
+     */
+    void reset() {
+
+        Arrays.fill( refs, 0, refSize, null );
+        Arrays.fill( paints, 0, paintCount, null );
+        Arrays.fill( strokes, 0, strokeCount, null );
+        Arrays.fill( fonts, 0, fontCount, null );
+        Arrays.fill( contextTransforms, 0, contextCount, null );
+        Arrays.fill( contextClips, 0, contextCount, null );
+
+        count = 0;
+        dataSize = 0;
+        refSize = 0;
+        paintCount = 0;
+        strokeCount = 0;
+        fontCount = 0;
+        paintIdMap.clear();
+        strokeIdMap.clear();
+        fontIdMap.clear();
+
+        currentPaint = null;
+        currentStroke = null;
+        currentFont = null;
+        lastPaint = null;
+        lastPaintId = NO_STATE;
+        lastStroke = null;
+        lastStrokeId = NO_STATE;
+        lastFont = null;
+        lastFontId = NO_STATE;
+
+        contextCount = 0;
+        setContext( null, null );
+
+        sorting = false;
+        runStart = 0;
+        runCount = 0;
+
+    }
+
+    /**
+     * Starts a new context, i.e., a new transformation and clip that will
+     * be used by the next commands. Commands are never reordered across
+     * contexts.
+     *
+     * @param transform The transformation, relative to the origin of the frame.
+     * @param clip The clip, in the coordinates of the transformation, or null.
+     */
+    void setContext( AffineTransform transform, Shape clip ) {
+
+        closeRun();
+
+        if ( contextCount == contextTransforms.length ) {
+            contextTransforms = Arrays.copyOf( contextTransforms, contextCount * 2 );
+            contextClips = Arrays.copyOf( contextClips, contextCount * 2 );
+        }
+
+        contextTransforms[contextCount] = transform;
+        contextClips[contextCount] = clip;
+        contextCount++;
+
+    }
+
+    /**
+     * Sets whether the next commands may be reordered by state.
+     *
+     * @param sorting The flag state.
+     */
+    void setSorting( boolean sorting ) {
+        if ( this.sorting != sorting ) {
+            closeRun();
+            this.sorting = sorting;
+        }
+    }
+
+    /**
+     * Sets the state that will be used by the next commands.
+     *
+     * @param paint The paint, or null to keep the paint unchanged.
+     * @param stroke The stroke.
+     * @param font The font.
+     * @return This buffer.
+     */
+    DrawCommandBuffer state( Paint paint, Stroke stroke, Font font ) {
+        currentPaint = paint;
+        currentStroke = stroke;
+        currentFont = font;
+        return this;
+    }
+
+    /**
+     * Records a command with four arguments.
+     *
+     * @param op The opcode.
+     * @param a First argument.
+     * @param b Second argument.
+     * @param c Third argument.
+     * @param d Fourth argument.
+     */
+    void add( int op, double a, double b, double c, double d ) {
+        int i = begin( op, 4, 0 );
+        data[i] = a;
+        data[i+1] = b;
+        data[i+2] = c;
+        data[i+3] = d;
+    }
+
+    /**
+     * Records a command with six arguments.
+     *
+     * @param op The opcode.
+     * @param a First argument.
+     * @param b Second argument.
+     * @param c Third argument.
+     * @param d Fourth argument.
+     * @param e Fifth argument.
+     * @param f Sixth argument.
+     */
+    void add( int op, double a, double b, double c, double d, double e, double f ) {
+        int i = begin( op, 6, 0 );
+        data[i] = a;
+        data[i+1] = b;
+        data[i+2] = c;
+        data[i+3] = d;
+        data[i+4] = e;
+        data[i+5] = f;
+    }
+
+    /**
+     * Records a command with seven arguments.
+     *
+     * @param op The opcode.
+     * @param a First argument.
+     * @param b Second argument.
+     * @param c Third argument.
+     * @param d Fourth argument.
+     * @param e Fifth argument.
+     * @param f Sixth argument.
+     * @param g Seventh argument.
+     */
+    void add( int op, double a, double b, double c, double d, double e, double f, double g ) {
+        int i = begin( op, 7, 0 );
+        data[i] = a;
+        data[i+1] = b;
+        data[i+2] = c;
+        data[i+3] = d;
+        data[i+4] = e;
+        data[i+5] = f;
+        data[i+6] = g;
+    }
+
+    /**
+     * Records a command with eight arguments.
+     *
+     * @param op The opcode.
+     * @param a First argument.
+     * @param b Second argument.
+     * @param c Third argument.
+     * @param d Fourth argument.
+     * @param e Fifth argument.
+     * @param f Sixth argument.
+     * @param g Seventh argument.
+     * @param h Eighth argument.
+     */
+    void add( int op, double a, double b, double c, double d, double e, double f, double g, double h ) {
+        int i = begin( op, 8, 0 );
+        data[i] = a;
+        data[i+1] = b;
+        data[i+2] = c;
+        data[i+3] = d;
+        data[i+4] = e;
+        data[i+5] = f;
+        data[i+6] = g;
+        data[i+7] = h;
+    }
+
+    /**
+     * Records a shape command.
+     *
+     * @param op DRAW_SHAPE or FILL_SHAPE.
+     * @param shape The shape.
+     */
+    void addShape( int op, Shape shape ) {
+        begin( op, 0, 1 );
+        refs[refSize-1] = shape;
+    }
+
+    /**
+     * Records a text command.
+     *
+     * @param text The text.
+     * @param x X coordinate of the text drawing start.
+     * @param y Y coordinate of the text drawing start.
+     * @param pivotX X coordinate of the rotation pivot.
+     * @param pivotY Y coordinate of the rotation pivot.
+     * @param rotation Rotation in degrees (clockwise).
+     */
+    void addText( String text, double x, double y, double pivotX, double pivotY, double rotation ) {
+        int i = begin( TEXT, 5, 1 );
+        data[i] = x;
+        data[i+1] = y;
+        data[i+2] = pivotX;
+        data[i+3] = pivotY;
+        data[i+4] = rotation;
+        refs[refSize-1] = text;
+    }
+
+    /**
+     * Records an image command.
+     *
+     * @param image The image.
+     * @param dx1 X coordinate of the first corner of the destination.
+     * @param dy1 Y coordinate of the first corner of the destination.
+     * @param dx2 X coordinate of the second corner of the destination.
+     * @param dy2 Y coordinate of the second corner of the destination.
+     * @param sx1 X coordinate of the first corner of the source.
+     * @param sy1 Y coordinate of the first corner of the source.
+     * @param sx2 X coordinate of the second corner of the source.
+     * @param sy2 Y coordinate of the second corner of the source.
+     * @param bgColor The background color, or null.
+     * @param pivotX X coordinate of the rotation pivot.
+     * @param pivotY Y coordinate of the rotation pivot.
+     * @param rotation Rotation in degrees (clockwise).
+     */
+    void addImage( java.awt.Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgColor, double pivotX, double pivotY, double rotation ) {
+        int i = begin( IMAGE, 11, 2 );
+        data[i] = dx1;
+        data[i+1] = dy1;
+        data[i+2] = dx2;
+        data[i+3] = dy2;
+        data[i+4] = sx1;
+        data[i+5] = sy1;
+        data[i+6] = sx2;
+        data[i+7] = sy2;
+        data[i+8] = pivotX;
+        data[i+9] = pivotY;
+        data[i+10] = rotation;
+        refs[refSize-2] = image;
+        refs[refSize-1] = bgColor;
+    }
+
+    /**
+     * Records a custom command, used for operations that do not have a
+     * compact representation.
+     *
+     * @param operation The operation to be executed on the graphics context.
+     */
+    void addCustom( Consumer<Graphics2D> operation ) {
+        begin( CUSTOM, 0, 1 );
+        refs[refSize-1] = operation;
+    }
+
+    /**
+     * Gets the number of recorded commands.
+     *
+     * @return The number of commands.
+     */
+    int getCommandCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of paint, stroke and font changes that were applied
+     * to the graphics context in the last replay.
+     *
+     * @return The number of state changes.
+     */
+    int getStateChangeCount() {
+        return stateChangeCount;
+    }
+
+    /**
+     * Gets the number of shape allocations avoided in the last replay, i.e.,
+     * the number of commands drawn using reusable shapes.
+     *
+     * @return The number of avoided shape allocations.
+     */
+    int getAvoidedShapeAllocationCount() {
+        return avoidedShapeAllocationCount;
+    }
+
+    /**
+     * Replays all recorded commands into a graphics context. The
+     * transformation and clip of the graphics context are restored
+     * at the end.
+     *
+     * @param g The target graphics context.
+     */
+    void replay( Graphics2D g ) {
+
+        closeRun();
+
+        stateChangeCount = 0;
+        avoidedShapeAllocationCount = 0;
+
+        if ( count == 0 ) {
+            return;
+        }
+
+        AffineTransform baseTransform = g.getTransform();
+        Shape baseClip = g.getClip();
+
+        buildOrder();
+
+        int context = -1;
+        int paintId = NO_STATE;
+        int strokeId = NO_STATE;
+        int fontId = NO_STATE;
+
+        for ( int k = 0; k < count; k++ ) {
+
+            int i = order[k];
+
+            if ( contexts[i] != context ) {
+                context = contexts[i];
+                applyContext( g, context, baseTransform, baseClip );
+            }
+
+            if ( paintIds[i] != NO_STATE && paintIds[i] != paintId ) {
+                paintId = paintIds[i];
+                g.setPaint( paints[paintId] );
+                stateChangeCount++;
+            }
+
+            if ( strokeIds[i] != strokeId ) {
+                strokeId = strokeIds[i];
+                g.setStroke( strokes[strokeId] );
+                stateChangeCount++;
+            }
+
+            if ( fontIds[i] != fontId ) {
+                fontId = fontIds[i];
+                g.setFont( fonts[fontId] );
+                stateChangeCount++;
+            }
+
+            execute( g, i );
+
+        }
+
+        g.setTransform( baseTransform );
+        g.setClip( baseClip );
+
+    }
+
+    /**
+     * Reserves the space of a new command, interning its state.
+     *
+     * @param op The opcode.
+     * @param dataLength The number of arguments.
+     * @param refLength The number of references.
+     * @return The index of the first argument.
+     */
+    private int begin( int op, int dataLength, int refLength ) {
+
+        if ( count == ops.length ) {
+            int capacity = count * 2;
+            ops = Arrays.copyOf( ops, capacity );
+            contexts = Arrays.copyOf( contexts, capacity );
+            paintIds = Arrays.copyOf( paintIds, capacity );
+            strokeIds = Arrays.copyOf( strokeIds, capacity );
+            fontIds = Arrays.copyOf( fontIds, capacity );
+            dataStarts = Arrays.copyOf( dataStarts, capacity );
+            refStarts = Arrays.copyOf( refStarts, capacity );
+            order = new int[capacity];
+            keys = new long[capacity];
+        }
+
+        if ( dataSize + dataLength > data.length ) {
+            data = Arrays.copyOf( data, Math.max( data.length * 2, dataSize + dataLength ) );
+        }
+
+        if ( refSize + refLength > refs.length ) {
+            refs = Arrays.copyOf( refs, Math.max( refs.length * 2, refSize + refLength ) );
+        }
+
+        if ( currentPaint == null ) {
+            paintIds[count] = NO_STATE;
+        } else {
+            if ( currentPaint != lastPaint ) {
+                lastPaint = currentPaint;
+                lastPaintId = internPaint( currentPaint );
+            }
+            paintIds[count] = lastPaintId;
+        }
+
+        if ( currentStroke != lastStroke ) {
+            lastStroke = currentStroke;
+            lastStrokeId = internStroke( currentStroke );
+        }
+
+        if ( currentFont != lastFont ) {
+            lastFont = currentFont;
+            lastFontId = internFont( currentFont );
+        }
+
+        ops[count] = op;
+        contexts[count] = contextCount - 1;
+        strokeIds[count] = lastStrokeId;
+        fontIds[count] = lastFontId;
+        dataStarts[count] = dataSize;
+        refStarts[count] = refSize;
+        count++;
+
+        int start = dataSize;
+        dataSize += dataLength;
+        refSize += refLength;
+
+        return start;
+
+    }
+
+    private int internPaint( Paint paint ) {
+        Integer id = paintIdMap.get( paint );
+        if ( id == null ) {
+            if ( paintCount == paints.length ) {
+                paints = Arrays.copyOf( paints, paintCount * 2 );
+            }
+            id = paintCount;
+            paints[paintCount++] = paint;
+            paintIdMap.put( paint, id );
+        }
+        return id;
+    }
+
+    private int internStroke( Stroke stroke ) {
+        Integer id = strokeIdMap.get( stroke );
+        if ( id == null ) {
+            if ( strokeCount == strokes.length ) {
+                strokes = Arrays.copyOf( strokes, strokeCount * 2 );
+            }
+            id = strokeCount;
+            strokes[strokeCount++] = stroke;
+            strokeIdMap.put( stroke, id );
+        }
+        return id;
+    }
+
+    private int internFont( Font font ) {
+        Integer id = fontIdMap.get( font );
+        if ( id == null ) {
+            if ( fontCount == fonts.length ) {
+                fonts = Arrays.copyOf( fonts, fontCount * 2 );
+            }
+            id = fontCount;
+            fonts[fontCount++] = font;
+            fontIdMap.put( font, id );
+        }
+        return id;
+    }
+
+    /**
+     * Closes the current sorting run, if any.
+     */
+    private void closeRun() {
+
+        if ( sorting && count - runStart > 1 ) {
+            if ( runCount + 2 > runs.length ) {
+                runs = Arrays.copyOf( runs, runs.length * 2 );
+            }
+            runs[runCount++] = runStart;
+            runs[runCount++] = count;
+        }
+
+        runStart = count;
+
+    }
+
+    /**
+     * Builds the replay order. Commands outside sorting runs keep the
+     * recording order and commands inside a run are stably sorted by
+     * paint, stroke and font.
+     */
+    private void buildOrder() {
+
+        for ( int i = 0; i < count; i++ ) {
+            order[i] = i;
+        }
+
+        // key layout: paint (19 bits + sign), stroke (10 bits), font (10 bits), index in run (24 bits)
+        if ( paintCount >= 1 << 19 || strokeCount >= 1 << 10 || fontCount >= 1 << 10 ) {
+            return;
+        }
+
+        for ( int r = 0; r < runCount; r += 2 ) {
+
+            int start = runs[r];
+            int end = runs[r+1];
+
+            if ( end - start >= 1 << 24 ) {
+                continue;
+            }
+
+            for ( int i = start; i < end; i++ ) {
+                long paintKey = paintIds[i] + 1;
+                keys[i] = ( paintKey << 44 ) |
+                          ( (long) strokeIds[i] << 34 ) |
+                          ( (long) fontIds[i] << 24 ) |
+                          ( i - start );
+            }
+
+            Arrays.sort( keys, start, end );
+
+            for ( int i = start; i < end; i++ ) {
+                order[i] = start + (int) ( keys[i] & 0xFFFFFF );
+            }
+
+        }
+
+    }
+
+    /**
+     * Applies a context to the graphics context.
+     */
+    private void applyContext( Graphics2D g, int context, AffineTransform baseTransform, Shape baseClip ) {
+
+        g.setTransform( baseTransform );
+        g.setClip( baseClip );
+
+        replayTransform.setTransform( baseTransform );
+
+        if ( contextTransforms[context] != null ) {
+            replayTransform.concatenate( contextTransforms[context] );
+            g.setTransform( replayTransform );
+        }
+
+        if ( contextClips[context] != null ) {
+            g.clip( contextClips[context] );
+        }
+
+    }
+
+    /**
+     * Executes one command.
+     */
+    private void execute( Graphics2D g, int i ) {
+
+        int d = dataStarts[i];
+        int r = refStarts[i];
+
+        switch ( ops[i] ) {
+
+            case LINE:
+                line.setLine( data[d], data[d+1], data[d+2], data[d+3] );
+                g.draw( line );
+                avoidedShapeAllocationCount++;
+                break;
+
+            case DRAW_RECTANGLE:
+            case FILL_RECTANGLE:
+                rectangle.setRect( data[d], data[d+1], data[d+2], data[d+3] );
+                drawOrFill( g, rectangle, ops[i] == FILL_RECTANGLE );
+                break;
+
+            case DRAW_ROTATED_RECTANGLE:
+            case FILL_ROTATED_RECTANGLE:
+                rectangle.setRect( data[d], data[d+1], data[d+2], data[d+3] );
+                g.rotate( Math.toRadians( data[d+6] ), data[d+4], data[d+5] );
+                drawOrFill( g, rectangle, ops[i] == FILL_ROTATED_RECTANGLE );
+                g.setTransform( replayTransform );
+                break;
+
+            case DRAW_ROUND_RECTANGLE:
+            case FILL_ROUND_RECTANGLE:
+                roundRectangle.setRoundRect( data[d], data[d+1], data[d+2], data[d+3], data[d+4], data[d+5] );
+                drawOrFill( g, roundRectangle, ops[i] == FILL_ROUND_RECTANGLE );
+                break;
+
+            case DRAW_ELLIPSE:
+            case FILL_ELLIPSE:
+                ellipse.setFrame( data[d], data[d+1], data[d+2], data[d+3] );
+                drawOrFill( g, ellipse, ops[i] == FILL_ELLIPSE );
+                break;
+
+            case DRAW_ARC:
+            case FILL_ARC:
+                arc.setArc( data[d], data[d+1], data[d+2], data[d+3], data[d+4], data[d+5], (int) data[d+6] );
+                drawOrFill( g, arc, ops[i] == FILL_ARC );
+                break;
+
+            case DRAW_TRIANGLE:
+            case FILL_TRIANGLE:
+                path.reset();
+                path.moveTo( data[d], data[d+1] );
+                path.lineTo( data[d+2], data[d+3] );
+                path.lineTo( data[d+4], data[d+5] );
+                path.closePath();
+                drawOrFill( g, path, ops[i] == FILL_TRIANGLE );
+                break;
+
+            case DRAW_QUAD_CURVE:
+            case FILL_QUAD_CURVE:
+                quadCurve.setCurve( data[d], data[d+1], data[d+2], data[d+3], data[d+4], data[d+5] );
+                drawOrFill( g, quadCurve, ops[i] == FILL_QUAD_CURVE );
+                break;
+
+            case DRAW_CUBIC_CURVE:
+            case FILL_CUBIC_CURVE:
+                cubicCurve.setCurve( data[d], data[d+1], data[d+2], data[d+3], data[d+4], data[d+5], data[d+6], data[d+7] );
+                drawOrFill( g, cubicCurve, ops[i] == FILL_CUBIC_CURVE );
+                break;
+
+            case DRAW_SHAPE:
+                g.draw( (Shape) refs[r] );
+                break;
+
+            case FILL_SHAPE:
+                g.fill( (Shape) refs[r] );
+                break;
+
+            case TEXT:
+                if ( data[d+4] != 0 ) {
+                    g.rotate( Math.toRadians( data[d+4] ), data[d+2], data[d+3] );
+                }
+                DrawingUtils.drawTextMultilineHelper( (String) refs[r], data[d], data[d+1], g );
+                if ( data[d+4] != 0 ) {
+                    g.setTransform( replayTransform );
+                }
+                break;
+
+            case IMAGE:
+                if ( data[d+10] != 0 ) {
+                    g.rotate( Math.toRadians( data[d+10] ), data[d+8], data[d+9] );
+                }
+                g.drawImage(
+                    (java.awt.Image) refs[r],
+                    (int) data[d], (int) data[d+1], (int) data[d+2], (int) data[d+3],
+                    (int) data[d+4], (int) data[d+5], (int) data[d+6], (int) data[d+7],
+                    (Color) refs[r+1], null );
+                if ( data[d+10] != 0 ) {
+                    g.setTransform( replayTransform );
+                }
+                break;
+
+            case CUSTOM:
+                @SuppressWarnings( "unchecked" )
+                Consumer<Graphics2D> operation = (Consumer<Graphics2D>) refs[r];
+                operation.accept( g );
+                g.setTransform( replayTransform );
+                break;
+
+        }
+
+    }
+
+    private void drawOrFill( Graphics2D g, Shape shape, boolean fill ) {
+        if ( fill ) {
+            g.fill( shape );
+        } else {
+            g.draw( shape );
+        }
+        avoidedShapeAllocationCount++;
+    }
+
+}
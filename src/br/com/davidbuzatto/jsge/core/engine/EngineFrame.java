@@ -53,12 +53,14 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Insets;
 import java.awt.Paint;
 import java.awt.RenderingHints;
 import java.awt.Robot;
 import java.awt.Shape;
 import java.awt.Toolkit;
+import java.awt.Transparency;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
@@ -75,6 +77,7 @@ import java.awt.geom.Arc2D;
 import java.awt.geom.CubicCurve2D;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.QuadCurve2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
@@ -82,6 +85,7 @@ import java.awt.image.BufferedImage;
 import java.awt.image.BufferedImageOp;
 import java.awt.image.ImageObserver;
 import java.awt.image.RenderedImage;
+import java.awt.image.VolatileImage;
 import java.awt.image.renderable.RenderableImage;
 import java.io.File;
 import java.io.IOException;
@@ -94,22 +98,20 @@ import java.net.URL;
 import java.text.AttributedCharacterIterator;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.LogManager;
 import javax.imageio.ImageIO;
 import javax.imageio.stream.ImageOutputStream;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
-import net.java.games.input.Component;
-import net.java.games.input.Component.Identifier;
-import net.java.games.input.Controller;
-import net.java.games.input.ControllerEnvironment;
 
 /**
  * Simple engine for creating games or simulations using Java 2D.
@@ -190,11 +192,149 @@ public abstract class EngineFrame extends JFrame {
      */
     private long startTime;
 
+    /**
+     * Maximum number of fixed updates executed in a single cycle.
+     */
+    private static final int MAX_FIXED_UPDATES_PER_CYCLE = 5;
+
+    /**
+     * Duration of the FPS measurement window, in nanoseconds.
+     */
+    private static final long FPS_WINDOW_NANOS = 500_000_000L;
+
+    /**
+     * Default spin wait threshold, in nanoseconds.
+     */
+    private static final long DEFAULT_SPIN_WAIT_THRESHOLD_NANOS = 2_000_000L;
+
+    /**
+     * Flag indicating whether the fixed time step loop is used.
+     */
+    private boolean fixedTimeStep;
+
+    /**
+     * Duration of one fixed simulation step, in nanoseconds.
+     */
+    private long fixedTimeStepNanos;
+
+    /**
+     * Simulation time not yet consumed by fixed steps, in nanoseconds.
+     */
+    private long accumulatedTimeNanos;
+
+    /**
+     * Start time of the last cycle of the fixed time step loop, in nanoseconds.
+     */
+    private long lastCycleStartNanos;
+
+    /**
+     * Deadline of the current cycle of the fixed time step loop, in nanoseconds.
+     */
+    private long cycleDeadlineNanos;
+
+    /**
+     * Duration of the last cycle of the fixed time step loop, in nanoseconds.
+     */
+    private long cycleTimeNanos;
+
+    /**
+     * Start of the current FPS measurement window, in nanoseconds.
+     */
+    private long fpsWindowStartNanos;
+
+    /**
+     * Number of frames drawn in the current FPS measurement window.
+     */
+    private int fpsWindowFrames;
+
+    /**
+     * Interpolation factor between the last two simulation states.
+     */
+    private double interpolationAlpha;
+
+    /**
+     * Remaining time before a deadline below which the loop busy-waits
+     * instead of sleeping, in nanoseconds.
+     */
+    private long spinWaitThresholdNanos;
+
     /**
      * Flag indicating whether antialiasing is used for the graphics context.
      */
     private boolean antialiasing;
 
+    /**
+     * Flag indicating whether active rendering is used, i.e., whether the
+     * frames are drawn by the engine thread into a back buffer instead of
+     * being drawn by the event dispatch thread.
+     */
+    private boolean activeRendering;
+
+    /**
+     * Back buffer used by active rendering.
+     */
+    private transient VolatileImage backBuffer;
+
+    /**
+     * Lock that guards the back buffer.
+     */
+    private final transient Object backBufferLock = new Object();
+
+    /**
+     * Flag indicating whether the drawing operations are recorded into a
+     * command buffer and replayed at the end of the frame.
+     */
+    private boolean drawCommandBufferEnabled;
+
+    /**
+     * Flag indicating whether the drawing operations are being recorded.
+     */
+    private boolean recordingDrawCommands;
+
+    /**
+     * Buffer of drawing commands.
+     */
+    private transient DrawCommandBuffer drawCommandBuffer;
+
+    /**
+     * Buffer that is receiving the recorded drawing commands.
+     */
+    private transient DrawCommandBuffer recordingBuffer;
+
+    /**
+     * Surface that provides the graphics context used while recording
+     * drawing commands (font metrics, transformations and clips).
+     */
+    private transient BufferedImage recordingSurface;
+
+    /**
+     * Last buffer of drawing commands that was replayed.
+     */
+    private transient volatile DrawCommandBuffer lastReplayedBuffer;
+
+    /**
+     * Flag indicating whether the update of the next frame runs while the
+     * previous frame is rasterized by the render thread.
+     */
+    private boolean pipelinedRendering;
+
+    /**
+     * Pipeline between the engine thread and the render thread.
+     */
+    private transient RenderPipeline renderPipeline;
+
+    /**
+     * Version of the transformation and clip of the graphics context,
+     * incremented whenever they may have been changed.
+     */
+    private int graphicsContextVersion;
+
+    /**
+     * Version of the transformation and clip already recorded in the
+     * command buffer.
+     */
+    private int recordedGraphicsContextVersion;
+
     /**
      * Exit key code.
      */
@@ -270,18 +410,16 @@ public abstract class EngineFrame extends JFrame {
     /** Indicates whether the right mouse button is not pressed. */
     private boolean mouseRightUp;
 
-    // keyboard maps
+    // keyboard state tables, indexed by key code and captured once per update
 
-    /** Key processing map. */
-    private Map<Integer, Boolean> keysProcessedMap;
-    /** Pressed keys processing map. */
-    private Map<Integer, Boolean> keysPressedMap;
-    /** Released keys processing map. */
-    private Map<Integer, Boolean> keysReleasedMap;
-    /** Held-down keys processing map. */
-    private Map<Integer, Boolean> keysDownMap;
-    /** Not-pressed keys processing map. */
-    private Map<Integer, Boolean> keysUpMap;
+    /** Pressed keys state table. */
+    private boolean[] keysPressed;
+    /** Released keys state table. */
+    private boolean[] keysReleased;
+    /** Held-down keys state table. */
+    private boolean[] keysDown;
+    /** Not-pressed keys state table. */
+    private boolean[] keysUp;
 
     /** Stores the character of the last key pressed. */
     private int lastPressedChar = KEY_NULL;
@@ -378,6 +516,8 @@ public abstract class EngineFrame extends JFrame {
 
         startTime = System.currentTimeMillis();
         setTargetFPS( targetFPS );
+        fixedTimeStepNanos = 1_000_000_000L / this.targetFPS;
+        spinWaitThresholdNanos = DEFAULT_SPIN_WAIT_THRESHOLD_NANOS;
 
         defaultFont = FontUtils.DEFAULT_FONT;
         defaultFPSFont = FontUtils.DEFAULT_FPS_FONT;
@@ -489,77 +629,476 @@ public abstract class EngineFrame extends JFrame {
         new Thread( () -> {
 
             while ( running ) {
-
-                timeBefore = System.currentTimeMillis();
-                
-                gpInputManager.prepareToNextCycle();
-                mouseWheelUpValue = mouseWheelUpAction.getAmount();
-                mouseWheelDownValue = mouseWheelDownAction.getAmount();
-                
-                try {
-                    update( frameTime / 1000.0 ); // getFrameTime();
-                } catch ( RuntimeException exc ) {
-                    traceLogError( CoreUtils.stackTraceToString( exc ) );
-                }
-                
-                inputManager.consumeKeyActions();
-                resetMouseButtonsState();
-                resetKeysState();
-                
-                try {
-                    SwingUtilities.invokeAndWait( () -> {
-                        drawingPanel.repaint();
-                    });
-                } catch ( InterruptedException | InvocationTargetException exc ) {
-                    traceLogError( CoreUtils.stackTraceToString( exc ) );
+                if ( fixedTimeStep ) {
+                    runFixedTimeStepCycle();
+                } else {
+                    runVariableTimeStepCycle();
                 }
+            }
 
-                timeAfter = System.currentTimeMillis();
+        }).start();
 
-                // how long did a frame take?
-                frameTime = timeAfter - timeBefore;
+    }
+    
+    /**
+     * Executes one cycle of the default loop, where the update receives
+     * the duration of the previous frame and the pacing is done with
+     * millisecond precision.
+     */
+    private void runVariableTimeStepCycle() {
 
-                // how long should we wait?
-                waitTime = waitTimeFPS - frameTime;
+        timeBefore = System.currentTimeMillis();
 
-                //traceLogInfo( "%d %d %d %d", timeBefore, timeAfter, frameTime, waitTime );
+        prepareInputToNextUpdate();
+        runUpdate( frameTime / 1000.0 ); // getFrameTime();
+        resetInputAfterUpdate();
+        runDraw();
 
-                // if the wait time is negative, it means there was not
-                // enough time, based on the expected time
-                // for the entire frame to be updated and drawn
-                if ( waitTime < 0 ) {
-                    waitTime = 0;      // no wait
-                }
+        timeAfter = System.currentTimeMillis();
 
-                // if the frame time is less than the wait time,
-                // it means there was time left to execute the frame, i.e.
-                // the frame was updated and drawn in less time than
-                // expected based on the target frames per second
-                if ( frameTime < waitTime ) {
-                    frameTime = waitTime;  // the time the frame took to execute
-                }
+        // how long did a frame take?
+        frameTime = timeAfter - timeBefore;
 
-                int localFPS = (int) ( Math.round( 1000.0 / frameTime / 10.0 ) ) * 10;
+        // how long should we wait?
+        waitTime = waitTimeFPS - frameTime;
 
-                if ( localFPS > targetFPS ) {
-                    localFPS = targetFPS;
-                }
+        //traceLogInfo( "%d %d %d %d", timeBefore, timeAfter, frameTime, waitTime );
 
-                if ( localFPS >= 0 ) {
-                    currentFPS = localFPS;
-                }
+        // if the wait time is negative, it means there was not
+        // enough time, based on the expected time
+        // for the entire frame to be updated and drawn
+        if ( waitTime < 0 ) {
+            waitTime = 0;      // no wait
+        }
 
-                try {
-                    Thread.yield();
-                    Thread.sleep( waitTime );
-                } catch ( InterruptedException exc ) {
-                    traceLogError( CoreUtils.stackTraceToString( exc ) );
+        // if the frame time is less than the wait time,
+        // it means there was time left to execute the frame, i.e.
+        // the frame was updated and drawn in less time than
+        // expected based on the target frames per second
+        if ( frameTime < waitTime ) {
+            frameTime = waitTime;  // the time the frame took to execute
+        }
+
+        int localFPS = (int) ( Math.round( 1000.0 / frameTime / 10.0 ) ) * 10;
+
+        if ( localFPS > targetFPS ) {
+            localFPS = targetFPS;
+        }
+
+        if ( localFPS >= 0 ) {
+            currentFPS = localFPS;
+        }
+
+        try {
+            Thread.yield();
+            Thread.sleep( waitTime );
+        } catch ( InterruptedException exc ) {
+            traceLogError( CoreUtils.stackTraceToString( exc ) );
+        }
+
+    }
+    
+    /**
+     * Executes one cycle of the fixed time step loop. The elapsed time is
+     * measured with System.nanoTime() and accumulated, and the update is
+     * executed as many times as there are whole fixed steps available.
+     * The remainder is exposed as the interpolation alpha for the drawing.
+     */
+    private void runFixedTimeStepCycle() {
+
+        long cycleStart = System.nanoTime();
+
+        // first cycle after the mode was activated
+        if ( lastCycleStartNanos == 0 ) {
+            lastCycleStartNanos = cycleStart;
+            cycleDeadlineNanos = cycleStart;
+            fpsWindowStartNanos = cycleStart;
+            fpsWindowFrames = 0;
+            accumulatedTimeNanos = 0;
+        }
+
+        long elapsed = cycleStart - lastCycleStartNanos;
+        lastCycleStartNanos = cycleStart;
+
+        // avoids the "spiral of death" after long stalls
+        if ( elapsed > fixedTimeStepNanos * MAX_FIXED_UPDATES_PER_CYCLE ) {
+            elapsed = fixedTimeStepNanos * MAX_FIXED_UPDATES_PER_CYCLE;
+        }
+
+        accumulatedTimeNanos += elapsed;
+        double delta = fixedTimeStepNanos / 1_000_000_000.0;
+        int updates = 0;
+
+        while ( accumulatedTimeNanos >= fixedTimeStepNanos && updates < MAX_FIXED_UPDATES_PER_CYCLE ) {
+            prepareInputToNextUpdate();
+            runUpdate( delta );
+            resetInputAfterUpdate();
+            accumulatedTimeNanos -= fixedTimeStepNanos;
+            updates++;
+        }
+
+        // the simulation is too slow, so the remaining time is discarded
+        if ( accumulatedTimeNanos >= fixedTimeStepNanos ) {
+            accumulatedTimeNanos %= fixedTimeStepNanos;
+        }
+
+        interpolationAlpha = accumulatedTimeNanos / (double) fixedTimeStepNanos;
+
+        runDraw();
+
+        // frame pacing
+        long targetCycleNanos = 1_000_000_000L / targetFPS;
+        cycleDeadlineNanos += targetCycleNanos;
+
+        // if we are late by more than one frame, resynchronizes the deadline
+        if ( System.nanoTime() - cycleDeadlineNanos > targetCycleNanos ) {
+            cycleDeadlineNanos = System.nanoTime();
+        }
+
+        waitUntil( cycleDeadlineNanos );
+
+        long cycleEnd = System.nanoTime();
+        cycleTimeNanos = cycleEnd - cycleStart;
+        fpsWindowFrames++;
+
+        if ( cycleEnd - fpsWindowStartNanos >= FPS_WINDOW_NANOS ) {
+            currentFPS = (int) Math.round( fpsWindowFrames * 1_000_000_000.0 / ( cycleEnd - fpsWindowStartNanos ) );
+            fpsWindowStartNanos = cycleEnd;
+            fpsWindowFrames = 0;
+        }
+
+    }
+    
+    /**
+     * Waits until a deadline using hybrid pacing: sleeps while the remaining
+     * time is greater than the spin wait threshold and busy-waits for the
+     * rest of the time. With a zero threshold it only sleeps once.
+     * 
+     * @param deadlineNanos The deadline, based on System.nanoTime().
+     */
+    private void waitUntil( long deadlineNanos ) {
+
+        long remaining = deadlineNanos - System.nanoTime();
+
+        if ( spinWaitThresholdNanos == 0 ) {
+            if ( remaining > 0 ) {
+                LockSupport.parkNanos( remaining );
+            }
+            return;
+        }
+
+        while ( remaining > spinWaitThresholdNanos ) {
+            LockSupport.parkNanos( remaining - spinWaitThresholdNanos );
+            remaining = deadlineNanos - System.nanoTime();
+        }
+
+        while ( System.nanoTime() - deadlineNanos < 0 ) {
+            Thread.onSpinWait();
+        }
+
+    }
+    
+    /**
+     * Acquires the input state that will be used by the next update.
+     */
+    private void prepareInputToNextUpdate() {
+        inputManager.processEvents();
+        captureKeysState();
+        gpInputManager.prepareToNextCycle();
+        mouseWheelUpValue = mouseWheelUpAction.getAmount();
+        mouseWheelDownValue = mouseWheelDownAction.getAmount();
+    }
+    
+    /**
+     * Resets the input state consumed by the last update.
+     */
+    private void resetInputAfterUpdate() {
+        resetMouseButtonsState();
+    }
+    
+    /**
+     * Executes the update method, logging any exception thrown by it.
+     * 
+     * @param delta The time variation, in seconds.
+     */
+    private void runUpdate( double delta ) {
+        try {
+            update( delta );
+        } catch ( RuntimeException exc ) {
+            traceLogError( CoreUtils.stackTraceToString( exc ) );
+        }
+    }
+    
+    /**
+     * Draws a frame, waiting for the drawing to finish. In pipelined
+     * rendering, only waits for the previous frame to be rasterized.
+     */
+    private void runDraw() {
+        
+        if ( pipelinedRendering ) {
+            runPipelinedDraw();
+        } else {
+            rasterizeFrame();
+        }
+        
+    }
+    
+    /**
+     * Records the frame into one of the pipeline buffers and hands it
+     * to the render thread, which rasterizes it while the engine thread
+     * proceeds to the next update.
+     */
+    private void runPipelinedDraw() {
+        
+        if ( renderPipeline == null ) {
+            renderPipeline = new RenderPipeline();
+        }
+        
+        DrawCommandBuffer buffer = renderPipeline.nextRecordingBuffer();
+        recordFrame( buffer );
+        renderPipeline.submit( buffer );
+        
+    }
+    
+    /**
+     * Rasterizes a frame, waiting for the rasterization to finish.
+     */
+    private void rasterizeFrame() {
+        
+        if ( activeRendering ) {
+            runActiveDraw();
+            return;
+        }
+        
+        try {
+            SwingUtilities.invokeAndWait( () -> {
+                drawingPanel.repaint();
+            });
+        } catch ( InterruptedException | InvocationTargetException exc ) {
+            traceLogError( CoreUtils.stackTraceToString( exc ) );
+        }
+        
+    }
+    
+    /**
+     * Draws a frame in the calling thread into the back buffer and copies
+     * it to the screen, without going through the event dispatch thread.
+     */
+    private void runActiveDraw() {
+        
+        int width = drawingPanel.getWidth();
+        int height = drawingPanel.getHeight();
+        GraphicsConfiguration gc = drawingPanel.getGraphicsConfiguration();
+        
+        if ( width <= 0 || height <= 0 || gc == null ) {
+            return;
+        }
+        
+        synchronized ( backBufferLock ) {
+            
+            do {
+                
+                if ( backBuffer == null || 
+                     backBuffer.getWidth() != width || 
+                     backBuffer.getHeight() != height ||
+                     backBuffer.validate( gc ) == VolatileImage.IMAGE_INCOMPATIBLE ) {
+                    if ( backBuffer != null ) {
+                        backBuffer.flush();
+                    }
+                    backBuffer = gc.createCompatibleVolatileImage( 
+                        width, height, 
+                        drawingPanel.isOpaque() ? Transparency.OPAQUE : Transparency.TRANSLUCENT );
                 }
+                
+                Graphics2D bg = backBuffer.createGraphics();
+                bg.setBackground( drawingPanel.getBackground() );
+                drawFrame( bg );
+                bg.dispose();
+                
+                Graphics g = drawingPanel.getGraphics();
+                
+                if ( g != null ) {
+                    g.drawImage( backBuffer, 0, 0, null );
+                    g.dispose();
+                }
+                
+            } while ( backBuffer.contentsLost() );
+            
+        }
+        
+        Toolkit.getDefaultToolkit().sync();
+        
+    }
+    
+    /**
+     * Prepares the graphics context and executes the draw method.
+     * 
+     * @param g The graphics context of the current frame.
+     */
+    private void drawFrame( Graphics g ) {
 
+        if ( pipelinedRendering ) {
+            DrawCommandBuffer buffer = renderPipeline == null ? null : renderPipeline.getPresentedBuffer();
+            if ( buffer != null ) {
+                replayFrame( buffer, g );
             }
+            return;
+        }
+        
+        if ( drawCommandBufferEnabled ) {
+            recordFrame( drawCommandBuffer );
+            replayFrame( drawCommandBuffer, g );
+            return;
+        }
+        
+        g2d = prepareGraphics( g );
 
-        }).start();
+        try {
+            draw();
+        } catch ( RuntimeException exc ) {
+            traceLogError( CoreUtils.stackTraceToString( exc ) );
+        }
+
+        g2d.dispose();
+
+    }
+    
+    /**
+     * Creates a copy of a graphics context configured with the default
+     * font, stroke and rendering hints, clearing the drawing area.
+     * 
+     * @param g The graphics context of the current frame.
+     * @return The configured graphics context.
+     */
+    private Graphics2D prepareGraphics( Graphics g ) {
+        
+        Graphics2D pg = (Graphics2D) g.create();
+
+        pg.setFont( defaultFont );
+        pg.setStroke( defaultStroke );
+
+        pg.clearRect( 0, 0, drawingPanel.getWidth(), drawingPanel.getHeight() );
+
+        if ( antialiasing ) {
+            pg.setRenderingHint( 
+                RenderingHints.KEY_ANTIALIASING, 
+                RenderingHints.VALUE_ANTIALIAS_ON );
+        }
+        
+        return pg;
+        
+    }
+    
+    /**
+     * Executes the draw method recording all drawing operations into a
+     * command buffer.
+     * 
+     * @param buffer The buffer that will receive the commands.
+     */
+    private void recordFrame( DrawCommandBuffer buffer ) {
+        
+        if ( recordingSurface == null ) {
+            recordingSurface = new BufferedImage( 1, 1, BufferedImage.TYPE_INT_ARGB );
+        }
+        
+        g2d = recordingSurface.createGraphics();
+        g2d.setFont( defaultFont );
+        g2d.setStroke( defaultStroke );
+        
+        if ( antialiasing ) {
+            g2d.setRenderingHint( 
+                RenderingHints.KEY_ANTIALIASING, 
+                RenderingHints.VALUE_ANTIALIAS_ON );
+        }
+        
+        synchronized ( buffer ) {
+            
+            buffer.reset();
+            recordingBuffer = buffer;
+            recordedGraphicsContextVersion = graphicsContextVersion;
+            recordingDrawCommands = true;
 
+            try {
+                draw();
+            } catch ( RuntimeException exc ) {
+                traceLogError( CoreUtils.stackTraceToString( exc ) );
+            } finally {
+                recordingDrawCommands = false;
+                recordingBuffer = null;
+            }
+            
+        }
+        
+        g2d.dispose();
+        
+    }
+    
+    /**
+     * Replays a command buffer into the graphics context of the current frame.
+     * 
+     * @param buffer The buffer to be replayed.
+     * @param g The graphics context of the current frame.
+     */
+    private void replayFrame( DrawCommandBuffer buffer, Graphics g ) {
+        
+        Graphics2D rg = prepareGraphics( g );
+        
+        synchronized ( buffer ) {
+            try {
+                buffer.replay( rg );
+            } catch ( RuntimeException exc ) {
+                traceLogError( CoreUtils.stackTraceToString( exc ) );
+            }
+            lastReplayedBuffer = buffer;
+        }
+        
+        rg.dispose();
+        
+    }
+    
+    /**
+     * Prepares the command buffer to receive a new command, recording the
+     * transformation and clip of the graphics context if they may have been
+     * changed since the last command.
+     * 
+     * @param paint The paint of the command, or null if the command does not use it.
+     * @return The buffer that is receiving the commands.
+     */
+    private DrawCommandBuffer recordCommand( Paint paint ) {
+        return recordCommand( paint, g2d.getFont() );
+    }
+    
+    /**
+     * Prepares the command buffer to receive a new command, recording the
+     * transformation and clip of the graphics context if they may have been
+     * changed since the last command.
+     * 
+     * @param paint The paint of the command, or null if the command does not use it.
+     * @param font The font of the command.
+     * @return The buffer that is receiving the commands.
+     */
+    private DrawCommandBuffer recordCommand( Paint paint, Font font ) {
+        
+        if ( recordedGraphicsContextVersion != graphicsContextVersion ) {
+            recordedGraphicsContextVersion = graphicsContextVersion;
+            recordingBuffer.setContext( g2d.getTransform(), g2d.getClip() );
+        }
+        
+        return recordingBuffer.state( paint, g2d.getStroke(), font );
+        
+    }
+    
+    /**
+     * Records a whole image drawing command.
+     */
+    private void recordImage( Image image, int x, int y, Color bgColor, double pivotX, double pivotY, double rotation ) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        recordCommand( null ).addImage( 
+                image.buffImage, 
+                x, y, x + width, y + height, 
+                0, 0, width, height, 
+                bgColor, pivotX, pivotY, rotation );
     }
 
     private void prepareInputManager() {
@@ -587,12 +1126,7 @@ public abstract class EngineFrame extends JFrame {
         inputManager.mapToMouse( mouseWheelDownAction, InputManager.MOUSE_WHEEL_DOWN );
 
         registerAllKeys();
-        
-        keysProcessedMap = new HashMap<>();
-        keysPressedMap = new HashMap<>();
-        keysReleasedMap = new HashMap<>();
-        keysDownMap = new HashMap<>();
-        keysUpMap = new HashMap<>();
+        createKeysStateTables();
 
     }
     
@@ -848,33 +1382,73 @@ public abstract class EngineFrame extends JFrame {
 
     }
     
-    private void resetKeysState() {
-        keysProcessedMap.clear();
+    /**
+     * Creates the keyboard state tables, sized to hold all mapped key codes.
+     */
+    private void createKeysStateTables() {
+        int size = inputManager.getKeyCodeLimit();
+        keysPressed = new boolean[size];
+        keysReleased = new boolean[size];
+        keysDown = new boolean[size];
+        keysUp = new boolean[size];
     }
     
-    private void processKeysState( int keyCode ) {
+    /**
+     * Captures the state of all mapped keys into the keyboard state tables,
+     * consuming the key actions. Executed once before each update, so the
+     * key queries are just table lookups.
+     */
+    private void captureKeysState() {
+        
+        if ( keysDown.length < inputManager.getKeyCodeLimit() ) {
+            createKeysStateTables();
+        }
+        
+        int[] keyCodes = inputManager.getMappedKeyCodes();
+        int keyCodeCount = inputManager.getMappedKeyCodeCount();
         
-        if ( !keysProcessedMap.containsKey( keyCode ) ) {
+        for ( int i = 0; i < keyCodeCount; i++ ) {
             
-            List<GameAction> keyActions = inputManager.getKeyActions( keyCode );
-            keysProcessedMap.put( keyCode, true );
-        
-            if ( keyActions != null ) {
-                for ( GameAction ga : keyActions ) {
-                    if ( ga.isInitialPressOnly() ) {
-                        keysPressedMap.put( keyCode, ga.isPressed() );
-                    } else {
-                        boolean down = ga.isPressed();
-                        keysReleasedMap.put( keyCode, down && ga.getAmount() == 0 );
-                        keysDownMap.put( keyCode, down );
-                        keysUpMap.put( keyCode, !down );
-                    }
+            int keyCode = keyCodes[i];
+            
+            for ( GameAction ga : inputManager.getKeyActions( keyCode ) ) {
+                if ( ga.isInitialPressOnly() ) {
+                    keysPressed[keyCode] = ga.isPressed();
+                } else {
+                    boolean down = ga.isPressed();
+                    keysReleased[keyCode] = down && ga.getAmount() == 0;
+                    keysDown[keyCode] = down;
+                    keysUp[keyCode] = !down;
                 }
             }
             
         }
         
     }
+    
+    /**
+     * Returns the value of a keyboard state table for a key code,
+     * or false if the key code is not mapped.
+     */
+    private static boolean getKeyState( boolean[] table, int keyCode ) {
+        return keyCode >= 0 && keyCode < table.length && table[keyCode];
+    }
+    
+    /**
+     * Returns the lowest code of the keys that are pressed or held down,
+     * or KEY_NULL if there are none.
+     */
+    private int getFirstKeyDown() {
+        
+        for ( int keyCode = 0; keyCode < keysDown.length; keyCode++ ) {
+            if ( keysDown[keyCode] || keysPressed[keyCode] ) {
+                return keyCode;
+            }
+        }
+        
+        return KEY_NULL;
+        
+    }
 
     /**
      * Returns whether a key was pressed once.
@@ -883,8 +1457,7 @@ public abstract class EngineFrame extends JFrame {
      * @return True if the key was pressed once, false otherwise.
      */
     public boolean isKeyPressed( int keyCode ) {
-        processKeysState( keyCode );
-        return keysPressedMap.getOrDefault( keyCode, false );
+        return getKeyState( keysPressed, keyCode );
     }
     /*public boolean isKeyPressed( int keyCode ) {
 
@@ -909,8 +1482,7 @@ public abstract class EngineFrame extends JFrame {
      * @return True if the key was released, false otherwise.
      */
     public boolean isKeyReleased( int keyCode ) {
-        processKeysState( keyCode );
-        return keysReleasedMap.getOrDefault( keyCode, false );
+        return getKeyState( keysReleased, keyCode );
     }
     /*public boolean isKeyReleased( int keyCode ) {
 
@@ -935,8 +1507,7 @@ public abstract class EngineFrame extends JFrame {
      * @return True if the key is held down, false otherwise.
      */
     public boolean isKeyDown( int keyCode ) {
-        processKeysState( keyCode );
-        return keysDownMap.getOrDefault( keyCode, false );
+        return getKeyState( keysDown, keyCode );
     }
     /*public boolean isKeyDown( int keyCode ) {
         
@@ -961,8 +1532,7 @@ public abstract class EngineFrame extends JFrame {
      * @return True if the key is not pressed, false otherwise.
      */
     public boolean isKeyUp( int keyCode ) {
-        processKeysState( keyCode );
-        return keysUpMap.getOrDefault( keyCode, false );
+        return getKeyState( keysUp, keyCode );
     }
     /*public boolean isKeyUp( int keyCode ) {
         return !isKeyDown( keyCode );
@@ -974,7 +1544,21 @@ public abstract class EngineFrame extends JFrame {
      * @return A set of pressed key codes.
      */
     public Set<Integer> getKeysPressed() {
-        return inputManager.getKeysFromPressedActions();
+        
+        Set<Integer> keys = new HashSet<>();
+        
+        for ( int keyCode = 0; keyCode < keysDown.length; keyCode++ ) {
+            if ( keysDown[keyCode] || keysPressed[keyCode] ) {
+                keys.add( keyCode );
+            }
+        }
+        
+        if ( keys.isEmpty() ) {
+            keys.add( KEY_NULL );
+        }
+        
+        return keys;
+        
     }
     
     /**
@@ -984,13 +1568,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public int getKeyPressed() {
         
-        Set<Integer> s = inputManager.getKeysFromPressedActions();
-        
-        if ( s.isEmpty() ) {
-            return KEY_NULL;
-        }
-        
-        int key = s.iterator().next();
+        int key = getFirstKeyDown();
         
         if ( key != lastPressedKeyCode ) {
             lastPressedKeyCode = key;
@@ -1008,13 +1586,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public char getCharPressed() {
         
-        Set<Integer> s = inputManager.getKeysFromPressedActions();
-        
-        if ( s.isEmpty() ) {
-            return KEY_NULL;
-        }
-        
-        int key = s.iterator().next();
+        int key = getFirstKeyDown();
         
         if ( key != lastPressedChar ) {
             lastPressedChar = key;
@@ -1039,6 +1611,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawPixel( double x, double y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.LINE, x, y, x, y );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new Line2D.Double( x, y, x, y ) );
     }
@@ -1063,6 +1639,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawLine( double startX, double startY, double endX, double endY, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.LINE, startX, startY, endX, endY );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new Line2D.Double( startX, startY, endX, endY ) );
     }
@@ -1098,6 +1678,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawRectangle( double x, double y, double width, double height, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_RECTANGLE, x, y, width, height );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new Rectangle2D.Double( x, y, width, height ) );
     }
@@ -1145,6 +1729,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillRectangle( double x, double y, double width, double height, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_RECTANGLE, x, y, width, height );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( new Rectangle2D.Double( x, y, width, height ) );
     }
@@ -1196,6 +1784,11 @@ public abstract class EngineFrame extends JFrame {
      */
     public void drawRectangle( double x, double y, double width, double height, double originX, double originY, double rotation, Paint paint ) {
 
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_ROTATED_RECTANGLE, x, y, width, height, originX, originY, rotation );
+            return;
+        }
+
         Graphics2D gc = (Graphics2D) g2d.create();
         gc.setPaint( paint );
 
@@ -1301,6 +1894,11 @@ public abstract class EngineFrame extends JFrame {
      */
     public void fillRectangle( double x, double y, double width, double height, double originX, double originY, double rotation, Paint paint ) {
 
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_ROTATED_RECTANGLE, x, y, width, height, originX, originY, rotation );
+            return;
+        }
+
         Graphics2D gc = (Graphics2D) g2d.create();
         gc.setPaint( paint );
 
@@ -1399,6 +1997,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawAABB( AABB aabb, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_RECTANGLE, aabb.x1, aabb.y1, aabb.width, aabb.height );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new Rectangle2D.Double( aabb.x1, aabb.y1, aabb.width, aabb.height ) );
     }
@@ -1410,6 +2012,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillAABB( AABB aabb, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_RECTANGLE, aabb.x1, aabb.y1, aabb.width, aabb.height );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( new Rectangle2D.Double( aabb.x1, aabb.y1, aabb.width, aabb.height ) );
     }
@@ -1425,6 +2031,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawRoundRectangle( double x, double y, double width, double height, double roundness, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_ROUND_RECTANGLE, x, y, width, height, roundness, roundness );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new RoundRectangle2D.Double( x, y, width, height, roundness, roundness ) );
     }
@@ -1475,6 +2085,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillRoundRectangle( double x, double y, double width, double height, double roundness, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_ROUND_RECTANGLE, x, y, width, height, roundness, roundness );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( new RoundRectangle2D.Double( x, y, width, height, roundness, roundness ) );
     }
@@ -1523,6 +2137,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawCircle( double x, double y, double radius, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_ELLIPSE, x - radius, y - radius, radius * 2, radius * 2 );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new Ellipse2D.Double( x - radius, y - radius, radius * 2, radius * 2 ) );
     }
@@ -1557,6 +2175,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillCircle( double x, double y, double radius, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_ELLIPSE, x - radius, y - radius, radius * 2, radius * 2 );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( new Ellipse2D.Double( x - radius, y - radius, radius * 2, radius * 2 ) );
     }
@@ -1592,6 +2214,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawEllipse( double x, double y, double radiusH, double radiusV, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_ELLIPSE, x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new Ellipse2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
     }
@@ -1628,6 +2254,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillEllipse( double x, double y, double radiusH, double radiusV, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_ELLIPSE, x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( new Ellipse2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
     }
@@ -1665,8 +2295,12 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawCircleSector( double x, double y, double radius, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
         double extent = endAngle - startAngle;
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_ARC, x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE );
+            return;
+        }
+        g2d.setPaint( paint );
         g2d.draw( new Arc2D.Double( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
     }
 
@@ -1716,8 +2350,12 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillCircleSector( double x, double y, double radius, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
         double extent = endAngle - startAngle;
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_ARC, x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE );
+            return;
+        }
+        g2d.setPaint( paint );
         g2d.fill( new Arc2D.Double( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
     }
 
@@ -1768,8 +2406,12 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
         double extent = endAngle - startAngle;
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_ARC, x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE );
+            return;
+        }
+        g2d.setPaint( paint );
         g2d.draw( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
     }
 
@@ -1821,8 +2463,12 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
         double extent = endAngle - startAngle;
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_ARC, x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE );
+            return;
+        }
+        g2d.setPaint( paint );
         g2d.fill( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
     }
 
@@ -1874,8 +2520,12 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
         double extent = endAngle - startAngle;
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_ARC, x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.OPEN );
+            return;
+        }
+        g2d.setPaint( paint );
         g2d.draw( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.OPEN ) );
     }
 
@@ -1915,8 +2565,12 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        g2d.setPaint( paint );
         double extent = endAngle - startAngle;
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_ARC, x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.CHORD );
+            return;
+        }
+        g2d.setPaint( paint );
         g2d.fill( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.CHORD ) );
     }
 
@@ -1956,6 +2610,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.DRAW_SHAPE, DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
     }
@@ -1981,7 +2639,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawRing( Ring ring, Paint paint ) {
-        drawRing( ring.x, ring.y, ring.innerRadius, ring.outerRadius, ring.startAngle, ring.endAngle, paint );
+        drawCachedShape( ring.getShape(), paint );
     }
 
     /**
@@ -1996,6 +2654,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.FILL_SHAPE, DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
     }
@@ -2021,7 +2683,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillRing( Ring ring, Paint paint ) {
-        fillRing( ring.x, ring.y, ring.innerRadius, ring.outerRadius, ring.startAngle, ring.endAngle, paint );
+        fillCachedShape( ring.getShape(), paint );
     }
 
     /**
@@ -2036,6 +2698,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_TRIANGLE, v1x, v1y, v2x, v2y, v3x, v3y );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createTriangle( v1x, v1y, v2x, v2y, v3x, v3y ) );
     }
@@ -2074,6 +2740,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_TRIANGLE, v1x, v1y, v2x, v2y, v3x, v3y );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createTriangle( v1x, v1y, v2x, v2y, v3x, v3y ) );
     }
@@ -2111,6 +2781,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawPolygon( double x, double y, int sides, double radius, double rotation, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.DRAW_SHAPE, DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
     }
@@ -2135,7 +2809,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawPolygon( Polygon polygon, Paint paint ) {
-        drawPolygon( polygon.x, polygon.y, polygon.sides, polygon.radius, polygon.rotation, paint );
+        drawCachedShape( polygon.getShape(), paint );
     }
 
     /**
@@ -2149,6 +2823,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillPolygon( double x, double y, int sides, double radius, double rotation, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.FILL_SHAPE, DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
     }
@@ -2173,7 +2851,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillPolygon( Polygon polygon, Paint paint ) {
-        fillPolygon( polygon.x, polygon.y, polygon.sides, polygon.radius, polygon.rotation, paint );
+        fillCachedShape( polygon.getShape(), paint );
     }
     
     /**
@@ -2187,6 +2865,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawStar( double x, double y, int tips, double radius, double rotation, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.DRAW_SHAPE, DrawingUtils.createStar( x, y, tips, radius, rotation ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createStar( x, y, tips, radius, rotation ) );
     }
@@ -2211,7 +2893,7 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawStar( Star polygon, Paint paint ) {
-        drawStar( polygon.x, polygon.y, polygon.tips, polygon.radius, polygon.rotation, paint );
+        drawCachedShape( polygon.getShape(), paint );
     }
 
     /**
@@ -2225,6 +2907,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillStar( double x, double y, int tips, double radius, double rotation, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.FILL_SHAPE, DrawingUtils.createStar( x, y, tips, radius, rotation ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createStar( x, y, tips, radius, rotation ) );
     }
@@ -2249,7 +2935,32 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillStar( Star polygon, Paint paint ) {
-        fillStar( polygon.x, polygon.y, polygon.tips, polygon.radius, polygon.rotation, paint );
+        fillCachedShape( polygon.getShape(), paint );
+    }
+
+    /**
+     * Draws a shape cached by a geom object. Cached shapes are never
+     * modified, only replaced, so they are recorded without a copy.
+     */
+    private void drawCachedShape( Shape shape, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.DRAW_SHAPE, shape );
+            return;
+        }
+        g2d.setPaint( paint );
+        g2d.draw( shape );
+    }
+
+    /**
+     * Fills a shape cached by a geom object.
+     */
+    private void fillCachedShape( Shape shape, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.FILL_SHAPE, shape );
+            return;
+        }
+        g2d.setPaint( paint );
+        g2d.fill( shape );
     }
 
     /**
@@ -2259,6 +2970,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawPath( Path path, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.DRAW_SHAPE, new Path2D.Double( path.path ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( path.path );
     }
@@ -2270,6 +2985,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillPath( Path path, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.FILL_SHAPE, new Path2D.Double( path.path ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( path.path );
     }
@@ -2292,6 +3011,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_QUAD_CURVE, p1x, p1y, cx, cy, p2x, p2y );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new QuadCurve2D.Double( p1x, p1y, cx, cy, p2x, p2y ) );
     }
@@ -2352,6 +3075,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_QUAD_CURVE, p1x, p1y, cx, cy, p2x, p2y );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( new QuadCurve2D.Double( p1x, p1y, cx, cy, p2x, p2y ) );
     }
@@ -2414,6 +3141,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.DRAW_CUBIC_CURVE, p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( new CubicCurve2D.Double( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
     }
@@ -2477,6 +3208,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void fillCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).add( DrawCommandBuffer.FILL_CUBIC_CURVE, p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( new CubicCurve2D.Double( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
     }
@@ -2541,6 +3276,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawText( String text, double x, double y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addText( text, x, y, 0, 0, 0 );
+            return;
+        }
         g2d.setPaint( paint );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
@@ -2572,6 +3311,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawText( String text, double x, double y, double originX, double originY, double rotation, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addText( text, x, y, x + originX, y + originY, rotation );
+            return;
+        }
         g2d.setPaint( paint );
         Graphics2D ig2d = (Graphics2D) g2d.create();
         ig2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
@@ -2591,6 +3334,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawText( String text, double x, double y, int fontSize, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint, g2d.getFont().deriveFont( (float) fontSize ) ).addText( text, x, y, 0, 0, 0 );
+            return;
+        }
         g2d.setPaint( paint );
         Graphics2D ig2d = (Graphics2D) g2d.create();
         ig2d.setFont( g2d.getFont().deriveFont( (float) fontSize ) );
@@ -2627,6 +3374,10 @@ public abstract class EngineFrame extends JFrame {
      * @param paint Paint for drawing.
      */
     public void drawText( String text, double x, double y, double originX, double originY, double rotation, int fontSize, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint, g2d.getFont().deriveFont( (float) fontSize ) ).addText( text, x, y, x + originX, y + originY, rotation );
+            return;
+        }
         g2d.setPaint( paint );
         Graphics2D ig2d = (Graphics2D) g2d.create();
         ig2d.setFont( g2d.getFont().deriveFont( (float) fontSize ) );
@@ -2817,6 +3568,9 @@ public abstract class EngineFrame extends JFrame {
      * @return The time a frame took to be updated and drawn.
      */
     public double getFrameTime() {
+        if ( fixedTimeStep ) {
+            return cycleTimeNanos / 1_000_000_000.0;
+        }
         return frameTime / 1000.0;
     }
 
@@ -2829,6 +3583,97 @@ public abstract class EngineFrame extends JFrame {
         return ( System.currentTimeMillis() - startTime ) / 1000.0;
     }
 
+    /**
+     * Activates or deactivates active rendering. When active, each frame is
+     * drawn by the engine thread into an accelerated back buffer
+     * (VolatileImage) that is then copied to the screen, removing the
+     * round trip to the event dispatch thread. When inactive (default),
+     * frames are drawn by Swing's painting process.
+     * 
+     * @param activeRendering The flag state.
+     */
+    public void setActiveRendering( boolean activeRendering ) {
+        this.activeRendering = activeRendering;
+    }
+    
+    /**
+     * Returns whether active rendering is used.
+     * 
+     * @return True if active rendering is used, false otherwise.
+     */
+    public boolean isActiveRendering() {
+        return activeRendering;
+    }
+    
+    /**
+     * Activates the fixed time step loop. In this mode the elapsed time is
+     * measured with nanosecond precision and accumulated, and the update
+     * method is executed at a constant rate, always receiving the same
+     * delta. The drawing can use the interpolation alpha to smooth the
+     * movement between the last two simulation states. The frames are
+     * paced to the target FPS using hybrid sleep/spin waiting.
+     * 
+     * @param updatesPerSecond The number of updates per second.
+     */
+    public void setFixedTimeStep( int updatesPerSecond ) {
+
+        if ( updatesPerSecond <= 0 ) {
+            throw new IllegalArgumentException( "updates per second must be positive!" );
+        }
+
+        fixedTimeStepNanos = 1_000_000_000L / updatesPerSecond;
+        lastCycleStartNanos = 0;
+        fixedTimeStep = true;
+
+    }
+    
+    /**
+     * Deactivates the fixed time step loop, returning to the default loop.
+     */
+    public void disableFixedTimeStep() {
+        fixedTimeStep = false;
+    }
+    
+    /**
+     * Returns whether the fixed time step loop is active.
+     * 
+     * @return True if the fixed time step loop is active, false otherwise.
+     */
+    public boolean isFixedTimeStep() {
+        return fixedTimeStep;
+    }
+    
+    /**
+     * Gets the interpolation factor between the previous and the current
+     * simulation states, in the [0, 1) interval. Only meaningful when the
+     * fixed time step loop is active.
+     * Note: Use only inside the draw method!
+     * 
+     * @return The interpolation factor.
+     */
+    public double getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+    
+    /**
+     * Sets the remaining time before the end of a frame below which the
+     * fixed time step loop stops sleeping and starts busy-waiting. Greater
+     * values give more precise pacing at the cost of CPU usage. Zero
+     * disables busy-waiting: the loop sleeps once until the end of the
+     * frame, accepting the oversleep of the platform.
+     * 
+     * @param milliseconds The threshold in milliseconds.
+     */
+    public void setSpinWaitThreshold( double milliseconds ) {
+
+        if ( milliseconds < 0 ) {
+            throw new IllegalArgumentException( "spin wait threshold must be non-negative!" );
+        }
+
+        spinWaitThresholdNanos = (long) ( milliseconds * 1_000_000 );
+
+    }
+
     /**
      * Gets the current frames per second count.
      * 
@@ -2858,11 +3703,13 @@ public abstract class EngineFrame extends JFrame {
 
     /**
      * Gets the current graphics context.
-     * Note: Use only inside the draw method!
+     * Note: Use only inside the draw method! When the drawing command buffer
+     * is active, drawing directly into this graphics context is not recorded.
      * 
      * @return The current graphics context.
      */
     public Graphics2D getGraphics2D() {
+        graphicsContextVersion++;
         return g2d;
     }
 
@@ -2891,6 +3738,7 @@ public abstract class EngineFrame extends JFrame {
      * @param degrees Rotation angle measure in degrees.
      */
     public void rotate( double degrees ) {
+        graphicsContextVersion++;
         g2d.rotate( Math.toRadians( degrees ) );
     }
 
@@ -2903,6 +3751,7 @@ public abstract class EngineFrame extends JFrame {
      * @param degrees Rotation angle measure in degrees.
      */
     public void rotate( double degrees, double x, double y ) {
+        graphicsContextVersion++;
         g2d.rotate( Math.toRadians( degrees ), x, y );
     }
 
@@ -2914,6 +3763,7 @@ public abstract class EngineFrame extends JFrame {
      * @param pivot The pivot point of the rotation.
      */
     public void rotate( double degrees, Vector2 pivot ) {
+        graphicsContextVersion++;
         g2d.rotate( Math.toRadians( degrees ), pivot.x, pivot.y );
     }
 
@@ -2925,6 +3775,7 @@ public abstract class EngineFrame extends JFrame {
      * @param y New origin in y.
      */
     public void translate( double x, double y ) {
+        graphicsContextVersion++;
         g2d.translate( x, y );
     }
 
@@ -2935,6 +3786,7 @@ public abstract class EngineFrame extends JFrame {
      * @param offset The translation offset.
      */
     public void translate( Vector2 offset ) {
+        graphicsContextVersion++;
         g2d.translate( offset.x, offset.y );
     }
 
@@ -2946,6 +3798,7 @@ public abstract class EngineFrame extends JFrame {
      * @param y New scale in y.
      */
     public void scale( double x, double y ) {
+        graphicsContextVersion++;
         g2d.scale( x, y );
     }
 
@@ -2956,6 +3809,7 @@ public abstract class EngineFrame extends JFrame {
      * @param factor The scale factor vector.
      */
     public void scale( Vector2 factor ) {
+        graphicsContextVersion++;
         g2d.scale( factor.x, factor.y );
     }
 
@@ -2967,6 +3821,7 @@ public abstract class EngineFrame extends JFrame {
      * @param y New shear in y.
      */
     public void shear( double x, double y ) {
+        graphicsContextVersion++;
         g2d.shear( x, y );
     }
 
@@ -2977,6 +3832,7 @@ public abstract class EngineFrame extends JFrame {
      * @param factor The shear factor vector.
      */
     public void shear( Vector2 factor ) {
+        graphicsContextVersion++;
         g2d.shear( factor.x, factor.y );
     }
 
@@ -3400,6 +4256,10 @@ public abstract class EngineFrame extends JFrame {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double x, double y, Color bgColor ) {
+        if ( recordingDrawCommands ) {
+            recordImage( image, (int) x, (int) y, bgColor, 0, 0, 0 );
+            return;
+        }
         g2d.drawImage( image.buffImage, (int) x, (int) y, bgColor, null );
     }
     
@@ -3451,6 +4311,10 @@ public abstract class EngineFrame extends JFrame {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double x, double y, double originX, double originY, double rotation, Color bgColor ) {
+        if ( recordingDrawCommands ) {
+            recordImage( image, (int) x, (int) y, bgColor, x + originX, y + originY, rotation );
+            return;
+        }
         Graphics2D ig2d = (Graphics2D) g2d.create();
         ig2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         ig2d.drawImage( image.buffImage, (int) x, (int) y, bgColor, null );
@@ -3497,6 +4361,22 @@ public abstract class EngineFrame extends JFrame {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double x, double y, Color bgColor ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addImage( 
+                    image.buffImage,
+                    (int) x,
+                    (int) y,
+                    (int) ( x + Math.abs( srcWidth ) ),
+                    (int) ( y + Math.abs( srcHeight ) ),
+                    (int) ( srcWidth >= 0 ? srcX : srcX - srcWidth ),
+                    (int) ( srcHeight >= 0 ? srcY : srcY - srcHeight ),
+                    (int) ( srcWidth >= 0 ? srcX + srcWidth : srcX ),
+                    (int) ( srcHeight >= 0 ? srcY + srcHeight : srcY ),
+                    bgColor,
+                    0, 0, 0
+            );
+            return;
+        }
         g2d.drawImage( 
                 image.buffImage,
                 (int) x,
@@ -3631,6 +4511,22 @@ public abstract class EngineFrame extends JFrame {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double x, double y, double originX, double originY, double rotation, Color bgColor ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addImage( 
+                    image.buffImage,
+                    (int) x,
+                    (int) y,
+                    (int) ( x + Math.abs( srcWidth ) ),
+                    (int) ( y + Math.abs( srcHeight ) ),
+                    (int) ( srcWidth >= 0 ? srcX : srcX - srcWidth ),
+                    (int) ( srcHeight >= 0 ? srcY : srcY - srcHeight ),
+                    (int) ( srcWidth >= 0 ? srcX + srcWidth : srcX ),
+                    (int) ( srcHeight >= 0 ? srcY + srcHeight : srcY ),
+                    bgColor,
+                    x + originX, y + originY, rotation
+            );
+            return;
+        }
         Graphics2D ig2d = (Graphics2D) g2d.create();
         ig2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         ig2d.drawImage( 
@@ -3709,6 +4605,22 @@ public abstract class EngineFrame extends JFrame {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double destX, double destY, double destWidth, double destHeight, Color bgColor ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addImage( 
+                    image.buffImage,
+                    (int) destX,
+                    (int) destY,
+                    (int) ( destX + destWidth ),
+                    (int) ( destY + destHeight ),
+                    (int) ( srcWidth >= 0 ? srcX : srcX - srcWidth ),
+                    (int) ( srcHeight >= 0 ? srcY : srcY - srcHeight ),
+                    (int) ( srcWidth >= 0 ? srcX + srcWidth : srcX ),
+                    (int) ( srcHeight >= 0 ? srcY + srcHeight : srcY ),
+                    bgColor,
+                    0, 0, 0
+            );
+            return;
+        }
         g2d.drawImage( 
                 image.buffImage,
                 (int) destX,
@@ -3810,6 +4722,22 @@ public abstract class EngineFrame extends JFrame {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double destX, double destY, double destWidth, double destHeight, double originX, double originY, double rotation, Color bgColor ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addImage( 
+                    image.buffImage,
+                    (int) destX,
+                    (int) destY,
+                    (int) ( destX + destWidth ),
+                    (int) ( destY + destHeight ),
+                    (int) ( srcWidth >= 0 ? srcX : srcX - srcWidth ),
+                    (int) ( srcHeight >= 0 ? srcY : srcY - srcHeight ),
+                    (int) ( srcWidth >= 0 ? srcX + srcWidth : srcX ),
+                    (int) ( srcHeight >= 0 ? srcY + srcHeight : srcY ),
+                    bgColor,
+                    destX + originX, destY + originY, rotation
+            );
+            return;
+        }
         Graphics2D ig2d = (Graphics2D) g2d.create();
         ig2d.rotate( Math.toRadians( rotation ), destX + originX, destY + originY );
         ig2d.drawImage( 
@@ -3861,6 +4789,19 @@ public abstract class EngineFrame extends JFrame {
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double destX, double destY, double destWidth, double destHeight, double originX, double originY, double rotation ) {
         drawImage( image, srcX, srcY, srcWidth, srcHeight, destX, destY, destWidth, destHeight, originX, originY, rotation, null );
     }
+    
+    /**
+     * Draws the sprites of a sprite batch. Used by SpriteBatch.end.
+     * 
+     * @param batch The sprite batch.
+     */
+    void drawSpriteBatch( SpriteBatch batch ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( batch.snapshot()::render );
+            return;
+        }
+        batch.render( g2d );
+    }
 
 
     
@@ -3877,6 +4818,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#draw
      */
     public void g2Draw( Shape shape, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.DRAW_SHAPE, new Path2D.Double( shape ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw( shape );
     }
@@ -3893,6 +4838,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawLine
      */
     public void g2DrawLine( int startX, int startY, int endX, int endY, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawLine( startX, startY, endX, endY ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawLine( startX, startY, endX, endY );
     }
@@ -3909,6 +4858,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawRect
      */
     public void g2DrawRect( int x, int y, int width, int height, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawRect( x, y, width, height ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawRect( x, y, width, height );
     }
@@ -3927,6 +4880,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawRoundRect
      */
     public void g2DrawRoundRect( int x, int y, int width, int height, int arcWidth, int arcHeight, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawRoundRect( x, y, width, height, arcWidth, arcHeight ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawRoundRect( x, y, width, height, arcWidth, arcHeight );
     }
@@ -3944,6 +4901,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#draw3DRect
      */
     public void g2Draw3DRect( int x, int y, int width, int height, boolean raised, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.draw3DRect( x, y, width, height, raised ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.draw3DRect( x, y, width, height, raised );
     }
@@ -3960,6 +4921,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawOval
      */
     public void g2DrawOval( int x, int y, int width, int height, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawOval( x, y, width, height ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawOval( x, y, width, height );
     }
@@ -3978,8 +4943,12 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawOval
      */
     public void g2DrawArc( int x, int y, int width, int height, int startAngle, int arcAngle, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawArc( x, y, width, height, startAngle, arcAngle ) );
+            return;
+        }
         g2d.setPaint( paint );
-        g2d.drawArc(x, y, width, height, startAngle, arcAngle );
+        g2d.drawArc( x, y, width, height, startAngle, arcAngle );
     }
     
     /**
@@ -3991,6 +4960,11 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawPolygon
      */
     public void g2DrawPolygon( java.awt.Polygon polygon, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            java.awt.Polygon p = new java.awt.Polygon( polygon.xpoints, polygon.ypoints, polygon.npoints );
+            recordCommand( paint ).addCustom( g -> g.drawPolygon( p ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawPolygon( polygon );
     }
@@ -4006,6 +4980,12 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawPolygon
      */
     public void g2DrawPolygon( int[] xVertices, int[] yVertices, int nVertices, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            int[] xs = Arrays.copyOf( xVertices, nVertices );
+            int[] ys = Arrays.copyOf( yVertices, nVertices );
+            recordCommand( paint ).addCustom( g -> g.drawPolygon( xs, ys, nVertices ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawPolygon( xVertices, yVertices, nVertices );
     }
@@ -4021,6 +5001,12 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawPolyline
      */
     public void g2DrawPolyline( int[] xVertices, int[] yVertices, int nVertices, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            int[] xs = Arrays.copyOf( xVertices, nVertices );
+            int[] ys = Arrays.copyOf( yVertices, nVertices );
+            recordCommand( paint ).addCustom( g -> g.drawPolyline( xs, ys, nVertices ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawPolyline( xVertices, yVertices, nVertices );
     }
@@ -4034,6 +5020,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#fill
      */
     public void g2Fill( Shape shape, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addShape( DrawCommandBuffer.FILL_SHAPE, new Path2D.Double( shape ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill( shape );
     }
@@ -4050,6 +5040,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillRect
      */
     public void g2FillRect( int x, int y, int width, int height, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.fillRect( x, y, width, height ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fillRect( x, y, width, height );
     }
@@ -4068,6 +5062,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillRoundRect
      */
     public void g2FillRoundRect( int x, int y, int width, int height, int arcWidth, int arcHeight, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.fillRoundRect( x, y, width, height, arcWidth, arcHeight ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fillRoundRect( x, y, width, height, arcWidth, arcHeight );
     }
@@ -4085,6 +5083,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fill3DRect
      */
     public void g2Fill3DRect( int x, int y, int width, int height, boolean raised, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.fill3DRect( x, y, width, height, raised ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fill3DRect( x, y, width, height, raised );
     }
@@ -4101,6 +5103,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillOval
      */
     public void g2FillOval( int x, int y, int width, int height, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.fillOval( x, y, width, height ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fillOval( x, y, width, height );
     }
@@ -4119,6 +5125,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillArc
      */
     public void g2FillArc( int x, int y, int width, int height, int startAngle, int arcAngle, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.fillArc( x, y, width, height, startAngle, arcAngle ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fillArc( x, y, width, height, startAngle, arcAngle );
     }
@@ -4132,6 +5142,11 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillPolygon
      */
     public void g2FillPolygon( java.awt.Polygon polygon, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            java.awt.Polygon p = new java.awt.Polygon( polygon.xpoints, polygon.ypoints, polygon.npoints );
+            recordCommand( paint ).addCustom( g -> g.fillPolygon( p ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fillPolygon( polygon );
     }
@@ -4147,6 +5162,12 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#fillPolygon
      */
     public void g2FillPolygon( int[] xVertices, int[] yVertices, int nVertices, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            int[] xs = Arrays.copyOf( xVertices, nVertices );
+            int[] ys = Arrays.copyOf( yVertices, nVertices );
+            recordCommand( paint ).addCustom( g -> g.fillPolygon( xs, ys, nVertices ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.fillPolygon( xVertices, yVertices, nVertices );
     }
@@ -4161,6 +5182,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawImage
      */
     public void g2DrawImage( java.awt.Image image, AffineTransform transform, ImageObserver obs ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawImage( image, transform, obs ) );
+            return;
+        }
         g2d.drawImage( image, transform, obs );
     }
     
@@ -4175,6 +5200,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawImage
      */
     public void g2DrawImage( BufferedImage image, BufferedImageOp op, int x, int y ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawImage( image, op, x, y ) );
+            return;
+        }
         g2d.drawImage( image, op, x, y );
     }
     
@@ -4189,6 +5218,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawImage
      */
     public void g2DrawImage( java.awt.Image image, int x, int y, ImageObserver obs ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawImage( image, x, y, obs ) );
+            return;
+        }
         g2d.drawImage( image, x, y, obs );
     }
     
@@ -4204,6 +5237,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawImage
      */
     public void g2DrawImage( java.awt.Image image, int x, int y, Color bgColor, ImageObserver obs ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawImage( image, x, y, bgColor, obs ) );
+            return;
+        }
         g2d.drawImage( image, x, y, bgColor, obs );
     }
     
@@ -4220,6 +5257,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawImage
      */
     public void g2DrawImage( java.awt.Image image, int x, int y, int width, int height, ImageObserver obs ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawImage( image, x, y, width, height, obs ) );
+            return;
+        }
         g2d.drawImage( image, x, y, width, height, obs );
     }
     
@@ -4237,6 +5278,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawImage
      */
     public void g2DrawImage( java.awt.Image image, int x, int y, int width, int height, Color bgColor, ImageObserver obs ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawImage( image, x, y, width, height, bgColor, obs ) );
+            return;
+        }
         g2d.drawImage( image, x, y, width, height, bgColor, obs );
     }
     
@@ -4257,6 +5302,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawImage
      */
     public void g2DrawImage( java.awt.Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, ImageObserver obs ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawImage( image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, obs ) );
+            return;
+        }
         g2d.drawImage( image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, obs );
     }
     
@@ -4278,6 +5327,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawImage
      */
     public void g2DrawImage( java.awt.Image image, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2, Color bgColor, ImageObserver obs ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawImage( image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, bgColor, obs ) );
+            return;
+        }
         g2d.drawImage( image, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, bgColor, obs );
     }
     
@@ -4290,6 +5343,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawRenderableImage
      */
     public void g2DrawRenderableImage( RenderableImage image, AffineTransform transform ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawRenderableImage( image, transform ) );
+            return;
+        }
         g2d.drawRenderableImage( image, transform );
     }
     
@@ -4302,6 +5359,10 @@ public abstract class EngineFrame extends JFrame {
      * * @see java.awt.Graphics2D#drawRenderedImage
      */
     public void g2DrawRenderedImage( RenderedImage image, AffineTransform transform ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( null ).addCustom( g -> g.drawRenderedImage( image, transform ) );
+            return;
+        }
         g2d.drawRenderedImage( image, transform );
     }
     
@@ -4318,6 +5379,11 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawChars
      */
     public void g2DrawChars( char[] data, int offset, int length, int x, int y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            char[] chars = Arrays.copyOfRange( data, offset, offset + length );
+            recordCommand( paint ).addCustom( g -> g.drawChars( chars, 0, length, x, y ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawChars( data, offset, length, x, y );
     }
@@ -4333,6 +5399,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawGlyphVector
      */
     public void g2DrawGlyphVector( GlyphVector gv, float x, float y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawGlyphVector( gv, x, y ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawGlyphVector( gv, x, y );
     }
@@ -4348,6 +5418,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawString
      */
     public void g2DrawString( AttributedCharacterIterator iterator, int x, int y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawString( iterator, x, y ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawString( iterator, x, y );
     }
@@ -4363,6 +5437,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawString
      */
     public void g2DrawString( AttributedCharacterIterator iterator, float x, float y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawString( iterator, x, y ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawString( iterator, x, y );
     }
@@ -4378,6 +5456,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics#drawString
      */
     public void g2DrawString( String string, int x, int y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawString( string, x, y ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawString( string, x, y );
     }
@@ -4393,6 +5475,10 @@ public abstract class EngineFrame extends JFrame {
      * @see java.awt.Graphics2D#drawString
      */
     public void g2DrawString( String string, float x, float y, Paint paint ) {
+        if ( recordingDrawCommands ) {
+            recordCommand( paint ).addCustom( g -> g.drawString( string, x, y ) );
+            return;
+        }
         g2d.setPaint( paint );
         g2d.drawString( string, x, y );
     }
@@ -4829,6 +5915,48 @@ public abstract class EngineFrame extends JFrame {
         return gpInputManager.getGamepadAxisMovement( gamepadId, axis );
     }
     
+    /**
+     * Sets how many times per second the gamepads are polled. The gamepads
+     * are polled in a dedicated thread, so this rate is independent of the
+     * target FPS. The default value is 1000.
+     * 
+     * @param pollsPerSecond The number of polls per second.
+     */
+    public void setGamepadPollingRate( int pollsPerSecond ) {
+        gpInputManager.poller.setPollingRate( pollsPerSecond );
+    }
+    
+    /**
+     * Sets the deadzone of the gamepad axes. Axis values with an absolute
+     * value smaller than the deadzone are reported as 0.0. The default
+     * value is 0.0.
+     * 
+     * @param deadzone The deadzone, between 0.0 and 1.0.
+     */
+    public void setGamepadAxisDeadzone( double deadzone ) {
+        gpInputManager.poller.setDeadzone( deadzone );
+    }
+    
+    /**
+     * Sets the interval between searches for newly connected gamepads.
+     * The search runs in the gamepad polling thread and only while less
+     * than four gamepads are connected. The default value is 0, which
+     * disables the periodic search.
+     * 
+     * @param seconds The interval, in seconds.
+     */
+    public void setGamepadRescanInterval( double seconds ) {
+        gpInputManager.poller.setRescanInterval( seconds );
+    }
+    
+    /**
+     * Requests a search for newly connected gamepads. The search runs in
+     * the gamepad polling thread, so this method returns immediately.
+     */
+    public void rescanGamepads() {
+        gpInputManager.poller.requestRescan();
+    }
+    
     
     
     //**************************************************************************
@@ -4894,8 +6022,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Arc arc ) {
         copyAndSaveGraphics2D();
-        double extent = arc.endAngle - arc.startAngle;
-        g2d.setClip( new Arc2D.Double( arc.x - arc.radiusH, arc.y - arc.radiusV, arc.radiusH * 2, arc.radiusV * 2, -arc.startAngle, -extent, Arc2D.CHORD ) );
+        g2d.setClip( arc.getShape() );
     }
     
     /**
@@ -4946,8 +6073,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( EllipseSector ellipseSector ) {
         copyAndSaveGraphics2D();
-        double extent = ellipseSector.endAngle - ellipseSector.startAngle;
-        g2d.setClip( new Arc2D.Double( ellipseSector.x - ellipseSector.radiusH, ellipseSector.y - ellipseSector.radiusV, ellipseSector.radiusH * 2, ellipseSector.radiusV * 2, -ellipseSector.startAngle, -extent, Arc2D.PIE ) );
+        g2d.setClip( ellipseSector.getShape() );
     }
 
     /**
@@ -4967,7 +6093,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Polygon polygon ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( DrawingUtils.createPolygon( polygon.x, polygon.y, polygon.sides, polygon.radius, polygon.rotation ) );
+        g2d.setClip( polygon.getShape() );
     }
     
     /**
@@ -4996,7 +6122,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Ring ring ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( DrawingUtils.createRing( ring.x, ring.y, ring.innerRadius, ring.outerRadius, ring.startAngle, ring.endAngle ) );
+        g2d.setClip( ring.getShape() );
     }
     
     /**
@@ -5016,7 +6142,7 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Star star ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( DrawingUtils.createStar( star.x, star.y, star.tips, star.radius, star.rotation ) );
+        g2d.setClip( star.getShape() );
     }
     
     /**
@@ -5026,39 +6152,155 @@ public abstract class EngineFrame extends JFrame {
      */
     public void beginScissorMode( Triangle triangle ) {
         copyAndSaveGraphics2D();
-        g2d.setClip( DrawingUtils.createTriangle( triangle.x1, triangle.y1, triangle.x2, triangle.y2, triangle.x3, triangle.y3 ) );
+        g2d.setClip( triangle.getShape() );
     }
     
     /**
      * Ends the current scissor mode.
      */
-    public void endScissorMode() {
-        disposeAndRestoreGraphics2D();
+    public void endScissorMode() {
+        disposeAndRestoreGraphics2D();
+    }
+    
+    
+    
+    //**************************************************************************
+    // Methods for managing graphics contexts.
+    //**************************************************************************
+    
+    /**
+     * Creates a copy of the current graphics context and saves a reference
+     * to the previous graphics context.
+     */
+    private void copyAndSaveGraphics2D() {
+        Graphics2D newG2d = (Graphics2D) g2d.create();
+        g2dStack.push( g2d );
+        g2d = newG2d;
+        graphicsContextVersion++;
+    }
+    
+    /**
+     * Discards the current graphics context and restores the previously
+     * saved graphics context.
+     */
+    private void disposeAndRestoreGraphics2D() {
+        g2d.dispose();
+        g2d = g2dStack.pop();
+        graphicsContextVersion++;
+    }
+    
+    
+    
+    //**************************************************************************
+    // Methods for controlling the drawing command buffer.
+    //**************************************************************************
+    
+    /**
+     * Activates or deactivates the drawing command buffer. When active, the
+     * drawing operations executed in the draw method are recorded into a
+     * compact buffer, without allocating shapes for the common primitives,
+     * and replayed at the end of the frame changing the paint, stroke and
+     * font of the graphics context only when needed. Drawing directly into
+     * the graphics context returned by getGraphics2D() is not recorded.
+     * 
+     * @param enabled The flag state.
+     */
+    public void setDrawCommandBufferEnabled( boolean enabled ) {
+        if ( enabled && drawCommandBuffer == null ) {
+            drawCommandBuffer = new DrawCommandBuffer();
+        }
+        drawCommandBufferEnabled = enabled;
+    }
+    
+    /**
+     * Returns whether the drawing command buffer is active.
+     * 
+     * @return True if the drawing command buffer is active, false otherwise.
+     */
+    public boolean isDrawCommandBufferEnabled() {
+        return drawCommandBufferEnabled;
+    }
+    
+    /**
+     * Activates or deactivates pipelined rendering. When active, the drawing
+     * operations of each frame are recorded into one of two command buffers
+     * and rasterized by a dedicated render thread, while the engine thread
+     * already executes the update of the next frame. Objects used by the
+     * drawing operations, like images and paints, must not be changed
+     * by the update after being drawn. The frame is shown one frame later.
+     * 
+     * @param pipelinedRendering The flag state.
+     */
+    public void setPipelinedRendering( boolean pipelinedRendering ) {
+        this.pipelinedRendering = pipelinedRendering;
+    }
+    
+    /**
+     * Returns whether pipelined rendering is active.
+     * 
+     * @return True if pipelined rendering is active, false otherwise.
+     */
+    public boolean isPipelinedRendering() {
+        return pipelinedRendering;
+    }
+    
+    /**
+     * Starts a region of drawing commands that may be reordered by paint,
+     * stroke and font to minimize the state changes of the graphics context.
+     * Use only for primitives whose drawing order does not matter, i.e., that
+     * do not overlap each other or that use the same paint. Commands are
+     * never reordered across transformations, clips or the region limits.
+     * Only has effect when the drawing command buffer or pipelined
+     * rendering is active.
+     * Note: Use only inside the draw method!
+     */
+    public void beginDrawCommandSorting() {
+        if ( recordingDrawCommands ) {
+            recordingBuffer.setSorting( true );
+        }
+    }
+    
+    /**
+     * Ends a region of drawing commands that may be reordered.
+     * Note: Use only inside the draw method!
+     */
+    public void endDrawCommandSorting() {
+        if ( recordingDrawCommands ) {
+            recordingBuffer.setSorting( false );
+        }
+    }
+    
+    /**
+     * Gets the number of drawing commands recorded in the last frame.
+     * 
+     * @return The number of drawing commands.
+     */
+    public int getDrawCommandCount() {
+        DrawCommandBuffer buffer = lastReplayedBuffer;
+        return buffer == null ? 0 : buffer.getCommandCount();
     }
     
-    
-    
-    //**************************************************************************
-    // Methods for managing graphics contexts.
-    //**************************************************************************
-    
     /**
-     * Creates a copy of the current graphics context and saves a reference
-     * to the previous graphics context.
+     * Gets the number of paint, stroke and font changes applied to the
+     * graphics context when the last frame was replayed. Without the
+     * command buffer every drawing operation changes at least the paint.
+     * 
+     * @return The number of state changes.
      */
-    private void copyAndSaveGraphics2D() {
-        Graphics2D newG2d = (Graphics2D) g2d.create();
-        g2dStack.push( g2d );
-        g2d = newG2d;
+    public int getDrawStateChangeCount() {
+        DrawCommandBuffer buffer = lastReplayedBuffer;
+        return buffer == null ? 0 : buffer.getStateChangeCount();
     }
     
     /**
-     * Discards the current graphics context and restores the previously
-     * saved graphics context.
+     * Gets the number of shape allocations avoided when the last frame
+     * was replayed.
+     * 
+     * @return The number of avoided shape allocations.
      */
-    private void disposeAndRestoreGraphics2D() {
-        g2d.dispose();
-        g2d = g2dStack.pop();
+    public int getAvoidedShapeAllocationCount() {
+        DrawCommandBuffer buffer = lastReplayedBuffer;
+        return buffer == null ? 0 : buffer.getAvoidedShapeAllocationCount();
     }
     
     
@@ -5284,32 +6526,123 @@ public abstract class EngineFrame extends JFrame {
         @Override
         public void paintComponent( Graphics g ) {
 
+            // with active rendering the engine thread is the only one that
+            // draws, so repaints requested by the system only copy the
+            // last frame
+            if ( activeRendering ) {
+                synchronized ( backBufferLock ) {
+                    if ( backBuffer != null ) {
+                        g.drawImage( backBuffer, 0, 0, null );
+                    }
+                }
+                return;
+            }
+            
             super.paintComponent( g );
-            g2d = (Graphics2D) g.create();
+            drawFrame( g );
 
-            g2d.setFont( defaultFont );
-            g2d.setStroke( defaultStroke );
-            
-            g2d.clearRect( 0, 0, getWidth(), getHeight() );
+        }
 
-            if ( antialiasing ) {
-                g2d.setRenderingHint( 
-                    RenderingHints.KEY_ANTIALIASING, 
-                    RenderingHints.VALUE_ANTIALIAS_ON );
+    }
+
+    
+    
+    /**
+     * Inner class that hands recorded frames from the engine thread to the
+     * render thread. Uses two command buffers and allows at most one frame
+     * in flight, so the buffer being recorded is never the one being
+     * rasterized.
+     */
+    private class RenderPipeline implements Runnable {
+        
+        private final DrawCommandBuffer[] buffers;
+        private int recordingIndex;
+        private DrawCommandBuffer pending;
+        private DrawCommandBuffer presented;
+        private boolean rasterizing;
+        
+        public RenderPipeline() {
+            buffers = new DrawCommandBuffer[]{ new DrawCommandBuffer(), new DrawCommandBuffer() };
+            Thread renderThread = new Thread( this, "JSGE render thread" );
+            renderThread.setDaemon( true );
+            renderThread.start();
+        }
+        
+        /**
+         * Gets the buffer that will receive the next frame.
+         */
+        public DrawCommandBuffer nextRecordingBuffer() {
+            DrawCommandBuffer buffer = buffers[recordingIndex];
+            recordingIndex = 1 - recordingIndex;
+            return buffer;
+        }
+        
+        /**
+         * Hands a recorded frame to the render thread, waiting while the
+         * previous frame is still being rasterized.
+         */
+        public synchronized void submit( DrawCommandBuffer buffer ) {
+            
+            while ( pending != null || rasterizing ) {
+                try {
+                    wait();
+                } catch ( InterruptedException exc ) {
+                    traceLogError( CoreUtils.stackTraceToString( exc ) );
+                    return;
+                }
+            }
+            
+            pending = buffer;
+            notifyAll();
+            
+        }
+        
+        /**
+         * Gets the last frame handed to the render thread.
+         */
+        public synchronized DrawCommandBuffer getPresentedBuffer() {
+            return presented;
+        }
+        
+        private synchronized DrawCommandBuffer take() throws InterruptedException {
+            
+            while ( pending == null ) {
+                wait();
             }
             
+            presented = pending;
+            pending = null;
+            rasterizing = true;
+            
+            return presented;
+            
+        }
+        
+        private synchronized void finish() {
+            rasterizing = false;
+            notifyAll();
+        }
+        
+        @Override
+        public void run() {
+            
             try {
-                draw();
-            } catch ( RuntimeException exc ) {
+                while ( true ) {
+                    take();
+                    try {
+                        rasterizeFrame();
+                    } finally {
+                        finish();
+                    }
+                }
+            } catch ( InterruptedException exc ) {
                 traceLogError( CoreUtils.stackTraceToString( exc ) );
             }
             
-            g2d.dispose();
-
         }
-
+        
     }
-
+    
     
     
     /**
@@ -5318,7 +6651,7 @@ public abstract class EngineFrame extends JFrame {
      *
      * @author Prof. Dr. David Buzatto
      */
-    private class InputManager implements KeyListener, MouseListener, MouseMotionListener, MouseWheelListener {
+    private class InputManager implements KeyListener, MouseListener, MouseMotionListener, MouseWheelListener, InputEventQueue.Handler {
         
         /*
          * Códigos do mouse (apenas para diferenciar as operações de rolagem
@@ -5334,8 +6667,25 @@ public abstract class EngineFrame extends JFrame {
          * Constant indicating a mouse wheel scroll-down operation.
          */
         public static final int MOUSE_WHEEL_DOWN = 4000;
+        
+        /**
+         * Capacity of the input event queue.
+         */
+        private static final int EVENT_QUEUE_CAPACITY = 8192;
+        
+        /*
+         * Events enqueued by the listeners in the event dispatch thread and
+         * applied to the GameActions in the engine thread.
+         */
+        private final InputEventQueue events = new InputEventQueue( EVENT_QUEUE_CAPACITY );
 
-        private Map<Integer, List<GameAction>> keyActionsMap = new HashMap<>();
+        /*
+         * Key actions indexed by key code, and the list of mapped key codes.
+         */
+        private GameAction[][] keyActions = new GameAction[0][];
+        private int[] mappedKeyCodes = new int[0];
+        private int mappedKeyCodeCount;
+        
         private Map<Integer, List<GameAction>> mouseActionsMap = new HashMap<>();
 
         private java.awt.Point mouseLocation;
@@ -5419,10 +6769,25 @@ public abstract class EngineFrame extends JFrame {
          * Note: there is no overriding of actions, as they are lists.
          */
         public void mapToKey( GameAction gameAction, int keyCode ) {
-            if ( !keyActionsMap.containsKey(keyCode) ) {
-                keyActionsMap.put( keyCode, new ArrayList<>() );
+            
+            if ( keyCode >= keyActions.length ) {
+                keyActions = Arrays.copyOf( keyActions, keyCode + 1 );
+            }
+            
+            GameAction[] actions = keyActions[keyCode];
+            
+            if ( actions == null ) {
+                if ( mappedKeyCodeCount == mappedKeyCodes.length ) {
+                    mappedKeyCodes = Arrays.copyOf( mappedKeyCodes, mappedKeyCodeCount * 2 + 16 );
+                }
+                mappedKeyCodes[mappedKeyCodeCount++] = keyCode;
+                keyActions[keyCode] = new GameAction[]{ gameAction };
+            } else {
+                actions = Arrays.copyOf( actions, actions.length + 1 );
+                actions[actions.length - 1] = gameAction;
+                keyActions[keyCode] = actions;
             }
-            keyActionsMap.get( keyCode ).add( gameAction );
+            
         }
         
         /**
@@ -5442,7 +6807,8 @@ public abstract class EngineFrame extends JFrame {
          */
         @SuppressWarnings( "unused" )
         public void clearMap( GameAction gameAction ) {
-            keyActionsMap.clear();
+            Arrays.fill( keyActions, null );
+            mappedKeyCodeCount = 0;
             mouseActionsMap.clear();
             gameAction.reset();
         }
@@ -5453,8 +6819,8 @@ public abstract class EngineFrame extends JFrame {
         @SuppressWarnings( "unused" )
         public void resetAllGameActions() {
 
-            for ( Map.Entry<Integer, List<GameAction>> e : keyActionsMap.entrySet() ) {
-                for ( GameAction ga : e.getValue() ) {
+            for ( int i = 0; i < mappedKeyCodeCount; i++ ) {
+                for ( GameAction ga : keyActions[mappedKeyCodes[i]] ) {
                     ga.reset();
                 }
             }
@@ -5536,9 +6902,9 @@ public abstract class EngineFrame extends JFrame {
         }
         
         /**
-         * Returns the GameActions associated with the KeyEvent.
+         * Returns the key code of the KeyEvent.
          */
-        private List<GameAction> getKeyActions( KeyEvent e ) {
+        private int getKeyCode( KeyEvent e ) {
 
             int keyCode = e.getKeyCode();
             
@@ -5546,63 +6912,43 @@ public abstract class EngineFrame extends JFrame {
                 keyCode = e.getExtendedKeyCode();
             }
 
-            if ( keyActionsMap.containsKey( keyCode ) ) {
-                return keyActionsMap.get( keyCode );
-            }
-
-            return null;
+            return keyCode;
 
         }
 
         /**
          * Returns the GameActions associated with the key code.
          */
-        public List<GameAction> getKeyActions( int keyCode ) {
+        public GameAction[] getKeyActions( int keyCode ) {
 
-            if ( keyActionsMap.containsKey( keyCode ) ) {
-                return keyActionsMap.get( keyCode );
+            if ( keyCode >= 0 && keyCode < keyActions.length ) {
+                return keyActions[keyCode];
             }
 
             return null;
 
         }
-
+        
         /**
-         * Gets a set with the codes of all currently pressed keys.
-         * Returns a set with only the null code if no key has been pressed.
-         * 
-         * @return A set with the codes of the pressed keys.
+         * Returns the mapped key codes. Only the first
+         * getMappedKeyCodeCount() positions are valid.
          */
-        public Set<Integer> getKeysFromPressedActions() {
-
-            Set<Integer> keys = new HashSet<>();
-
-            for ( Map.Entry<Integer, List<GameAction>> e : keyActionsMap.entrySet() ) {
-                for ( GameAction ga : e.getValue() ) {
-                    if ( ga.isPressed() ) {
-                        keys.add( e.getKey() );
-                    }
-                }
-            }
-
-            if ( keys.isEmpty() ) {
-                keys.add( KEY_NULL );
-            }
-
-            return keys;
-
+        public int[] getMappedKeyCodes() {
+            return mappedKeyCodes;
         }
         
         /**
-         * Consumes all key actions.
+         * Returns the number of mapped key codes.
          */
-        public void consumeKeyActions() {
-            for ( Map.Entry<Integer, List<GameAction>> e : keyActionsMap.entrySet() ) {
-                for ( GameAction ga : e.getValue() ) {
-                    if ( ga.isPressed() ) {
-                    }
-                }
-            }
+        public int getMappedKeyCodeCount() {
+            return mappedKeyCodeCount;
+        }
+        
+        /**
+         * Returns the limit (exclusive) of the mapped key codes.
+         */
+        public int getKeyCodeLimit() {
+            return keyActions.length;
         }
         
         /**
@@ -5629,18 +6975,69 @@ public abstract class EngineFrame extends JFrame {
         }
         
         /**
-         * Returns the GameActions associated with the MouseEvent.
+         * Applies all the events enqueued until now to the GameActions.
+         * Must be called in the engine thread.
          */
-        private List<GameAction> getMouseButtonActions( MouseEvent e ) {
-
-            int mouseCode = getMouseButtonCode( e );
-
-            if ( mouseCode != -1 ) {
-                return mouseActionsMap.get( mouseCode );
+        public void processEvents() {
+            events.drain( System.nanoTime(), this );
+        }
+        
+        @Override
+        public void handleInputEvent( int type, int a, int b, long timeNanos ) {
+            
+            switch ( type ) {
+                
+                case InputEventQueue.KEY_PRESSED: {
+                    GameAction[] gameActions = getKeyActions( a );
+                    if ( gameActions != null ) {
+                        for ( GameAction ga : gameActions ) {
+                            ga.press();
+                        }
+                    }
+                    break;
+                }
+                    
+                case InputEventQueue.KEY_RELEASED: {
+                    GameAction[] gameActions = getKeyActions( a );
+                    if ( gameActions != null ) {
+                        for ( GameAction ga : gameActions ) {
+                            ga.release();
+                        }
+                    }
+                    break;
+                }
+                    
+                case InputEventQueue.MOUSE_PRESSED: {
+                    List<GameAction> gameActions = mouseActionsMap.get( a );
+                    if ( gameActions != null ) {
+                        for ( GameAction ga : gameActions ) {
+                            ga.press();
+                        }
+                    }
+                    break;
+                }
+                    
+                case InputEventQueue.MOUSE_RELEASED: {
+                    List<GameAction> gameActions = mouseActionsMap.get( a );
+                    if ( gameActions != null ) {
+                        for ( GameAction ga : gameActions ) {
+                            ga.release();
+                        }
+                    }
+                    break;
+                }
+                    
+                case InputEventQueue.MOUSE_MOVED:
+                    mouseLocation.x = a;
+                    mouseLocation.y = b;
+                    break;
+                    
+                case InputEventQueue.MOUSE_WHEEL:
+                    mouseHelper( MOUSE_WHEEL_UP, MOUSE_WHEEL_DOWN, a );
+                    break;
+                    
             }
-
-            return null;
-
+            
         }
 
         @Override
@@ -5652,13 +7049,7 @@ public abstract class EngineFrame extends JFrame {
         @Override
         public void keyPressed( KeyEvent e ) {
 
-            List<GameAction> gameActions = getKeyActions( e );
-
-            if ( gameActions != null ) {
-                for ( GameAction ga : gameActions ) {
-                    ga.press();
-                }
-            }
+            events.offer( InputEventQueue.KEY_PRESSED, getKeyCode( e ), 0 );
 
             // ensures that the key is not processed by anyone else
             e.consume();
@@ -5668,13 +7059,7 @@ public abstract class EngineFrame extends JFrame {
         @Override
         public void keyReleased( KeyEvent e ) {
 
-            List<GameAction> gameActions = getKeyActions( e );
-
-            if ( gameActions != null ) {
-                for ( GameAction ga : gameActions ) {
-                    ga.release();
-                }
-            }
+            events.offer( InputEventQueue.KEY_RELEASED, getKeyCode( e ), 0 );
 
             // ensures that the key is not processed by anyone else
             e.consume();
@@ -5689,12 +7074,10 @@ public abstract class EngineFrame extends JFrame {
         @Override
         public void mousePressed( MouseEvent e ) {
 
-            List<GameAction> gameActions = getMouseButtonActions( e );
+            int mouseCode = getMouseButtonCode( e );
 
-            if ( gameActions != null ) {
-                for ( GameAction ga : gameActions ) {
-                    ga.press();
-                }
+            if ( mouseCode != -1 ) {
+                events.offer( InputEventQueue.MOUSE_PRESSED, mouseCode, 0 );
             }
 
         }
@@ -5702,12 +7085,10 @@ public abstract class EngineFrame extends JFrame {
         @Override
         public void mouseReleased( MouseEvent e ) {
 
-            List<GameAction> gameActions = getMouseButtonActions( e );
+            int mouseCode = getMouseButtonCode( e );
 
-            if ( gameActions != null ) {
-                for ( GameAction ga : gameActions ) {
-                    ga.release();
-                }
+            if ( mouseCode != -1 ) {
+                events.offer( InputEventQueue.MOUSE_RELEASED, mouseCode, 0 );
             }
 
         }
@@ -5741,14 +7122,13 @@ public abstract class EngineFrame extends JFrame {
                 }
             }
 
-            mouseLocation.x = e.getX();
-            mouseLocation.y = e.getY();
+            events.offer( InputEventQueue.MOUSE_MOVED, e.getX(), e.getY() );
 
         }
         
         @Override
         public void mouseWheelMoved( MouseWheelEvent e ) {
-            mouseHelper( MOUSE_WHEEL_UP, MOUSE_WHEEL_DOWN, e.getWheelRotation() );
+            events.offer( InputEventQueue.MOUSE_WHEEL, e.getWheelRotation(), 0 );
         }
         
         /**
@@ -5910,197 +7290,89 @@ public abstract class EngineFrame extends JFrame {
      */
     private class GamepadInputManager {
     
-        private List<Controller> foundControllers;
         private Gamepad[] gamepads;
+        private GamepadPoller poller;
+        private GamepadPoller.State[] appliedStates;
+        private boolean[] appliedLatches;
 
         public GamepadInputManager() {
             createGamepadEnvinronment();
         }
 
         /**
-         * Prepares the environment for 4 gamepads.
+         * Prepares the environment for 4 gamepads and starts the poll thread.
          */
         private void createGamepadEnvinronment() {
 
-            gamepads = new Gamepad[4];
+            gamepads = new Gamepad[GamepadPoller.MAX_GAMEPADS];
+            appliedStates = new GamepadPoller.State[GamepadPoller.MAX_GAMEPADS];
+            appliedLatches = new boolean[GamepadPoller.MAX_GAMEPADS];
 
             for ( int i = 0; i < gamepads.length; i++ ) {
                 gamepads[i] = new Gamepad( i );
             }
 
-            searchForControllers();
+            poller = new GamepadPoller();
+            poller.start();
 
         }
 
         /**
-         * Searches for available controllers of type Controller.Type.GAMEPAD.
-         * Up to four gamepads are handled.
+         * Advances to the next cycle, applying the last published state
+         * of each gamepad. Gamepads whose state did not change are
+         * left untouched.
          */
-        private void searchForControllers() {
-            
-            foundControllers = new ArrayList<>();
+        public void prepareToNextCycle() {
             
-            try {
+            for ( int i = 0; i < gamepads.length; i++ ) {
                 
-                Controller[] controllers = ControllerEnvironment.getDefaultEnvironment().getControllers();
-
-                for ( int i = 0; i < controllers.length; i++ ) {
-
-                    Controller controller = controllers[i];
-
-                    if ( controller.getType() == Controller.Type.GAMEPAD ) {
-                        foundControllers.add( controller );
-                        gamepads[foundControllers.size()-1].setName( controller.getName() );
-                    }
-
-                    if ( foundControllers.size() == 4 ) {
-                        break;
-                    }
-
+                Gamepad gp = gamepads[i];
+                gp.copyLastState();
+                
+                GamepadPoller.State state = poller.getState( i );
+                int latchedButtons = poller.takeLatchedButtons( i );
+                int latchedHatSwitchButtons = poller.takeLatchedHatSwitchButtons( i );
+                boolean latched = ( latchedButtons & ~( state == null ? 0 : state.buttons ) ) != 0 ||
+                                  ( latchedHatSwitchButtons & ~( state == null ? 0 : state.hatSwitchButtons ) ) != 0;
+                
+                if ( state == appliedStates[i] && !latched && !appliedLatches[i] ) {
+                    continue;
                 }
                 
-            } catch ( Exception exc ) {
-                traceLogError( CoreUtils.stackTraceToString( exc ) );
-            }
-
-        }
-
-        /**
-         * Acquires data for the available gamepads.
-         */
-        private void acquireAllGamepadData() {
-
-            int i = 0;
-
-            for ( Controller c : foundControllers ) {
-                acquireGamepadData( c, gamepads[i++] );
-            }
-
-        }
-        
-        /**
-         * Processes a Controller and populates the corresponding gamepad.
-         * At most 20 common buttons are used, which already exceeds the
-         * number of buttons on a standard gamepad.
-         */
-        private void acquireGamepadData( Controller controller, Gamepad gamepad ) {
-
-            // if there is data
-            if ( controller.poll() ) {
-
-                // configure as available
-                gamepad.setAvailable( true );
-
-                // iterate over all controller components
-                net.java.games.input.Component[] components = controller.getComponents();
-
-                for ( int i = 0; i < components.length; i++ ) {
-
-                    Component component = components[i];
-                    Identifier componentIdentifier = component.getIdentifier();
-                    
-                    // buttons contain only numbers in the name
-                    if ( componentIdentifier.getName().matches( "^[0-9]*$" ) ) {
-
-                        // is the button pressed?
-                        boolean isPressed = true;
-                        if ( component.getPollData() == 0.0f ) {
-                            isPressed = false;
-                        }
-
-                        // button index
-                        int buttonIndex = Integer.parseInt( component.getIdentifier().toString() );
-                        
-                        if ( buttonIndex < 20 ) {
-                            gamepad.setButtonState( buttonIndex, isPressed );
-                        }
-
-                        // skip to the next iteration, no need to test other types
-                        continue;
-
-                    }
-
-                    // hat switch
-                    if ( componentIdentifier == Component.Identifier.Axis.POV ) {
-                        float hatSwitch = component.getPollData();
-                        int dpadCode = (int) ( component.getPollData() * 1000 ) / 125;
-                        gamepad.setHatSwitch( hatSwitch );
-                        gamepad.resetHatSwitchButtonsState();
-                        gamepad.setHatSwitchButtonState( dpadCode, true );
-                        continue;
-                    }
-
-                    // axes
-                    if ( component.isAnalog() ) {
-
-                        float axisValue = component.getPollData();
-
-                        // x axis
-                        if ( componentIdentifier == Component.Identifier.Axis.X ) {
-                            gamepad.setX( axisValue );
-                            continue;
-                        }
-
-                        // y axis
-                        if ( componentIdentifier == Component.Identifier.Axis.Y ) {
-                            gamepad.setY( axisValue );
-                            continue;
-                        }
-
-                        // z axis
-                        if ( componentIdentifier == Component.Identifier.Axis.Z ) {                            
-                            gamepad.setZ( axisValue );
-                            continue;
-                        }
-
-                        // rx axis
-                        if ( componentIdentifier == Component.Identifier.Axis.RX ) {
-                            gamepad.setRx( axisValue );
-                            continue;
-                        }
-
-                        // ry axis
-                        if ( componentIdentifier == Component.Identifier.Axis.RY ) {
-                            gamepad.setRy( axisValue );
-                            continue;
-                        }
-
-                        // rz axis
-                        if ( componentIdentifier == Component.Identifier.Axis.RZ ) {
-                            gamepad.setRz( axisValue );
-                            continue;
-                        }
-
+                appliedStates[i] = state;
+                appliedLatches[i] = latched;
+                
+                if ( state == null ) {
+                    continue;
+                }
+                
+                int buttons = state.buttons | latchedButtons;
+                int hatSwitchButtons = state.hatSwitchButtons | latchedHatSwitchButtons;
+                
+                gp.setAvailable( state.available );
+                gp.setName( state.name );
+                
+                for ( int b = 0; b < GamepadPoller.MAX_BUTTONS; b++ ) {
+                    gp.setButtonState( b, ( buttons & ( 1 << b ) ) != 0 );
+                }
+                
+                gp.setHatSwitch( state.hatSwitch );
+                gp.resetHatSwitchButtonsState();
+                for ( int h = 0; h < Gamepad.HAT_SWITCH_BUTTONS_LENGTH; h++ ) {
+                    if ( ( hatSwitchButtons & ( 1 << h ) ) != 0 ) {
+                        gp.setHatSwitchButtonState( h, true );
                     }
-
                 }
-
-                //System.out.println( gamepad );
-
-            } else {
-                traceLogError( "Gamepad %d disconnected", gamepad.getId() + 1 );
-            }
-
-        }
-
-        /**
-         * Advances to the next cycle.
-         */
-        public void prepareToNextCycle() {
-            if ( !foundControllers.isEmpty() ) {
-                prepareGamepadsToNextCycle();
-                acquireAllGamepadData();
-            }
-        }
-
-        /**
-         * Prepares the gamepads for a new cycle.
-         */
-        private void prepareGamepadsToNextCycle() {
-            for ( Gamepad gp : gamepads ) {
-                gp.setAvailable( false );
-                gp.copyLastState();
+                
+                gp.setX( state.x );
+                gp.setY( state.y );
+                gp.setZ( state.z );
+                gp.setRx( state.rx );
+                gp.setRy( state.ry );
+                gp.setRz( state.rz );
+                
             }
+            
         }
 
         /**
@@ -0,0 +1,383 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.engine;
+
+import br.com.davidbuzatto.jsge.core.utils.CoreUtils;
+import br.com.davidbuzatto.jsge.core.utils.TraceLogUtils;
+import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import net.java.games.input.Component;
+import net.java.games.input.Component.Identifier;
+import net.java.games.input.Controller;
+import net.java.games.input.ControllerEnvironment;
+
+/**
+ * Polls the gamepads in a dedicated thread.
+ *
+ * The state of each gamepad is published to the engine thread as an
+ * immutable snapshot, and a new snapshot is published only when a button
+ * or the hat switch changes or when an axis moves more than the change
+ * threshold, after the deadzone is applied. The buttons and hat switch
+ * directions pressed between two frames are also latched, so a quick
+ * press is not lost even if it is released before the next frame.
+ *
+ * The controllers can be rescanned periodically or on demand to detect
+ * gamepads plugged after the engine started. Rescanning runs in the poll
+ * thread, so it never blocks a frame.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class GamepadPoller implements Runnable {
+
+    /** Maximum number of gamepads. */
+    static final int MAX_GAMEPADS = 4;
+
+    /** Maximum number of common buttons of a gamepad. */
+    static final int MAX_BUTTONS = 20;
+
+    /** Default number of polls per second. */
+    static final int DEFAULT_POLLING_RATE = 1000;
+
+    /** Interval between polls while there are no gamepads, in nanoseconds. */
+    private static final long IDLE_POLL_INTERVAL_NANOS = 100_000_000L;
+
+    /** Minimum axis variation that publishes a new snapshot. */
+    private static final double AXIS_CHANGE_THRESHOLD = 0.0001;
+
+    /**
+     * Immutable state of a gamepad.
+     */
+    static final class State {
+
+        final String name;
+        final boolean available;
+        /** One bit per button. */
+        final int buttons;
+        /** One bit per hat switch direction code. */
+        final int hatSwitchButtons;
+        final float hatSwitch;
+        final double x;
+        final double y;
+        final double z;
+        final double rx;
+        final double ry;
+        final double rz;
+
+        State( String name, boolean available, int buttons, int hatSwitchButtons, float hatSwitch,
+               double x, double y, double z, double rx, double ry, double rz ) {
+            this.name = name;
+            this.available = available;
+            this.buttons = buttons;
+            this.hatSwitchButtons = hatSwitchButtons;
+            this.hatSwitch = hatSwitch;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.rx = rx;
+            this.ry = ry;
+            this.rz = rz;
+        }
+
+    }
+
+    private final AtomicReferenceArray<State> states;
+    private final AtomicIntegerArray latchedButtons;
+    private final AtomicIntegerArray latchedHatSwitchButtons;
+
+    /* controllers, used only by the poll thread */
+    private final Controller[] controllers;
+    private int controllerCount;
+    private long lastScanNanos;
+
+    private volatile long pollIntervalNanos;
+    private volatile long rescanIntervalNanos;
+    private volatile double deadzone;
+    private volatile boolean rescanRequested;
+
+    private Thread pollThread;
+
+    GamepadPoller() {
+        states = new AtomicReferenceArray<>( MAX_GAMEPADS );
+        latchedButtons = new AtomicIntegerArray( MAX_GAMEPADS );
+        latchedHatSwitchButtons = new AtomicIntegerArray( MAX_GAMEPADS );
+        controllers = new Controller[MAX_GAMEPADS];
+        pollIntervalNanos = 1_000_000_000L / DEFAULT_POLLING_RATE;
+    }
+
+    /**
+     * Starts the poll thread, if it was not started yet.
+     */
+    synchronized void start() {
+        if ( pollThread == null ) {
+            pollThread = new Thread( this, "JSGE gamepad poll thread" );
+            pollThread.setDaemon( true );
+            pollThread.start();
+        }
+    }
+
+    /**
+     * Returns the last published state of a gamepad, or null if none.
+     */
+    State getState( int gamepadId ) {
+        return states.get( gamepadId );
+    }
+
+    /**
+     * Returns and clears the buttons pressed since the last call.
+     */
+    int takeLatchedButtons( int gamepadId ) {
+        return latchedButtons.getAndSet( gamepadId, 0 );
+    }
+
+    /**
+     * Returns and clears the hat switch directions pressed since the last call.
+     */
+    int takeLatchedHatSwitchButtons( int gamepadId ) {
+        return latchedHatSwitchButtons.getAndSet( gamepadId, 0 );
+    }
+
+    void setPollingRate( int pollsPerSecond ) {
+        pollIntervalNanos = 1_000_000_000L / Math.max( 1, pollsPerSecond );
+    }
+
+    void setRescanInterval( double seconds ) {
+        rescanIntervalNanos = (long) ( Math.max( 0, seconds ) * 1_000_000_000L );
+    }
+
+    void setDeadzone( double deadzone ) {
+        this.deadzone = Math.max( 0, deadzone );
+    }
+
+    void requestRescan() {
+        rescanRequested = true;
+    }
+
+    @Override
+    public void run() {
+
+        scanControllers( ControllerEnvironment.getDefaultEnvironment() );
+
+        while ( true ) {
+
+            long start = System.nanoTime();
+
+            long rescanInterval = rescanIntervalNanos;
+            if ( rescanRequested ||
+                 ( rescanInterval > 0 && controllerCount < MAX_GAMEPADS && start - lastScanNanos >= rescanInterval ) ) {
+                rescanRequested = false;
+                scanControllers( createControllerEnvironment() );
+            }
+
+            for ( int i = 0; i < MAX_GAMEPADS; i++ ) {
+                if ( controllers[i] != null ) {
+                    pollController( i );
+                }
+            }
+
+            long interval = controllerCount == 0 ? Math.max( pollIntervalNanos, IDLE_POLL_INTERVAL_NANOS ) : pollIntervalNanos;
+            long remaining = interval - ( System.nanoTime() - start );
+            if ( remaining > 0 ) {
+                LockSupport.parkNanos( remaining );
+            }
+
+        }
+
+    }
+
+    /**
+     * Stores up to four controllers of type Controller.Type.GAMEPAD.
+     */
+    private void scanControllers( ControllerEnvironment environment ) {
+
+        lastScanNanos = System.nanoTime();
+
+        if ( environment == null ) {
+            return;
+        }
+
+        try {
+
+            Controller[] found = environment.getControllers();
+            int count = 0;
+
+            for ( int i = 0; i < found.length && count < MAX_GAMEPADS; i++ ) {
+                if ( found[i].getType() == Controller.Type.GAMEPAD ) {
+                    controllers[count++] = found[i];
+                }
+            }
+
+            for ( int i = count; i < MAX_GAMEPADS; i++ ) {
+                if ( controllers[i] != null ) {
+                    controllers[i] = null;
+                    publishUnavailable( i );
+                }
+            }
+
+            controllerCount = count;
+
+        } catch ( Exception exc ) {
+            TraceLogUtils.traceLogError( CoreUtils.stackTraceToString( exc ) );
+        }
+
+    }
+
+    /**
+     * Creates a new controller environment, since the default one never
+     * sees controllers connected after its creation. Falls back to the
+     * default environment if it cannot be created.
+     */
+    @SuppressWarnings( "unchecked" )
+    private ControllerEnvironment createControllerEnvironment() {
+
+        try {
+            Class<?> klass = Class.forName( "net.java.games.input.DefaultControllerEnvironment" );
+            Constructor<ControllerEnvironment> constructor = (Constructor<ControllerEnvironment>) klass.getDeclaredConstructors()[0];
+            constructor.setAccessible( true );
+            return constructor.newInstance();
+        } catch ( ReflectiveOperationException | RuntimeException exc ) {
+            return ControllerEnvironment.getDefaultEnvironment();
+        }
+
+    }
+
+    /**
+     * Polls a controller and publishes its state if it changed.
+     */
+    private void pollController( int gamepadId ) {
+
+        Controller controller = controllers[gamepadId];
+
+        if ( !controller.poll() ) {
+            TraceLogUtils.traceLogError( "Gamepad %d disconnected", gamepadId + 1 );
+            controllers[gamepadId] = null;
+            controllerCount--;
+            publishUnavailable( gamepadId );
+            return;
+        }
+
+        int buttons = 0;
+        int hatSwitchButtons = 0;
+        float hatSwitch = 0;
+        double x = 0;
+        double y = 0;
+        double z = 0;
+        double rx = 0;
+        double ry = 0;
+        double rz = 0;
+
+        Component[] components = controller.getComponents();
+
+        for ( int i = 0; i < components.length; i++ ) {
+
+            Component component = components[i];
+            Identifier identifier = component.getIdentifier();
+
+            // buttons contain only numbers in the name
+            if ( isNumeric( identifier.getName() ) ) {
+                int buttonIndex = Integer.parseInt( identifier.getName() );
+                if ( buttonIndex < MAX_BUTTONS && component.getPollData() != 0.0f ) {
+                    buttons |= 1 << buttonIndex;
+                }
+                continue;
+            }
+
+            // hat switch
+            if ( identifier == Identifier.Axis.POV ) {
+                hatSwitch = component.getPollData();
+                hatSwitchButtons = 1 << ( (int) ( hatSwitch * 1000 ) / 125 );
+                continue;
+            }
+
+            // axes
+            if ( component.isAnalog() ) {
+                double value = applyDeadzone( component.getPollData() );
+                if ( identifier == Identifier.Axis.X ) {
+                    x = value;
+                } else if ( identifier == Identifier.Axis.Y ) {
+                    y = value;
+                } else if ( identifier == Identifier.Axis.Z ) {
+                    z = value;
+                } else if ( identifier == Identifier.Axis.RX ) {
+                    rx = value;
+                } else if ( identifier == Identifier.Axis.RY ) {
+                    ry = value;
+                } else if ( identifier == Identifier.Axis.RZ ) {
+                    rz = value;
+                }
+            }
+
+        }
+
+        latch( latchedButtons, gamepadId, buttons );
+        latch( latchedHatSwitchButtons, gamepadId, hatSwitchButtons );
+
+        State last = states.get( gamepadId );
+
+        if ( last == null ||
+             !last.available ||
+             last.buttons != buttons ||
+             last.hatSwitchButtons != hatSwitchButtons ||
+             last.hatSwitch != hatSwitch ||
+             changed( last.x, x ) || changed( last.y, y ) || changed( last.z, z ) ||
+             changed( last.rx, rx ) || changed( last.ry, ry ) || changed( last.rz, rz ) ) {
+            states.set( gamepadId, new State(
+                    controller.getName(), true, buttons, hatSwitchButtons, hatSwitch,
+                    x, y, z, rx, ry, rz ) );
+        }
+
+    }
+
+    private void publishUnavailable( int gamepadId ) {
+        State last = states.get( gamepadId );
+        if ( last != null && last.available ) {
+            states.set( gamepadId, new State( last.name, false, 0, 0, 0, 0, 0, 0, 0, 0, 0 ) );
+        }
+    }
+
+    private double applyDeadzone( double value ) {
+        return Math.abs( value ) < deadzone ? 0 : value;
+    }
+
+    private static boolean changed( double previous, double current ) {
+        return Math.abs( current - previous ) > AXIS_CHANGE_THRESHOLD || ( current == 0 && previous != 0 );
+    }
+
+    private static void latch( AtomicIntegerArray latched, int index, int bits ) {
+        int current = latched.get( index );
+        while ( ( current & bits ) != bits ) {
+            if ( latched.compareAndSet( index, current, current | bits ) ) {
+                return;
+            }
+            current = latched.get( index );
+        }
+    }
+
+    private static boolean isNumeric( String name ) {
+        if ( name.isEmpty() ) {
+            return false;
+        }
+        for ( int i = 0; i < name.length(); i++ ) {
+            if ( !Character.isDigit( name.charAt( i ) ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free single-producer/single-consumer ring buffer of input events.
+ *
+ * The producer is the event dispatch thread, where the AWT listeners run,
+ * and the consumer is the engine thread, which drains the events before
+ * each update. Each event is a type, two integer arguments and a
+ * timestamp in nanoseconds, stored in primitive arrays.
+ *
+ * The slots of an event are written before the tail is published with
+ * release semantics and the consumer reads the tail with acquire
+ * semantics, so the event is completely visible when it is drained.
+ * The head is published in the same way, so the producer never reuses
+ * a slot that is still being read.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class InputEventQueue {
+
+    /** Key pressed event. Arguments: key code, unused. */
+    static final int KEY_PRESSED = 0;
+    /** Key released event. Arguments: key code, unused. */
+    static final int KEY_RELEASED = 1;
+    /** Mouse button pressed event. Arguments: mouse code, unused. */
+    static final int MOUSE_PRESSED = 2;
+    /** Mouse button released event. Arguments: mouse code, unused. */
+    static final int MOUSE_RELEASED = 3;
+    /** Mouse moved event. Arguments: x, y. */
+    static final int MOUSE_MOVED = 4;
+    /** Mouse wheel event. Arguments: wheel rotation, unused. */
+    static final int MOUSE_WHEEL = 5;
+
+    /**
+     * Receives the drained events.
+     */
+    interface Handler {
+        void handleInputEvent( int type, int a, int b, long timeNanos );
+    }
+
+    private final int mask;
+    private final int[] types;
+    private final int[] as;
+    private final int[] bs;
+    private final long[] times;
+
+    /** Next position to be read. Written only by the consumer. */
+    private final AtomicLong head;
+    /** Next position to be written. Written only by the producer. */
+    private final AtomicLong tail;
+
+    /** Number of events discarded because the buffer was full. */
+    private volatile long droppedEventCount;
+
+    /**
+     * Creates the queue.
+     *
+     * @param capacity Capacity, rounded up to a power of two.
+     */
+    InputEventQueue( int capacity ) {
+
+        int size = Integer.highestOneBit( Math.max( 2, capacity ) - 1 ) << 1;
+
+        mask = size - 1;
+        types = new int[size];
+        as = new int[size];
+        bs = new int[size];
+        times = new long[size];
+        head = new AtomicLong();
+        tail = new AtomicLong();
+
+    }
+
+    /**
+     * Enqueues an event. Must be called only by the producer thread.
+     *
+     * @return False if the buffer is full and the event was discarded.
+     */
+    boolean offer( int type, int a, int b ) {
+
+        long t = tail.getPlain();
+
+        if ( t - head.getAcquire() > mask ) {
+            droppedEventCount++;
+            return false;
+        }
+
+        int i = (int) ( t & mask );
+        types[i] = type;
+        as[i] = a;
+        bs[i] = b;
+        times[i] = System.nanoTime();
+        tail.setRelease( t + 1 );
+
+        return true;
+
+    }
+
+    /**
+     * Drains, in order, all events enqueued until a given instant.
+     * Must be called only by the consumer thread.
+     *
+     * @param untilNanos Events with a later timestamp are kept for the next drain.
+     * @param handler The handler of the events.
+     * @return The number of drained events.
+     */
+    int drain( long untilNanos, Handler handler ) {
+
+        long h = head.getPlain();
+        long t = tail.getAcquire();
+        long start = h;
+
+        while ( h < t ) {
+
+            int i = (int) ( h & mask );
+            long time = times[i];
+
+            if ( time - untilNanos > 0 ) {
+                break;
+            }
+
+            handler.handleInputEvent( types[i], as[i], bs[i], time );
+            h++;
+
+        }
+
+        head.setRelease( h );
+
+        return (int) ( h - start );
+
+    }
+
+    /**
+     * Returns the number of events discarded because the buffer was full.
+     */
+    long getDroppedEventCount() {
+        return droppedEventCount;
+    }
+
+}
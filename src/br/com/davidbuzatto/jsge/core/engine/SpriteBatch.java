@@ -0,0 +1,683 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.engine;
+
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.image.Image;
+import br.com.davidbuzatto.jsge.image.ImageUtils;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A sprite batch, used to draw lots of image regions (sprites) per frame.
+ *
+ * The sprites drawn between begin and end are stored in primitive arrays
+ * and, when the batch ends, they are drawn in the order they were added
+ * using only one graphics context and one reusable transformation,
+ * instead of creating a new graphics context for each rotated sprite.
+ * Optionally, they can be drawn grouped by source image.
+ *
+ * Optionally, the batch can be cached into a volatile image: while the
+ * sprites of the batch do not change between frames, the cached image is
+ * drawn instead of each sprite, which is useful for static layers like
+ * tile maps.
+ *
+ * Usage, inside the draw method:
+ * <pre>
+ * batch.begin();
+ * batch.draw( spriteMap, source, x, y );
+ * animation.getCurrentFrame().draw( batch, x, y );
+ * batch.end();
+ * </pre>
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class SpriteBatch {
+
+    /*
+     * Data of each sprite: source x, source y, source width, source height,
+     * x, y, origin x, origin y, rotation, scale x and scale y.
+     */
+    private static final int STRIDE = 11;
+
+    /**
+     * Default maximum number of tinted images kept by a batch.
+     */
+    public static final int DEFAULT_TINT_CACHE_CAPACITY = 64;
+
+    private final EngineFrame engine;
+
+    private BufferedImage[] images;
+    private int[] imageIds;
+    private double[] data;
+    private int spriteCount;
+    private long[] order;
+
+    private final Map<BufferedImage, Integer> imageIdMap;
+    private final LinkedHashMap<TintKey, Image> tintCache;
+    private int tintCacheCapacity;
+
+    private final AffineTransform baseTransform;
+    private final AffineTransform spriteTransform;
+    private final double[] corners;
+
+    private boolean drawing;
+    private boolean groupedByImage;
+    private boolean cached;
+    private BatchCache cache;
+
+    /**
+     * Creates a new sprite batch.
+     *
+     * @param engine The engine that will draw the sprites.
+     */
+    public SpriteBatch( EngineFrame engine ) {
+        this( engine, 128 );
+    }
+
+    /**
+     * Creates a new sprite batch.
+     *
+     * @param engine The engine that will draw the sprites.
+     * @param initialCapacity Initial number of sprites of the batch.
+     */
+    public SpriteBatch( EngineFrame engine, int initialCapacity ) {
+
+        initialCapacity = Math.max( 1, initialCapacity );
+
+        this.engine = engine;
+        this.images = new BufferedImage[initialCapacity];
+        this.imageIds = new int[initialCapacity];
+        this.data = new double[initialCapacity * STRIDE];
+        this.order = new long[initialCapacity];
+        this.imageIdMap = new IdentityHashMap<>();
+        this.tintCache = new LinkedHashMap<>( 16, 0.75f, true );
+        this.tintCacheCapacity = DEFAULT_TINT_CACHE_CAPACITY;
+        this.baseTransform = new AffineTransform();
+        this.spriteTransform = new AffineTransform();
+        this.corners = new double[8];
+
+    }
+
+    /*
+     * Creates a frozen copy of the sprites of a batch, to be drawn later.
+     */
+    private SpriteBatch( SpriteBatch batch ) {
+
+        this.engine = batch.engine;
+        this.images = Arrays.copyOf( batch.images, batch.spriteCount );
+        this.imageIds = Arrays.copyOf( batch.imageIds, batch.spriteCount );
+        this.data = Arrays.copyOf( batch.data, batch.spriteCount * STRIDE );
+        this.spriteCount = batch.spriteCount;
+        this.order = new long[batch.spriteCount];
+        this.imageIdMap = null;
+        this.tintCache = null;
+        this.baseTransform = new AffineTransform();
+        this.spriteTransform = new AffineTransform();
+        this.corners = new double[8];
+        this.groupedByImage = batch.groupedByImage;
+        this.cached = batch.cached;
+        this.cache = batch.cache;
+
+    }
+
+    /**
+     * Starts the batch, discarding the sprites of the previous frame.
+     */
+    public void begin() {
+
+        if ( drawing ) {
+            throw new IllegalStateException( "The sprite batch was already started." );
+        }
+
+        spriteCount = 0;
+        imageIdMap.clear();
+        drawing = true;
+
+    }
+
+    /**
+     * Ends the batch, drawing all of its sprites.
+     */
+    public void end() {
+
+        if ( !drawing ) {
+            throw new IllegalStateException( "The sprite batch was not started." );
+        }
+
+        drawing = false;
+
+        if ( spriteCount > 0 ) {
+            engine.drawSpriteBatch( this );
+        }
+
+        // releases the references to the images
+        Arrays.fill( images, 0, spriteCount, null );
+
+    }
+
+    /**
+     * Adds an image to the batch.
+     *
+     * @param image The image.
+     * @param x X coordinate of the image drawing position.
+     * @param y Y coordinate of the image drawing position.
+     */
+    public void draw( Image image, double x, double y ) {
+        draw( image, 0, 0, image.getWidth(), image.getHeight(), x, y, 0, 0, 0, 1, 1, null );
+    }
+
+    /**
+     * Adds a rotated image to the batch.
+     *
+     * @param image The image.
+     * @param x X coordinate of the image drawing position.
+     * @param y Y coordinate of the image drawing position.
+     * @param originX X coordinate of the rotation axis.
+     * @param originY Y coordinate of the rotation axis.
+     * @param rotation Rotation in degrees of the image drawing (clockwise).
+     */
+    public void draw( Image image, double x, double y, double originX, double originY, double rotation ) {
+        draw( image, 0, 0, image.getWidth(), image.getHeight(), x, y, originX, originY, rotation, 1, 1, null );
+    }
+
+    /**
+     * Adds a cropped image to the batch.
+     *
+     * @param image The image.
+     * @param source A rectangle delimiting the image crop to be drawn. Negative width or height mirrors the crop horizontally or vertically, respectively.
+     * @param x X coordinate of the image drawing position.
+     * @param y Y coordinate of the image drawing position.
+     */
+    public void draw( Image image, Rectangle source, double x, double y ) {
+        draw( image, source.x, source.y, source.width, source.height, x, y, 0, 0, 0, 1, 1, null );
+    }
+
+    /**
+     * Adds a rotated cropped image to the batch. The rotation axis is the
+     * center of the crop.
+     *
+     * @param image The image.
+     * @param source A rectangle delimiting the image crop to be drawn. Negative width or height mirrors the crop horizontally or vertically, respectively.
+     * @param x X coordinate of the image drawing position.
+     * @param y Y coordinate of the image drawing position.
+     * @param rotation Rotation in degrees of the image drawing (clockwise).
+     */
+    public void draw( Image image, Rectangle source, double x, double y, double rotation ) {
+        draw( image, source.x, source.y, source.width, source.height, x, y, Math.abs( source.width ) / 2, Math.abs( source.height ) / 2, rotation, 1, 1, null );
+    }
+
+    /**
+     * Adds a rotated cropped image to the batch.
+     *
+     * @param image The image.
+     * @param source A rectangle delimiting the image crop to be drawn. Negative width or height mirrors the crop horizontally or vertically, respectively.
+     * @param x X coordinate of the image drawing position.
+     * @param y Y coordinate of the image drawing position.
+     * @param originX X coordinate of the rotation axis.
+     * @param originY Y coordinate of the rotation axis.
+     * @param rotation Rotation in degrees of the image drawing (clockwise).
+     */
+    public void draw( Image image, Rectangle source, double x, double y, double originX, double originY, double rotation ) {
+        draw( image, source.x, source.y, source.width, source.height, x, y, originX, originY, rotation, 1, 1, null );
+    }
+
+    /**
+     * Adds a rotated, scaled and tinted cropped image to the batch.
+     *
+     * @param image The image.
+     * @param source A rectangle delimiting the image crop to be drawn. Negative width or height mirrors the crop horizontally or vertically, respectively.
+     * @param x X coordinate of the image drawing position.
+     * @param y Y coordinate of the image drawing position.
+     * @param originX X coordinate of the rotation and scale axis.
+     * @param originY Y coordinate of the rotation and scale axis.
+     * @param rotation Rotation in degrees of the image drawing (clockwise).
+     * @param scale Scale of the image drawing.
+     * @param tint The tint color or null for no tint.
+     */
+    public void draw( Image image, Rectangle source, double x, double y, double originX, double originY, double rotation, double scale, Color tint ) {
+        draw( image, source.x, source.y, source.width, source.height, x, y, originX, originY, rotation, scale, scale, tint );
+    }
+
+    /**
+     * Adds a rotated, scaled and tinted cropped image to the batch.
+     *
+     * The tinted version of the image is generated once for each tint color
+     * and then cached, so the source image must not be changed after being
+     * drawn with a tint. Use clearTintCache if it needs to be changed. The
+     * least recently used tinted images are discarded when the cache
+     * exceeds its capacity.
+     *
+     * @param image The image.
+     * @param srcX X coordinate of the source crop region.
+     * @param srcY Y coordinate of the source crop region.
+     * @param srcWidth Width of the source crop region. A negative value mirrors the crop horizontally.
+     * @param srcHeight Height of the source crop region. A negative value mirrors the crop vertically.
+     * @param x X coordinate of the image drawing position.
+     * @param y Y coordinate of the image drawing position.
+     * @param originX X coordinate of the rotation and scale axis.
+     * @param originY Y coordinate of the rotation and scale axis.
+     * @param rotation Rotation in degrees of the image drawing (clockwise).
+     * @param scaleX Horizontal scale of the image drawing.
+     * @param scaleY Vertical scale of the image drawing.
+     * @param tint The tint color or null for no tint.
+     */
+    public void draw( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double x, double y, double originX, double originY, double rotation, double scaleX, double scaleY, Color tint ) {
+
+        if ( !drawing ) {
+            throw new IllegalStateException( "The sprite batch was not started." );
+        }
+
+        if ( spriteCount == images.length ) {
+            int capacity = images.length * 2;
+            images = Arrays.copyOf( images, capacity );
+            imageIds = Arrays.copyOf( imageIds, capacity );
+            data = Arrays.copyOf( data, capacity * STRIDE );
+            order = new long[capacity];
+        }
+
+        BufferedImage buffImage = tint == null ? image.buffImage : getTintedImage( image, tint ).buffImage;
+        Integer id = imageIdMap.get( buffImage );
+
+        if ( id == null ) {
+            id = imageIdMap.size();
+            imageIdMap.put( buffImage, id );
+        }
+
+        int i = spriteCount * STRIDE;
+        images[spriteCount] = buffImage;
+        imageIds[spriteCount] = id;
+        data[i] = srcX;
+        data[i+1] = srcY;
+        data[i+2] = srcWidth;
+        data[i+3] = srcHeight;
+        data[i+4] = x;
+        data[i+5] = y;
+        data[i+6] = originX;
+        data[i+7] = originY;
+        data[i+8] = rotation;
+        data[i+9] = scaleX;
+        data[i+10] = scaleY;
+        spriteCount++;
+
+    }
+
+    /**
+     * Sets whether the sprites are drawn grouped by source image. When
+     * grouped, the drawing order is kept only between sprites of the same
+     * image, so overlapping sprites of different images may be drawn in a
+     * different order than they were added. The default value is false.
+     *
+     * @param groupedByImage The flag state.
+     */
+    public void setGroupedByImage( boolean groupedByImage ) {
+        this.groupedByImage = groupedByImage;
+    }
+
+    /**
+     * Returns whether the sprites are drawn grouped by source image.
+     *
+     * @return True if the sprites are grouped, false otherwise.
+     */
+    public boolean isGroupedByImage() {
+        return groupedByImage;
+    }
+
+    /**
+     * Sets whether the batch is cached into a volatile image. The cached
+     * image is drawn again while the sprites of the batch do not change
+     * between frames.
+     *
+     * @param cached The flag state.
+     */
+    public void setCached( boolean cached ) {
+        this.cached = cached;
+        if ( cached && cache == null ) {
+            cache = new BatchCache();
+        }
+    }
+
+    /**
+     * Returns whether the batch is cached into a volatile image.
+     *
+     * @return True if the batch is cached, false otherwise.
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Discards the cached image of the batch, forcing all of its sprites
+     * to be drawn again. Must be used when a drawn image was changed.
+     */
+    public void invalidateCache() {
+        if ( cache != null ) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * Clears the cache of tinted images.
+     */
+    public void clearTintCache() {
+        tintCache.clear();
+    }
+
+    /**
+     * Sets the maximum number of tinted images kept by the batch, one for
+     * each pair of image and tint color. The default value is
+     * DEFAULT_TINT_CACHE_CAPACITY.
+     *
+     * @param capacity The capacity.
+     */
+    public void setTintCacheCapacity( int capacity ) {
+
+        if ( capacity < 0 ) {
+            throw new IllegalArgumentException( "capacity must not be negative" );
+        }
+
+        tintCacheCapacity = capacity;
+        trimTintCache();
+
+    }
+
+    /**
+     * Gets the maximum number of tinted images kept by the batch.
+     *
+     * @return The capacity.
+     */
+    public int getTintCacheCapacity() {
+        return tintCacheCapacity;
+    }
+
+    /**
+     * Returns the number of sprites of the batch.
+     *
+     * @return The number of sprites.
+     */
+    public int getSpriteCount() {
+        return spriteCount;
+    }
+
+    /**
+     * Creates a frozen copy of the sprites of the batch.
+     */
+    SpriteBatch snapshot() {
+        return new SpriteBatch( this );
+    }
+
+    /**
+     * Draws the sprites of the batch in a graphics context.
+     */
+    void render( Graphics2D g ) {
+
+        if ( cached && cache != null ) {
+            cache.render( this, g );
+        } else {
+            renderSprites( g, 0, 0 );
+        }
+
+    }
+
+    /*
+     * Draws the sprites, translated by -offsetX and -offsetY.
+     */
+    private void renderSprites( Graphics2D g, double offsetX, double offsetY ) {
+
+        for ( int i = 0; i < spriteCount; i++ ) {
+            order[i] = groupedByImage ? ( (long) imageIds[i] << 32 ) | i : i;
+        }
+
+        if ( groupedByImage ) {
+            Arrays.sort( order, 0, spriteCount );
+        }
+
+        AffineTransform previousTransform = g.getTransform();
+        baseTransform.setTransform( previousTransform );
+        baseTransform.translate( -offsetX, -offsetY );
+
+        for ( int k = 0; k < spriteCount; k++ ) {
+
+            int s = (int) order[k];
+            int i = s * STRIDE;
+            double srcX = data[i];
+            double srcY = data[i+1];
+            double srcWidth = data[i+2];
+            double srcHeight = data[i+3];
+
+            prepareSpriteTransform( i );
+            g.setTransform( spriteTransform );
+            g.drawImage(
+                    images[s],
+                    0,
+                    0,
+                    (int) Math.abs( srcWidth ),
+                    (int) Math.abs( srcHeight ),
+                    (int) ( srcWidth >= 0 ? srcX : srcX - srcWidth ),
+                    (int) ( srcHeight >= 0 ? srcY : srcY - srcHeight ),
+                    (int) ( srcWidth >= 0 ? srcX + srcWidth : srcX ),
+                    (int) ( srcHeight >= 0 ? srcY + srcHeight : srcY ),
+                    null
+            );
+
+        }
+
+        g.setTransform( previousTransform );
+
+    }
+
+    /*
+     * Composes the base transform with the transform of a sprite.
+     */
+    private void prepareSpriteTransform( int i ) {
+
+        double x = data[i+4];
+        double y = data[i+5];
+        double originX = data[i+6];
+        double originY = data[i+7];
+        double rotation = data[i+8];
+        double scaleX = data[i+9];
+        double scaleY = data[i+10];
+
+        spriteTransform.setTransform( baseTransform );
+
+        if ( rotation == 0 && scaleX == 1 && scaleY == 1 ) {
+            spriteTransform.translate( (int) x, (int) y );
+        } else {
+            spriteTransform.translate( x + originX, y + originY );
+            spriteTransform.rotate( Math.toRadians( rotation ) );
+            spriteTransform.scale( scaleX, scaleY );
+            spriteTransform.translate( -originX, -originY );
+        }
+
+    }
+
+    /*
+     * Computes the bounds of all sprites, without the base transform.
+     * Returns min x, min y, max x and max y.
+     */
+    private double[] computeBounds() {
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+
+        baseTransform.setToIdentity();
+
+        for ( int s = 0; s < spriteCount; s++ ) {
+
+            int i = s * STRIDE;
+            double w = Math.abs( data[i+2] );
+            double h = Math.abs( data[i+3] );
+
+            prepareSpriteTransform( i );
+            corners[0] = 0; corners[1] = 0;
+            corners[2] = w; corners[3] = 0;
+            corners[4] = w; corners[5] = h;
+            corners[6] = 0; corners[7] = h;
+            spriteTransform.transform( corners, 0, corners, 0, 4 );
+
+            for ( int c = 0; c < 8; c += 2 ) {
+                minX = Math.min( minX, corners[c] );
+                minY = Math.min( minY, corners[c+1] );
+                maxX = Math.max( maxX, corners[c] );
+                maxY = Math.max( maxY, corners[c+1] );
+            }
+
+        }
+
+        return new double[]{ Math.floor( minX ), Math.floor( minY ), Math.ceil( maxX ), Math.ceil( maxY ) };
+
+    }
+
+    private Image getTintedImage( Image image, Color tint ) {
+
+        TintKey key = new TintKey( image, tint.getRGB() );
+        Image tinted = tintCache.get( key );
+
+        if ( tinted == null ) {
+            tinted = ImageUtils.imageColorTint( image, tint );
+            tintCache.put( key, tinted );
+            trimTintCache();
+        }
+
+        return tinted;
+
+    }
+
+    /*
+     * Discards the least recently used tinted images over the capacity.
+     */
+    private void trimTintCache() {
+        Iterator<Image> iterator = tintCache.values().iterator();
+        while ( tintCache.size() > tintCacheCapacity ) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * The key of a tinted image. Image does not override equals, so the
+     * images are compared by identity.
+     */
+    private record TintKey( Image image, int rgb ) {
+    }
+
+    /**
+     * The volatile image cache of a batch and the sprites it contains.
+     */
+    private static class BatchCache {
+
+        private VolatileImage image;
+        private BufferedImage[] images;
+        private double[] data;
+        private int spriteCount;
+        private double x;
+        private double y;
+        private boolean valid;
+
+        synchronized void invalidate() {
+            valid = false;
+        }
+
+        synchronized void render( SpriteBatch batch, Graphics2D g ) {
+
+            GraphicsConfiguration gc = g.getDeviceConfiguration();
+
+            if ( !valid || !contains( batch ) ) {
+                store( batch );
+                rebuild( batch, gc );
+            } else if ( image.validate( gc ) != VolatileImage.IMAGE_OK ) {
+                rebuild( batch, gc );
+            }
+
+            if ( image != null ) {
+                g.drawImage( image, (int) x, (int) y, null );
+                if ( image.contentsLost() ) {
+                    valid = false;
+                }
+            }
+
+        }
+
+        private boolean contains( SpriteBatch batch ) {
+
+            if ( spriteCount != batch.spriteCount ) {
+                return false;
+            }
+
+            for ( int i = 0; i < spriteCount; i++ ) {
+                if ( images[i] != batch.images[i] ) {
+                    return false;
+                }
+            }
+
+            return Arrays.equals( data, 0, spriteCount * STRIDE, batch.data, 0, spriteCount * STRIDE );
+
+        }
+
+        private void store( SpriteBatch batch ) {
+            images = Arrays.copyOf( batch.images, batch.spriteCount );
+            data = Arrays.copyOf( batch.data, batch.spriteCount * STRIDE );
+            spriteCount = batch.spriteCount;
+            valid = true;
+        }
+
+        private void rebuild( SpriteBatch batch, GraphicsConfiguration gc ) {
+
+            double[] bounds = batch.computeBounds();
+            x = bounds[0];
+            y = bounds[1];
+            int width = (int) Math.max( 1, bounds[2] - bounds[0] );
+            int height = (int) Math.max( 1, bounds[3] - bounds[1] );
+
+            if ( image == null ||
+                 image.getWidth() != width ||
+                 image.getHeight() != height ||
+                 image.validate( gc ) == VolatileImage.IMAGE_INCOMPATIBLE ) {
+                if ( image != null ) {
+                    image.flush();
+                }
+                image = gc.createCompatibleVolatileImage( width, height, Transparency.TRANSLUCENT );
+            }
+
+            Graphics2D ig = image.createGraphics();
+            Composite composite = ig.getComposite();
+            ig.setComposite( AlphaComposite.Clear );
+            ig.fillRect( 0, 0, width, height );
+            ig.setComposite( composite );
+            batch.renderSprites( ig, x, y );
+            ig.dispose();
+
+        }
+
+    }
+
+}
@@ -19,13 +19,13 @@ package br.com.davidbuzatto.jsge.core.utils;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
 import br.com.davidbuzatto.jsge.geom.Rectangle;
 import br.com.davidbuzatto.jsge.image.Image;
+import br.com.davidbuzatto.jsge.math.MathUtils;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.RenderingHints;
-import java.awt.geom.Arc2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
@@ -38,6 +38,12 @@ import java.util.function.DoubleFunction;
  */
 public interface DrawingUtils {
 
+    /**
+     * Cache of the regular polygons, stars and rings created by this
+     * interface.
+     */
+    public static final ShapeGeometryCache GEOMETRY_CACHE = new ShapeGeometryCache( 256 );
+
     /**
      * Creates a Path2D for a triangle.
      *
@@ -72,31 +78,7 @@ public interface DrawingUtils {
      * @return The Path2D of the polygon.
      */
     public static Path2D createPolygon( double x, double y, int sides, double radius, double rotation ) {
-
-        Path2D path = new Path2D.Double();
-        double currentAngle = rotation;
-        double angleIncrement = 360.0 / sides;
-
-        for ( int i = 0; i < sides; i++ ) {
-
-            double rad = Math.toRadians( currentAngle );
-            double ix = x + radius * Math.cos( rad );
-            double iy = y + radius * Math.sin( rad );
-
-            if ( i == 0 ) {
-                path.moveTo( ix, iy );
-            } else {
-                path.lineTo( ix, iy );
-            }
-
-            currentAngle += angleIncrement;
-
-        }
-
-        path.closePath();
-        
-        return path;
-
+        return GEOMETRY_CACHE.createPolygon( x, y, sides, radius, rotation );
     }
     
     /**
@@ -110,46 +92,7 @@ public interface DrawingUtils {
      * @return The Path2D of the star.
      */
     public static Path2D createStar( double x, double y, int tips, double radius, double rotation ) {
-
-        Path2D path = new Path2D.Double();
-        double currentAngle = rotation;
-        double angleIncrement = 360.0 / tips;
-        
-        double[] xs = new double[tips];
-        double[] ys = new double[tips];
-        
-        for ( int i = 0; i < tips; i++ ) {
-            double rad = Math.toRadians( currentAngle );
-            xs[i] = x + radius * Math.cos( rad );
-            ys[i] = y + radius * Math.sin( rad );
-            currentAngle += angleIncrement;
-        }
-        path.moveTo( xs[0], ys[0] );
-        
-        if ( tips % 2 == 0 ) {
-            
-            for ( int i = 2; i < tips; i += 2 ) {
-                path.lineTo( xs[i], ys[i] );
-            }
-            path.closePath();
-            
-            path.moveTo( xs[1], ys[1] );
-            for ( int i = 3; i < tips; i += 2 ) {
-                path.lineTo( xs[i], ys[i] );
-            }
-            
-        } else {
-            
-            for ( int i = 2; i < tips * 2; i += 2 ) {
-                path.lineTo( xs[i%tips], ys[i%tips] );
-            }
-            
-        }
-
-        path.closePath();
-        
-        return path;
-
+        return GEOMETRY_CACHE.createStar( x, y, tips, radius, rotation );
     }
     
     /**
@@ -164,16 +107,7 @@ public interface DrawingUtils {
      * @return The Path2D of the ring.
      */
     public static Path2D createRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle ) {
-
-        Path2D path = new Path2D.Double();
-        
-        double extent = endAngle - startAngle;
-        path.append( new Arc2D.Double( x - innerRadius, y - innerRadius, innerRadius * 2, innerRadius * 2, -startAngle, -extent, Arc2D.OPEN ), true );
-        path.append( new Arc2D.Double( x - outerRadius, y - outerRadius, outerRadius * 2, outerRadius * 2, -startAngle - extent, extent, Arc2D.OPEN ), true );
-        path.closePath();
-        
-        return path;
-
+        return GEOMETRY_CACHE.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle );
     }
     
     /*
@@ -187,8 +121,8 @@ public interface DrawingUtils {
         double angleIncrement = Math.abs( endAngle - startAngle ) / segments;
 
         double rad = Math.toRadians( currentAngle );
-        double x = centerX + innerRadius * Math.cos( rad );
-        double y = centerY + innerRadius * Math.sin( rad );
+        double x = centerX + innerRadius * MathUtils.cos( rad );
+        double y = centerY + innerRadius * MathUtils.sin( rad );
         path.moveTo( x, y );
 
         for ( int i = 0; i < segments; i++ ) {
@@ -196,16 +130,16 @@ public interface DrawingUtils {
             currentAngle += angleIncrement;
 
             rad = Math.toRadians( currentAngle );
-            x = centerX + innerRadius * Math.cos( rad );
-            y = centerY + innerRadius * Math.sin( rad );
+            x = centerX + innerRadius * MathUtils.cos( rad );
+            y = centerY + innerRadius * MathUtils.sin( rad );
 
             path.lineTo( x, y );
 
         }
 
         rad = Math.toRadians( currentAngle );
-        x = centerX + outerRadius * Math.cos( rad );
-        y = centerY + outerRadius * Math.sin( rad );
+        x = centerX + outerRadius * MathUtils.cos( rad );
+        y = centerY + outerRadius * MathUtils.sin( rad );
         path.lineTo( x, y );
 
         for ( int i = 0; i < segments; i++ ) {
@@ -213,8 +147,8 @@ public interface DrawingUtils {
             currentAngle -= angleIncrement;
 
             rad = Math.toRadians( currentAngle );
-            x = centerX + outerRadius * Math.cos( rad );
-            y = centerY + outerRadius * Math.sin( rad );
+            x = centerX + outerRadius * MathUtils.cos( rad );
+            y = centerY + outerRadius * MathUtils.sin( rad );
 
             path.lineTo( x, y );
 
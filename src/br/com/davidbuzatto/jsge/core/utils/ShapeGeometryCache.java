@@ -0,0 +1,447 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.core.utils;
+
+import br.com.davidbuzatto.jsge.math.MathUtils;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Path2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the geometry of regular polygons, stars and rings, used by
+ * DrawingUtils.
+ *
+ * Each shape is built once in unit space (centered at the origin, with
+ * radius one and no rotation) and keyed by its number of sides or tips or,
+ * for rings, by the ratio between the radii and the angle extent. The final
+ * path is a copy of the unit path through a single affine transform, so
+ * drawing the same kind of shape many times per frame needs no
+ * trigonometry. The least recently used entries are evicted when the
+ * capacity is exceeded.
+ *
+ * Rings are keyed by continuous values, so an animated ring is a new entry
+ * on every frame. They are kept apart, in a smaller cache with its own
+ * capacity, so they never evict the polygons and stars.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ShapeGeometryCache {
+
+    /**
+     * Default maximum number of unit rings kept.
+     */
+    public static final int DEFAULT_RING_CAPACITY = 32;
+
+    private static final int POLYGON = 0;
+    private static final int STAR = 1;
+    private static final int RING = 2;
+
+    /* polygons and stars, and rings apart */
+    private final LruMap entries;
+    private final LruMap ringEntries;
+    private boolean enabled;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs an enabled cache, keeping up to DEFAULT_RING_CAPACITY
+     * unit rings.
+     *
+     * @param capacity The maximum number of unit polygons and stars kept.
+     */
+    public ShapeGeometryCache( int capacity ) {
+        this( capacity, DEFAULT_RING_CAPACITY );
+    }
+
+    /**
+     * Constructs an enabled cache.
+     *
+     * @param capacity The maximum number of unit polygons and stars kept.
+     * @param ringCapacity The maximum number of unit rings kept.
+     */
+    public ShapeGeometryCache( int capacity, int ringCapacity ) {
+        this.entries = new LruMap( checkCapacity( capacity ) );
+        this.ringEntries = new LruMap( checkCapacity( ringCapacity ) );
+        this.enabled = true;
+    }
+
+    /**
+     * Creates a Path2D for a regular polygon.
+     *
+     * @param x X coordinate of the center.
+     * @param y Y coordinate of the center.
+     * @param sides Number of sides.
+     * @param radius Radius of the circumscribed circle.
+     * @param rotation Initial angle in degrees (clockwise).
+     * @return The Path2D of the polygon.
+     */
+    public Path2D createPolygon( double x, double y, int sides, double radius, double rotation ) {
+
+        if ( !enabled ) {
+            return buildPolygon( x, y, sides, radius, rotation );
+        }
+
+        Path2D unit;
+        synchronized ( this ) {
+            Key key = new Key( POLYGON, sides, 0, 0 );
+            unit = entries.get( key );
+            if ( unit == null ) {
+                missCount++;
+                unit = buildPolygon( 0, 0, sides, 1, 0 );
+                entries.put( key, unit );
+            } else {
+                hitCount++;
+            }
+        }
+
+        return transform( unit, x, y, radius, rotation );
+
+    }
+
+    /**
+     * Creates a Path2D for a regular star.
+     *
+     * @param x X coordinate of the center.
+     * @param y Y coordinate of the center.
+     * @param tips Number of points/tips.
+     * @param radius Radius of the circumscribed circle.
+     * @param rotation Initial angle in degrees (clockwise).
+     * @return The Path2D of the star.
+     */
+    public Path2D createStar( double x, double y, int tips, double radius, double rotation ) {
+
+        if ( !enabled ) {
+            return buildStar( x, y, tips, radius, rotation );
+        }
+
+        Path2D unit;
+        synchronized ( this ) {
+            Key key = new Key( STAR, tips, 0, 0 );
+            unit = entries.get( key );
+            if ( unit == null ) {
+                missCount++;
+                unit = buildStar( 0, 0, tips, 1, 0 );
+                entries.put( key, unit );
+            } else {
+                hitCount++;
+            }
+        }
+
+        return transform( unit, x, y, radius, rotation );
+
+    }
+
+    /**
+     * Creates a Path2D for a ring. Rings with a non-positive outer radius
+     * are not cached.
+     *
+     * @param x X coordinate of the center.
+     * @param y Y coordinate of the center.
+     * @param innerRadius Inner radius.
+     * @param outerRadius Outer radius.
+     * @param startAngle Start angle in degrees (clockwise).
+     * @param endAngle End angle in degrees (clockwise).
+     * @return The Path2D of the ring.
+     */
+    public Path2D createRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle ) {
+
+        if ( !enabled || !( outerRadius > 0 ) ) {
+            return buildRing( x, y, innerRadius, outerRadius, startAngle, endAngle );
+        }
+
+        double ratio = innerRadius / outerRadius;
+        double extent = endAngle - startAngle;
+
+        Path2D unit;
+        synchronized ( this ) {
+            Key key = new Key( RING, 0, ratio, extent );
+            unit = ringEntries.get( key );
+            if ( unit == null ) {
+                missCount++;
+                unit = buildRing( 0, 0, ratio, 1, 0, extent );
+                ringEntries.put( key, unit );
+            } else {
+                hitCount++;
+            }
+        }
+
+        return transform( unit, x, y, outerRadius, startAngle );
+
+    }
+
+    /**
+     * Enables or disables the cache. A disabled cache builds every shape
+     * from scratch.
+     *
+     * @param enabled True to use the cache, false otherwise.
+     */
+    public void setEnabled( boolean enabled ) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks whether the cache is enabled.
+     *
+     * @return True if the cache is used, false otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the maximum number of unit polygons and stars kept. The least
+     * recently used ones are evicted on the next insertion if there are
+     * more.
+     *
+     * @param capacity The capacity.
+     */
+    public synchronized void setCapacity( int capacity ) {
+        entries.capacity = checkCapacity( capacity );
+    }
+
+    /**
+     * Gets the maximum number of unit polygons and stars kept.
+     *
+     * @return The capacity.
+     */
+    public synchronized int getCapacity() {
+        return entries.capacity;
+    }
+
+    /**
+     * Sets the maximum number of unit rings kept. The least recently used
+     * ones are evicted on the next insertion if there are more.
+     *
+     * @param capacity The capacity.
+     */
+    public synchronized void setRingCapacity( int capacity ) {
+        ringEntries.capacity = checkCapacity( capacity );
+    }
+
+    /**
+     * Gets the maximum number of unit rings kept.
+     *
+     * @return The capacity.
+     */
+    public synchronized int getRingCapacity() {
+        return ringEntries.capacity;
+    }
+
+    /**
+     * Gets the number of unit shapes in the cache, rings included.
+     *
+     * @return The number of unit shapes.
+     */
+    public synchronized int size() {
+        return entries.size() + ringEntries.size();
+    }
+
+    /**
+     * Gets the number of shapes created from a cached unit shape.
+     *
+     * @return The number of hits.
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of shapes whose unit shape had to be built.
+     *
+     * @return The number of misses.
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of unit shapes evicted to respect the capacities.
+     *
+     * @return The number of evictions.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the fraction of the lookups that were hits.
+     *
+     * @return The hit ratio, between 0 and 1, or 0 if there were no lookups.
+     */
+    public synchronized double getHitRatio() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    public synchronized void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * Removes all unit shapes from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        ringEntries.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format( "ShapeGeometryCache[size %d/%d, rings %d/%d, hits %d, misses %d, evictions %d]",
+                entries.size(), entries.capacity, ringEntries.size(), ringEntries.capacity,
+                hitCount, missCount, evictionCount );
+    }
+
+    private static Path2D transform( Path2D unit, double x, double y, double scale, double rotation ) {
+        double rad = Math.toRadians( rotation );
+        double cos = scale * MathUtils.cos( rad );
+        double sin = scale * MathUtils.sin( rad );
+        return new Path2D.Double( unit, new AffineTransform( cos, sin, -sin, cos, x, y ) );
+    }
+
+    private static Path2D buildPolygon( double x, double y, int sides, double radius, double rotation ) {
+
+        Path2D path = new Path2D.Double();
+        double currentAngle = rotation;
+        double angleIncrement = 360.0 / sides;
+
+        for ( int i = 0; i < sides; i++ ) {
+
+            double rad = Math.toRadians( currentAngle );
+            double ix = x + radius * MathUtils.cos( rad );
+            double iy = y + radius * MathUtils.sin( rad );
+
+            if ( i == 0 ) {
+                path.moveTo( ix, iy );
+            } else {
+                path.lineTo( ix, iy );
+            }
+
+            currentAngle += angleIncrement;
+
+        }
+
+        path.closePath();
+        
+        return path;
+
+    }
+
+    private static Path2D buildStar( double x, double y, int tips, double radius, double rotation ) {
+
+        Path2D path = new Path2D.Double();
+        double currentAngle = rotation;
+        double angleIncrement = 360.0 / tips;
+        
+        double[] xs = new double[tips];
+        double[] ys = new double[tips];
+        
+        for ( int i = 0; i < tips; i++ ) {
+            double rad = Math.toRadians( currentAngle );
+            xs[i] = x + radius * MathUtils.cos( rad );
+            ys[i] = y + radius * MathUtils.sin( rad );
+            currentAngle += angleIncrement;
+        }
+        path.moveTo( xs[0], ys[0] );
+        
+        if ( tips % 2 == 0 ) {
+            
+            for ( int i = 2; i < tips; i += 2 ) {
+                path.lineTo( xs[i], ys[i] );
+            }
+            path.closePath();
+            
+            path.moveTo( xs[1], ys[1] );
+            for ( int i = 3; i < tips; i += 2 ) {
+                path.lineTo( xs[i], ys[i] );
+            }
+            
+        } else {
+            
+            for ( int i = 2; i < tips * 2; i += 2 ) {
+                path.lineTo( xs[i%tips], ys[i%tips] );
+            }
+            
+        }
+
+        path.closePath();
+        
+        return path;
+
+    }
+
+    private static Path2D buildRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle ) {
+
+        Path2D path = new Path2D.Double();
+        
+        double extent = endAngle - startAngle;
+        path.append( new Arc2D.Double( x - innerRadius, y - innerRadius, innerRadius * 2, innerRadius * 2, -startAngle, -extent, Arc2D.OPEN ), true );
+        path.append( new Arc2D.Double( x - outerRadius, y - outerRadius, outerRadius * 2, outerRadius * 2, -startAngle - extent, extent, Arc2D.OPEN ), true );
+        path.closePath();
+        
+        return path;
+
+    }
+
+    private static int checkCapacity( int capacity ) {
+        if ( capacity <= 0 ) {
+            throw new IllegalArgumentException( "the capacity must be positive" );
+        }
+        return capacity;
+    }
+
+    /**
+     * The identity of a unit shape.
+     */
+    private record Key( int type, int count, double ratio, double extent ) {
+    }
+
+    /**
+     * A map of unit shapes in access order, evicting the least recently
+     * used ones over its capacity.
+     */
+    @SuppressWarnings( "serial" )
+    private class LruMap extends LinkedHashMap<Key, Path2D> {
+
+        private int capacity;
+
+        LruMap( int capacity ) {
+            super( 16, 0.75f, true );
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry( Map.Entry<Key, Path2D> eldest ) {
+            if ( size() > capacity ) {
+                evictionCount++;
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -16,9 +16,12 @@
  */
 package br.com.davidbuzatto.jsge.geom;
 
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
 import br.com.davidbuzatto.jsge.core.Drawable;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
 import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.geom.Arc2D;
 import java.io.Serializable;
 
 /**
@@ -60,6 +63,9 @@ public class Arc implements Drawable, Serializable {
      */
     public double endAngle;
 
+    private transient ShapeGeometry geometry;
+    private transient AABB aabb;
+
     /**
      * Creates an arc with default values.
      */
@@ -98,6 +104,58 @@ public class Arc implements Drawable, Serializable {
         this( x, y, radius, radius, startAngle, endAngle );
     }
 
+    /**
+     * Gets the Java2D shape of the arc, closed by its chord. The shape is
+     * cached and shared, so it must not be modified. It is replaced by a new
+     * one when a field of the arc changes.
+     *
+     * @return The shape of the arc.
+     */
+    public Shape getShape() {
+        return geometry().shape;
+    }
+
+    /**
+     * Gets the bounding rectangle of the arc. It is computed from cached
+     * data, which is only rebuilt when a field of the arc changes.
+     *
+     * @return A new rectangle with the bounds of the arc.
+     */
+    public Rectangle getBounds() {
+        return geometry().getBounds();
+    }
+
+    /**
+     * Gets the AABB of the arc, which references it. The same AABB is
+     * returned on every call and, if the arc changed since the last call,
+     * it is moved and resized through its methods, so an AABB inserted in
+     * an AABBTree is refitted.
+     *
+     * @return The AABB of the arc.
+     */
+    public AABB getAABB() {
+        aabb = geometry().updateAABB( aabb, this );
+        return aabb;
+    }
+
+    /*
+     * Returns the cached geometry, rebuilding it if a field changed.
+     */
+    private ShapeGeometry geometry() {
+        ShapeGeometry g = geometry;
+        if ( g == null || !g.matches( x, y, radiusH, radiusV, startAngle, endAngle ) ) {
+            g = buildGeometry();
+            geometry = g;
+        }
+        return g;
+    }
+
+    private ShapeGeometry buildGeometry() {
+        double extent = endAngle - startAngle;
+        Shape shape = new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.CHORD );
+        return new ShapeGeometry( x, y, radiusH, radiusV, startAngle, endAngle, null, null, shape );
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawArc( this, color );
@@ -16,9 +16,14 @@
  */
 package br.com.davidbuzatto.jsge.geom;
 
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
 import br.com.davidbuzatto.jsge.core.Drawable;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.DrawingUtils;
+import br.com.davidbuzatto.jsge.math.MathUtils;
 import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
 import java.io.Serializable;
 
 /**
@@ -55,6 +60,9 @@ public class Polygon implements Drawable, Serializable {
      */
     public double rotation;
 
+    private transient ShapeGeometry geometry;
+    private transient AABB aabb;
+
     /**
      * Creates a new regular polygon with default values.
      */
@@ -90,6 +98,103 @@ public class Polygon implements Drawable, Serializable {
         this( x, y, sides, radius, 0.0 );
     }
 
+    /**
+     * Gets the x coordinates of the vertices. The array is cached and shared,
+     * so it must not be modified. It is replaced by a new one when a field
+     * of the polygon changes.
+     *
+     * @return The x coordinates of the vertices.
+     */
+    public double[] getVerticesX() {
+        return geometry().xs;
+    }
+
+    /**
+     * Gets the y coordinates of the vertices. The array is cached and shared,
+     * so it must not be modified. It is replaced by a new one when a field
+     * of the polygon changes.
+     *
+     * @return The y coordinates of the vertices.
+     */
+    public double[] getVerticesY() {
+        return geometry().ys;
+    }
+
+    /**
+     * Gets the x and y coordinates of the vertices, in this order, taken
+     * from the same cached snapshot, so both arrays always have the same
+     * length even if the polygon is changed by another thread. The arrays
+     * are cached and shared, so they must not be modified.
+     *
+     * @return An array with the x and the y coordinates of the vertices.
+     */
+    public double[][] getVertices() {
+        return geometry().vertices;
+    }
+
+    /**
+     * Gets the Java2D shape of the polygon. The shape is cached and shared, so
+     * it must not be modified. It is replaced by a new one when a field of
+     * the polygon changes.
+     *
+     * @return The shape of the polygon.
+     */
+    public Shape getShape() {
+        return geometry().shape;
+    }
+
+    /**
+     * Gets the bounding rectangle of the polygon. It is computed from cached
+     * data, which is only rebuilt when a field of the polygon changes.
+     *
+     * @return A new rectangle with the bounds of the polygon.
+     */
+    public Rectangle getBounds() {
+        return geometry().getBounds();
+    }
+
+    /**
+     * Gets the AABB of the polygon, which references it. The same AABB is
+     * returned on every call and, if the polygon changed since the last call,
+     * it is moved and resized through its methods, so an AABB inserted in
+     * an AABBTree is refitted.
+     *
+     * @return The AABB of the polygon.
+     */
+    public AABB getAABB() {
+        aabb = geometry().updateAABB( aabb, this );
+        return aabb;
+    }
+
+    /*
+     * Returns the cached geometry, rebuilding it if a field changed.
+     */
+    private ShapeGeometry geometry() {
+        ShapeGeometry g = geometry;
+        if ( g == null || !g.matches( x, y, sides, radius, rotation, 0 ) ) {
+            g = buildGeometry();
+            geometry = g;
+        }
+        return g;
+    }
+
+    private ShapeGeometry buildGeometry() {
+
+        double[] xs = new double[Math.max( 0, sides )];
+        double[] ys = new double[xs.length];
+        double angleIncrement = 360.0 / sides;
+
+        for ( int i = 0; i < xs.length; i++ ) {
+            double rad = Math.toRadians( rotation + angleIncrement * i );
+            xs[i] = x + radius * MathUtils.cos( rad );
+            ys[i] = y + radius * MathUtils.sin( rad );
+        }
+
+        Shape shape = xs.length > 0 ? DrawingUtils.createPolygon( x, y, sides, radius, rotation ) : new Path2D.Double();
+        return new ShapeGeometry( x, y, sides, radius, rotation, 0, xs, ys, shape );
+
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawPolygon( this, color );
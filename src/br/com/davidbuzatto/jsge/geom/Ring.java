@@ -16,9 +16,13 @@
  */
 package br.com.davidbuzatto.jsge.geom;
 
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
 import br.com.davidbuzatto.jsge.core.Drawable;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.DrawingUtils;
 import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
 import java.io.Serializable;
 
 /**
@@ -60,6 +64,9 @@ public class Ring implements Drawable, Serializable {
      */
     public double endAngle;
 
+    private transient ShapeGeometry geometry;
+    private transient AABB aabb;
+
     /**
      * Creates a new ring with default values.
      */
@@ -85,6 +92,59 @@ public class Ring implements Drawable, Serializable {
         this.endAngle = endAngle;
     }
 
+    /**
+     * Gets the Java2D shape of the ring. The shape is cached and shared, so
+     * it must not be modified. It is replaced by a new one when a field of
+     * the ring changes.
+     *
+     * @return The shape of the ring.
+     */
+    public Shape getShape() {
+        return geometry().shape;
+    }
+
+    /**
+     * Gets the bounding rectangle of the ring. It is computed from cached
+     * data, which is only rebuilt when a field of the ring changes.
+     *
+     * @return A new rectangle with the bounds of the ring.
+     */
+    public Rectangle getBounds() {
+        return geometry().getBounds();
+    }
+
+    /**
+     * Gets the AABB of the ring, which references it. The same AABB is
+     * returned on every call and, if the ring changed since the last call,
+     * it is moved and resized through its methods, so an AABB inserted in
+     * an AABBTree is refitted.
+     *
+     * @return The AABB of the ring.
+     */
+    public AABB getAABB() {
+        aabb = geometry().updateAABB( aabb, this );
+        return aabb;
+    }
+
+    /*
+     * Returns the cached geometry, rebuilding it if a field changed.
+     */
+    private ShapeGeometry geometry() {
+        ShapeGeometry g = geometry;
+        if ( g == null || !g.matches( x, y, innerRadius, outerRadius, startAngle, endAngle ) ) {
+            g = buildGeometry();
+            geometry = g;
+        }
+        return g;
+    }
+
+    private ShapeGeometry buildGeometry() {
+        Shape shape = innerRadius != 0 || outerRadius != 0 ?
+            DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) :
+            new Path2D.Double();
+        return new ShapeGeometry( x, y, innerRadius, outerRadius, startAngle, endAngle, null, null, shape );
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawRing( this, color );
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.geom;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import java.awt.Shape;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Immutable snapshot of the derived geometry of a shape: its vertices, its
+ * Java2D shape and its bounds, together with the field values they were
+ * computed from.
+ *
+ * The shapes keep public fields, so a change can't be flagged when it
+ * happens. Instead, each access compares the current fields with the
+ * snapshot, which is much cheaper than the trigonometry it avoids, and
+ * builds a new snapshot when any of them differs. The snapshot is never
+ * modified and all its fields are final, so it can be shared by threads
+ * without locks, like the parallel collision checks do.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class ShapeGeometry {
+
+    private final double k0;
+    private final double k1;
+    private final double k2;
+    private final double k3;
+    private final double k4;
+    private final double k5;
+
+    final double[] xs;
+    final double[] ys;
+    final double[][] vertices;
+    final Shape shape;
+    final double minX;
+    final double minY;
+    final double maxX;
+    final double maxY;
+
+    /*
+     * The bounds are the ones of the vertices, or of the shape when there
+     * are no vertices.
+     */
+    ShapeGeometry( double k0, double k1, double k2, double k3, double k4, double k5, double[] xs, double[] ys, Shape shape ) {
+
+        this.k0 = k0;
+        this.k1 = k1;
+        this.k2 = k2;
+        this.k3 = k3;
+        this.k4 = k4;
+        this.k5 = k5;
+        this.xs = xs;
+        this.ys = ys;
+        this.vertices = xs == null ? null : new double[][]{ xs, ys };
+        this.shape = shape;
+
+        if ( xs != null && xs.length > 0 ) {
+            double x1 = xs[0];
+            double y1 = ys[0];
+            double x2 = x1;
+            double y2 = y1;
+            for ( int i = 1; i < xs.length; i++ ) {
+                x1 = Math.min( x1, xs[i] );
+                y1 = Math.min( y1, ys[i] );
+                x2 = Math.max( x2, xs[i] );
+                y2 = Math.max( y2, ys[i] );
+            }
+            minX = x1;
+            minY = y1;
+            maxX = x2;
+            maxY = y2;
+        } else if ( shape != null ) {
+            Rectangle2D bounds = shape.getBounds2D();
+            minX = bounds.getMinX();
+            minY = bounds.getMinY();
+            maxX = bounds.getMaxX();
+            maxY = bounds.getMaxY();
+        } else {
+            minX = 0;
+            minY = 0;
+            maxX = 0;
+            maxY = 0;
+        }
+
+    }
+
+    /*
+     * NaN never matches, so shapes with NaN fields are always rebuilt.
+     */
+    boolean matches( double k0, double k1, double k2, double k3, double k4, double k5 ) {
+        return this.k0 == k0 && this.k1 == k1 && this.k2 == k2 &&
+               this.k3 == k3 && this.k4 == k4 && this.k5 == k5;
+    }
+
+    Rectangle getBounds() {
+        return new Rectangle( minX, minY, maxX - minX, maxY - minY );
+    }
+
+    /*
+     * Creates the AABB of a shape or moves and resizes it through its
+     * methods, so an AABB inside an AABBTree is refitted.
+     */
+    AABB updateAABB( AABB aabb, Object referencedObject ) {
+
+        if ( aabb == null ) {
+            return new AABB( minX, minY, maxX, maxY, referencedObject );
+        }
+
+        if ( aabb.x1 != minX || aabb.y1 != minY ) {
+            aabb.moveTo( minX, minY );
+        }
+        if ( aabb.x2 != maxX || aabb.y2 != maxY ) {
+            aabb.setSize( maxX - minX, maxY - minY );
+        }
+
+        return aabb;
+
+    }
+
+}
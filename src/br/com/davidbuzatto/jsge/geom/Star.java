@@ -16,9 +16,14 @@
  */
 package br.com.davidbuzatto.jsge.geom;
 
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
 import br.com.davidbuzatto.jsge.core.Drawable;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.DrawingUtils;
+import br.com.davidbuzatto.jsge.math.MathUtils;
 import java.awt.Paint;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
 import java.io.Serializable;
 
 /**
@@ -55,6 +60,9 @@ public class Star implements Drawable, Serializable {
      */
     public double rotation;
 
+    private transient ShapeGeometry geometry;
+    private transient AABB aabb;
+
     /**
      * Creates a new star with default values.
      */
@@ -90,6 +98,91 @@ public class Star implements Drawable, Serializable {
         this( x, y, tips, radius, 0.0 );
     }
 
+    /**
+     * Gets the x coordinates of the tips. The array is cached and shared,
+     * so it must not be modified. It is replaced by a new one when a field
+     * of the star changes.
+     *
+     * @return The x coordinates of the tips.
+     */
+    public double[] getTipsX() {
+        return geometry().xs;
+    }
+
+    /**
+     * Gets the y coordinates of the tips. The array is cached and shared,
+     * so it must not be modified. It is replaced by a new one when a field
+     * of the star changes.
+     *
+     * @return The y coordinates of the tips.
+     */
+    public double[] getTipsY() {
+        return geometry().ys;
+    }
+
+    /**
+     * Gets the Java2D shape of the star. The shape is cached and shared, so
+     * it must not be modified. It is replaced by a new one when a field of
+     * the star changes.
+     *
+     * @return The shape of the star.
+     */
+    public Shape getShape() {
+        return geometry().shape;
+    }
+
+    /**
+     * Gets the bounding rectangle of the star. It is computed from cached
+     * data, which is only rebuilt when a field of the star changes.
+     *
+     * @return A new rectangle with the bounds of the star.
+     */
+    public Rectangle getBounds() {
+        return geometry().getBounds();
+    }
+
+    /**
+     * Gets the AABB of the star, which references it. The same AABB is
+     * returned on every call and, if the star changed since the last call,
+     * it is moved and resized through its methods, so an AABB inserted in
+     * an AABBTree is refitted.
+     *
+     * @return The AABB of the star.
+     */
+    public AABB getAABB() {
+        aabb = geometry().updateAABB( aabb, this );
+        return aabb;
+    }
+
+    /*
+     * Returns the cached geometry, rebuilding it if a field changed.
+     */
+    private ShapeGeometry geometry() {
+        ShapeGeometry g = geometry;
+        if ( g == null || !g.matches( x, y, tips, radius, rotation, 0 ) ) {
+            g = buildGeometry();
+            geometry = g;
+        }
+        return g;
+    }
+
+    private ShapeGeometry buildGeometry() {
+
+        double[] xs = new double[Math.max( 0, tips )];
+        double[] ys = new double[xs.length];
+        double angleIncrement = 360.0 / tips;
+
+        for ( int i = 0; i < xs.length; i++ ) {
+            double rad = Math.toRadians( rotation + angleIncrement * i );
+            xs[i] = x + radius * MathUtils.cos( rad );
+            ys[i] = y + radius * MathUtils.sin( rad );
+        }
+
+        Shape shape = xs.length > 0 ? DrawingUtils.createStar( x, y, tips, radius, rotation ) : new Path2D.Double();
+        return new ShapeGeometry( x, y, tips, radius, rotation, 0, xs, ys, shape );
+
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawStar( this, color );
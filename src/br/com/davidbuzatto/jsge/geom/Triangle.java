@@ -16,9 +16,12 @@
  */
 package br.com.davidbuzatto.jsge.geom;
 
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
 import br.com.davidbuzatto.jsge.core.Drawable;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.DrawingUtils;
 import java.awt.Paint;
+import java.awt.Shape;
 import java.io.Serializable;
 
 /**
@@ -60,6 +63,9 @@ public class Triangle implements Drawable, Serializable {
      */
     public double y3;
 
+    private transient ShapeGeometry geometry;
+    private transient AABB aabb;
+
     /**
      * Creates a new triangle with default values.
      */
@@ -85,6 +91,57 @@ public class Triangle implements Drawable, Serializable {
         this.y3 = y3;
     }
 
+    /**
+     * Gets the Java2D shape of the triangle. The shape is cached and shared, so
+     * it must not be modified. It is replaced by a new one when a field of
+     * the triangle changes.
+     *
+     * @return The shape of the triangle.
+     */
+    public Shape getShape() {
+        return geometry().shape;
+    }
+
+    /**
+     * Gets the bounding rectangle of the triangle. It is computed from cached
+     * data, which is only rebuilt when a field of the triangle changes.
+     *
+     * @return A new rectangle with the bounds of the triangle.
+     */
+    public Rectangle getBounds() {
+        return geometry().getBounds();
+    }
+
+    /**
+     * Gets the AABB of the triangle, which references it. The same AABB is
+     * returned on every call and, if the triangle changed since the last call,
+     * it is moved and resized through its methods, so an AABB inserted in
+     * an AABBTree is refitted.
+     *
+     * @return The AABB of the triangle.
+     */
+    public AABB getAABB() {
+        aabb = geometry().updateAABB( aabb, this );
+        return aabb;
+    }
+
+    /*
+     * Returns the cached geometry, rebuilding it if a field changed.
+     */
+    private ShapeGeometry geometry() {
+        ShapeGeometry g = geometry;
+        if ( g == null || !g.matches( x1, y1, x2, y2, x3, y3 ) ) {
+            g = buildGeometry();
+            geometry = g;
+        }
+        return g;
+    }
+
+    private ShapeGeometry buildGeometry() {
+        Shape shape = DrawingUtils.createTriangle( x1, y1, x2, y2, x3, y3 );
+        return new ShapeGeometry( x1, y1, x2, y2, x3, y3, new double[]{ x1, x2, x3 }, new double[]{ y1, y2, y3 }, shape );
+    }
+
     @Override
     public void draw( EngineFrame engine, Paint color ) {
         engine.drawTriangle( this, color );
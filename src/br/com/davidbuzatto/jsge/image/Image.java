@@ -42,6 +42,8 @@ import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
 import java.awt.geom.CubicCurve2D;
 import java.awt.geom.Ellipse2D;
@@ -63,6 +65,8 @@ import java.awt.image.BufferedImage;
  */
 public class Image {
     
+    private static final AffineTransform IDENTITY = new AffineTransform();
+    
     private static Font font;
     private static BasicStroke stroke;
     private static boolean antialiasing;
@@ -78,6 +82,13 @@ public class Image {
      */
     public BufferedImage buffImage;
     
+    /*
+     * Graphics context shared by the drawing methods during a drawing
+     * session and the buffered image it draws on.
+     */
+    private Graphics2D sessionGraphics;
+    private BufferedImage sessionTarget;
+    
     /**
      * Creates an image from a buffered image.
      *
@@ -137,6 +148,118 @@ public class Image {
         
     }
     
+    /**
+     * Starts a drawing session. Until the session ends, all drawing methods
+     * of this image share the same graphics context, instead of creating
+     * and disposing one for each call. The font, stroke and antialiasing
+     * settings are applied to each drawing as usual.
+     * 
+     * Usage:
+     * <pre>
+     * image.begin();
+     * // lots of drawing calls
+     * image.end();
+     * </pre>
+     * 
+     * @throws IllegalStateException If a drawing session was already started.
+     */
+    public void begin() {
+        
+        if ( sessionGraphics != null ) {
+            throw new IllegalStateException( "The drawing session was already started." );
+        }
+        
+        sessionTarget = buffImage;
+        sessionGraphics = buffImage.createGraphics();
+        
+    }
+    
+    /**
+     * Ends the drawing session, disposing its graphics context.
+     * 
+     * @throws IllegalStateException If no drawing session was started.
+     */
+    public void end() {
+        
+        if ( sessionGraphics == null ) {
+            throw new IllegalStateException( "The drawing session was not started." );
+        }
+        
+        sessionGraphics.dispose();
+        sessionGraphics = null;
+        sessionTarget = null;
+        
+    }
+    
+    /**
+     * Returns whether a drawing session is active.
+     * 
+     * @return True if a drawing session is active, false otherwise.
+     */
+    public boolean isDrawingSessionActive() {
+        return sessionGraphics != null;
+    }
+    
+    /**
+     * Gets the graphics context for a drawing method: the session graphics
+     * context, configured with the current settings, or a new one.
+     */
+    private Graphics2D acquireGraphics() {
+        
+        if ( sessionGraphics == null ) {
+            return createGraphics();
+        }
+        
+        // the image data may have been replaced by an in place operation
+        if ( sessionTarget != buffImage ) {
+            sessionGraphics.dispose();
+            sessionTarget = buffImage;
+            sessionGraphics = buffImage.createGraphics();
+        }
+        
+        sessionGraphics.setRenderingHint( 
+                RenderingHints.KEY_ANTIALIASING, 
+                antialiasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_DEFAULT );
+        sessionGraphics.setFont( font );
+        sessionGraphics.setStroke( stroke );
+        
+        return sessionGraphics;
+        
+    }
+    
+    /**
+     * Releases the graphics context of a drawing method, restoring the
+     * transformation of the session graphics context or disposing the
+     * graphics context created only for the method.
+     */
+    private void releaseGraphics( Graphics2D g2d ) {
+        if ( g2d == sessionGraphics ) {
+            g2d.setTransform( IDENTITY );
+        } else {
+            g2d.dispose();
+        }
+    }
+    
+    /**
+     * Draws a shape cached by a geom object.
+     */
+    private void drawCachedShape( Shape shape, Paint paint ) {
+        Graphics2D g2d = acquireGraphics();
+        g2d.setPaint( paint );
+        g2d.draw( shape );
+        releaseGraphics( g2d );
+    }
+    
+    /**
+     * Fills a shape cached by a geom object.
+     */
+    private void fillCachedShape( Shape shape, Paint paint ) {
+        Graphics2D g2d = acquireGraphics();
+        g2d.setPaint( paint );
+        g2d.fill( shape );
+        releaseGraphics( g2d );
+    }
+    
     /**
      * Gets the RGB color of a pixel.
      *
@@ -173,10 +296,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawPixel( double x, double y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( new Line2D.Double( x, y, x, y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -199,10 +322,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawLine( double startX, double startY, double endX, double endY, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( new Line2D.Double( startX, startY, endX, endY ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -236,10 +359,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawRectangle( double x, double y, double width, double height, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( new Rectangle2D.Double( x, y, width, height ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -289,13 +412,13 @@ public class Image {
      */
     public void drawRectangle( double x, double y, double width, double height, double originX, double originY, double rotation, Paint paint ) {
 
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
 
         g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         g2d.draw( new Rectangle2D.Double( x, y, width, height ) );
 
-        g2d.dispose();
+        releaseGraphics( g2d );
 
     }
 
@@ -390,10 +513,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillRectangle( double x, double y, double width, double height, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( new Rectangle2D.Double( x, y, width, height ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -485,13 +608,13 @@ public class Image {
      */
     public void fillRectangle( double x, double y, double width, double height, double originX, double originY, double rotation, Paint paint ) {
 
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
 
         g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         g2d.fill( new Rectangle2D.Double( x, y, width, height ) );
 
-        g2d.dispose();
+        releaseGraphics( g2d );
 
     }
 
@@ -574,10 +697,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawRoundRectangle( double x, double y, double width, double height, double roundness, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( new RoundRectangle2D.Double( x, y, width, height, roundness, roundness ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -614,10 +737,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillRoundRectangle( double x, double y, double width, double height, double roundness, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( new RoundRectangle2D.Double( x, y, width, height, roundness, roundness ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -652,10 +775,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawCircle( double x, double y, double radius, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( new Ellipse2D.Double( x - radius, y - radius, radius * 2, radius * 2 ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -688,10 +811,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillCircle( double x, double y, double radius, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( new Ellipse2D.Double( x - radius, y - radius, radius * 2, radius * 2 ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -725,10 +848,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawEllipse( double x, double y, double radiusH, double radiusV, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( new Ellipse2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -763,10 +886,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillEllipse( double x, double y, double radiusH, double radiusV, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( new Ellipse2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2 ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -802,11 +925,11 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawCircleSector( double x, double y, double radius, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
         g2d.draw( new Arc2D.Double( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -855,11 +978,11 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillCircleSector( double x, double y, double radius, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
         g2d.fill( new Arc2D.Double( x - radius, y - radius, radius * 2, radius * 2, -startAngle, -extent, Arc2D.PIE ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -909,11 +1032,11 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
         g2d.draw( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -964,11 +1087,11 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillEllipseSector( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
         g2d.fill( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.PIE ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1019,11 +1142,11 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
         g2d.draw( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.OPEN ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1062,11 +1185,11 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillArc( double x, double y, double radiusH, double radiusV, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         double extent = endAngle - startAngle;
         g2d.fill( new Arc2D.Double( x - radiusH, y - radiusV, radiusH * 2, radiusV * 2, -startAngle, -extent, Arc2D.CHORD ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1105,10 +1228,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1132,7 +1255,7 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawRing( Ring ring, Paint paint ) {
-        drawRing( ring.x, ring.y, ring.innerRadius, ring.outerRadius, ring.startAngle, ring.endAngle, paint );
+        drawCachedShape( ring.getShape(), paint );
     }
 
     /**
@@ -1147,10 +1270,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillRing( double x, double y, double innerRadius, double outerRadius, double startAngle, double endAngle, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createRing( x, y, innerRadius, outerRadius, startAngle, endAngle ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1174,7 +1297,7 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillRing( Ring ring, Paint paint ) {
-        fillRing( ring.x, ring.y, ring.innerRadius, ring.outerRadius, ring.startAngle, ring.endAngle, paint );
+        fillCachedShape( ring.getShape(), paint );
     }
 
     /**
@@ -1189,10 +1312,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createTriangle( v1x, v1y, v2x, v2y, v3x, v3y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1229,10 +1352,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillTriangle( double v1x, double v1y, double v2x, double v2y, double v3x, double v3y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createTriangle( v1x, v1y, v2x, v2y, v3x, v3y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1268,10 +1391,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawPolygon( double x, double y, int sides, double radius, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1294,7 +1417,7 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawPolygon( Polygon polygon, Paint paint ) {
-        drawPolygon( polygon.x, polygon.y, polygon.sides, polygon.radius, polygon.rotation, paint );
+        drawCachedShape( polygon.getShape(), paint );
     }
 
     /**
@@ -1308,10 +1431,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillPolygon( double x, double y, int sides, double radius, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createPolygon( x, y, sides, radius, rotation ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1334,7 +1457,7 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillPolygon( Polygon polygon, Paint paint ) {
-        fillPolygon( polygon.x, polygon.y, polygon.sides, polygon.radius, polygon.rotation, paint );
+        fillCachedShape( polygon.getShape(), paint );
     }
     
     /**
@@ -1348,10 +1471,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawStar( double x, double y, int tips, double radius, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( DrawingUtils.createStar( x, y, tips, radius, rotation ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1374,7 +1497,7 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawStar( Star polygon, Paint paint ) {
-        drawStar( polygon.x, polygon.y, polygon.tips, polygon.radius, polygon.rotation, paint );
+        drawCachedShape( polygon.getShape(), paint );
     }
 
     /**
@@ -1388,10 +1511,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillStar( double x, double y, int tips, double radius, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( DrawingUtils.createStar( x, y, tips, radius, rotation ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1414,7 +1537,7 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillStar( Star polygon, Paint paint ) {
-        fillStar( polygon.x, polygon.y, polygon.tips, polygon.radius, polygon.rotation, paint );
+        fillCachedShape( polygon.getShape(), paint );
     }
 
     /**
@@ -1424,10 +1547,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawPath( Path path, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( path.path );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1437,10 +1560,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillPath( Path path, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( path.path );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     
@@ -1461,10 +1584,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( new QuadCurve2D.Double( p1x, p1y, cx, cy, p2x, p2y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1501,10 +1624,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( new QuadCurve2D.Double( p1x, p1y, cx, cy, p2x, p2y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1543,10 +1666,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.draw( new CubicCurve2D.Double( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1586,10 +1709,10 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void fillCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.fill( new CubicCurve2D.Double( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y ) );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1630,12 +1753,12 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawText( String text, double x, double y, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1663,13 +1786,13 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawText( String text, double x, double y, double originX, double originY, double rotation, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1682,13 +1805,13 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawText( String text, double x, double y, int fontSize, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.setFont( g2d.getFont().deriveFont( (float) fontSize ) );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1718,14 +1841,14 @@ public class Image {
      * @param paint Paint for drawing.
      */
     public void drawText( String text, double x, double y, double originX, double originY, double rotation, int fontSize, Paint paint ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.setPaint( paint );
         g2d.setFont( g2d.getFont().deriveFont( (float) fontSize ) );
         g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         //Rectangle2D r = g2d.getFontMetrics().getStringBounds( text, g2d );
         //g2d.drawString( text, (int) x, (int) ( y + r.getHeight() / 2 ) );
         DrawingUtils.drawTextMultilineHelper( text, x, y, g2d );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -1818,9 +1941,9 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double x, double y, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.drawImage( image.buffImage, (int) x, (int) y, bgColor, null );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1871,10 +1994,10 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double x, double y, double originX, double originY, double rotation, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         g2d.drawImage( image.buffImage, (int) x, (int) y, bgColor, null );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1901,7 +2024,7 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, Rectangle source, double x, double y, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.drawImage( image.buffImage,
                 (int) x,
                 (int) y,
@@ -1914,7 +2037,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -1942,7 +2065,7 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double x, double y, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.drawImage( image.buffImage,
                 (int) x,
                 (int) y,
@@ -1955,7 +2078,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -2046,7 +2169,7 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, Rectangle source, double x, double y, double originX, double originY, double rotation, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         g2d.drawImage( image.buffImage,
                 (int) x,
@@ -2060,7 +2183,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -2094,7 +2217,7 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double x, double y, double originX, double originY, double rotation, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.rotate( Math.toRadians( rotation ), x + originX, y + originY );
         g2d.drawImage( image.buffImage,
                 (int) x,
@@ -2108,7 +2231,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -2138,7 +2261,7 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, Rectangle source, Rectangle dest, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.drawImage( image.buffImage,
                 (int) dest.x,
                 (int) dest.y,
@@ -2151,7 +2274,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -2180,7 +2303,7 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double destX, double destY, double destWidth, double destHeight, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.drawImage( image.buffImage,
                 (int) destX,
                 (int) destY,
@@ -2193,7 +2316,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -2250,7 +2373,7 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, Rectangle source, Rectangle dest, double originX, double originY, double rotation, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.rotate( Math.toRadians( rotation ), dest.x + originX, dest.y + originY );
         g2d.drawImage( image.buffImage,
                 (int) dest.x,
@@ -2264,7 +2387,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
     
     /**
@@ -2299,7 +2422,7 @@ public class Image {
      * @param bgColor A background color.
      */
     public void drawImage( Image image, double srcX, double srcY, double srcWidth, double srcHeight, double destX, double destY, double destWidth, double destHeight, double originX, double originY, double rotation, Color bgColor ) {
-        Graphics2D g2d = createGraphics();
+        Graphics2D g2d = acquireGraphics();
         g2d.rotate( Math.toRadians( rotation ), destX + originX, destY + originY );
         g2d.drawImage( image.buffImage,
                 (int) destX,
@@ -2313,7 +2436,7 @@ public class Image {
                 bgColor,
                 null
         );
-        g2d.dispose();
+        releaseGraphics( g2d );
     }
 
     /**
@@ -2514,6 +2637,29 @@ public class Image {
         return ImageUtils.imageRotateCCW( this );
     }
     
+    /**
+     * Applies a chain of color filters to the current image in a single pass.
+     * 
+     * @param filter The color filter chain.
+     * @return The current image, allowing chaining.
+     */
+    public Image colorFilter( ImageColorFilter filter ) {
+        Image newImage = ImageUtils.imageColorFilter( this, filter );
+        buffImage = newImage.buffImage;
+        return this;
+    }
+    
+    /**
+     * Creates a copy of the current image applying a chain of color filters
+     * in a single pass.
+     * 
+     * @param filter The color filter chain.
+     * @return A filtered copy of the current image.
+     */
+    public Image copyColorFilter( ImageColorFilter filter ) {
+        return ImageUtils.imageColorFilter( this, filter );
+    }
+    
     /**
      * Changes the tint of the current image.
      * 
@@ -17,7 +17,6 @@
 package br.com.davidbuzatto.jsge.image;
 
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
-import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
 import br.com.davidbuzatto.jsge.core.utils.CoreUtils;
 import br.com.davidbuzatto.jsge.core.utils.TraceLogUtils;
 import java.awt.Color;
@@ -25,10 +24,12 @@ import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.function.Consumer;
 import javax.imageio.ImageIO;
 
 /**
@@ -48,13 +49,9 @@ public interface ImageUtils {
      */
     public static Image imageResize( Image image, int newImageWidth, int newImageHeight ) {
         
-        Image newImage = new Image( newImageWidth, newImageHeight );
-        
-        Graphics2D g2d = newImage.createGraphics();
-        g2d.drawImage( image.buffImage, 0, 0, newImageWidth, newImageHeight, 0, 0, image.getWidth(), image.getHeight(), null );
-        g2d.dispose();
-        
-        return newImage;
+        return drawInBands( newImageWidth, newImageHeight, g2d -> {
+            g2d.drawImage( image.buffImage, 0, 0, newImageWidth, newImageHeight, 0, 0, image.getWidth(), image.getHeight(), null );
+        });
         
     }
     
@@ -70,13 +67,10 @@ public interface ImageUtils {
         
         double percentage = ( (double) newImageWidth ) / image.getWidth();
         int newImageHeight = (int) ( image.getHeight() * percentage );
-        Image newImage = new Image( newImageWidth, newImageHeight );
         
-        Graphics2D g2d = newImage.createGraphics();
-        g2d.drawImage( image.buffImage, 0, 0, newImageWidth, newImageHeight, 0, 0, image.getWidth(), image.getHeight(), null );
-        g2d.dispose();
-        
-        return newImage;
+        return drawInBands( newImageWidth, newImageHeight, g2d -> {
+            g2d.drawImage( image.buffImage, 0, 0, newImageWidth, newImageHeight, 0, 0, image.getWidth(), image.getHeight(), null );
+        });
         
     }
     
@@ -91,13 +85,10 @@ public interface ImageUtils {
         
         int newImageWidth = (int) ( image.getWidth() * percentage );
         int newImageHeight = (int) ( image.getHeight() * percentage );
-        Image newImage = new Image( newImageWidth, newImageHeight );
         
-        Graphics2D g2d = newImage.createGraphics();
-        g2d.drawImage( image.buffImage, 0, 0, newImageWidth, newImageHeight, 0, 0, image.getWidth(), image.getHeight(), null );
-        g2d.dispose();
-        
-        return newImage;
+        return drawInBands( newImageWidth, newImageHeight, g2d -> {
+            g2d.drawImage( image.buffImage, 0, 0, newImageWidth, newImageHeight, 0, 0, image.getWidth(), image.getHeight(), null );
+        });
         
     }
     
@@ -109,15 +100,18 @@ public interface ImageUtils {
      */
     public static Image imageFlipVertical( Image image ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ImageColorFilter.readPixels( image.buffImage );
+        int[] newPixels = new int[pixels.length];
         
-        for ( int i = 0; i < image.getWidth(); i++ ) {
-            for ( int j = 0; j < image.getHeight(); j++ ) {
-                newImage.setRGB( i, j, image.getRGB( i, image.getHeight() - j - 1 ) );
+        TiledImageExecutor.forEachBand( width, height, ( fromRow, toRow ) -> {
+            for ( int i = fromRow; i < toRow; i++ ) {
+                System.arraycopy( pixels, ( height - i - 1 ) * width, newPixels, i * width, width );
             }
-        }
+        });
         
-        return newImage;
+        return createImage( width, height, newPixels );
         
     }
     
@@ -129,15 +123,21 @@ public interface ImageUtils {
      */
     public static Image imageFlipHorizontal( Image image ) {
         
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ImageColorFilter.readPixels( image.buffImage );
+        int[] newPixels = new int[pixels.length];
         
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                newImage.setRGB( j, i, image.getRGB( image.getWidth() - j - 1, i ) );
+        TiledImageExecutor.forEachBand( width, height, ( fromRow, toRow ) -> {
+            for ( int i = fromRow; i < toRow; i++ ) {
+                int row = i * width;
+                for ( int j = 0; j < width; j++ ) {
+                    newPixels[row + j] = pixels[row + width - j - 1];
+                }
             }
-        }
+        });
         
-        return newImage;
+        return createImage( width, height, newPixels );
         
     }
     
@@ -166,16 +166,15 @@ public interface ImageUtils {
         double newHeight =  image.getWidth() * Math.sin( Math.toRadians( rotation ) ) +
                            image.getHeight() * Math.cos( Math.toRadians( rotation ) );
         
-        Image newImage = new Image( (int) newWidth, (int) newHeight );
-        
-        Graphics2D g2d = newImage.createGraphics();
-        g2d.setColor( Color.BLACK );
-        g2d.translate( newImage.getWidth() / 2, newImage.getHeight() / 2 );
-        g2d.rotate( Math.toRadians( rotation ) );
-        g2d.drawImage( image.buffImage, -image.getWidth() / 2, -image.getHeight() / 2, null );
-        g2d.dispose();
+        Image source = image;
+        double radians = Math.toRadians( rotation );
         
-        return newImage;
+        return drawInBands( (int) newWidth, (int) newHeight, g2d -> {
+            g2d.setColor( Color.BLACK );
+            g2d.translate( (int) newWidth / 2, (int) newHeight / 2 );
+            g2d.rotate( radians );
+            g2d.drawImage( source.buffImage, -source.getWidth() / 2, -source.getHeight() / 2, null );
+        });
         
     }
     
@@ -187,15 +186,22 @@ public interface ImageUtils {
      */
     public static Image imageRotateCW( Image image ) {
         
-        Image newImage = new Image( image.getHeight(), image.getWidth() );
-        
-        Graphics2D g2d = newImage.createGraphics();
-        g2d.translate( newImage.getWidth(), 0 );
-        g2d.rotate( Math.toRadians( 90 ) );
-        g2d.drawImage(image.buffImage, 0, 0, null );
-        g2d.dispose();
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ImageColorFilter.readPixels( image.buffImage );
+        int[] newPixels = new int[pixels.length];
+        
+        // the row i of the new image is the column i of the original, bottom to top
+        TiledImageExecutor.forEachBand( height, width, ( fromRow, toRow ) -> {
+            for ( int i = fromRow; i < toRow; i++ ) {
+                int row = i * height;
+                for ( int j = 0; j < height; j++ ) {
+                    newPixels[row + j] = pixels[( height - j - 1 ) * width + i];
+                }
+            }
+        });
         
-        return newImage;
+        return createImage( height, width, newPixels );
         
     }
     
@@ -207,15 +213,23 @@ public interface ImageUtils {
      */
     public static Image imageRotateCCW( Image image ) {
         
-        Image newImage = new Image( image.getHeight(), image.getWidth() );
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = ImageColorFilter.readPixels( image.buffImage );
+        int[] newPixels = new int[pixels.length];
+        
+        // the row i of the new image is the column width - i - 1 of the original, top to bottom
+        TiledImageExecutor.forEachBand( height, width, ( fromRow, toRow ) -> {
+            for ( int i = fromRow; i < toRow; i++ ) {
+                int row = i * height;
+                int column = width - i - 1;
+                for ( int j = 0; j < height; j++ ) {
+                    newPixels[row + j] = pixels[j * width + column];
+                }
+            }
+        });
         
-        Graphics2D g2d = newImage.createGraphics();
-        g2d.translate( 0, newImage.getHeight() );
-        g2d.rotate( Math.toRadians( -90 ) );
-        g2d.drawImage(image.buffImage, 0, 0, null );
-        g2d.dispose();
-        
-        return newImage;
+        return createImage( height, width, newPixels );
         
     }
     
@@ -227,24 +241,7 @@ public interface ImageUtils {
      * @return A new tinted image.
      */
     public static Image imageColorTint( Image image, Color color ) {
-        
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                
-                Color c = ColorUtils.colorTint( new Color( image.getRGB( j, i ) ), color );
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                c = new Color( c.getRed(), c.getGreen(), c.getBlue(), alpha );
-                
-                newImage.setRGB( j, i, c.getRGB() );
-                
-            }
-        }
-        
-        return newImage;
-        
+        return new ImageColorFilter().tint( color ).apply( image );
     }
     
     /**
@@ -254,22 +251,7 @@ public interface ImageUtils {
      * @return A new image with inverted colors.
      */
     public static Image imageColorInvert( Image image ) {
-        
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                int red = (pixel >> 16) & 0xff;
-                int green = (pixel >> 8) & 0xff;
-                int blue = (pixel >> 0) & 0xff;
-                newImage.setRGB( j, i, new Color( 255 - red, 255 - green, 255 - blue, alpha ).getRGB() );
-            }
-        }
-        
-        return newImage;
-        
+        return new ImageColorFilter().invert().apply( image );
     }
     
     /**
@@ -279,23 +261,7 @@ public interface ImageUtils {
      * @return A new grayscale image.
      */
     public static Image imageColorGrayscale( Image image ) {
-        
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                int red = (pixel >> 16) & 0xff;
-                int green = (pixel >> 8) & 0xff;
-                int blue = (pixel >> 0) & 0xff;
-                int gray = ( red + green + blue ) / 3;
-                newImage.setRGB( j, i, new Color( gray, gray, gray, alpha ).getRGB() );
-            }
-        }
-        
-        return newImage;
-        
+        return new ImageColorFilter().grayscale().apply( image );
     }
     
     /**
@@ -307,23 +273,7 @@ public interface ImageUtils {
      * @return A new image with adjusted contrast.
      */
     public static Image imageColorContrast( Image image, double contrast ) {
-        
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                
-                Color c = ColorUtils.colorContrast( new Color( image.getRGB( j, i ) ), contrast );
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                c = new Color( c.getRed(), c.getGreen(), c.getBlue(), alpha );
-                
-                newImage.setRGB( j, i, c.getRGB() );
-                
-            }
-        }
-        
-        return newImage;
+        return new ImageColorFilter().contrast( contrast ).apply( image );
     }
     
     /**
@@ -335,24 +285,7 @@ public interface ImageUtils {
      * @return A new image with adjusted brightness.
      */
     public static Image imageColorBrightness( Image image, double brightness ) {
-        
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                
-                Color c = ColorUtils.colorBrightness( new Color( image.getRGB( j, i ) ), brightness );
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                c = new Color( c.getRed(), c.getGreen(), c.getBlue(), alpha );
-                
-                newImage.setRGB( j, i, c.getRGB() );
-                
-            }
-        }
-        
-        return newImage;
-        
+        return new ImageColorFilter().brightness( brightness ).apply( image );
     }
     
     /**
@@ -364,30 +297,18 @@ public interface ImageUtils {
      * @return A new image with the colors replaced.
      */
     public static Image imageColorReplace( Image image, Color color, Color replace ) {
-        
-        Image newImage = new Image( image.getWidth(), image.getHeight() );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                
-                int pixel = image.getRGB( j, i );
-                int alpha = (pixel >> 24) & 0xff;
-                int red = (pixel >> 16) & 0xff;
-                int green = (pixel >> 8) & 0xff;
-                int blue = (pixel >> 0) & 0xff;
-                Color c = new Color( red, green, blue, alpha );
-                
-                if ( pixel == color.getRGB() ) {
-                    newImage.setRGB( j, i, replace.getRGB() );
-                } else {
-                    newImage.setRGB( j, i, c.getRGB() );
-                }
-                
-            }
-        }
-        
-        return newImage;
-        
+        return new ImageColorFilter().replace( color, replace ).apply( image );
+    }
+    
+    /**
+     * Creates a new image applying a chain of color filters in a single pass.
+     *
+     * @param image An image.
+     * @param filter The color filter chain.
+     * @return A new filtered image.
+     */
+    public static Image imageColorFilter( Image image, ImageColorFilter filter ) {
+        return filter.apply( image );
     }
     
     /**
@@ -453,12 +374,7 @@ public interface ImageUtils {
     public static BufferedImage copyBufferedImage( BufferedImage image ) {
         
         BufferedImage newImage = new BufferedImage( image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB );
-        
-        for ( int i = 0; i < image.getHeight(); i++ ) {
-            for ( int j = 0; j < image.getWidth(); j++ ) {
-                newImage.setRGB( j, i, image.getRGB( j, i ) );
-            }
-        }
+        ImageColorFilter.writePixels( newImage, ImageColorFilter.readPixels( image ) );
         
         return newImage;
         
@@ -518,4 +434,43 @@ public interface ImageUtils {
         
     }
     
+    /**
+     * Creates a TYPE_INT_ARGB image with the given pixels.
+     */
+    private static Image createImage( int width, int height, int[] pixels ) {
+        Image newImage = new Image( width, height );
+        ImageColorFilter.writePixels( newImage.buffImage, pixels );
+        return newImage;
+    }
+    
+    /**
+     * Creates a new image executing a drawing operation in bands of rows,
+     * which are drawn in parallel when the image is large enough.
+     */
+    private static Image drawInBands( int width, int height, Consumer<Graphics2D> drawing ) {
+        
+        if ( (long) width * height < TiledImageExecutor.getParallelismThreshold() ) {
+            Image newImage = new Image( width, height );
+            Graphics2D g2d = newImage.createGraphics();
+            drawing.accept( g2d );
+            g2d.dispose();
+            return newImage;
+        }
+        
+        int[] newPixels = new int[width * height];
+        
+        TiledImageExecutor.forEachBand( width, height, ( fromRow, toRow ) -> {
+            Image band = new Image( width, toRow - fromRow );
+            Graphics2D g2d = band.createGraphics();
+            g2d.translate( 0, -fromRow );
+            drawing.accept( g2d );
+            g2d.dispose();
+            int[] bandPixels = ( (DataBufferInt) band.buffImage.getRaster().getDataBuffer() ).getData();
+            System.arraycopy( bandPixels, 0, newPixels, fromRow * width, bandPixels.length );
+        });
+        
+        return createImage( width, height, newPixels );
+        
+    }
+    
 }
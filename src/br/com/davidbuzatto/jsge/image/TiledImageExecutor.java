@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.image;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Executes image operations in parallel, splitting the image rows into
+ * bands that are processed by the tasks of a ForkJoinPool.
+ *
+ * Each band holds about 64 KiB of pixels, so it fits in the cache of a
+ * core. Images with less pixels than the parallelism threshold are
+ * processed sequentially in the calling thread, since splitting small
+ * images, like most sprites, costs more than it saves.
+ *
+ * Note: All configuration methods act globally!
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class TiledImageExecutor {
+
+    /**
+     * Default parallelism threshold, in pixels.
+     */
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 256 * 256;
+
+    /**
+     * Number of pixels of each band.
+     */
+    private static final int BAND_PIXELS = 16 * 1024;
+
+    private static volatile int parallelismThreshold = DEFAULT_PARALLELISM_THRESHOLD;
+    private static volatile ForkJoinPool pool;
+
+    /**
+     * Processes a band of rows.
+     */
+    interface BandTask {
+
+        /**
+         * Processes the rows from fromRow (inclusive) to toRow (exclusive).
+         */
+        void process( int fromRow, int toRow );
+
+    }
+
+    private TiledImageExecutor() {
+    }
+
+    /**
+     * Sets the minimum number of pixels of an image for it to be processed
+     * in parallel.
+     *
+     * @param pixels The threshold, in pixels. Use Integer.MAX_VALUE to
+     * always process sequentially.
+     */
+    public static void setParallelismThreshold( int pixels ) {
+        parallelismThreshold = Math.max( 1, pixels );
+    }
+
+    /**
+     * Gets the minimum number of pixels of an image for it to be processed
+     * in parallel.
+     *
+     * @return The threshold, in pixels.
+     */
+    public static int getParallelismThreshold() {
+        return parallelismThreshold;
+    }
+
+    /**
+     * Sets the pool used to process the images in parallel.
+     *
+     * @param pool The pool or null to use the common pool.
+     */
+    public static void setPool( ForkJoinPool pool ) {
+        TiledImageExecutor.pool = pool;
+    }
+
+    /**
+     * Processes all rows of an image, in parallel if it is large enough.
+     *
+     * @param width Width of the image.
+     * @param height Height of the image.
+     * @param task The task that processes each band of rows.
+     */
+    static void forEachBand( int width, int height, BandTask task ) {
+
+        if ( height <= 0 ) {
+            return;
+        }
+
+        ForkJoinPool p = pool == null ? ForkJoinPool.commonPool() : pool;
+
+        if ( (long) width * height < parallelismThreshold || p.getParallelism() == 1 ) {
+            task.process( 0, height );
+            return;
+        }
+
+        int bandRows = Math.max( 1, BAND_PIXELS / Math.max( 1, width ) );
+        p.invoke( new BandAction( task, 0, height, bandRows ) );
+
+    }
+
+    /**
+     * Recursively splits the rows in halves until they fit in a band.
+     */
+    @SuppressWarnings( "serial" )
+    private static class BandAction extends RecursiveAction {
+
+        private final BandTask task;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+
+        BandAction( BandTask task, int fromRow, int toRow, int bandRows ) {
+            this.task = task;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected void compute() {
+
+            if ( toRow - fromRow <= bandRows ) {
+                task.process( fromRow, toRow );
+                return;
+            }
+
+            int middle = ( fromRow + toRow ) >>> 1;
+            invokeAll(
+                new BandAction( task, fromRow, middle, bandRows ),
+                new BandAction( task, middle, toRow, bandRows )
+            );
+
+        }
+
+    }
+
+}
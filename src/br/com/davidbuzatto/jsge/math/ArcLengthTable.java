@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.math;
+
+import java.util.Arrays;
+
+/**
+ * Arc-length table of a polyline, like the ones created by the flatten
+ * methods of CurveUtils, used to move along a curve at constant speed.
+ *
+ * The table stores the accumulated length at each point of the polyline,
+ * so a point at a given distance from the start is found by a binary
+ * search followed by a linear interpolation, in O(log n). The table can be
+ * rebuilt with another polyline reusing its arrays.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ArcLengthTable {
+
+    private double[] xs;
+    private double[] ys;
+    private double[] lengths;
+    private int size;
+
+    /**
+     * Constructs an empty table.
+     */
+    public ArcLengthTable() {
+        xs = new double[16];
+        ys = new double[16];
+        lengths = new double[16];
+    }
+
+    /**
+     * Constructs a table for a polyline.
+     *
+     * @param polyline The points of the polyline.
+     */
+    public ArcLengthTable( Vector2Array polyline ) {
+        this();
+        build( polyline );
+    }
+
+    /**
+     * Rebuilds the table for a polyline. The points are copied, so the
+     * polyline can be reused afterwards.
+     *
+     * @param polyline The points of the polyline.
+     * @return The current table.
+     */
+    public ArcLengthTable set( Vector2Array polyline ) {
+        build( polyline );
+        return this;
+    }
+
+    /**
+     * Gets the total length of the polyline.
+     *
+     * @return The length.
+     */
+    public double getLength() {
+        return size == 0 ? 0 : lengths[size - 1];
+    }
+
+    /**
+     * Gets the number of points of the polyline.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the point at a distance from the start of the polyline.
+     *
+     * @param distance The distance, clamped between zero and the length.
+     * @return A new vector with the point.
+     */
+    public Vector2 getPointAtDistance( double distance ) {
+        return getPointAtDistance( distance, new Vector2() );
+    }
+
+    /**
+     * Gets the point at a distance from the start of the polyline, storing
+     * the result in the destination vector. An empty table gives the origin.
+     *
+     * @param distance The distance, clamped between zero and the length.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 getPointAtDistance( double distance, Vector2 out ) {
+
+        if ( size == 0 ) {
+            return out.set( 0, 0 );
+        }
+
+        int i = findSegment( distance );
+        if ( i == size - 1 ) {
+            return out.set( xs[i], ys[i] );
+        }
+
+        double segment = lengths[i + 1] - lengths[i];
+        double amount = segment > 0 ? MathUtils.clamp( ( distance - lengths[i] ) / segment, 0, 1 ) : 0;
+
+        return out.set(
+            xs[i] + ( xs[i + 1] - xs[i] ) * amount,
+            ys[i] + ( ys[i + 1] - ys[i] ) * amount
+        );
+
+    }
+
+    /**
+     * Gets the point at a fraction of the length of the polyline, so equal
+     * steps of the amount give evenly spaced points.
+     *
+     * @param amount A value from 0 to 1 representing the position, as a percentage of the length, of the desired point.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 getPointAtFraction( double amount, Vector2 out ) {
+        return getPointAtDistance( amount * getLength(), out );
+    }
+
+    /**
+     * Gets the normalized direction of the polyline at a distance from its
+     * start, storing the result in the destination vector. Tables with less
+     * than two points give the zero vector.
+     *
+     * @param distance The distance, clamped between zero and the length.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 getTangentAtDistance( double distance, Vector2 out ) {
+
+        if ( size < 2 ) {
+            return out.set( 0, 0 );
+        }
+
+        int i = Math.min( findSegment( distance ), size - 2 );
+
+        // skips repeated points, which have no direction
+        while ( i < size - 2 && lengths[i + 1] == lengths[i] ) {
+            i++;
+        }
+
+        return out.set( xs[i + 1] - xs[i], ys[i + 1] - ys[i] ).normalize( out );
+
+    }
+
+    /*
+     * Copies the points and accumulates the lengths.
+     */
+    private void build( Vector2Array polyline ) {
+
+        size = polyline.size();
+
+        if ( size > xs.length ) {
+            xs = new double[size];
+            ys = new double[size];
+            lengths = new double[size];
+        }
+
+        System.arraycopy( polyline.getXs(), 0, xs, 0, size );
+        System.arraycopy( polyline.getYs(), 0, ys, 0, size );
+
+        double length = 0;
+        for ( int i = 0; i < size; i++ ) {
+            if ( i > 0 ) {
+                double dx = xs[i] - xs[i - 1];
+                double dy = ys[i] - ys[i - 1];
+                length += Math.sqrt( dx * dx + dy * dy );
+            }
+            lengths[i] = length;
+        }
+
+    }
+
+    /*
+     * Finds the last point whose accumulated length is not greater than the
+     * distance.
+     */
+    private int findSegment( double distance ) {
+
+        if ( !( distance > 0 ) ) {
+            return 0;
+        }
+
+        int i = Arrays.binarySearch( lengths, 0, size, distance );
+        if ( i < 0 ) {
+            i = -i - 2;
+        } else {
+            // the last of equal lengths, so the segment after it is not empty
+            while ( i < size - 1 && lengths[i + 1] == distance ) {
+                i++;
+            }
+        }
+
+        return Math.min( i, size - 1 );
+
+    }
+
+    @Override
+    public String toString() {
+        return String.format( "ArcLengthTable[%d points, length %.2f]", size, getLength() );
+    }
+
+}
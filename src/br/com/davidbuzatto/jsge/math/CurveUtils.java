@@ -40,11 +40,26 @@ public interface CurveUtils {
      * @return The point within the line.
      */
     public static Vector2 getPointAtLine( double p1x, double p1y, double p2x, double p2y, double amount ) {
+        return getPointAtLine( p1x, p1y, p2x, p2y, amount, new Vector2() );
+    }
+
+    /**
+     * Gets a point within a line, storing the result in the destination vector.
+     *
+     * @param p1x X coordinate of the start point.
+     * @param p1y Y coordinate of the start point.
+     * @param p2x X coordinate of the end point.
+     * @param p2y Y coordinate of the end point.
+     * @param amount A value from 0 to 1 representing the position, as a percentage, of the desired point.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public static Vector2 getPointAtLine( double p1x, double p1y, double p2x, double p2y, double amount, Vector2 out ) {
 
         double x = p1x * ( 1.0 - amount ) + p2x * amount;
         double y = p1y * ( 1.0 - amount ) + p2y * amount;
 
-        return new Vector2( x, y );
+        return out.set( x, y );
         
     }
 
@@ -84,15 +99,34 @@ public interface CurveUtils {
      * @return The point within the curve.
      */
     public static Vector2 getPointAtQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, double amount ) {
+        return getPointAtQuadCurve( p1x, p1y, cx, cy, p2x, p2y, amount, new Vector2() );
+    }
 
-        double a = Math.pow( 1.0 - amount, 2 );
-        double b = 2.0 * ( 1.0 - amount ) * amount;
-        double c = Math.pow( amount, 2 );
+    /**
+     * Gets a point within a quadratic curve (quadratic Bézier curve),
+     * storing the result in the destination vector.
+     *
+     * @param p1x X coordinate of the start point.
+     * @param p1y Y coordinate of the start point.
+     * @param cx X coordinate of the control point.
+     * @param cy Y coordinate of the control point.
+     * @param p2x X coordinate of the end point.
+     * @param p2y Y coordinate of the end point.
+     * @param amount A value from 0 to 1 representing the position, as a percentage, of the desired point.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public static Vector2 getPointAtQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, double amount, Vector2 out ) {
+
+        double u = 1.0 - amount;
+        double a = u * u;
+        double b = 2.0 * u * amount;
+        double c = amount * amount;
 
         double x = a * p1x + b * cx + c * p2x;
         double y = a * p1y + b * cy + c * p2y;
 
-        return new Vector2( x, y );
+        return out.set( x, y );
 
     }
 
@@ -135,16 +169,37 @@ public interface CurveUtils {
      * @return The point within the curve.
      */
     public static Vector2 getPointAtCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, double amount ) {
+        return getPointAtCubicCurve( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y, amount, new Vector2() );
+    }
+
+    /**
+     * Gets a point within a cubic curve (cubic Bézier curve), storing the
+     * result in the destination vector.
+     *
+     * @param p1x X coordinate of the start point.
+     * @param p1y Y coordinate of the start point.
+     * @param c1x X coordinate of the first control point.
+     * @param c1y Y coordinate of the first control point.
+     * @param c2x X coordinate of the second control point.
+     * @param c2y Y coordinate of the second control point.
+     * @param p2x X coordinate of the end point.
+     * @param p2y Y coordinate of the end point.
+     * @param amount A value from 0 to 1 representing the position, as a percentage, of the desired point.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public static Vector2 getPointAtCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, double amount, Vector2 out ) {
 
-        double a = Math.pow( 1.0 - amount, 3 );
-        double b = 3.0 * Math.pow( 1.0 - amount, 2 ) * amount;
-        double c = 3.0 * ( 1.0 - amount ) * Math.pow( amount, 2 );
-        double d = Math.pow( amount, 3 );
+        double u = 1.0 - amount;
+        double a = u * u * u;
+        double b = 3.0 * u * u * amount;
+        double c = 3.0 * u * amount * amount;
+        double d = amount * amount * amount;
 
         double x = a * p1x + b * c1x + c * c2x + d * p2x;
         double y = a * p1y + b * c1y + c * c2y + d * p2y;
 
-        return new Vector2( x, y );
+        return out.set( x, y );
 
     }
 
@@ -173,6 +228,138 @@ public interface CurveUtils {
         return getPointAtCubicCurve( cubicCurve.x1, cubicCurve.y1, cubicCurve.c1x, cubicCurve.c1y, cubicCurve.c2x, cubicCurve.c2y, cubicCurve.x2, cubicCurve.y2, amount );
     }
     
+    /**
+     * Flattens a quadratic curve (quadratic Bézier curve) into a polyline by
+     * adaptive subdivision. Flat parts of the curve get few points and
+     * tight bends get more, and no point of the curve is farther than the
+     * tolerance from the polyline.
+     *
+     * @param p1x X coordinate of the start point.
+     * @param p1y Y coordinate of the start point.
+     * @param cx X coordinate of the control point.
+     * @param cy Y coordinate of the control point.
+     * @param p2x X coordinate of the end point.
+     * @param p2y Y coordinate of the end point.
+     * @param tolerance The maximum distance between the curve and the polyline.
+     * @param out The destination array, whose previous points are removed.
+     * @return The destination array.
+     */
+    public static Vector2Array flattenQuadCurve( double p1x, double p1y, double cx, double cy, double p2x, double p2y, double tolerance, Vector2Array out ) {
+
+        // a quadratic curve is a cubic curve with the control points at 2/3 of the way to the control point
+        return flattenCubicCurve(
+            p1x, p1y,
+            p1x + 2.0 / 3.0 * ( cx - p1x ), p1y + 2.0 / 3.0 * ( cy - p1y ),
+            p2x + 2.0 / 3.0 * ( cx - p2x ), p2y + 2.0 / 3.0 * ( cy - p2y ),
+            p2x, p2y, tolerance, out );
+
+    }
+
+    /**
+     * Flattens a quadratic curve (quadratic Bézier curve) into a polyline by
+     * adaptive subdivision.
+     *
+     * @param quadCurve A quadratic Bézier curve.
+     * @param tolerance The maximum distance between the curve and the polyline.
+     * @param out The destination array, whose previous points are removed.
+     * @return The destination array.
+     */
+    public static Vector2Array flattenQuadCurve( QuadCurve quadCurve, double tolerance, Vector2Array out ) {
+        return flattenQuadCurve( quadCurve.x1, quadCurve.y1, quadCurve.cx, quadCurve.cy, quadCurve.x2, quadCurve.y2, tolerance, out );
+    }
+
+    /**
+     * Flattens a cubic curve (cubic Bézier curve) into a polyline by
+     * adaptive subdivision. Flat parts of the curve get few points and
+     * tight bends get more, and no point of the curve is farther than the
+     * tolerance from the polyline.
+     *
+     * @param p1x X coordinate of the start point.
+     * @param p1y Y coordinate of the start point.
+     * @param c1x X coordinate of the first control point.
+     * @param c1y Y coordinate of the first control point.
+     * @param c2x X coordinate of the second control point.
+     * @param c2y Y coordinate of the second control point.
+     * @param p2x X coordinate of the end point.
+     * @param p2y Y coordinate of the end point.
+     * @param tolerance The maximum distance between the curve and the polyline.
+     * @param out The destination array, whose previous points are removed.
+     * @return The destination array.
+     */
+    public static Vector2Array flattenCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, double tolerance, Vector2Array out ) {
+
+        if ( !( tolerance > 0 ) ) {
+            throw new IllegalArgumentException( "the tolerance must be positive" );
+        }
+
+        out.clear();
+        out.add( p1x, p1y );
+        flattenCubicCurve( p1x, p1y, c1x, c1y, c2x, c2y, p2x, p2y, tolerance * tolerance, 0, out );
+
+        return out;
+
+    }
+
+    /**
+     * Flattens a cubic curve (cubic Bézier curve) into a polyline by
+     * adaptive subdivision.
+     *
+     * @param cubicCurve A cubic Bézier curve.
+     * @param tolerance The maximum distance between the curve and the polyline.
+     * @param out The destination array, whose previous points are removed.
+     * @return The destination array.
+     */
+    public static Vector2Array flattenCubicCurve( CubicCurve cubicCurve, double tolerance, Vector2Array out ) {
+        return flattenCubicCurve( cubicCurve.x1, cubicCurve.y1, cubicCurve.c1x, cubicCurve.c1y, cubicCurve.c2x, cubicCurve.c2y, cubicCurve.x2, cubicCurve.y2, tolerance, out );
+    }
+
+    /*
+     * The curve is inside the convex hull of its points, so it is flat
+     * enough when both control points are close enough to the chord. If not,
+     * it is split in half (de Casteljau) and each half is processed. The
+     * depth limit of 16 levels (65536 segments) stops degenerate input.
+     */
+    private static void flattenCubicCurve( double p1x, double p1y, double c1x, double c1y, double c2x, double c2y, double p2x, double p2y, double toleranceSq, int depth, Vector2Array out ) {
+
+        if ( depth == 16 ||
+             Math.max( segmentDistanceSq( c1x, c1y, p1x, p1y, p2x, p2y ),
+                       segmentDistanceSq( c2x, c2y, p1x, p1y, p2x, p2y ) ) <= toleranceSq ) {
+            out.add( p2x, p2y );
+            return;
+        }
+
+        double ax = ( p1x + c1x ) * 0.5;
+        double ay = ( p1y + c1y ) * 0.5;
+        double bx = ( c1x + c2x ) * 0.5;
+        double by = ( c1y + c2y ) * 0.5;
+        double cx = ( c2x + p2x ) * 0.5;
+        double cy = ( c2y + p2y ) * 0.5;
+        double abx = ( ax + bx ) * 0.5;
+        double aby = ( ay + by ) * 0.5;
+        double bcx = ( bx + cx ) * 0.5;
+        double bcy = ( by + cy ) * 0.5;
+        double mx = ( abx + bcx ) * 0.5;
+        double my = ( aby + bcy ) * 0.5;
+
+        flattenCubicCurve( p1x, p1y, ax, ay, abx, aby, mx, my, toleranceSq, depth + 1, out );
+        flattenCubicCurve( mx, my, bcx, bcy, cx, cy, p2x, p2y, toleranceSq, depth + 1, out );
+
+    }
+
+    private static double segmentDistanceSq( double px, double py, double ax, double ay, double bx, double by ) {
+
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq > 0 ? MathUtils.clamp( ( ( px - ax ) * dx + ( py - ay ) * dy ) / lengthSq, 0, 1 ) : 0;
+
+        double ex = ax + dx * t - px;
+        double ey = ay + dy * t - py;
+
+        return ex * ex + ey * ey;
+
+    }
+
     /**
      * Applies the Chaikin algorithm to a curve represented by a list of
      * points, returning a new list of points corresponding to the smoothed
@@ -218,52 +405,91 @@ public interface CurveUtils {
 
         // original comment: https://github.com/xstos/PolylineSmoothCSharp/blob/master/MainForm.cs
         // make a copy of the pointlist and feed it to the iteration
+        Vector2Array buffer = new Vector2Array( points.size() << ( iterations + 1 ) );
         for ( Vector2 point : points ) {
-            newList.add( new Vector2( point.x, point.y ) );
+            buffer.add( point );
         }
 
-        for ( int i = 0; i <= iterations; i++ ) {
-            newList = getSmootherChaikin( newList, cutdist );
+        smoothChaikin( buffer, cutdist, iterations );
+
+        for ( int i = 0; i < buffer.size(); i++ ) {
+            newList.add( buffer.get( i, new Vector2() ) );
         }
 
         return newList;
 
     }
-    
-    private static List<Vector2> getSmootherChaikin( List<Vector2> points, double cuttingDist ) {
-        
-        List<Vector2> newList = new ArrayList<>();
 
-        // original comment: https://github.com/xstos/PolylineSmoothCSharp/blob/master/MainForm.cs
-        // always add the first point
-        newList.add( new Vector2( points.get( 0 ).x, points.get( 0 ).y ) );
-        
-        for ( int i = 0; i < points.size() - 1; i++ ) {
-            
-            Vector2 p1 = points.get( i );
-            Vector2 p2 = points.get( i + 1 );
-            
-            Vector2 q = new Vector2(
-                ( 1 - cuttingDist ) * p1.x + cuttingDist * p2.x,
-                ( 1 - cuttingDist ) * p1.y + cuttingDist * p2.y
-            );
-            
-            Vector2 r = new Vector2(
-                cuttingDist * p1.x + ( 1 - cuttingDist ) * p2.x,
-                cuttingDist * p1.y + ( 1 - cuttingDist ) * p2.y
-            );
-            
-            newList.add( q );
-            newList.add( r );
-            
+    /**
+     * Applies the Chaikin algorithm to a curve represented by an array of
+     * points, storing the smoothed curve in the destination array. The
+     * destination can be the array of points itself, and the points are
+     * smoothed in place, with no other allocation than the growth of the
+     * destination.
+     *
+     * @param points Points to be processed.
+     * @param tension Tension [0..1]
+     * @param iterations Number of iterations [1..10]
+     * @param out The destination array, which is emptied if the array of
+     * points contains fewer than 3 points.
+     * @return The destination array.
+     */
+    public static Vector2Array getCurveSmoothingChaikin( Vector2Array points, double tension, int iterations, Vector2Array out ) {
+
+        if ( points.size() < 3 ) {
+            out.clear();
+            return out;
         }
 
-        // original comment: https://github.com/xstos/PolylineSmoothCSharp/blob/master/MainForm.cs
-        // always add the last point
-        newList.add( new Vector2( points.get( points.size() - 1 ).x, points.get( points.size() - 1 ).y ) );
+        iterations = MathUtils.clamp( iterations, 1, 10 );
+        tension = MathUtils.clamp( tension, 0, 1 );
+
+        if ( out != points ) {
+            out.resize( points.size() );
+            System.arraycopy( points.getXs(), 0, out.getXs(), 0, points.size() );
+            System.arraycopy( points.getYs(), 0, out.getYs(), 0, points.size() );
+        }
+
+        smoothChaikin( out, 0.05 + ( tension * 0.4 ), iterations );
+
+        return out;
+
+    }
+
+    /*
+     * Each pass keeps the first and last points and replaces every segment
+     * by two cut points, going from n to 2n points. Walking the segments
+     * backwards writes each pair after the points still to be read, so the
+     * pass needs no second buffer.
+     */
+    private static void smoothChaikin( Vector2Array points, double cuttingDist, int iterations ) {
+
+        for ( int pass = 0; pass <= iterations; pass++ ) {
+
+            int n = points.size();
+            points.resize( n * 2 );
+            double[] xs = points.getXs();
+            double[] ys = points.getYs();
+
+            xs[2 * n - 1] = xs[n - 1];
+            ys[2 * n - 1] = ys[n - 1];
+
+            for ( int i = n - 2; i >= 0; i-- ) {
+
+                double p1x = xs[i];
+                double p1y = ys[i];
+                double p2x = xs[i + 1];
+                double p2y = ys[i + 1];
+
+                xs[2 * i + 1] = ( 1 - cuttingDist ) * p1x + cuttingDist * p2x;
+                ys[2 * i + 1] = ( 1 - cuttingDist ) * p1y + cuttingDist * p2y;
+                xs[2 * i + 2] = cuttingDist * p1x + ( 1 - cuttingDist ) * p2x;
+                ys[2 * i + 2] = cuttingDist * p1y + ( 1 - cuttingDist ) * p2y;
+
+            }
+
+        }
 
-        return newList;
-        
     }
     
     /**
@@ -344,4 +570,73 @@ public interface CurveUtils {
             
     }
     
+    /**
+     * Applies the Catmull-Rom algorithm to a curve represented by an array
+     * of points, storing the smoothed curve in the destination array. The
+     * extrapolated first and last points are computed on the fly, so no
+     * copy of the points is made.
+     *
+     * @param points The array of points.
+     * @param interpolationPoints The number of interpolation points.
+     * @param out The destination array, which can't be the array of points.
+     * It is emptied if the array of points contains fewer than 3 points.
+     * @return The destination array.
+     */
+    public static Vector2Array getSplineInterpolationCatmullRom( Vector2Array points, int interpolationPoints, Vector2Array out ) {
+
+        if ( out == points ) {
+            throw new IllegalArgumentException( "the destination must not be the array of points" );
+        }
+
+        int n = points.size();
+
+        if ( n < 3 ) {
+            out.clear();
+            return out;
+        }
+
+        if ( interpolationPoints < 1 ) {
+            interpolationPoints = 1;
+        }
+
+        out.resize( ( n - 1 ) * interpolationPoints + 1 );
+        double[] xs = points.getXs();
+        double[] ys = points.getYs();
+        double[] oxs = out.getXs();
+        double[] oys = out.getYs();
+        int k = 0;
+
+        for ( int i = 0; i < n - 1; i++ ) {
+
+            // the points before the first and after the last are extrapolated
+            double i0x = i > 0 ? xs[i - 1] : 2 * xs[0] - xs[1];
+            double i0y = i > 0 ? ys[i - 1] : 2 * ys[0] - ys[1];
+            double i1x = xs[i];
+            double i1y = ys[i];
+            double i2x = xs[i + 1];
+            double i2y = ys[i + 1];
+            double i3x = i < n - 2 ? xs[i + 2] : 2 * xs[n - 1] - xs[n - 2];
+            double i3y = i < n - 2 ? ys[i + 2] : 2 * ys[n - 1] - ys[n - 2];
+
+            for ( int intp = 0; intp <= interpolationPoints - 1; intp++ ) {
+
+                double t = 1.0 / interpolationPoints * intp;
+                double t2 = t * t;
+                double t3 = t2 * t;
+
+                oxs[k] = 0.5 * ( 2 * i1x + ( -1 * i0x + i2x ) * t + ( 2 * i0x - 5 * i1x + 4 * i2x - i3x ) * t2 + ( -1 * i0x + 3 * i1x - 3 * i2x + i3x ) * t3 );
+                oys[k] = 0.5 * ( 2 * i1y + ( -1 * i0y + i2y ) * t + ( 2 * i0y - 5 * i1y + 4 * i2y - i3y ) * t2 + ( -1 * i0y + 3 * i1y - 3 * i2y + i3y ) * t3 );
+                k++;
+
+            }
+
+        }
+
+        oxs[k] = xs[n - 1];
+        oys[k] = ys[n - 1];
+
+        return out;
+
+    }
+    
 }
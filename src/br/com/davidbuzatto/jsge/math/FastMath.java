@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.math;
+
+/**
+ * Lookup tables and state of the fast math functions of MathUtils.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class FastMath {
+
+    /*
+     * The sine table samples a full turn in 4096 steps, with one extra entry
+     * so the interpolation never needs to wrap the upper index.
+     */
+    static final int SIN_BITS = 12;
+    static final int SIN_COUNT = 1 << SIN_BITS;
+    static final int SIN_MASK = SIN_COUNT - 1;
+    static final double RAD_TO_INDEX = SIN_COUNT / ( 2.0 * Math.PI );
+    static final double QUARTER_TURN = SIN_COUNT / 4.0;
+    static final double[] SIN_TABLE = new double[SIN_COUNT + 1];
+
+    static {
+        for ( int i = 0; i <= SIN_COUNT; i++ ) {
+            SIN_TABLE[i] = Math.sin( i * 2.0 * Math.PI / SIN_COUNT );
+        }
+    }
+
+    static boolean enabled;
+
+    private FastMath() {
+    }
+
+    static double sin( double index ) {
+        double floor = Math.floor( index );
+        int i = (int) ( (long) floor & SIN_MASK );
+        double a = SIN_TABLE[i];
+        return a + ( SIN_TABLE[i + 1] - a ) * ( index - floor );
+    }
+
+}
@@ -133,6 +133,142 @@ public interface MathUtils {
         return value - ( max - min ) * Math.floor( ( value - min ) / ( max - min ) );
     }
 
+    /**
+     * Enables or disables the fast math mode, which is disabled by default.
+     * When enabled, sin, cos and atan2 use the approximations fastSin,
+     * fastCos and fastAtan2 instead of the Math methods. The polygon, star
+     * and ring paths of DrawingUtils, the rotation of Vector2, the Turtle
+     * movements and the point-polygon collision checks use these methods,
+     * so they all follow the mode.
+     *
+     * @param fastMath True to use the approximations, false to use Math.
+     */
+    public static void setFastMath( boolean fastMath ) {
+        FastMath.enabled = fastMath;
+    }
+
+    /**
+     * Checks whether the fast math mode is enabled.
+     *
+     * @return True if the approximations are in use, false otherwise.
+     */
+    public static boolean isFastMath() {
+        return FastMath.enabled;
+    }
+
+    /**
+     * Calculates the sine of an angle (in radians), using fastSin when the
+     * fast math mode is enabled or Math.sin otherwise.
+     *
+     * @param angle The angle.
+     * @return The sine of the angle.
+     */
+    public static double sin( double angle ) {
+        return FastMath.enabled ? fastSin( angle ) : Math.sin( angle );
+    }
+
+    /**
+     * Calculates the cosine of an angle (in radians), using fastCos when the
+     * fast math mode is enabled or Math.cos otherwise.
+     *
+     * @param angle The angle.
+     * @return The cosine of the angle.
+     */
+    public static double cos( double angle ) {
+        return FastMath.enabled ? fastCos( angle ) : Math.cos( angle );
+    }
+
+    /**
+     * Calculates the angle of the point (x, y) in relation to the positive
+     * x axis, using fastAtan2 when the fast math mode is enabled or
+     * Math.atan2 otherwise.
+     *
+     * @param y The y coordinate.
+     * @param x The x coordinate.
+     * @return The angle, in radians, between -PI and PI.
+     */
+    public static double atan2( double y, double x ) {
+        return FastMath.enabled ? fastAtan2( y, x ) : Math.atan2( y, x );
+    }
+
+    /**
+     * Approximates the sine of an angle (in radians) by linear interpolation
+     * in a table of 4096 samples per turn. The absolute error is below
+     * 3e-7 while the magnitude of the angle is below 1e6 and grows with
+     * larger angles, as their fractional part loses precision.
+     *
+     * @param angle The angle.
+     * @return The approximated sine of the angle.
+     */
+    public static double fastSin( double angle ) {
+        return FastMath.sin( angle * FastMath.RAD_TO_INDEX );
+    }
+
+    /**
+     * Approximates the cosine of an angle (in radians) by linear
+     * interpolation in a table of 4096 samples per turn. The absolute error
+     * is below 3e-7 while the magnitude of the angle is below 1e6 and grows
+     * with larger angles, as their fractional part loses precision.
+     *
+     * @param angle The angle.
+     * @return The approximated cosine of the angle.
+     */
+    public static double fastCos( double angle ) {
+        return FastMath.sin( angle * FastMath.RAD_TO_INDEX + FastMath.QUARTER_TURN );
+    }
+
+    /**
+     * Approximates the inverse square root of a positive value, starting
+     * from a bit-level guess refined by two Newton-Raphson iterations. The
+     * relative error is below 5e-6. Zero, negative, infinite and NaN values
+     * give meaningless results.
+     *
+     * @param value The value.
+     * @return The approximated value of 1 / sqrt( value ).
+     */
+    public static double fastInverseSqrt( double value ) {
+        double half = 0.5 * value;
+        double result = Double.longBitsToDouble( 0x5FE6EB50C7B537A9L - ( Double.doubleToRawLongBits( value ) >> 1 ) );
+        result *= 1.5 - half * result * result;
+        result *= 1.5 - half * result * result;
+        return result;
+    }
+
+    /**
+     * Approximates the angle of the point (x, y) in relation to the positive
+     * x axis with a minimax polynomial for the arc tangent. The absolute
+     * error is below 1.2e-5 radians. The signs of zeros are ignored and
+     * atan2( 0, 0 ) is zero.
+     *
+     * @param y The y coordinate.
+     * @param x The x coordinate.
+     * @return The approximated angle, in radians, between -PI and PI.
+     */
+    public static double fastAtan2( double y, double x ) {
+
+        double ax = Math.abs( x );
+        double ay = Math.abs( y );
+        double max = Math.max( ax, ay );
+
+        if ( max == 0.0 ) {
+            return 0.0;
+        }
+
+        double z = Math.min( ax, ay ) / max;
+        double z2 = z * z;
+        double result = z * ( 0.9998660 + z2 * ( -0.3302995 + z2 * ( 0.1801410 + z2 * ( -0.0851330 + z2 * 0.0208351 ) ) ) );
+
+        if ( ay > ax ) {
+            result = Math.PI / 2.0 - result;
+        }
+        if ( x < 0.0 ) {
+            result = Math.PI - result;
+        }
+
+        return y < 0.0 ? -result : result;
+
+    }
+
     /**
      * Generates a pseudorandom number between min (inclusive) and max (inclusive).
      *
@@ -21,6 +21,11 @@ import java.io.Serializable;
 /**
  * A matrix.
  *
+ * The operations that return a matrix have a variant that receives a
+ * destination matrix and stores the result in it, instead of creating a
+ * new matrix. The destination can be one of the operands, so
+ * {@code a.multiply( b, a )} multiplies a by b in place.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public class Matrix implements Cloneable, Serializable {
@@ -110,6 +115,32 @@ public class Matrix implements Cloneable, Serializable {
         this.m11 = m11;
         this.m15 = m15;
     }
+
+    /**
+     * Copies the values of another matrix to the current matrix.
+     *
+     * @param m Another matrix.
+     * @return The current matrix.
+     */
+    public Matrix set( Matrix m ) {
+        m0 = m.m0;
+        m4 = m.m4;
+        m8 = m.m8;
+        m12 = m.m12;
+        m1 = m.m1;
+        m5 = m.m5;
+        m9 = m.m9;
+        m13 = m.m13;
+        m2 = m.m2;
+        m6 = m.m6;
+        m10 = m.m10;
+        m14 = m.m14;
+        m3 = m.m3;
+        m7 = m.m7;
+        m11 = m.m11;
+        m15 = m.m15;
+        return this;
+    }
     
     /**
      * Calculates the determinant of the matrix.
@@ -151,27 +182,38 @@ public class Matrix implements Cloneable, Serializable {
      * @return A new transposed matrix.
      */
     public Matrix transpose() {
-        
-        Matrix result = new Matrix();
-
-        result.m0 = m0;
-        result.m1 = m4;
-        result.m2 = m8;
-        result.m3 = m12;
-        result.m4 = m1;
-        result.m5 = m5;
-        result.m6 = m9;
-        result.m7 = m13;
-        result.m8 = m2;
-        result.m9 = m6;
-        result.m10 = m10;
-        result.m11 = m14;
-        result.m12 = m3;
-        result.m13 = m7;
-        result.m14 = m11;
-        result.m15 = m15;
-
-        return result;
+        return transpose( new Matrix() );
+    }
+    
+    /**
+     * Transposes the current matrix, storing the result in the destination matrix.
+     *
+     * @param out The destination matrix.
+     * @return The destination matrix.
+     */
+    public Matrix transpose( Matrix out ) {
+        
+        // reads every value first, since the destination can be this matrix
+        double a1 = m1, a2 = m2, a3 = m3, a6 = m6, a7 = m7, a11 = m11;
+
+        out.m0 = m0;
+        out.m1 = m4;
+        out.m2 = m8;
+        out.m3 = m12;
+        out.m4 = a1;
+        out.m5 = m5;
+        out.m6 = m9;
+        out.m7 = m13;
+        out.m8 = a2;
+        out.m9 = a6;
+        out.m10 = m10;
+        out.m11 = m14;
+        out.m12 = a3;
+        out.m13 = a7;
+        out.m14 = a11;
+        out.m15 = m15;
+
+        return out;
     
     }
     
@@ -181,8 +223,17 @@ public class Matrix implements Cloneable, Serializable {
      * @return A new inverted matrix.
      */
     public Matrix invert() {
+        return invert( new Matrix() );
+    }
+    
+    /**
+     * Inverts the current matrix, storing the result in the destination matrix.
+     *
+     * @param out The destination matrix.
+     * @return The destination matrix.
+     */
+    public Matrix invert( Matrix out ) {
         
-        Matrix result = new Matrix();
 
         double a00 = m0, a01 = m1, a02 = m2, a03 = m3;
         double a10 = m4, a11 = m5, a12 = m6, a13 = m7;
@@ -204,24 +255,24 @@ public class Matrix implements Cloneable, Serializable {
 
         double invDet = 1.0 / (b00*b11 - b01*b10 + b02*b09 + b03*b08 - b04*b07 + b05*b06);
 
-        result.m0 = (a11*b11 - a12*b10 + a13*b09)*invDet;
-        result.m1 = (-a01*b11 + a02*b10 - a03*b09)*invDet;
-        result.m2 = (a31*b05 - a32*b04 + a33*b03)*invDet;
-        result.m3 = (-a21*b05 + a22*b04 - a23*b03)*invDet;
-        result.m4 = (-a10*b11 + a12*b08 - a13*b07)*invDet;
-        result.m5 = (a00*b11 - a02*b08 + a03*b07)*invDet;
-        result.m6 = (-a30*b05 + a32*b02 - a33*b01)*invDet;
-        result.m7 = (a20*b05 - a22*b02 + a23*b01)*invDet;
-        result.m8 = (a10*b10 - a11*b08 + a13*b06)*invDet;
-        result.m9 = (-a00*b10 + a01*b08 - a03*b06)*invDet;
-        result.m10 = (a30*b04 - a31*b02 + a33*b00)*invDet;
-        result.m11 = (-a20*b04 + a21*b02 - a23*b00)*invDet;
-        result.m12 = (-a10*b09 + a11*b07 - a12*b06)*invDet;
-        result.m13 = (a00*b09 - a01*b07 + a02*b06)*invDet;
-        result.m14 = (-a30*b03 + a31*b01 - a32*b00)*invDet;
-        result.m15 = (a20*b03 - a21*b01 + a22*b00)*invDet;
-
-        return result;
+        out.m0 = (a11*b11 - a12*b10 + a13*b09)*invDet;
+        out.m1 = (-a01*b11 + a02*b10 - a03*b09)*invDet;
+        out.m2 = (a31*b05 - a32*b04 + a33*b03)*invDet;
+        out.m3 = (-a21*b05 + a22*b04 - a23*b03)*invDet;
+        out.m4 = (-a10*b11 + a12*b08 - a13*b07)*invDet;
+        out.m5 = (a00*b11 - a02*b08 + a03*b07)*invDet;
+        out.m6 = (-a30*b05 + a32*b02 - a33*b01)*invDet;
+        out.m7 = (a20*b05 - a22*b02 + a23*b01)*invDet;
+        out.m8 = (a10*b10 - a11*b08 + a13*b06)*invDet;
+        out.m9 = (-a00*b10 + a01*b08 - a03*b06)*invDet;
+        out.m10 = (a30*b04 - a31*b02 + a33*b00)*invDet;
+        out.m11 = (-a20*b04 + a21*b02 - a23*b00)*invDet;
+        out.m12 = (-a10*b09 + a11*b07 - a12*b06)*invDet;
+        out.m13 = (a00*b09 - a01*b07 + a02*b06)*invDet;
+        out.m14 = (-a30*b03 + a31*b01 - a32*b00)*invDet;
+        out.m15 = (a20*b03 - a21*b01 + a22*b00)*invDet;
+
+        return out;
         
     }
 
@@ -232,27 +283,37 @@ public class Matrix implements Cloneable, Serializable {
      * @return A new matrix resulting from the addition.
      */
     public Matrix add( Matrix m ) {
-        
-        Matrix result = new Matrix();
-
-        result.m0 = m0 + m.m0;
-        result.m1 = m1 + m.m1;
-        result.m2 = m2 + m.m2;
-        result.m3 = m3 + m.m3;
-        result.m4 = m4 + m.m4;
-        result.m5 = m5 + m.m5;
-        result.m6 = m6 + m.m6;
-        result.m7 = m7 + m.m7;
-        result.m8 = m8 + m.m8;
-        result.m9 = m9 + m.m9;
-        result.m10 = m10 + m.m10;
-        result.m11 = m11 + m.m11;
-        result.m12 = m12 + m.m12;
-        result.m13 = m13 + m.m13;
-        result.m14 = m14 + m.m14;
-        result.m15 = m15 + m.m15;
+        return add( m, new Matrix() );
+    }
 
-        return result;
+    /**
+     * Adds the current matrix to another matrix, storing the result in the destination matrix.
+     *
+     * @param m Another matrix.
+     * @param out The destination matrix.
+     * @return The destination matrix.
+     */
+    public Matrix add( Matrix m, Matrix out ) {
+        
+
+        out.m0 = m0 + m.m0;
+        out.m1 = m1 + m.m1;
+        out.m2 = m2 + m.m2;
+        out.m3 = m3 + m.m3;
+        out.m4 = m4 + m.m4;
+        out.m5 = m5 + m.m5;
+        out.m6 = m6 + m.m6;
+        out.m7 = m7 + m.m7;
+        out.m8 = m8 + m.m8;
+        out.m9 = m9 + m.m9;
+        out.m10 = m10 + m.m10;
+        out.m11 = m11 + m.m11;
+        out.m12 = m12 + m.m12;
+        out.m13 = m13 + m.m13;
+        out.m14 = m14 + m.m14;
+        out.m15 = m15 + m.m15;
+
+        return out;
     
     }
 
@@ -263,27 +324,37 @@ public class Matrix implements Cloneable, Serializable {
      * @return A new matrix resulting from the subtraction.
      */
     public Matrix subtract( Matrix m ) {
-        
-        Matrix result = new Matrix();
-
-        result.m0 = m0 - m.m0;
-        result.m1 = m1 - m.m1;
-        result.m2 = m2 - m.m2;
-        result.m3 = m3 - m.m3;
-        result.m4 = m4 - m.m4;
-        result.m5 = m5 - m.m5;
-        result.m6 = m6 - m.m6;
-        result.m7 = m7 - m.m7;
-        result.m8 = m8 - m.m8;
-        result.m9 = m9 - m.m9;
-        result.m10 = m10 - m.m10;
-        result.m11 = m11 - m.m11;
-        result.m12 = m12 - m.m12;
-        result.m13 = m13 - m.m13;
-        result.m14 = m14 - m.m14;
-        result.m15 = m15 - m.m15;
+        return subtract( m, new Matrix() );
+    }
 
-        return result;
+    /**
+     * Subtracts another matrix from the current matrix, storing the result in the destination matrix.
+     *
+     * @param m Another matrix.
+     * @param out The destination matrix.
+     * @return The destination matrix.
+     */
+    public Matrix subtract( Matrix m, Matrix out ) {
+        
+
+        out.m0 = m0 - m.m0;
+        out.m1 = m1 - m.m1;
+        out.m2 = m2 - m.m2;
+        out.m3 = m3 - m.m3;
+        out.m4 = m4 - m.m4;
+        out.m5 = m5 - m.m5;
+        out.m6 = m6 - m.m6;
+        out.m7 = m7 - m.m7;
+        out.m8 = m8 - m.m8;
+        out.m9 = m9 - m.m9;
+        out.m10 = m10 - m.m10;
+        out.m11 = m11 - m.m11;
+        out.m12 = m12 - m.m12;
+        out.m13 = m13 - m.m13;
+        out.m14 = m14 - m.m14;
+        out.m15 = m15 - m.m15;
+
+        return out;
         
     }
     
@@ -294,27 +365,46 @@ public class Matrix implements Cloneable, Serializable {
      * @return A new matrix with the result of the multiplication.
      */
     public Matrix multiply( Matrix m ) {
-        
-        Matrix result = new Matrix();
-
-        result.m0 = m0*m.m0 + m1*m.m4 + m2*m.m8 + m3*m.m12;
-        result.m1 = m0*m.m1 + m1*m.m5 + m2*m.m9 + m3*m.m13;
-        result.m2 = m0*m.m2 + m1*m.m6 + m2*m.m10 + m3*m.m14;
-        result.m3 = m0*m.m3 + m1*m.m7 + m2*m.m11 + m3*m.m15;
-        result.m4 = m4*m.m0 + m5*m.m4 + m6*m.m8 + m7*m.m12;
-        result.m5 = m4*m.m1 + m5*m.m5 + m6*m.m9 + m7*m.m13;
-        result.m6 = m4*m.m2 + m5*m.m6 + m6*m.m10 + m7*m.m14;
-        result.m7 = m4*m.m3 + m5*m.m7 + m6*m.m11 + m7*m.m15;
-        result.m8 = m8*m.m0 + m9*m.m4 + m10*m.m8 + m11*m.m12;
-        result.m9 = m8*m.m1 + m9*m.m5 + m10*m.m9 + m11*m.m13;
-        result.m10 = m8*m.m2 + m9*m.m6 + m10*m.m10 + m11*m.m14;
-        result.m11 = m8*m.m3 + m9*m.m7 + m10*m.m11 + m11*m.m15;
-        result.m12 = m12*m.m0 + m13*m.m4 + m14*m.m8 + m15*m.m12;
-        result.m13 = m12*m.m1 + m13*m.m5 + m14*m.m9 + m15*m.m13;
-        result.m14 = m12*m.m2 + m13*m.m6 + m14*m.m10 + m15*m.m14;
-        result.m15 = m12*m.m3 + m13*m.m7 + m14*m.m11 + m15*m.m15;
-
-        return result;
+        return multiply( m, new Matrix() );
+    }
+    
+    /**
+     * Multiplies the current matrix by the given matrix, storing the result in the destination matrix.
+     *
+     * @param m Another matrix.
+     * @param out The destination matrix.
+     * @return The destination matrix.
+     */
+    public Matrix multiply( Matrix m, Matrix out ) {
+        
+        // reads every value first, since the destination can be one of the operands
+        double a0 = m0, a1 = m1, a2 = m2, a3 = m3;
+        double a4 = m4, a5 = m5, a6 = m6, a7 = m7;
+        double a8 = m8, a9 = m9, a10 = m10, a11 = m11;
+        double a12 = m12, a13 = m13, a14 = m14, a15 = m15;
+        double b0 = m.m0, b1 = m.m1, b2 = m.m2, b3 = m.m3;
+        double b4 = m.m4, b5 = m.m5, b6 = m.m6, b7 = m.m7;
+        double b8 = m.m8, b9 = m.m9, b10 = m.m10, b11 = m.m11;
+        double b12 = m.m12, b13 = m.m13, b14 = m.m14, b15 = m.m15;
+
+        out.m0 = a0*b0 + a1*b4 + a2*b8 + a3*b12;
+        out.m1 = a0*b1 + a1*b5 + a2*b9 + a3*b13;
+        out.m2 = a0*b2 + a1*b6 + a2*b10 + a3*b14;
+        out.m3 = a0*b3 + a1*b7 + a2*b11 + a3*b15;
+        out.m4 = a4*b0 + a5*b4 + a6*b8 + a7*b12;
+        out.m5 = a4*b1 + a5*b5 + a6*b9 + a7*b13;
+        out.m6 = a4*b2 + a5*b6 + a6*b10 + a7*b14;
+        out.m7 = a4*b3 + a5*b7 + a6*b11 + a7*b15;
+        out.m8 = a8*b0 + a9*b4 + a10*b8 + a11*b12;
+        out.m9 = a8*b1 + a9*b5 + a10*b9 + a11*b13;
+        out.m10 = a8*b2 + a9*b6 + a10*b10 + a11*b14;
+        out.m11 = a8*b3 + a9*b7 + a10*b11 + a11*b15;
+        out.m12 = a12*b0 + a13*b4 + a14*b8 + a15*b12;
+        out.m13 = a12*b1 + a13*b5 + a14*b9 + a15*b13;
+        out.m14 = a12*b2 + a13*b6 + a14*b10 + a15*b14;
+        out.m15 = a12*b3 + a13*b7 + a14*b11 + a15*b15;
+
+        return out;
         
     }
     
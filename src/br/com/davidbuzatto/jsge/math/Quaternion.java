@@ -21,6 +21,11 @@ import java.io.Serializable;
 /**
  * Class for representing a quaternion.
  *
+ * The operations that return a quaternion have a variant that receives a
+ * destination quaternion and stores the result in it, instead of creating
+ * a new quaternion. The destination can be the current quaternion itself,
+ * so {@code q.multiply( r, q )} multiplies q by r in place.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public class Quaternion implements Cloneable, Serializable {
@@ -68,6 +73,37 @@ public class Quaternion implements Cloneable, Serializable {
         this.w = w;
     }
 
+    /**
+     * Sets the components of the current quaternion.
+     *
+     * @param x x coordinate.
+     * @param y y coordinate.
+     * @param z z coordinate.
+     * @param w w coordinate.
+     * @return The current quaternion.
+     */
+    public Quaternion set( double x, double y, double z, double w ) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    /**
+     * Copies the components of another quaternion to the current quaternion.
+     *
+     * @param q Another quaternion.
+     * @return The current quaternion.
+     */
+    public Quaternion set( Quaternion q ) {
+        x = q.x;
+        y = q.y;
+        z = q.z;
+        w = q.w;
+        return this;
+    }
+
     /**
      * Adds the current quaternion to another quaternion.
      *
@@ -75,7 +111,18 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new quaternion resulting from the addition.
      */
     public Quaternion add( Quaternion q ) {
-        return new Quaternion( x + q.x, y + q.y, z + q.z, w + q.w );
+        return add( q, new Quaternion() );
+    }
+
+    /**
+     * Adds the current quaternion to another quaternion, storing the result in the destination quaternion.
+     *
+     * @param q Another quaternion.
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion add( Quaternion q, Quaternion out ) {
+        return out.set( x + q.x, y + q.y, z + q.z, w + q.w );
     }
     
     /**
@@ -85,7 +132,18 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new quaternion with the components added to the given value.
      */
     public Quaternion addValue( double value ) {
-        return new Quaternion( x + value, y + value, z + value, w + value );
+        return addValue( value, new Quaternion() );
+    }
+
+    /**
+     * Adds a value to the current quaternion, storing the result in the destination quaternion.
+     *
+     * @param value The value to add.
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion addValue( double value, Quaternion out ) {
+        return out.set( x + value, y + value, z + value, w + value );
     }
     
     /**
@@ -95,7 +153,18 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new quaternion resulting from the subtraction.
      */
     public Quaternion subtract( Quaternion q ) {
-        return new Quaternion( x - q.x, y - q.y, z - q.z, w - q.w );
+        return subtract( q, new Quaternion() );
+    }
+
+    /**
+     * Subtracts a quaternion from the current quaternion, storing the result in the destination quaternion.
+     *
+     * @param q Another quaternion.
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion subtract( Quaternion q, Quaternion out ) {
+        return out.set( x - q.x, y - q.y, z - q.z, w - q.w );
     }
     
     /**
@@ -105,7 +174,18 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new quaternion with the components subtracted by the given value.
      */
     public Quaternion subtractValue( double value ) {
-        return new Quaternion( x - value, y - value, z - value, w - value );
+        return subtractValue( value, new Quaternion() );
+    }
+
+    /**
+     * Subtracts a value from the current quaternion, storing the result in the destination quaternion.
+     *
+     * @param value The value to subtract.
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion subtractValue( double value, Quaternion out ) {
+        return out.set( x - value, y - value, z - value, w - value );
     }
     
     /**
@@ -123,8 +203,17 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new normalized quaternion.
      */
     public Quaternion normalize() {
+        return normalize( new Quaternion() );
+    }
+
+    /**
+     * Normalizes the quaternion vector, storing the result in the destination quaternion.
+     *
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion normalize( Quaternion out ) {
 
-        Quaternion result = new Quaternion();
         double length = Math.sqrt( x * x + y * y + z * z + w * w );
 
         if ( length == 0.0 ) {
@@ -132,12 +221,12 @@ public class Quaternion implements Cloneable, Serializable {
         }
         
         double ilength = 1.0 / length;
-        result.x = x * ilength;
-        result.y = y * ilength;
-        result.z = z * ilength;
-        result.w = w * ilength;
+        double resultX = x * ilength;
+        double resultY = y * ilength;
+        double resultZ = z * ilength;
+        double resultW = w * ilength;
 
-        return result;
+        return out.set( resultX, resultY, resultZ, resultW );
 
     }
     
@@ -147,20 +236,25 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new inverted quaternion.
      */
     public Quaternion invert() {
+        return invert( new Quaternion() );
+    }
+    
+    /**
+     * Inverts the current quaternion, storing the result in the destination quaternion.
+     *
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion invert( Quaternion out ) {
         
-        Quaternion result = new Quaternion( x, y, z, w );
-
         double lengthSq = x * x + y * y + z * z + w * w;
 
         if ( lengthSq != 0.0 ) {
             double invLength = 1.0/lengthSq;
-            result.x *= -invLength;
-            result.y *= -invLength;
-            result.z *= -invLength;
-            result.w *= invLength;
+            return out.set( x * -invLength, y * -invLength, z * -invLength, w * invLength );
         }
 
-        return result;
+        return out.set( x, y, z, w );
     
     }
     
@@ -171,18 +265,27 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new quaternion with the result of the multiplication.
      */
     public Quaternion multiply( Quaternion q ) {
-        
-        Quaternion result = new Quaternion();
+        return multiply( q, new Quaternion() );
+    }
+
+    /**
+     * Multiplies the current quaternion by another quaternion, storing the result in the destination quaternion.
+     *
+     * @param q Another quaternion.
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion multiply( Quaternion q, Quaternion out ) {
 
         double qax = x, qay = y, qaz = z, qaw = w;
         double qbx = q.x, qby = q.y, qbz = q.z, qbw = q.w;
 
-        result.x = qax * qbw + qaw * qbx + qay * qbz - qaz * qby;
-        result.y = qay * qbw + qaw * qby + qaz * qbx - qax * qbz;
-        result.z = qaz * qbw + qaw * qbz + qax * qby - qay * qbx;
-        result.w = qaw * qbw - qax * qbx - qay * qby - qaz * qbz;
+        double resultX = qax * qbw + qaw * qbx + qay * qbz - qaz * qby;
+        double resultY = qay * qbw + qaw * qby + qaz * qbx - qax * qbz;
+        double resultZ = qaz * qbw + qaw * qbz + qax * qby - qay * qbx;
+        double resultW = qaw * qbw - qax * qbx - qay * qby - qaz * qbz;
 
-        return result;
+        return out.set( resultX, resultY, resultZ, resultW );
     
     }
     
@@ -193,7 +296,18 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new scaled quaternion.
      */
     public Quaternion scale( double scale ) {
-        return new Quaternion( x * scale, y * scale, z * scale, w * scale );
+        return scale( scale, new Quaternion() );
+    }
+
+    /**
+     * Scales the current quaternion, analogous to scalar multiplication, storing the result in the destination quaternion.
+     *
+     * @param scale The scale.
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion scale( double scale, Quaternion out ) {
+        return out.set( x * scale, y * scale, z * scale, w * scale );
     }
     
     /**
@@ -203,7 +317,18 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new quaternion with the result of the division.
      */
     public Quaternion divide( Quaternion q ) {
-        return new Quaternion( x / q.x, y / q.y, z / q.z, w / q.w );
+        return divide( q, new Quaternion() );
+    }
+
+    /**
+     * Divides the current quaternion by another quaternion, storing the result in the destination quaternion.
+     *
+     * @param q Another quaternion.
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion divide( Quaternion q, Quaternion out ) {
+        return out.set( x / q.x, y / q.y, z / q.z, w / q.w );
     }
     
     /**
@@ -214,7 +339,19 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A quaternion representing the linear interpolation between two quaternions.
      */
     public Quaternion lerp( Quaternion end, double amount ) {
-        return new Quaternion( 
+        return lerp( end, amount, new Quaternion() );
+    }
+
+    /**
+     * Performs linear interpolation between the current quaternion (start) and another quaternion (end), storing the result in the destination quaternion.
+     *
+     * @param end End quaternion.
+     * @param amount Amount (0 to 1)
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion lerp( Quaternion end, double amount, Quaternion out ) {
+        return out.set( 
             this.x + ( end.x - this.x ) * amount,
             this.y + ( end.y - this.y ) * amount,
             this.z + ( end.z - this.z ) * amount,
@@ -230,27 +367,31 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A quaternion representing the normalized linear interpolation between two quaternions.
      */
     public Quaternion normalizedLerp( Quaternion end, double amount ) {
+        return normalizedLerp( end, amount, new Quaternion() );
+    }
+    
+    /**
+     * Performs normalized linear interpolation between the current quaternion (start) and another quaternion (end), storing the result in the destination quaternion.
+     *
+     * @param end End quaternion.
+     * @param amount Amount (0 to 1)
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion normalizedLerp( Quaternion end, double amount, Quaternion out ) {
         
-        Quaternion result = new Quaternion( 
-            this.x + ( end.x - this.x ) * amount,
-            this.y + ( end.y - this.y ) * amount,
-            this.z + ( end.z - this.z ) * amount,
-            this.w + ( end.w - this.w ) * amount
-        );
+        double qx = this.x + ( end.x - this.x ) * amount;
+        double qy = this.y + ( end.y - this.y ) * amount;
+        double qz = this.z + ( end.z - this.z ) * amount;
+        double qw = this.w + ( end.w - this.w ) * amount;
         
-        Quaternion q = new Quaternion( result.x, result.y, result.z, result.w );
-        double length = Math.sqrt( q.x * q.x + q.y * q.y + q.z * q.z + q.w * q.w );
+        double length = Math.sqrt( qx * qx + qy * qy + qz * qz + qw * qw );
         if ( length == 0.0 ) {
             length = 1.0;
         }
         double ilength = 1.0 / length;
 
-        result.x = q.x * ilength;
-        result.y = q.y * ilength;
-        result.z = q.z * ilength;
-        result.w = q.w * ilength;
-        
-        return result;
+        return out.set( qx * ilength, qy * ilength, qz * ilength, qw * ilength );
         
     }
     
@@ -348,9 +489,17 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new matrix of the current quaternion.
      */
     public Matrix toMatrix() {
+        return toMatrix( new Matrix() );
+    }
+    
+    /**
+     * Gets the matrix of the current quaternion, storing it in the destination matrix.
+     *
+     * @param out The destination matrix.
+     * @return The destination matrix.
+     */
+    public Matrix toMatrix( Matrix out ) {
         
-        Matrix result = Matrix.identity();
-
         double a2 = x * x;
         double b2 = y * y;
         double c2 = z * z;
@@ -361,19 +510,27 @@ public class Quaternion implements Cloneable, Serializable {
         double bd = w * y;
         double cd = w * z;
 
-        result.m0 = 1 - 2 * (b2 + c2);
-        result.m1 = 2 * (ab + cd);
-        result.m2 = 2 * (ac - bd);
+        out.m0 = 1 - 2 * (b2 + c2);
+        out.m1 = 2 * (ab + cd);
+        out.m2 = 2 * (ac - bd);
 
-        result.m4 = 2 * (ab - cd);
-        result.m5 = 1 - 2 * (a2 + c2);
-        result.m6 = 2 * (bc + ad);
+        out.m4 = 2 * (ab - cd);
+        out.m5 = 1 - 2 * (a2 + c2);
+        out.m6 = 2 * (bc + ad);
 
-        result.m8 = 2 * (ac + bd);
-        result.m9 = 2 * (bc - ad);
-        result.m10 = 1 - 2 * (a2 + b2);
+        out.m8 = 2 * (ac + bd);
+        out.m9 = 2 * (bc - ad);
+        out.m10 = 1 - 2 * (a2 + b2);
 
-        return result;
+        out.m3 = 0.0;
+        out.m7 = 0.0;
+        out.m11 = 0.0;
+        out.m12 = 0.0;
+        out.m13 = 0.0;
+        out.m14 = 0.0;
+        out.m15 = 1.0;
+
+        return out;
     
     }
     
@@ -424,23 +581,31 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A vector containing the Euler angles. x = roll (rotation in x), y = pitch (rotation in y) and z = yaw (rotation in z).
      */
     public Vector3 toEuler() {
+        return toEuler( new Vector3() );
+    }
+    
+    /**
+     * Gets the Euler angles in radians (roll, pitch, and yaw)
+     * equivalent to the current quaternion, storing them in the destination vector.
+     * @param out The destination vector.
+     * @return The destination vector. x = roll (rotation in x), y = pitch (rotation in y) and z = yaw (rotation in z).
+     */
+    public Vector3 toEuler( Vector3 out ) {
         
-        Vector3 result = new Vector3();
-
         double x0 = 2.0 * (w * x + y * z);
         double x1 = 1.0 - 2.0 * (x * x + y * y);
-        result.x = Math.atan2( x0, x1 );
+        out.x = Math.atan2( x0, x1 );
 
         double y0 = 2.0 * (w * y - z * x);
         y0 = y0 > 1.0 ? 1.0 : y0;
         y0 = y0 < -1.0 ? -1.0 : y0;
-        result.y = Math.asin( y0 );
+        out.y = Math.asin( y0 );
 
         double z0 = 2.0 * (w * z + x * y);
         double z1 = 1.0 - 2.0 * (y * y + z * z);
-        result.z = Math.atan2( z0, z1 );
+        out.z = Math.atan2( z0, z1 );
 
-        return result;
+        return out;
     
     }
     
@@ -451,15 +616,24 @@ public class Quaternion implements Cloneable, Serializable {
      * @return A new transformed quaternion.
      */
     public Quaternion transform( Matrix mat ) {
-        
-        Quaternion result = new Quaternion();
+        return transform( mat, new Quaternion() );
+    }
+
+    /**
+     * Transforms the current quaternion by a given matrix, storing the result in the destination quaternion.
+     *
+     * @param mat The matrix.
+     * @param out The destination quaternion.
+     * @return The destination quaternion.
+     */
+    public Quaternion transform( Matrix mat, Quaternion out ) {
 
-        result.x = mat.m0 * x + mat.m4 * y + mat.m8 * z + mat.m12 * w;
-        result.y = mat.m1 * x + mat.m5 * y + mat.m9 * z + mat.m13 * w;
-        result.z = mat.m2 * x + mat.m6 * y + mat.m10 * z + mat.m14 * w;
-        result.w = mat.m3 * x + mat.m7 * y + mat.m11 * z + mat.m15 * w;
+        double resultX = mat.m0 * x + mat.m4 * y + mat.m8 * z + mat.m12 * w;
+        double resultY = mat.m1 * x + mat.m5 * y + mat.m9 * z + mat.m13 * w;
+        double resultZ = mat.m2 * x + mat.m6 * y + mat.m10 * z + mat.m14 * w;
+        double resultW = mat.m3 * x + mat.m7 * y + mat.m11 * z + mat.m15 * w;
 
-        return result;
+        return out.set( resultX, resultY, resultZ, resultW );
         
     }
     
@@ -22,6 +22,11 @@ import java.io.Serializable;
  * Class for representing a two-dimensional vector.
  * Also used to represent 2D points in various parts of the Engine API.
  *
+ * The operations that return a vector have a variant that receives a
+ * destination vector and stores the result in it, instead of creating a
+ * new vector. The destination can be the current vector itself, so
+ * {@code v.add( w, v )} adds w to v in place.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public class Vector2 implements Cloneable, Serializable {
@@ -55,6 +60,31 @@ public class Vector2 implements Cloneable, Serializable {
         this.y = y;
     }
 
+    /**
+     * Sets the components of the current vector.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @return The current vector.
+     */
+    public Vector2 set( double x, double y ) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Copies the components of another vector to the current vector.
+     *
+     * @param v Another vector.
+     * @return The current vector.
+     */
+    public Vector2 set( Vector2 v ) {
+        x = v.x;
+        y = v.y;
+        return this;
+    }
+
     /**
      * Adds the current vector to another vector.
      *
@@ -62,7 +92,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector resulting from the addition.
      */
     public Vector2 add( Vector2 v ) {
-        return new Vector2( x + v.x, y + v.y );
+        return add( v, new Vector2() );
+    }
+
+    /**
+     * Adds the current vector to another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 add( Vector2 v, Vector2 out ) {
+        return out.set( x + v.x, y + v.y );
     }
 
     /**
@@ -73,7 +114,19 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector resulting from the addition.
      */
     public Vector2 add( double x, double y ) {
-        return new Vector2( this.x + x, this.y + y );
+        return add( x, y, new Vector2() );
+    }
+
+    /**
+     * Adds the given components to the current vector, storing the result in the destination vector.
+     *
+     * @param x The x component to add.
+     * @param y The y component to add.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 add( double x, double y, Vector2 out ) {
+        return out.set( this.x + x, this.y + y );
     }
 
     /**
@@ -83,7 +136,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the components added to the given value.
      */
     public Vector2 addValue( double value ) {
-        return new Vector2( x + value, y + value );
+        return addValue( value, new Vector2() );
+    }
+
+    /**
+     * Adds a value to the current vector, storing the result in the destination vector.
+     *
+     * @param value The value to add.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 addValue( double value, Vector2 out ) {
+        return out.set( x + value, y + value );
     }
 
     /**
@@ -93,7 +157,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector resulting from the subtraction.
      */
     public Vector2 subtract( Vector2 v ) {
-        return new Vector2( x - v.x, y - v.y );
+        return subtract( v, new Vector2() );
+    }
+
+    /**
+     * Subtracts a vector from the current vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 subtract( Vector2 v, Vector2 out ) {
+        return out.set( x - v.x, y - v.y );
     }
 
     /**
@@ -104,7 +179,19 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector resulting from the subtraction.
      */
     public Vector2 subtract( double x, double y ) {
-        return new Vector2( this.x - x, this.y - y );
+        return subtract( x, y, new Vector2() );
+    }
+
+    /**
+     * Subtracts the given components from the current vector, storing the result in the destination vector.
+     *
+     * @param x The x component to subtract.
+     * @param y The y component to subtract.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 subtract( double x, double y, Vector2 out ) {
+        return out.set( this.x - x, this.y - y );
     }
 
     /**
@@ -114,7 +201,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the components subtracted by the given value.
      */
     public Vector2 subtractValue( double value ) {
-        return new Vector2( x - value, y - value );
+        return subtractValue( value, new Vector2() );
+    }
+
+    /**
+     * Subtracts a value from the current vector, storing the result in the destination vector.
+     *
+     * @param value The value to subtract.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 subtractValue( double value, Vector2 out ) {
+        return out.set( x - value, y - value );
     }
     
     /**
@@ -124,7 +222,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new scaled vector.
      */
     public Vector2 scale( double scale ) {
-        return new Vector2( x * scale, y * scale );
+        return scale( scale, new Vector2() );
+    }
+
+    /**
+     * Scales the current vector, storing the result in the destination vector.
+     *
+     * @param scale The scale.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 scale( double scale, Vector2 out ) {
+        return out.set( x * scale, y * scale );
     }
 
     /**
@@ -135,7 +244,19 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new scaled vector.
      */
     public Vector2 scale( double x, double y ) {
-        return new Vector2( this.x * x, this.y * y );
+        return scale( x, y, new Vector2() );
+    }
+
+    /**
+     * Scales the current vector independently per component, storing the result in the destination vector.
+     *
+     * @param x The scale factor for the x component.
+     * @param y The scale factor for the y component.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 scale( double x, double y, Vector2 out ) {
+        return out.set( this.x * x, this.y * y );
     }
 
     /**
@@ -145,7 +266,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the result of the multiplication.
      */
     public Vector2 multiply( Vector2 v ) {
-        return new Vector2( x * v.x, y * v.y );
+        return multiply( v, new Vector2() );
+    }
+
+    /**
+     * Multiplies the current vector by another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 multiply( Vector2 v, Vector2 out ) {
+        return out.set( x * v.x, y * v.y );
     }
 
     /**
@@ -156,7 +288,19 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the result of the multiplication.
      */
     public Vector2 multiply( double x, double y ) {
-        return new Vector2( this.x * x, this.y * y );
+        return multiply( x, y, new Vector2() );
+    }
+
+    /**
+     * Multiplies the current vector by the given components, storing the result in the destination vector.
+     *
+     * @param x The x component to multiply by.
+     * @param y The y component to multiply by.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 multiply( double x, double y, Vector2 out ) {
+        return out.set( this.x * x, this.y * y );
     }
 
     /**
@@ -255,7 +399,17 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the negation of the current vector.
      */
     public Vector2 negate() {
-        return new Vector2( -x, -y );
+        return negate( new Vector2() );
+    }
+
+    /**
+     * Negates the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 negate( Vector2 out ) {
+        return out.set( -x, -y );
     }
 
     /**
@@ -265,7 +419,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the result of the division.
      */
     public Vector2 divide( Vector2 v ) {
-        return new Vector2( x / v.x, y / v.y );
+        return divide( v, new Vector2() );
+    }
+
+    /**
+     * Divides the current vector by another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 divide( Vector2 v, Vector2 out ) {
+        return out.set( x / v.x, y / v.y );
     }
 
     /**
@@ -276,7 +441,19 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the result of the division.
      */
     public Vector2 divide( double x, double y ) {
-        return new Vector2( this.x / x, this.y / y );
+        return divide( x, y, new Vector2() );
+    }
+
+    /**
+     * Divides the current vector by the given components, storing the result in the destination vector.
+     *
+     * @param x The x component to divide by.
+     * @param y The y component to divide by.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 divide( double x, double y, Vector2 out ) {
+        return out.set( this.x / x, this.y / y );
     }
 
     /**
@@ -285,17 +462,25 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new normalized vector.
      */
     public Vector2 normalize() {
+        return normalize( new Vector2() );
+    }
+
+    /**
+     * Normalizes the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 normalize( Vector2 out ) {
 
-        Vector2 result = new Vector2();
         double length = Math.sqrt( x * x + y * y );
 
         if ( length > 0.0 ) {
             double ilength = 1.0 / length;
-            result.x = x * ilength;
-            result.y = y * ilength;
+            return out.set( x * ilength, y * ilength );
         }
 
-        return result;
+        return out.set( 0, 0 );
 
     }
 
@@ -306,15 +491,24 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new transformed vector.
      */
     public Vector2 transform( Matrix mat ) {
-        
-        Vector2 result = new Vector2();
+        return transform( mat, new Vector2() );
+    }
 
+    /**
+     * Transforms the current vector by a given matrix, storing the result in the destination vector.
+     *
+     * @param mat The matrix.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 transform( Matrix mat, Vector2 out ) {
+        
         double z = 0;
 
-        result.x = mat.m0*x + mat.m4*y + mat.m8*z + mat.m12;
-        result.y = mat.m1*x + mat.m5*y + mat.m9*z + mat.m13;
-
-        return result;
+        return out.set(
+            mat.m0*x + mat.m4*y + mat.m8*z + mat.m12,
+            mat.m1*x + mat.m5*y + mat.m9*z + mat.m13
+        );
         
     }
 
@@ -326,7 +520,19 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A vector representing the linear interpolation between two vectors.
      */
     public Vector2 lerp( Vector2 end, double amount ) {
-        return new Vector2(
+        return lerp( end, amount, new Vector2() );
+    }
+
+    /**
+     * Performs linear interpolation between the current vector (start) and another vector (end), storing the result in the destination vector.
+     *
+     * @param end End vector.
+     * @param amount Amount (0 to 1)
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 lerp( Vector2 end, double amount, Vector2 out ) {
+        return out.set(
             this.x + ( end.x - this.x ) * amount,
             this.y + ( end.y - this.y ) * amount
         );
@@ -339,15 +545,24 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new reflected vector.
      */
     public Vector2 reflect( Vector2 normal ) {
+        return reflect( normal, new Vector2() );
+    }
 
-        Vector2 result = new Vector2();
+    /**
+     * Calculates the reflection of the current vector by a normal vector, storing the result in the destination vector.
+     *
+     * @param normal Normal vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 reflect( Vector2 normal, Vector2 out ) {
 
         double dotProduct = ( x * normal.x + y * normal.y ); // dot product
 
-        result.x = x - ( 2.0 * normal.x ) * dotProduct;
-        result.y = y - ( 2.0 * normal.y ) * dotProduct;
-
-        return result;
+        return out.set(
+            x - ( 2.0 * normal.x ) * dotProduct,
+            y - ( 2.0 * normal.y ) * dotProduct
+        );
 
     }
 
@@ -358,14 +573,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the minimum of each component.
      */
     public Vector2 min( Vector2 v ) {
+        return min( v, new Vector2() );
+    }
 
-        Vector2 result = new Vector2();
-
-        result.x = Math.min( x, v.x );
-        result.y = Math.min( y, v.y );
-
-        return result;
-
+    /**
+     * Stores the minimum of each component in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 min( Vector2 v, Vector2 out ) {
+        return out.set( Math.min( x, v.x ), Math.min( y, v.y ) );
     }
 
     /**
@@ -375,14 +594,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the maximum of each component.
      */
     public Vector2 max( Vector2 v ) {
+        return max( v, new Vector2() );
+    }
 
-        Vector2 result = new Vector2();
-
-        result.x = Math.max( x, v.x );
-        result.y = Math.max( y, v.y );
-
-        return result;
-
+    /**
+     * Stores the maximum of each component in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 max( Vector2 v, Vector2 out ) {
+        return out.set( Math.max( x, v.x ), Math.max( y, v.y ) );
     }
 
     /**
@@ -392,16 +615,22 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new rotated vector.
      */
     public Vector2 rotate( double angle ) {
+        return rotate( angle, new Vector2() );
+    }
 
-        Vector2 result = new Vector2();
-
-        double cos = Math.cos( angle );
-        double sin = Math.sin( angle );
+    /**
+     * Rotates the current vector by an angle (in radians), storing the result in the destination vector.
+     *
+     * @param angle The angle.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 rotate( double angle, Vector2 out ) {
 
-        result.x = x * cos - y * sin;
-        result.y = x * sin + y * cos;
+        double cos = MathUtils.cos( angle );
+        double sin = MathUtils.sin( angle );
 
-        return result;
+        return out.set( x * cos - y * sin, x * sin + y * cos );
 
     }
 
@@ -413,23 +642,30 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector moved towards the target.
      */
     public Vector2 moveTowards( Vector2 target, double maxDistance ) {
+        return moveTowards( target, maxDistance, new Vector2() );
+    }
 
-        Vector2 result = new Vector2();
+    /**
+     * Moves the current vector towards a target, storing the result in the destination vector.
+     *
+     * @param target The target.
+     * @param maxDistance The maximum distance.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 moveTowards( Vector2 target, double maxDistance, Vector2 out ) {
 
         double dx = target.x - x;
         double dy = target.y - y;
         double value = dx * dx + dy * dy;
 
         if ( ( value == 0 ) || ( ( maxDistance >= 0 ) && ( value <= maxDistance * maxDistance ) ) ) {
-            return new Vector2( target.x, target.y );
+            return out.set( target.x, target.y );
         }
 
         double dist = Math.sqrt( value );
 
-        result.x = x + dx / dist * maxDistance;
-        result.y = y + dy / dist * maxDistance;
-
-        return result;
+        return out.set( x + dx / dist * maxDistance, y + dy / dist * maxDistance );
 
     }
 
@@ -439,7 +675,17 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new inverted vector.
      */
     public Vector2 invert() {
-        return new Vector2( 1.0 / x, 1.0 / y );
+        return invert( new Vector2() );
+    }
+
+    /**
+     * Inverts the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 invert( Vector2 out ) {
+        return out.set( 1.0 / x, 1.0 / y );
     }
 
     /**
@@ -450,14 +696,22 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector clamped between the minimum and maximum vectors.
      */
     public Vector2 clamp( Vector2 min, Vector2 max ) {
+        return clamp( min, max, new Vector2() );
+    }
 
-        Vector2 result = new Vector2();
-
-        result.x = Math.min( max.x, Math.max( min.x, x ) );
-        result.y = Math.min( max.y, Math.max( min.y, y ) );
-
-        return result;
-
+    /**
+     * Clamps the current vector between two vectors, storing the result in the destination vector.
+     *
+     * @param min The minimum vector.
+     * @param max The maximum vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 clamp( Vector2 min, Vector2 max, Vector2 out ) {
+        return out.set(
+            Math.min( max.x, Math.max( min.x, x ) ),
+            Math.min( max.y, Math.max( min.y, y ) )
+        );
     }
 
     /**
@@ -468,8 +722,18 @@ public class Vector2 implements Cloneable, Serializable {
      * @return A new vector with the clamped magnitude.
      */
     public Vector2 clampValue( double min, double max ) {
+        return clampValue( min, max, new Vector2() );
+    }
 
-        Vector2 result = new Vector2( x, y );
+    /**
+     * Clamps the magnitude of the current vector between minimum and maximum, storing the result in the destination vector.
+     *
+     * @param min The minimum value.
+     * @param max The maximum value.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 clampValue( double min, double max, Vector2 out ) {
 
         double length = x * x + y * y;
 
@@ -484,12 +748,11 @@ public class Vector2 implements Cloneable, Serializable {
                 scale = max / length;
             }
 
-            result.x = x * scale;
-            result.y = y * scale;
+            return out.set( x * scale, y * scale );
 
         }
 
-        return result;
+        return out.set( x, y );
 
     }
     
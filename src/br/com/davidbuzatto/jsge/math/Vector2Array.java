@@ -0,0 +1,551 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.math;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A growable array of two-dimensional vectors, stored as two parallel
+ * arrays of coordinates (structure of arrays) instead of Vector2 objects.
+ *
+ * The bulk operations process all the vectors in simple loops over the
+ * coordinate arrays, which the JIT compiler can unroll and vectorize, and
+ * follow the semantics of the equivalent Vector2 methods. Each one stores
+ * the results in a destination array, resized to the size of the current
+ * array, that can be the current array itself.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class Vector2Array {
+
+    private double[] xs;
+    private double[] ys;
+    private int size;
+
+    /**
+     * Constructs an empty array.
+     */
+    public Vector2Array() {
+        this( 64 );
+    }
+
+    /**
+     * Constructs an empty array.
+     *
+     * @param initialCapacity The initial number of vectors.
+     */
+    public Vector2Array( int initialCapacity ) {
+        xs = new double[Math.max( 1, initialCapacity )];
+        ys = new double[xs.length];
+    }
+
+    /**
+     * Adds a vector at the end of the array.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     */
+    public void add( double x, double y ) {
+        if ( size == xs.length ) {
+            grow( size + 1 );
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    /**
+     * Adds a vector at the end of the array.
+     *
+     * @param v The vector.
+     */
+    public void add( Vector2 v ) {
+        add( v.x, v.y );
+    }
+
+    /**
+     * Removes a vector, moving the last vector to its place.
+     *
+     * @param index The index of the vector.
+     */
+    public void remove( int index ) {
+        Objects.checkIndex( index, size );
+        size--;
+        xs[index] = xs[size];
+        ys[index] = ys[size];
+    }
+
+    /**
+     * Copies a vector of the array to a destination vector.
+     *
+     * @param index The index of the vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector2 get( int index, Vector2 out ) {
+        Objects.checkIndex( index, size );
+        return out.set( xs[index], ys[index] );
+    }
+
+    /**
+     * Gets the x coordinate of a vector.
+     *
+     * @param index The index of the vector.
+     * @return The x coordinate.
+     */
+    public double getX( int index ) {
+        return xs[Objects.checkIndex( index, size )];
+    }
+
+    /**
+     * Gets the y coordinate of a vector.
+     *
+     * @param index The index of the vector.
+     * @return The y coordinate.
+     */
+    public double getY( int index ) {
+        return ys[Objects.checkIndex( index, size )];
+    }
+
+    /**
+     * Sets a vector of the array.
+     *
+     * @param index The index of the vector.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     */
+    public void set( int index, double x, double y ) {
+        Objects.checkIndex( index, size );
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    /**
+     * Sets a vector of the array.
+     *
+     * @param index The index of the vector.
+     * @param v The vector.
+     */
+    public void set( int index, Vector2 v ) {
+        set( index, v.x, v.y );
+    }
+
+    /**
+     * Gets the array of x coordinates, to be used by custom loops. Only the
+     * first size() positions are used and the array is replaced when the
+     * vector array grows.
+     *
+     * @return The array of x coordinates.
+     */
+    public double[] getXs() {
+        return xs;
+    }
+
+    /**
+     * Gets the array of y coordinates, to be used by custom loops. Only the
+     * first size() positions are used and the array is replaced when the
+     * vector array grows.
+     *
+     * @return The array of y coordinates.
+     */
+    public double[] getYs() {
+        return ys;
+    }
+
+    /**
+     * Gets the number of vectors.
+     *
+     * @return The number of vectors.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the array is empty.
+     *
+     * @return True if there are no vectors, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Changes the number of vectors. The new vectors are zero.
+     *
+     * @param size The new number of vectors.
+     */
+    public void resize( int size ) {
+        if ( size < 0 ) {
+            throw new IllegalArgumentException( "the size must not be negative" );
+        }
+        if ( size > xs.length ) {
+            grow( size );
+        }
+        if ( size > this.size ) {
+            Arrays.fill( xs, this.size, size, 0 );
+            Arrays.fill( ys, this.size, size, 0 );
+        }
+        this.size = size;
+    }
+
+    /**
+     * Removes all vectors, keeping the allocated capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds the vectors of another array to the vectors of the current array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array add( Vector2Array v, Vector2Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, vx = v.xs, vy = v.ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] + vx[i];
+            oy[i] = y[i] + vy[i];
+        }
+        return out;
+    }
+
+    /**
+     * Adds the given components to the vectors of the current array.
+     *
+     * @param x The x component to add.
+     * @param y The y component to add.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array add( double x, double y, Vector2Array out ) {
+        prepare( out );
+        double[] px = xs, py = ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = px[i] + x;
+            oy[i] = py[i] + y;
+        }
+        return out;
+    }
+
+    /**
+     * Subtracts the vectors of another array from the vectors of the
+     * current array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array subtract( Vector2Array v, Vector2Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, vx = v.xs, vy = v.ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] - vx[i];
+            oy[i] = y[i] - vy[i];
+        }
+        return out;
+    }
+
+    /**
+     * Scales the vectors of the current array.
+     *
+     * @param scale The scale.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array scale( double scale, Vector2Array out ) {
+        prepare( out );
+        double[] x = xs, y = ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] * scale;
+            oy[i] = y[i] * scale;
+        }
+        return out;
+    }
+
+    /**
+     * Multiplies the vectors of the current array by the vectors of
+     * another array, component by component.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array multiply( Vector2Array v, Vector2Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, vx = v.xs, vy = v.ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] * vx[i];
+            oy[i] = y[i] * vy[i];
+        }
+        return out;
+    }
+
+    /**
+     * Adds the scaled vectors of another array to the vectors of the
+     * current array, like positions moved by velocities times a time step.
+     *
+     * @param v Another array, with the same size.
+     * @param scale The scale of the vectors of the other array.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array addScaled( Vector2Array v, double scale, Vector2Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, vx = v.xs, vy = v.ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] + vx[i] * scale;
+            oy[i] = y[i] + vy[i] * scale;
+        }
+        return out;
+    }
+
+    /**
+     * Normalizes the vectors of the current array. Zero vectors stay zero.
+     *
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array normalize( Vector2Array out ) {
+        prepare( out );
+        double[] x = xs, y = ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            double length = Math.sqrt( x[i] * x[i] + y[i] * y[i] );
+            double ilength = length > 0.0 ? 1.0 / length : 0.0;
+            ox[i] = x[i] * ilength;
+            oy[i] = y[i] * ilength;
+        }
+        return out;
+    }
+
+    /**
+     * Rotates the vectors of the current array by an angle (in radians).
+     *
+     * @param angle The angle.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array rotate( double angle, Vector2Array out ) {
+        prepare( out );
+        double cos = MathUtils.cos( angle );
+        double sin = MathUtils.sin( angle );
+        double[] x = xs, y = ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            double vx = x[i];
+            double vy = y[i];
+            ox[i] = vx * cos - vy * sin;
+            oy[i] = vx * sin + vy * cos;
+        }
+        return out;
+    }
+
+    /**
+     * Transforms the vectors of the current array by a given matrix, like
+     * Vector2.transform( Matrix ).
+     *
+     * @param mat The matrix.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array transform( Matrix mat, Vector2Array out ) {
+        prepare( out );
+        double m0 = mat.m0, m4 = mat.m4, m12 = mat.m12;
+        double m1 = mat.m1, m5 = mat.m5, m13 = mat.m13;
+        double[] x = xs, y = ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            double vx = x[i];
+            double vy = y[i];
+            ox[i] = m0 * vx + m4 * vy + m12;
+            oy[i] = m1 * vx + m5 * vy + m13;
+        }
+        return out;
+    }
+
+    /**
+     * Performs linear interpolation between the vectors of the current
+     * array (start) and the vectors of another array (end).
+     *
+     * @param end Another array, with the same size.
+     * @param amount Amount (0 to 1)
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array lerp( Vector2Array end, double amount, Vector2Array out ) {
+        checkSize( end );
+        prepare( out );
+        double[] x = xs, y = ys, ex = end.xs, ey = end.ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] + ( ex[i] - x[i] ) * amount;
+            oy[i] = y[i] + ( ey[i] - y[i] ) * amount;
+        }
+        return out;
+    }
+
+    /**
+     * Clamps the vectors of the current array between two vectors.
+     *
+     * @param min The minimum vector.
+     * @param max The maximum vector.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array clamp( Vector2 min, Vector2 max, Vector2Array out ) {
+        prepare( out );
+        double minX = min.x, minY = min.y, maxX = max.x, maxY = max.y;
+        double[] x = xs, y = ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = Math.min( maxX, Math.max( minX, x[i] ) );
+            oy[i] = Math.min( maxY, Math.max( minY, y[i] ) );
+        }
+        return out;
+    }
+
+    /**
+     * Clamps the magnitude of the vectors of the current array between
+     * minimum and maximum. Zero vectors stay zero.
+     *
+     * @param min The minimum value.
+     * @param max The maximum value.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector2Array clampValue( double min, double max, Vector2Array out ) {
+        prepare( out );
+        double[] x = xs, y = ys, ox = out.xs, oy = out.ys;
+        for ( int i = 0; i < size; i++ ) {
+            double length = Math.sqrt( x[i] * x[i] + y[i] * y[i] );
+            double scale = length > 0.0 && length < min ? min / length : length > max ? max / length : 1;
+            ox[i] = x[i] * scale;
+            oy[i] = y[i] * scale;
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the length of the vectors of the current array.
+     *
+     * @param out The destination array, with at least size() positions.
+     * @return The destination array.
+     */
+    public double[] length( double[] out ) {
+        checkLength( out );
+        double[] x = xs, y = ys;
+        for ( int i = 0; i < size; i++ ) {
+            out[i] = Math.sqrt( x[i] * x[i] + y[i] * y[i] );
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the dot product of the vectors of the current array with
+     * the vectors of another array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array, with at least size() positions.
+     * @return The destination array.
+     */
+    public double[] dotProduct( Vector2Array v, double[] out ) {
+        checkSize( v );
+        checkLength( out );
+        double[] x = xs, y = ys, vx = v.xs, vy = v.ys;
+        for ( int i = 0; i < size; i++ ) {
+            out[i] = x[i] * vx[i] + y[i] * vy[i];
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the distance between the vectors of the current array and
+     * the vectors of another array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array, with at least size() positions.
+     * @return The destination array.
+     */
+    public double[] distance( Vector2Array v, double[] out ) {
+        distanceSquare( v, out );
+        for ( int i = 0; i < size; i++ ) {
+            out[i] = Math.sqrt( out[i] );
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the squared distance between the vectors of the current
+     * array and the vectors of another array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array, with at least size() positions.
+     * @return The destination array.
+     */
+    public double[] distanceSquare( Vector2Array v, double[] out ) {
+        checkSize( v );
+        checkLength( out );
+        double[] x = xs, y = ys, vx = v.xs, vy = v.ys;
+        for ( int i = 0; i < size; i++ ) {
+            double dx = vx[i] - x[i];
+            double dy = vy[i] - y[i];
+            out[i] = dx * dx + dy * dy;
+        }
+        return out;
+    }
+
+    private void checkSize( Vector2Array v ) {
+        if ( v.size != size ) {
+            throw new IllegalArgumentException( "the arrays must have the same size" );
+        }
+    }
+
+    private void checkLength( double[] out ) {
+        if ( out.length < size ) {
+            throw new IllegalArgumentException( "the destination must hold size() values" );
+        }
+    }
+
+    private void prepare( Vector2Array out ) {
+        if ( out != this ) {
+            out.resize( size );
+        }
+    }
+
+    private void grow( int minCapacity ) {
+        int capacity = Math.max( minCapacity, xs.length * 2 );
+        xs = Arrays.copyOf( xs, capacity );
+        ys = Arrays.copyOf( ys, capacity );
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder( "Vector2Array[" );
+        for ( int i = 0; i < size; i++ ) {
+            if ( i > 0 ) {
+                sb.append( ", " );
+            }
+            sb.append( String.format( "(%.2f, %.2f)", xs[i], ys[i] ) );
+        }
+        return sb.append( "]" ).toString();
+    }
+
+}
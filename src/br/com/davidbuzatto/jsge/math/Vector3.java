@@ -24,6 +24,11 @@ import java.io.Serializable;
  * Can also be used to return values with three components, such as
  * 3D points, etc.
  *
+ * The operations that return a vector have a variant that receives a
+ * destination vector and stores the result in it, instead of creating a
+ * new vector. The destination can be the current vector itself, so
+ * {@code v.add( w, v )} adds w to v in place.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public class Vector3 implements Cloneable, Serializable {
@@ -63,6 +68,34 @@ public class Vector3 implements Cloneable, Serializable {
         this.y = y;
         this.z = z;
     }
+
+    /**
+     * Sets the components of the current vector.
+     *
+     * @param x x coordinate.
+     * @param y y coordinate.
+     * @param z z coordinate.
+     * @return The current vector.
+     */
+    public Vector3 set( double x, double y, double z ) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Copies the components of another vector to the current vector.
+     *
+     * @param v Another vector.
+     * @return The current vector.
+     */
+    public Vector3 set( Vector3 v ) {
+        x = v.x;
+        y = v.y;
+        z = v.z;
+        return this;
+    }
     
     /**
      * Adds the current vector to another vector.
@@ -71,7 +104,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector resulting from the addition.
      */
     public Vector3 add( Vector3 v ) {
-        return new Vector3( x + v.x, y + v.y, z + v.z );
+        return add( v, new Vector3() );
+    }
+
+    /**
+     * Adds the current vector to another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 add( Vector3 v, Vector3 out ) {
+        return out.set( x + v.x, y + v.y, z + v.z );
     }
 
     /**
@@ -83,7 +127,20 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector resulting from the addition.
      */
     public Vector3 add( double x, double y, double z ) {
-        return new Vector3( this.x + x, this.y + y, this.z + z );
+        return add( x, y, z, new Vector3() );
+    }
+
+    /**
+     * Adds the given components to the current vector, storing the result in the destination vector.
+     *
+     * @param x The x component to add.
+     * @param y The y component to add.
+     * @param z The z component to add.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 add( double x, double y, double z, Vector3 out ) {
+        return out.set( this.x + x, this.y + y, this.z + z );
     }
 
     /**
@@ -93,7 +150,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the components added to the given value.
      */
     public Vector3 addValue( double value ) {
-        return new Vector3( x + value, y + value, z + value );
+        return addValue( value, new Vector3() );
+    }
+
+    /**
+     * Adds a value to the current vector, storing the result in the destination vector.
+     *
+     * @param value The value to add.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 addValue( double value, Vector3 out ) {
+        return out.set( x + value, y + value, z + value );
     }
     
     /**
@@ -103,7 +171,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector resulting from the subtraction.
      */
     public Vector3 subtract( Vector3 v ) {
-        return new Vector3( x - v.x, y - v.y, z - v.z );
+        return subtract( v, new Vector3() );
+    }
+
+    /**
+     * Subtracts a vector from the current vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 subtract( Vector3 v, Vector3 out ) {
+        return out.set( x - v.x, y - v.y, z - v.z );
     }
 
     /**
@@ -115,7 +194,20 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector resulting from the subtraction.
      */
     public Vector3 subtract( double x, double y, double z ) {
-        return new Vector3( this.x - x, this.y - y, this.z - z );
+        return subtract( x, y, z, new Vector3() );
+    }
+
+    /**
+     * Subtracts the given components from the current vector, storing the result in the destination vector.
+     *
+     * @param x The x component to subtract.
+     * @param y The y component to subtract.
+     * @param z The z component to subtract.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 subtract( double x, double y, double z, Vector3 out ) {
+        return out.set( this.x - x, this.y - y, this.z - z );
     }
 
     /**
@@ -125,7 +217,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the components subtracted by the given value.
      */
     public Vector3 subtractValue( double value ) {
-        return new Vector3( x - value, y - value, z - value );
+        return subtractValue( value, new Vector3() );
+    }
+
+    /**
+     * Subtracts a value from the current vector, storing the result in the destination vector.
+     *
+     * @param value The value to subtract.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 subtractValue( double value, Vector3 out ) {
+        return out.set( x - value, y - value, z - value );
     }
     
     /**
@@ -135,7 +238,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new scaled vector.
      */
     public Vector3 scale( double scale ) {
-        return new Vector3( x * scale, y * scale, z * scale );
+        return scale( scale, new Vector3() );
+    }
+
+    /**
+     * Scales the current vector, analogous to scalar multiplication, storing the result in the destination vector.
+     *
+     * @param scale The scale.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 scale( double scale, Vector3 out ) {
+        return out.set( x * scale, y * scale, z * scale );
     }
 
     /**
@@ -147,7 +261,20 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new scaled vector.
      */
     public Vector3 scale( double x, double y, double z ) {
-        return new Vector3( this.x * x, this.y * y, this.z * z );
+        return scale( x, y, z, new Vector3() );
+    }
+
+    /**
+     * Scales the current vector independently per component (non-uniform scaling), storing the result in the destination vector.
+     *
+     * @param x The scale factor for the x component.
+     * @param y The scale factor for the y component.
+     * @param z The scale factor for the z component.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 scale( double x, double y, double z, Vector3 out ) {
+        return out.set( this.x * x, this.y * y, this.z * z );
     }
 
     /**
@@ -157,7 +284,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the result of the multiplication.
      */
     public Vector3 multiply( Vector3 v ) {
-        return new Vector3( x * v.x, y * v.y, z * v.z );
+        return multiply( v, new Vector3() );
+    }
+
+    /**
+     * Multiplies the current vector by another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 multiply( Vector3 v, Vector3 out ) {
+        return out.set( x * v.x, y * v.y, z * v.z );
     }
 
     /**
@@ -169,7 +307,20 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the result of the multiplication.
      */
     public Vector3 multiply( double x, double y, double z ) {
-        return new Vector3( this.x * x, this.y * y, this.z * z );
+        return multiply( x, y, z, new Vector3() );
+    }
+
+    /**
+     * Multiplies the current vector by the given components, storing the result in the destination vector.
+     *
+     * @param x The x component to multiply by.
+     * @param y The y component to multiply by.
+     * @param z The z component to multiply by.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 multiply( double x, double y, double z, Vector3 out ) {
+        return out.set( this.x * x, this.y * y, this.z * z );
     }
 
 
@@ -180,7 +331,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return The cross product.
      */
     public Vector3 crossProduct( Vector3 v ) {
-        return new Vector3( y * v.z - z * v.y, z * v.x - x * v.z, x * v.y - y * v.x );
+        return crossProduct( v, new Vector3() );
+    }
+
+    /**
+     * Calculates the cross product of the current vector with the given vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 crossProduct( Vector3 v, Vector3 out ) {
+        return out.set( y * v.z - z * v.y, z * v.x - x * v.z, x * v.y - y * v.x );
     }
     
     /**
@@ -189,31 +351,41 @@ public class Vector3 implements Cloneable, Serializable {
      * @return The perpendicular vector.
      */
     public Vector3 perpendicular() {
-        
-        Vector3 result = new Vector3();
-        
+        return perpendicular( new Vector3() );
+    }
+
+    /**
+     * Calculates the vector perpendicular to the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 perpendicular( Vector3 out ) {
+
         double min = Math.abs( x );
-        Vector3 cardinalAxis = new Vector3( 1.0, 0.0, 0.0 );
+        double axisX = 1.0;
+        double axisY = 0.0;
+        double axisZ = 0.0;
         
         if ( Math.abs( y ) < min ) {
             min = Math.abs( y );
-            cardinalAxis.x = 0.0;
-            cardinalAxis.y = 1.0;
-            cardinalAxis.z = 0.0;
+            axisX = 0.0;
+            axisY = 1.0;
+            axisZ = 0.0;
         }
         
         if ( Math.abs( z ) < min ) {
-            cardinalAxis.x = 0.0;
-            cardinalAxis.y = 0.0;
-            cardinalAxis.z = 1.0;
+            axisX = 0.0;
+            axisY = 0.0;
+            axisZ = 1.0;
         }
         
         // cross product
-        result.x = y * cardinalAxis.z - z * cardinalAxis.y;
-        result.y = z * cardinalAxis.x - x * cardinalAxis.z;
-        result.z = x * cardinalAxis.y - y * cardinalAxis.x;
-        
-        return result;
+        return out.set(
+            y * axisZ - z * axisY,
+            z * axisX - x * axisZ,
+            x * axisY - y * axisX
+        );
         
     }
     
@@ -321,7 +493,17 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the negation of the current vector.
      */
     public Vector3 negate() {
-        return new Vector3( -x, -y, -z );
+        return negate( new Vector3() );
+    }
+
+    /**
+     * Negates the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 negate( Vector3 out ) {
+        return out.set( -x, -y, -z );
     }
     
     /**
@@ -331,7 +513,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the result of the division.
      */
     public Vector3 divide( Vector3 v ) {
-        return new Vector3( x / v.x, y / v.y, z / v.z );
+        return divide( v, new Vector3() );
+    }
+
+    /**
+     * Divides the current vector by another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 divide( Vector3 v, Vector3 out ) {
+        return out.set( x / v.x, y / v.y, z / v.z );
     }
 
     /**
@@ -343,7 +536,20 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the result of the division.
      */
     public Vector3 divide( double x, double y, double z ) {
-        return new Vector3( this.x / x, this.y / y, this.z / z );
+        return divide( x, y, z, new Vector3() );
+    }
+
+    /**
+     * Divides the current vector by the given components, storing the result in the destination vector.
+     *
+     * @param x The x component to divide by.
+     * @param y The y component to divide by.
+     * @param z The z component to divide by.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 divide( double x, double y, double z, Vector3 out ) {
+        return out.set( this.x / x, this.y / y, this.z / z );
     }
 
     /**
@@ -352,18 +558,25 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new normalized vector.
      */
     public Vector3 normalize() {
+        return normalize( new Vector3() );
+    }
+
+    /**
+     * Normalizes the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 normalize( Vector3 out ) {
 
-        Vector3 result = new Vector3();
         double length = Math.sqrt( x * x + y * y + z * z );
 
         if ( length > 0.0 ) {
             double ilength = 1.0 / length;
-            result.x = x * ilength;
-            result.y = y * ilength;
-            result.z = z * ilength;
+            return out.set( x * ilength, y * ilength, z * ilength );
         }
 
-        return result;
+        return out.set( 0, 0, 0 );
 
     }
     
@@ -374,18 +587,27 @@ public class Vector3 implements Cloneable, Serializable {
      * @return The projection.
      */
     public Vector3 project( Vector3 v ) {
-        
-        Vector3 result = new Vector3();
-        
+        return project( v, new Vector3() );
+    }
+
+    /**
+     * Calculates the projection of the current vector onto another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 project( Vector3 v, Vector3 out ) {
+
         double v1dv2 = ( x * v.x + y * v.y + z * v.z );
         double v2dv2 = ( v.x * v.x + v.y * v.y + v.z * v.z );
         double mag = v1dv2 / v2dv2;
         
-        result.x = v.x * mag;
-        result.y = v.y * mag;
-        result.z = v.z * mag;
+        double resultX = v.x * mag;
+        double resultY = v.y * mag;
+        double resultZ = v.z * mag;
         
-        return result;
+        return out.set( resultX, resultY, resultZ );
     
     }
     
@@ -396,18 +618,27 @@ public class Vector3 implements Cloneable, Serializable {
      * @return The rejection.
      */
     public Vector3 reject( Vector3 v ) {
-        
-        Vector3 result = new Vector3();
-        
+        return reject( v, new Vector3() );
+    }
+
+    /**
+     * Calculates the rejection of the current vector from another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 reject( Vector3 v, Vector3 out ) {
+
         double v1dv2 = ( x * v.x + y * v.y + z * v.z );
         double v2dv2 = ( v.x * v.x + v.y * v.y + v.z * v.z );
         double mag = v1dv2 / v2dv2;
         
-        result.x = x - ( v.x * mag );
-        result.y = y - ( v.y * mag );
-        result.z = z - ( v.z * mag );
+        double resultX = x - ( v.x * mag );
+        double resultY = y - ( v.y * mag );
+        double resultZ = z - ( v.z * mag );
         
-        return result;
+        return out.set( resultX, resultY, resultZ );
         
     }
     
@@ -418,14 +649,23 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new transformed vector.
      */
     public Vector3 transform( Matrix mat ) {
-        
-        Vector3 result = new Vector3();
+        return transform( mat, new Vector3() );
+    }
 
-        result.x = mat.m0*x + mat.m4*y + mat.m8*z + mat.m12;
-        result.y = mat.m1*x + mat.m5*y + mat.m9*z + mat.m13;
-        result.z = mat.m2*x + mat.m6*y + mat.m10*z + mat.m14;
+    /**
+     * Transforms the current vector by a given matrix, storing the result in the destination vector.
+     *
+     * @param mat The matrix.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 transform( Matrix mat, Vector3 out ) {
 
-        return result;
+        double resultX = mat.m0*x + mat.m4*y + mat.m8*z + mat.m12;
+        double resultY = mat.m1*x + mat.m5*y + mat.m9*z + mat.m13;
+        double resultZ = mat.m2*x + mat.m6*y + mat.m10*z + mat.m14;
+
+        return out.set( resultX, resultY, resultZ );
         
     }
     
@@ -436,14 +676,23 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new transformed vector.
      */
     public Vector3 rotateByQuaternion( Quaternion q ) {
+        return rotateByQuaternion( q, new Vector3() );
+    }
+
+    /**
+     * Transforms the current vector by a quaternion rotation, storing the result in the destination vector.
+     *
+     * @param q The quaternion.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 rotateByQuaternion( Quaternion q, Vector3 out ) {
+
+        double resultX = x * ( q.x * q.x + q.w * q.w - q.y * q.y - q.z * q.z ) + y * ( 2 * q.x * q.y - 2 * q.w * q.z ) + z * ( 2 * q.x * q.z + 2 * q.w * q.y );
+        double resultY = x * ( 2 * q.w * q.z + 2 * q.x * q.y ) + y * ( q.w * q.w - q.x * q.x + q.y * q.y - q.z * q.z ) + z * ( -2 * q.w * q.x + 2 * q.y * q.z );
+        double resultZ = x * ( -2 * q.w * q.y + 2 * q.x * q.z ) + y * ( 2 * q.w * q.x + 2 * q.y * q.z )+ z * ( q.w * q.w - q.x * q.x - q.y * q.y + q.z * q.z );
         
-        Vector3 result = new Vector3();
-        
-        result.x = x * ( q.x * q.x + q.w * q.w - q.y * q.y - q.z * q.z ) + y * ( 2 * q.x * q.y - 2 * q.w * q.z ) + z * ( 2 * q.x * q.z + 2 * q.w * q.y );
-        result.y = x * ( 2 * q.w * q.z + 2 * q.x * q.y ) + y * ( q.w * q.w - q.x * q.x + q.y * q.y - q.z * q.z ) + z * ( -2 * q.w * q.x + 2 * q.y * q.z );
-        result.z = x * ( -2 * q.w * q.y + 2 * q.x * q.z ) + y * ( 2 * q.w * q.x + 2 * q.y * q.z )+ z * ( q.w * q.w - q.x * q.x - q.y * q.y + q.z * q.z );
-        
-        return result;
+        return out.set( resultX, resultY, resultZ );
     
     }
     
@@ -515,24 +764,34 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector moved towards the target.
      */
     public Vector3 moveTowards( Vector3 target, double maxDistance ) {
-        
-        Vector3 result = new Vector3();
-        
+        return moveTowards( target, maxDistance, new Vector3() );
+    }
+
+    /**
+     * Creates a new vector moved towards a target, storing the result in the destination vector.
+     *
+     * @param target The target.
+     * @param maxDistance The maximum distance.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 moveTowards( Vector3 target, double maxDistance, Vector3 out ) {
+
         double dx = target.x - x;
         double dy = target.y - y;
         double dz = target.z - z;
         double value = ( dx * dx ) + ( dy * dy ) + ( dz * dz );
         
         if ( ( value == 0.0 ) || ( ( maxDistance >= 0.0 ) && ( value <= maxDistance * maxDistance ) ) ) {
-            return new Vector3( target.x, target.y, target.z );
+            return out.set( target.x, target.y, target.z );
         }
         
         double dist = Math.sqrt( value );
-        result.x = x + dx / dist * maxDistance;
-        result.y = y + dy / dist * maxDistance;
-        result.z = z + dz / dist * maxDistance;
+        double resultX = x + dx / dist * maxDistance;
+        double resultY = y + dy / dist * maxDistance;
+        double resultZ = z + dz / dist * maxDistance;
         
-        return result;
+        return out.set( resultX, resultY, resultZ );
         
     }
     
@@ -544,7 +803,19 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A vector representing the linear interpolation between two vectors.
      */
     public Vector3 lerp( Vector3 end, double amount ) {
-        return new Vector3( 
+        return lerp( end, amount, new Vector3() );
+    }
+
+    /**
+     * Performs linear interpolation between the current vector (start) and another vector (end), storing the result in the destination vector.
+     *
+     * @param end End vector.
+     * @param amount Amount (0 to 1)
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 lerp( Vector3 end, double amount, Vector3 out ) {
+        return out.set( 
             this.x + ( end.x - this.x ) * amount,
             this.y + ( end.y - this.y ) * amount,
             this.z + ( end.z - this.z ) * amount
@@ -561,16 +832,29 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the cubic Hermite interpolation.
      */
     public Vector3 cubicHermite( Vector3 tangent1, Vector3 v, Vector3 tangent2, double amount ) {
+        return cubicHermite( tangent1, v, tangent2, amount, new Vector3() );
+    }
+
+    /**
+     * Calculates the cubic Hermite interpolation of the current vector and another vector and their tangents, storing the result in the destination vector.
+     *
+     * @param tangent1 First tangent.
+     * @param v The vector.
+     * @param tangent2 Second tangent.
+     * @param amount The amount.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 cubicHermite( Vector3 tangent1, Vector3 v, Vector3 tangent2, double amount, Vector3 out ) {
         
-        Vector3 result = new Vector3();
         double amountPow2 = amount * amount;
         double amountPow3 = amount * amount * amount;
         
-        result.x = (2 * amountPow3 - 3 * amountPow2 + 1) * x + (amountPow3 - 2 * amountPow2 + amount) * tangent1.x + (-2 * amountPow3 + 3 * amountPow2) * v.x + (amountPow3 - amountPow2) * tangent2.x;
-        result.y = (2 * amountPow3 - 3 * amountPow2 + 1) * y + (amountPow3 - 2 * amountPow2 + amount) * tangent1.y + (-2 * amountPow3 + 3 * amountPow2) * v.y + (amountPow3 - amountPow2) * tangent2.y;
-        result.z = (2 * amountPow3 - 3 * amountPow2 + 1) * z + (amountPow3 - 2 * amountPow2 + amount) * tangent1.z + (-2 * amountPow3 + 3 * amountPow2) * v.z + (amountPow3 - amountPow2) * tangent2.z;
+        double resultX = (2 * amountPow3 - 3 * amountPow2 + 1) * x + (amountPow3 - 2 * amountPow2 + amount) * tangent1.x + (-2 * amountPow3 + 3 * amountPow2) * v.x + (amountPow3 - amountPow2) * tangent2.x;
+        double resultY = (2 * amountPow3 - 3 * amountPow2 + 1) * y + (amountPow3 - 2 * amountPow2 + amount) * tangent1.y + (-2 * amountPow3 + 3 * amountPow2) * v.y + (amountPow3 - amountPow2) * tangent2.y;
+        double resultZ = (2 * amountPow3 - 3 * amountPow2 + 1) * z + (amountPow3 - 2 * amountPow2 + amount) * tangent1.z + (-2 * amountPow3 + 3 * amountPow2) * v.z + (amountPow3 - amountPow2) * tangent2.z;
         
-        return result;
+        return out.set( resultX, resultY, resultZ );
     
     }
     
@@ -581,15 +865,24 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new reflected vector.
      */
     public Vector3 reflect( Vector3 normal ) {
-        
-        Vector3 result = new Vector3();
-        
+        return reflect( normal, new Vector3() );
+    }
+
+    /**
+     * Calculates the reflection of the current vector by a normal vector, storing the result in the destination vector.
+     *
+     * @param normal Normal vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 reflect( Vector3 normal, Vector3 out ) {
+
         double dotProduct = (x * normal.x + y * normal.y + z * normal.z);
-        result.x = x - (2.0f * normal.x) * dotProduct;
-        result.y = y - (2.0f * normal.y) * dotProduct;
-        result.z = z - (2.0f * normal.z) * dotProduct;
+        double resultX = x - (2.0f * normal.x) * dotProduct;
+        double resultY = y - (2.0f * normal.y) * dotProduct;
+        double resultZ = z - (2.0f * normal.z) * dotProduct;
         
-        return result;
+        return out.set( resultX, resultY, resultZ );
     
     }
     
@@ -600,14 +893,23 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the minimum of each component.
      */
     public Vector3 min( Vector3 v ) {
+        return min( v, new Vector3() );
+    }
 
-        Vector3 result = new Vector3();
+    /**
+     * Gets a new vector with the minimum of each component, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 min( Vector3 v, Vector3 out ) {
 
-        result.x = Math.min( x, v.x );
-        result.y = Math.min( y, v.y );
-        result.z = Math.min( z, v.z );
+        double resultX = Math.min( x, v.x );
+        double resultY = Math.min( y, v.y );
+        double resultZ = Math.min( z, v.z );
 
-        return result;
+        return out.set( resultX, resultY, resultZ );
 
     }
 
@@ -618,14 +920,23 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the maximum of each component.
      */
     public Vector3 max( Vector3 v ) {
+        return max( v, new Vector3() );
+    }
 
-        Vector3 result = new Vector3();
+    /**
+     * Gets a new vector with the maximum of each component, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 max( Vector3 v, Vector3 out ) {
 
-        result.x = Math.max( x, v.x );
-        result.y = Math.max( y, v.y );
-        result.z = Math.max( z, v.z );
+        double resultX = Math.max( x, v.x );
+        double resultY = Math.max( y, v.y );
+        double resultZ = Math.max( z, v.z );
 
-        return result;
+        return out.set( resultX, resultY, resultZ );
 
     }
     
@@ -715,7 +1026,17 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new inverted vector.
      */
     public Vector3 invert() {
-        return new Vector3( 1.0 / x, 1.0 / y, 1.0 / z );
+        return invert( new Vector3() );
+    }
+
+    /**
+     * Inverts the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 invert( Vector3 out ) {
+        return out.set( 1.0 / x, 1.0 / y, 1.0 / z );
     }
     
     /**
@@ -726,14 +1047,24 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector clamped between the minimum and maximum vectors.
      */
     public Vector3 clamp( Vector3 min, Vector3 max ) {
+        return clamp( min, max, new Vector3() );
+    }
 
-        Vector3 result = new Vector3();
+    /**
+     * Clamps the current vector between two vectors, storing the result in the destination vector.
+     *
+     * @param min The minimum vector.
+     * @param max The maximum vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 clamp( Vector3 min, Vector3 max, Vector3 out ) {
 
-        result.x = Math.min( max.x, Math.max( min.x, x ) );
-        result.y = Math.min( max.y, Math.max( min.y, y ) );
-        result.z = Math.min( max.z, Math.max( min.z, z ) );
+        double resultX = Math.min( max.x, Math.max( min.x, x ) );
+        double resultY = Math.min( max.y, Math.max( min.y, y ) );
+        double resultZ = Math.min( max.z, Math.max( min.z, z ) );
 
-        return result;
+        return out.set( resultX, resultY, resultZ );
 
     }
     
@@ -745,8 +1076,18 @@ public class Vector3 implements Cloneable, Serializable {
      * @return A new vector with the clamped magnitude.
      */
     public Vector3 clampValue( double min, double max ) {
+        return clampValue( min, max, new Vector3() );
+    }
 
-        Vector3 result = new Vector3( x, y, z );
+    /**
+     * Clamps the magnitude of the current vector between minimum and maximum, storing the result in the destination vector.
+     *
+     * @param min The minimum value.
+     * @param max The maximum value.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 clampValue( double min, double max, Vector3 out ) {
 
         double length = x * x + y * y + z * z;
 
@@ -761,13 +1102,11 @@ public class Vector3 implements Cloneable, Serializable {
                 scale = max / length;
             }
 
-            result.x = x * scale;
-            result.y = y * scale;
-            result.z = z * scale;
+            return out.set( x * scale, y * scale, z * scale );
 
         }
 
-        return result;
+        return out.set( x, y, z );
 
     }
     
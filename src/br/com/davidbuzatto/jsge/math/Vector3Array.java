@@ -0,0 +1,628 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.math;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A growable array of three-dimensional vectors, stored as three parallel
+ * arrays of coordinates (structure of arrays) instead of Vector3 objects.
+ *
+ * The bulk operations process all the vectors in simple loops over the
+ * coordinate arrays, which the JIT compiler can unroll and vectorize, and
+ * follow the semantics of the equivalent Vector3 methods. Each one stores
+ * the results in a destination array, resized to the size of the current
+ * array, that can be the current array itself.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class Vector3Array {
+
+    private double[] xs;
+    private double[] ys;
+    private double[] zs;
+    private int size;
+
+    /**
+     * Constructs an empty array.
+     */
+    public Vector3Array() {
+        this( 64 );
+    }
+
+    /**
+     * Constructs an empty array.
+     *
+     * @param initialCapacity The initial number of vectors.
+     */
+    public Vector3Array( int initialCapacity ) {
+        xs = new double[Math.max( 1, initialCapacity )];
+        ys = new double[xs.length];
+        zs = new double[xs.length];
+    }
+
+    /**
+     * Adds a vector at the end of the array.
+     *
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     */
+    public void add( double x, double y, double z ) {
+        if ( size == xs.length ) {
+            grow( size + 1 );
+        }
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        size++;
+    }
+
+    /**
+     * Adds a vector at the end of the array.
+     *
+     * @param v The vector.
+     */
+    public void add( Vector3 v ) {
+        add( v.x, v.y, v.z );
+    }
+
+    /**
+     * Removes a vector, moving the last vector to its place.
+     *
+     * @param index The index of the vector.
+     */
+    public void remove( int index ) {
+        Objects.checkIndex( index, size );
+        size--;
+        xs[index] = xs[size];
+        ys[index] = ys[size];
+        zs[index] = zs[size];
+    }
+
+    /**
+     * Copies a vector of the array to a destination vector.
+     *
+     * @param index The index of the vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector3 get( int index, Vector3 out ) {
+        Objects.checkIndex( index, size );
+        return out.set( xs[index], ys[index], zs[index] );
+    }
+
+    /**
+     * Gets the x coordinate of a vector.
+     *
+     * @param index The index of the vector.
+     * @return The x coordinate.
+     */
+    public double getX( int index ) {
+        return xs[Objects.checkIndex( index, size )];
+    }
+
+    /**
+     * Gets the y coordinate of a vector.
+     *
+     * @param index The index of the vector.
+     * @return The y coordinate.
+     */
+    public double getY( int index ) {
+        return ys[Objects.checkIndex( index, size )];
+    }
+
+    /**
+     * Gets the z coordinate of a vector.
+     *
+     * @param index The index of the vector.
+     * @return The z coordinate.
+     */
+    public double getZ( int index ) {
+        return zs[Objects.checkIndex( index, size )];
+    }
+
+    /**
+     * Sets a vector of the array.
+     *
+     * @param index The index of the vector.
+     * @param x X coordinate.
+     * @param y Y coordinate.
+     * @param z Z coordinate.
+     */
+    public void set( int index, double x, double y, double z ) {
+        Objects.checkIndex( index, size );
+        xs[index] = x;
+        ys[index] = y;
+        zs[index] = z;
+    }
+
+    /**
+     * Sets a vector of the array.
+     *
+     * @param index The index of the vector.
+     * @param v The vector.
+     */
+    public void set( int index, Vector3 v ) {
+        set( index, v.x, v.y, v.z );
+    }
+
+    /**
+     * Gets the array of x coordinates, to be used by custom loops. Only the
+     * first size() positions are used and the array is replaced when the
+     * vector array grows.
+     *
+     * @return The array of x coordinates.
+     */
+    public double[] getXs() {
+        return xs;
+    }
+
+    /**
+     * Gets the array of y coordinates, to be used by custom loops. Only the
+     * first size() positions are used and the array is replaced when the
+     * vector array grows.
+     *
+     * @return The array of y coordinates.
+     */
+    public double[] getYs() {
+        return ys;
+    }
+
+    /**
+     * Gets the array of z coordinates, to be used by custom loops. Only the
+     * first size() positions are used and the array is replaced when the
+     * vector array grows.
+     *
+     * @return The array of z coordinates.
+     */
+    public double[] getZs() {
+        return zs;
+    }
+
+    /**
+     * Gets the number of vectors.
+     *
+     * @return The number of vectors.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the array is empty.
+     *
+     * @return True if there are no vectors, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Changes the number of vectors. The new vectors are zero.
+     *
+     * @param size The new number of vectors.
+     */
+    public void resize( int size ) {
+        if ( size < 0 ) {
+            throw new IllegalArgumentException( "the size must not be negative" );
+        }
+        if ( size > xs.length ) {
+            grow( size );
+        }
+        if ( size > this.size ) {
+            Arrays.fill( xs, this.size, size, 0 );
+            Arrays.fill( ys, this.size, size, 0 );
+            Arrays.fill( zs, this.size, size, 0 );
+        }
+        this.size = size;
+    }
+
+    /**
+     * Removes all vectors, keeping the allocated capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds the vectors of another array to the vectors of the current array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array add( Vector3Array v, Vector3Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, vx = v.xs, vy = v.ys, vz = v.zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] + vx[i];
+            oy[i] = y[i] + vy[i];
+            oz[i] = z[i] + vz[i];
+        }
+        return out;
+    }
+
+    /**
+     * Adds the given components to the vectors of the current array.
+     *
+     * @param x The x component to add.
+     * @param y The y component to add.
+     * @param z The z component to add.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array add( double x, double y, double z, Vector3Array out ) {
+        prepare( out );
+        double[] px = xs, py = ys, pz = zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = px[i] + x;
+            oy[i] = py[i] + y;
+            oz[i] = pz[i] + z;
+        }
+        return out;
+    }
+
+    /**
+     * Subtracts the vectors of another array from the vectors of the
+     * current array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array subtract( Vector3Array v, Vector3Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, vx = v.xs, vy = v.ys, vz = v.zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] - vx[i];
+            oy[i] = y[i] - vy[i];
+            oz[i] = z[i] - vz[i];
+        }
+        return out;
+    }
+
+    /**
+     * Scales the vectors of the current array.
+     *
+     * @param scale The scale.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array scale( double scale, Vector3Array out ) {
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] * scale;
+            oy[i] = y[i] * scale;
+            oz[i] = z[i] * scale;
+        }
+        return out;
+    }
+
+    /**
+     * Multiplies the vectors of the current array by the vectors of
+     * another array, component by component.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array multiply( Vector3Array v, Vector3Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, vx = v.xs, vy = v.ys, vz = v.zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] * vx[i];
+            oy[i] = y[i] * vy[i];
+            oz[i] = z[i] * vz[i];
+        }
+        return out;
+    }
+
+    /**
+     * Adds the scaled vectors of another array to the vectors of the
+     * current array, like positions moved by velocities times a time step.
+     *
+     * @param v Another array, with the same size.
+     * @param scale The scale of the vectors of the other array.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array addScaled( Vector3Array v, double scale, Vector3Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, vx = v.xs, vy = v.ys, vz = v.zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] + vx[i] * scale;
+            oy[i] = y[i] + vy[i] * scale;
+            oz[i] = z[i] + vz[i] * scale;
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the cross product of the vectors of the current array with
+     * the vectors of another array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array crossProduct( Vector3Array v, Vector3Array out ) {
+        checkSize( v );
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, vx = v.xs, vy = v.ys, vz = v.zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            double ax = x[i], ay = y[i], az = z[i];
+            double bx = vx[i], by = vy[i], bz = vz[i];
+            ox[i] = ay * bz - az * by;
+            oy[i] = az * bx - ax * bz;
+            oz[i] = ax * by - ay * bx;
+        }
+        return out;
+    }
+
+    /**
+     * Normalizes the vectors of the current array. Zero vectors stay zero.
+     *
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array normalize( Vector3Array out ) {
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            double length = Math.sqrt( x[i] * x[i] + y[i] * y[i] + z[i] * z[i] );
+            double ilength = length > 0.0 ? 1.0 / length : 0.0;
+            ox[i] = x[i] * ilength;
+            oy[i] = y[i] * ilength;
+            oz[i] = z[i] * ilength;
+        }
+        return out;
+    }
+
+    /**
+     * Transforms the vectors of the current array by a given matrix, like
+     * Vector3.transform( Matrix ).
+     *
+     * @param mat The matrix.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array transform( Matrix mat, Vector3Array out ) {
+        prepare( out );
+        double m0 = mat.m0, m4 = mat.m4, m8 = mat.m8, m12 = mat.m12;
+        double m1 = mat.m1, m5 = mat.m5, m9 = mat.m9, m13 = mat.m13;
+        double m2 = mat.m2, m6 = mat.m6, m10 = mat.m10, m14 = mat.m14;
+        double[] x = xs, y = ys, z = zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            double vx = x[i];
+            double vy = y[i];
+            double vz = z[i];
+            ox[i] = m0 * vx + m4 * vy + m8 * vz + m12;
+            oy[i] = m1 * vx + m5 * vy + m9 * vz + m13;
+            oz[i] = m2 * vx + m6 * vy + m10 * vz + m14;
+        }
+        return out;
+    }
+
+    /**
+     * Rotates the vectors of the current array by a quaternion rotation,
+     * like Vector3.rotateByQuaternion( Quaternion ).
+     *
+     * @param q The quaternion.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array rotateByQuaternion( Quaternion q, Vector3Array out ) {
+        prepare( out );
+        double r00 = q.x * q.x + q.w * q.w - q.y * q.y - q.z * q.z;
+        double r01 = 2 * q.x * q.y - 2 * q.w * q.z;
+        double r02 = 2 * q.x * q.z + 2 * q.w * q.y;
+        double r10 = 2 * q.w * q.z + 2 * q.x * q.y;
+        double r11 = q.w * q.w - q.x * q.x + q.y * q.y - q.z * q.z;
+        double r12 = -2 * q.w * q.x + 2 * q.y * q.z;
+        double r20 = -2 * q.w * q.y + 2 * q.x * q.z;
+        double r21 = 2 * q.w * q.x + 2 * q.y * q.z;
+        double r22 = q.w * q.w - q.x * q.x - q.y * q.y + q.z * q.z;
+        double[] x = xs, y = ys, z = zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            double vx = x[i];
+            double vy = y[i];
+            double vz = z[i];
+            ox[i] = vx * r00 + vy * r01 + vz * r02;
+            oy[i] = vx * r10 + vy * r11 + vz * r12;
+            oz[i] = vx * r20 + vy * r21 + vz * r22;
+        }
+        return out;
+    }
+
+    /**
+     * Performs linear interpolation between the vectors of the current
+     * array (start) and the vectors of another array (end).
+     *
+     * @param end Another array, with the same size.
+     * @param amount Amount (0 to 1)
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array lerp( Vector3Array end, double amount, Vector3Array out ) {
+        checkSize( end );
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, ex = end.xs, ey = end.ys, ez = end.zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = x[i] + ( ex[i] - x[i] ) * amount;
+            oy[i] = y[i] + ( ey[i] - y[i] ) * amount;
+            oz[i] = z[i] + ( ez[i] - z[i] ) * amount;
+        }
+        return out;
+    }
+
+    /**
+     * Clamps the vectors of the current array between two vectors.
+     *
+     * @param min The minimum vector.
+     * @param max The maximum vector.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array clamp( Vector3 min, Vector3 max, Vector3Array out ) {
+        prepare( out );
+        double minX = min.x, minY = min.y, minZ = min.z, maxX = max.x, maxY = max.y, maxZ = max.z;
+        double[] x = xs, y = ys, z = zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            ox[i] = Math.min( maxX, Math.max( minX, x[i] ) );
+            oy[i] = Math.min( maxY, Math.max( minY, y[i] ) );
+            oz[i] = Math.min( maxZ, Math.max( minZ, z[i] ) );
+        }
+        return out;
+    }
+
+    /**
+     * Clamps the magnitude of the vectors of the current array between
+     * minimum and maximum. Zero vectors stay zero.
+     *
+     * @param min The minimum value.
+     * @param max The maximum value.
+     * @param out The destination array.
+     * @return The destination array.
+     */
+    public Vector3Array clampValue( double min, double max, Vector3Array out ) {
+        prepare( out );
+        double[] x = xs, y = ys, z = zs, ox = out.xs, oy = out.ys, oz = out.zs;
+        for ( int i = 0; i < size; i++ ) {
+            double length = Math.sqrt( x[i] * x[i] + y[i] * y[i] + z[i] * z[i] );
+            double scale = length > 0.0 && length < min ? min / length : length > max ? max / length : 1;
+            ox[i] = x[i] * scale;
+            oy[i] = y[i] * scale;
+            oz[i] = z[i] * scale;
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the length of the vectors of the current array.
+     *
+     * @param out The destination array, with at least size() positions.
+     * @return The destination array.
+     */
+    public double[] length( double[] out ) {
+        checkLength( out );
+        double[] x = xs, y = ys, z = zs;
+        for ( int i = 0; i < size; i++ ) {
+            out[i] = Math.sqrt( x[i] * x[i] + y[i] * y[i] + z[i] * z[i] );
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the dot product of the vectors of the current array with
+     * the vectors of another array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array, with at least size() positions.
+     * @return The destination array.
+     */
+    public double[] dotProduct( Vector3Array v, double[] out ) {
+        checkSize( v );
+        checkLength( out );
+        double[] x = xs, y = ys, z = zs, vx = v.xs, vy = v.ys, vz = v.zs;
+        for ( int i = 0; i < size; i++ ) {
+            out[i] = x[i] * vx[i] + y[i] * vy[i] + z[i] * vz[i];
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the distance between the vectors of the current array and
+     * the vectors of another array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array, with at least size() positions.
+     * @return The destination array.
+     */
+    public double[] distance( Vector3Array v, double[] out ) {
+        distanceSquare( v, out );
+        for ( int i = 0; i < size; i++ ) {
+            out[i] = Math.sqrt( out[i] );
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the squared distance between the vectors of the current
+     * array and the vectors of another array.
+     *
+     * @param v Another array, with the same size.
+     * @param out The destination array, with at least size() positions.
+     * @return The destination array.
+     */
+    public double[] distanceSquare( Vector3Array v, double[] out ) {
+        checkSize( v );
+        checkLength( out );
+        double[] x = xs, y = ys, z = zs, vx = v.xs, vy = v.ys, vz = v.zs;
+        for ( int i = 0; i < size; i++ ) {
+            double dx = vx[i] - x[i];
+            double dy = vy[i] - y[i];
+            double dz = vz[i] - z[i];
+            out[i] = dx * dx + dy * dy + dz * dz;
+        }
+        return out;
+    }
+
+    private void checkSize( Vector3Array v ) {
+        if ( v.size != size ) {
+            throw new IllegalArgumentException( "the arrays must have the same size" );
+        }
+    }
+
+    private void checkLength( double[] out ) {
+        if ( out.length < size ) {
+            throw new IllegalArgumentException( "the destination must hold size() values" );
+        }
+    }
+
+    private void prepare( Vector3Array out ) {
+        if ( out != this ) {
+            out.resize( size );
+        }
+    }
+
+    private void grow( int minCapacity ) {
+        int capacity = Math.max( minCapacity, xs.length * 2 );
+        xs = Arrays.copyOf( xs, capacity );
+        ys = Arrays.copyOf( ys, capacity );
+        zs = Arrays.copyOf( zs, capacity );
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder( "Vector3Array[" );
+        for ( int i = 0; i < size; i++ ) {
+            if ( i > 0 ) {
+                sb.append( ", " );
+            }
+            sb.append( String.format( "(%.2f, %.2f, %.2f)", xs[i], ys[i], zs[i] ) );
+        }
+        return sb.append( "]" ).toString();
+    }
+
+}
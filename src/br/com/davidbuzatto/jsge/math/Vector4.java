@@ -23,6 +23,11 @@ import java.io.Serializable;
  *
  * Can also be used to return values with four components.
  *
+ * The operations that return a vector have a variant that receives a
+ * destination vector and stores the result in it, instead of creating a
+ * new vector. The destination can be the current vector itself, so
+ * {@code v.add( u, v )} adds u to v in place.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public class Vector4 implements Cloneable, Serializable {
@@ -70,6 +75,37 @@ public class Vector4 implements Cloneable, Serializable {
         this.w = w;
     }
 
+    /**
+     * Sets the components of the current vector.
+     *
+     * @param x x coordinate.
+     * @param y y coordinate.
+     * @param z z coordinate.
+     * @param w w coordinate.
+     * @return The current vector.
+     */
+    public Vector4 set( double x, double y, double z, double w ) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    /**
+     * Copies the components of another vector to the current vector.
+     *
+     * @param v Another vector.
+     * @return The current vector.
+     */
+    public Vector4 set( Vector4 v ) {
+        x = v.x;
+        y = v.y;
+        z = v.z;
+        w = v.w;
+        return this;
+    }
+
     /**
      * Creates a vector with all components equal to 1.0.
      *
@@ -86,7 +122,18 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector resulting from the addition.
      */
     public Vector4 add( Vector4 v ) {
-        return new Vector4( x + v.x, y + v.y, z + v.z, w + v.w );
+        return add( v, new Vector4() );
+    }
+
+    /**
+     * Adds the current vector to another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 add( Vector4 v, Vector4 out ) {
+        return out.set( x + v.x, y + v.y, z + v.z, w + v.w );
     }
 
     /**
@@ -99,7 +146,21 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector resulting from the addition.
      */
     public Vector4 add( double x, double y, double z, double w ) {
-        return new Vector4( this.x + x, this.y + y, this.z + z, this.w + w );
+        return add( x, y, z, w, new Vector4() );
+    }
+
+    /**
+     * Adds the given components to the current vector, storing the result in the destination vector.
+     *
+     * @param x The x component to add.
+     * @param y The y component to add.
+     * @param z The z component to add.
+     * @param w The w component to add.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 add( double x, double y, double z, double w, Vector4 out ) {
+        return out.set( this.x + x, this.y + y, this.z + z, this.w + w );
     }
 
     /**
@@ -109,7 +170,18 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the components added to the given value.
      */
     public Vector4 addValue( double value ) {
-        return new Vector4( x + value, y + value, z + value, w + value );
+        return addValue( value, new Vector4() );
+    }
+
+    /**
+     * Adds a value to the current vector, storing the result in the destination vector.
+     *
+     * @param value The value to add.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 addValue( double value, Vector4 out ) {
+        return out.set( x + value, y + value, z + value, w + value );
     }
     
     /**
@@ -119,7 +191,18 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector resulting from the subtraction.
      */
     public Vector4 subtract( Vector4 v ) {
-        return new Vector4( x - v.x, y - v.y, z - v.z, w - v.w );
+        return subtract( v, new Vector4() );
+    }
+
+    /**
+     * Subtracts a vector from the current vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 subtract( Vector4 v, Vector4 out ) {
+        return out.set( x - v.x, y - v.y, z - v.z, w - v.w );
     }
 
     /**
@@ -132,7 +215,21 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector resulting from the subtraction.
      */
     public Vector4 subtract( double x, double y, double z, double w ) {
-        return new Vector4( this.x - x, this.y - y, this.z - z, this.w - w );
+        return subtract( x, y, z, w, new Vector4() );
+    }
+
+    /**
+     * Subtracts the given components from the current vector, storing the result in the destination vector.
+     *
+     * @param x The x component to subtract.
+     * @param y The y component to subtract.
+     * @param z The z component to subtract.
+     * @param w The w component to subtract.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 subtract( double x, double y, double z, double w, Vector4 out ) {
+        return out.set( this.x - x, this.y - y, this.z - z, this.w - w );
     }
 
     /**
@@ -142,7 +239,18 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the components subtracted by the given value.
      */
     public Vector4 subtractValue( double value ) {
-        return new Vector4( x - value, y - value, z - value, w - value );
+        return subtractValue( value, new Vector4() );
+    }
+
+    /**
+     * Subtracts a value from the current vector, storing the result in the destination vector.
+     *
+     * @param value The value to subtract.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 subtractValue( double value, Vector4 out ) {
+        return out.set( x - value, y - value, z - value, w - value );
     }
     
     /**
@@ -238,7 +346,18 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new scaled vector.
      */
     public Vector4 scale( double scale ) {
-        return new Vector4( x * scale, y * scale, z * scale, w * scale );
+        return scale( scale, new Vector4() );
+    }
+
+    /**
+     * Scales the current vector, analogous to scalar multiplication, storing the result in the destination vector.
+     *
+     * @param scale The scale.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 scale( double scale, Vector4 out ) {
+        return out.set( x * scale, y * scale, z * scale, w * scale );
     }
 
     /**
@@ -251,7 +370,21 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new scaled vector.
      */
     public Vector4 scale( double x, double y, double z, double w ) {
-        return new Vector4( this.x * x, this.y * y, this.z * z, this.w * w );
+        return scale( x, y, z, w, new Vector4() );
+    }
+
+    /**
+     * Scales the current vector independently per component (non-uniform scaling), storing the result in the destination vector.
+     *
+     * @param x The scale factor for the x component.
+     * @param y The scale factor for the y component.
+     * @param z The scale factor for the z component.
+     * @param w The scale factor for the w component.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 scale( double x, double y, double z, double w, Vector4 out ) {
+        return out.set( this.x * x, this.y * y, this.z * z, this.w * w );
     }
 
     /**
@@ -261,7 +394,18 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the result of the multiplication.
      */
     public Vector4 multiply( Vector4 v ) {
-        return new Vector4( x * v.x, y * v.y, z * v.z, w * v.w );
+        return multiply( v, new Vector4() );
+    }
+
+    /**
+     * Multiplies the current vector by another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 multiply( Vector4 v, Vector4 out ) {
+        return out.set( x * v.x, y * v.y, z * v.z, w * v.w );
     }
 
     /**
@@ -274,7 +418,21 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the result of the multiplication.
      */
     public Vector4 multiply( double x, double y, double z, double w ) {
-        return new Vector4( this.x * x, this.y * y, this.z * z, this.w * w );
+        return multiply( x, y, z, w, new Vector4() );
+    }
+
+    /**
+     * Multiplies the current vector by the given components, storing the result in the destination vector.
+     *
+     * @param x The x component to multiply by.
+     * @param y The y component to multiply by.
+     * @param z The z component to multiply by.
+     * @param w The w component to multiply by.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 multiply( double x, double y, double z, double w, Vector4 out ) {
+        return out.set( this.x * x, this.y * y, this.z * z, this.w * w );
     }
 
     /**
@@ -283,7 +441,17 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the negation of the current vector.
      */
     public Vector4 negate() {
-        return new Vector4( -x, -y, -z, -w );
+        return negate( new Vector4() );
+    }
+
+    /**
+     * Negates the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 negate( Vector4 out ) {
+        return out.set( -x, -y, -z, -w );
     }
     
     /**
@@ -293,7 +461,18 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the result of the division.
      */
     public Vector4 divide( Vector4 v ) {
-        return new Vector4( x / v.x, y / v.y, z / v.z, w / v.w );
+        return divide( v, new Vector4() );
+    }
+
+    /**
+     * Divides the current vector by another vector, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 divide( Vector4 v, Vector4 out ) {
+        return out.set( x / v.x, y / v.y, z / v.z, w / v.w );
     }
 
     /**
@@ -306,7 +485,21 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the result of the division.
      */
     public Vector4 divide( double x, double y, double z, double w ) {
-        return new Vector4( this.x / x, this.y / y, this.z / z, this.w / w );
+        return divide( x, y, z, w, new Vector4() );
+    }
+
+    /**
+     * Divides the current vector by the given components, storing the result in the destination vector.
+     *
+     * @param x The x component to divide by.
+     * @param y The y component to divide by.
+     * @param z The z component to divide by.
+     * @param w The w component to divide by.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 divide( double x, double y, double z, double w, Vector4 out ) {
+        return out.set( this.x / x, this.y / y, this.z / z, this.w / w );
     }
 
     /**
@@ -315,19 +508,25 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new normalized vector.
      */
     public Vector4 normalize() {
+        return normalize( new Vector4() );
+    }
+
+    /**
+     * Normalizes the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 normalize( Vector4 out ) {
 
-        Vector4 result = new Vector4();
         double length = Math.sqrt( x * x + y * y + z * z + w * w );
 
         if ( length > 0.0 ) {
             double ilength = 1.0 / length;
-            result.x = x * ilength;
-            result.y = y * ilength;
-            result.z = z * ilength;
-            result.w = w * ilength;
+            return out.set( x * ilength, y * ilength, z * ilength, w * ilength );
         }
 
-        return result;
+        return out.set( 0, 0, 0, 0 );
 
     }
     
@@ -338,15 +537,24 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the minimum of each component.
      */
     public Vector4 min( Vector4 v ) {
+        return min( v, new Vector4() );
+    }
 
-        Vector4 result = new Vector4();
+    /**
+     * Gets a new vector with the minimum of each component, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 min( Vector4 v, Vector4 out ) {
 
-        result.x = Math.min( x, v.x );
-        result.y = Math.min( y, v.y );
-        result.z = Math.min( z, v.z );
-        result.w = Math.min( w, v.w );
+        double resultX = Math.min( x, v.x );
+        double resultY = Math.min( y, v.y );
+        double resultZ = Math.min( z, v.z );
+        double resultW = Math.min( w, v.w );
 
-        return result;
+        return out.set( resultX, resultY, resultZ, resultW );
 
     }
 
@@ -357,15 +565,24 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector with the maximum of each component.
      */
     public Vector4 max( Vector4 v ) {
+        return max( v, new Vector4() );
+    }
 
-        Vector4 result = new Vector4();
+    /**
+     * Gets a new vector with the maximum of each component, storing the result in the destination vector.
+     *
+     * @param v Another vector.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 max( Vector4 v, Vector4 out ) {
 
-        result.x = Math.max( x, v.x );
-        result.y = Math.max( y, v.y );
-        result.z = Math.max( z, v.z );
-        result.w = Math.max( w, v.w );
+        double resultX = Math.max( x, v.x );
+        double resultY = Math.max( y, v.y );
+        double resultZ = Math.max( z, v.z );
+        double resultW = Math.max( w, v.w );
 
-        return result;
+        return out.set( resultX, resultY, resultZ, resultW );
 
     }
     
@@ -377,7 +594,19 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A vector representing the linear interpolation between two vectors.
      */
     public Vector4 lerp( Vector4 end, double amount ) {
-        return new Vector4(
+        return lerp( end, amount, new Vector4() );
+    }
+
+    /**
+     * Performs linear interpolation between the current vector (start) and another vector (end), storing the result in the destination vector.
+     *
+     * @param end End vector.
+     * @param amount Amount (0 to 1)
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 lerp( Vector4 end, double amount, Vector4 out ) {
+        return out.set(
             this.x + ( end.x - this.x ) * amount,
             this.y + ( end.y - this.y ) * amount,
             this.z + ( end.z - this.z ) * amount,
@@ -393,9 +622,19 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new vector moved towards the target.
      */
     public Vector4 moveTowards( Vector4 target, double maxDistance ) {
-        
-        Vector4 result = new Vector4();
-        
+        return moveTowards( target, maxDistance, new Vector4() );
+    }
+
+    /**
+     * Creates a new vector moved towards a target, storing the result in the destination vector.
+     *
+     * @param target The target.
+     * @param maxDistance The maximum distance.
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 moveTowards( Vector4 target, double maxDistance, Vector4 out ) {
+
         double dx = target.x - x;
         double dy = target.y - y;
         double dz = target.z - z;
@@ -403,16 +642,16 @@ public class Vector4 implements Cloneable, Serializable {
         double value = ( dx * dx ) + ( dy * dy ) + ( dz * dz ) + ( dw * dw );
         
         if ( ( value == 0.0 ) || ( ( maxDistance >= 0.0 ) && ( value <= maxDistance * maxDistance ) ) ) {
-            return new Vector4( target.x, target.y, target.z, target.w );
+            return out.set( target.x, target.y, target.z, target.w );
         }
         
         double dist = Math.sqrt( value );
-        result.x = x + dx / dist * maxDistance;
-        result.y = y + dy / dist * maxDistance;
-        result.z = z + dz / dist * maxDistance;
-        result.w = w + dw / dist * maxDistance;
+        double resultX = x + dx / dist * maxDistance;
+        double resultY = y + dy / dist * maxDistance;
+        double resultZ = z + dz / dist * maxDistance;
+        double resultW = w + dw / dist * maxDistance;
         
-        return result;
+        return out.set( resultX, resultY, resultZ, resultW );
         
     }
     
@@ -422,7 +661,17 @@ public class Vector4 implements Cloneable, Serializable {
      * @return A new inverted vector.
      */
     public Vector4 invert() {
-        return new Vector4( 1.0 / x, 1.0 / y, 1.0 / z, 1.0 / w );
+        return invert( new Vector4() );
+    }
+
+    /**
+     * Inverts the current vector, storing the result in the destination vector.
+     *
+     * @param out The destination vector.
+     * @return The destination vector.
+     */
+    public Vector4 invert( Vector4 out ) {
+        return out.set( 1.0 / x, 1.0 / y, 1.0 / z, 1.0 / w );
     }
     
     @Override
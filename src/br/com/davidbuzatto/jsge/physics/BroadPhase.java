@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBPairBuffer;
+
+/**
+ * Broad-phase of a PhysicsWorld: finds the pairs of bodies whose AABBs
+ * overlap, so only these pairs go through the narrow-phase.
+ *
+ * The factory methods wrap the broad-phases of the aabb package. As in
+ * them, pairs of static AABBs must not be reported, since the world marks
+ * static and sleeping bodies with static AABBs.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public interface BroadPhase {
+
+    /**
+     * Adds an AABB.
+     *
+     * @param aabb The AABB.
+     */
+    void add( AABB aabb );
+
+    /**
+     * Removes an AABB.
+     *
+     * @param aabb The AABB.
+     */
+    void remove( AABB aabb );
+
+    /**
+     * Finds the pairs of overlapping AABBs, with the current position of
+     * the AABBs. Each pair must be reported once.
+     *
+     * @param pairs The buffer that receives the pairs. It is cleared first.
+     * @return The number of pairs.
+     */
+    int findPairs( AABBPairBuffer pairs );
+
+    /**
+     * Creates a broad-phase that uses an AABBTree. It works well in most
+     * cases and is the default broad-phase of the world.
+     *
+     * @return The broad-phase.
+     */
+    public static BroadPhase createTree() {
+        return new TreeBroadPhase();
+    }
+
+    /**
+     * Creates a broad-phase that uses an AABBSweepAndPrune. It works well
+     * when the bodies are spread along the x axis.
+     *
+     * @return The broad-phase.
+     */
+    public static BroadPhase createSweepAndPrune() {
+        return new SweepAndPruneBroadPhase();
+    }
+
+    /**
+     * Creates a broad-phase that uses an AABBSpatialHashGrid. It works well
+     * when the bodies have similar sizes.
+     *
+     * @param cellSize The size of the cells, about the size of the bodies.
+     * @return The broad-phase.
+     */
+    public static BroadPhase createSpatialHashGrid( double cellSize ) {
+        return new SpatialHashGridBroadPhase( cellSize );
+    }
+
+    /**
+     * Creates a broad-phase that uses an AABBQuadtree. The bodies must stay
+     * inside the area of the quadtree.
+     *
+     * @param width Width of the quadtree.
+     * @param height Height of the quadtree.
+     * @param maxDepth Maximum depth of the quadtree.
+     * @return The broad-phase.
+     */
+    public static BroadPhase createQuadtree( int width, int height, int maxDepth ) {
+        return new QuadtreeBroadPhase( width, height, maxDepth );
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import java.util.Arrays;
+
+/**
+ * Contact points of a step of a PhysicsWorld, in structure-of-arrays form.
+ * The points of the same pair of bodies are stored consecutively, so the
+ * index of the pairs allows finding the points of the previous step for
+ * warm starting.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class ContactPoints {
+
+    private static final long EMPTY = -1;
+
+    int count;
+
+    /* bodies and key of the pair */
+    int[] bodyAs;
+    int[] bodyBs;
+    long[] keys;
+
+    /* geometry, with the normal pointing from body a to body b */
+    double[] xs;
+    double[] ys;
+    double[] normalXs;
+    double[] normalYs;
+    double[] depths;
+    double[] frictions;
+    double[] restitutions;
+
+    /* solver data */
+    double[] rAxs;
+    double[] rAys;
+    double[] rBxs;
+    double[] rBys;
+    double[] normalMasses;
+    double[] tangentMasses;
+    double[] biases;
+    double[] relaxBiases;
+    double[] normalImpulses;
+    double[] tangentImpulses;
+
+    /* open addressing table from the pair keys to their first point */
+    private long[] tableKeys;
+    private int[] tableValues;
+    private int tableMask;
+
+    ContactPoints() {
+        allocate( 64 );
+        tableKeys = new long[128];
+        tableValues = new int[128];
+        tableMask = 127;
+        Arrays.fill( tableKeys, EMPTY );
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Adds a point, without impulses.
+     *
+     * @return The index of the point.
+     */
+    int add( int bodyA, int bodyB, long key, double x, double y, double normalX, double normalY, double depth ) {
+
+        if ( count == keys.length ) {
+            allocate( count * 2 );
+        }
+
+        int i = count++;
+        bodyAs[i] = bodyA;
+        bodyBs[i] = bodyB;
+        keys[i] = key;
+        xs[i] = x;
+        ys[i] = y;
+        normalXs[i] = normalX;
+        normalYs[i] = normalY;
+        depths[i] = depth;
+        normalImpulses[i] = 0;
+        tangentImpulses[i] = 0;
+
+        return i;
+
+    }
+
+    /**
+     * Indexes the pairs of the points, to be found later.
+     */
+    void buildIndex() {
+
+        int capacity = tableKeys.length;
+        while ( capacity < count * 2 ) {
+            capacity *= 2;
+        }
+
+        if ( capacity != tableKeys.length ) {
+            tableKeys = new long[capacity];
+            tableValues = new int[capacity];
+            tableMask = capacity - 1;
+        }
+
+        Arrays.fill( tableKeys, EMPTY );
+
+        for ( int i = 0; i < count; i++ ) {
+
+            if ( i > 0 && keys[i] == keys[i - 1] ) {
+                continue;
+            }
+
+            int slot = hash( keys[i] );
+            while ( tableKeys[slot] != EMPTY ) {
+                slot = ( slot + 1 ) & tableMask;
+            }
+
+            tableKeys[slot] = keys[i];
+            tableValues[slot] = i;
+
+        }
+
+    }
+
+    /**
+     * Finds the first point of a pair in the last built index.
+     *
+     * @return The index of the point or -1 if the pair has no points.
+     */
+    int find( long key ) {
+
+        int slot = hash( key );
+
+        while ( tableKeys[slot] != EMPTY ) {
+            if ( tableKeys[slot] == key ) {
+                return tableValues[slot];
+            }
+            slot = ( slot + 1 ) & tableMask;
+        }
+
+        return -1;
+
+    }
+
+    private int hash( long key ) {
+        return (int) ( ( key * 0x9E3779B97F4A7C15L ) >>> 32 ) & tableMask;
+    }
+
+    private void allocate( int capacity ) {
+        bodyAs = bodyAs == null ? new int[capacity] : Arrays.copyOf( bodyAs, capacity );
+        bodyBs = bodyBs == null ? new int[capacity] : Arrays.copyOf( bodyBs, capacity );
+        keys = keys == null ? new long[capacity] : Arrays.copyOf( keys, capacity );
+        xs = grow( xs, capacity );
+        ys = grow( ys, capacity );
+        normalXs = grow( normalXs, capacity );
+        normalYs = grow( normalYs, capacity );
+        depths = grow( depths, capacity );
+        frictions = grow( frictions, capacity );
+        restitutions = grow( restitutions, capacity );
+        rAxs = grow( rAxs, capacity );
+        rAys = grow( rAys, capacity );
+        rBxs = grow( rBxs, capacity );
+        rBys = grow( rBys, capacity );
+        normalMasses = grow( normalMasses, capacity );
+        tangentMasses = grow( tangentMasses, capacity );
+        biases = grow( biases, capacity );
+        relaxBiases = grow( relaxBiases, capacity );
+        normalImpulses = grow( normalImpulses, capacity );
+        tangentImpulses = grow( tangentImpulses, capacity );
+    }
+
+    private static double[] grow( double[] array, int capacity ) {
+        return array == null ? new double[capacity] : Arrays.copyOf( array, capacity );
+    }
+
+}
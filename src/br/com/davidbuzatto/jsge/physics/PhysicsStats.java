@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+/**
+ * Counters of the last step of a PhysicsWorld. The times are in
+ * nanoseconds.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class PhysicsStats {
+
+    /**
+     * Time spent finding the pairs of overlapping AABBs.
+     */
+    public long broadPhaseTime;
+
+    /**
+     * Time spent testing the pairs and building the contacts.
+     */
+    public long narrowPhaseTime;
+
+    /**
+     * Time spent building the islands.
+     */
+    public long islandTime;
+
+    /**
+     * Time spent solving the contacts and integrating the islands.
+     */
+    public long solverTime;
+
+    /**
+     * Time spent updating the shapes and the AABBs of the moved bodies.
+     */
+    public long synchronizationTime;
+
+    /**
+     * Total time of the step.
+     */
+    public long totalTime;
+
+    /**
+     * Number of bodies.
+     */
+    public int bodyCount;
+
+    /**
+     * Number of awake dynamic bodies.
+     */
+    public int awakeBodyCount;
+
+    /**
+     * Number of pairs reported by the broad-phase.
+     */
+    public int pairCount;
+
+    /**
+     * Number of pairs of colliding shapes.
+     */
+    public int contactCount;
+
+    /**
+     * Number of contact points.
+     */
+    public int contactPointCount;
+
+    /**
+     * Number of islands solved.
+     */
+    public int islandCount;
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        broadPhaseTime = 0;
+        narrowPhaseTime = 0;
+        islandTime = 0;
+        solverTime = 0;
+        synchronizationTime = 0;
+        totalTime = 0;
+        bodyCount = 0;
+        awakeBodyCount = 0;
+        pairCount = 0;
+        contactCount = 0;
+        contactPointCount = 0;
+        islandCount = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "PhysicsStats[bodies %d (%d awake), pairs %d, contacts %d (%d points), islands %d, " +
+            "broad %.3f ms, narrow %.3f ms, islands %.3f ms, solver %.3f ms, sync %.3f ms, total %.3f ms]",
+            bodyCount, awakeBodyCount, pairCount, contactCount, contactPointCount, islandCount,
+            broadPhaseTime / 1e6, narrowPhaseTime / 1e6, islandTime / 1e6,
+            solverTime / 1e6, synchronizationTime / 1e6, totalTime / 1e6 );
+    }
+
+}
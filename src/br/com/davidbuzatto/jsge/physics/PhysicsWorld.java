@@ -0,0 +1,1729 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.CollisionUtils;
+import br.com.davidbuzatto.jsge.collision.ContactManifold;
+import br.com.davidbuzatto.jsge.collision.ConvexShape;
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBPairBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A world of 2D rigid bodies, simulated with a fixed time step.
+ *
+ * Each body has a convex shape (see ConvexShape) and an AABB that is kept
+ * in a broad-phase. The bodies are identified by integer ids and their
+ * data is stored in structure-of-arrays form, so the simulation loops run
+ * over primitive arrays. The center of mass of a body is the position of
+ * its shape.
+ *
+ * Each step finds the candidate pairs in the broad-phase, tests them with
+ * CollisionUtils, groups the bodies that touch each other in islands and
+ * solves the contacts of each island with sequential impulses, with warm
+ * starting. The islands are independent, so they can be solved in
+ * parallel. When all bodies of an island stay still for a while, the
+ * island sleeps: its bodies are not integrated nor solved and their AABBs
+ * become static, so the broad-phase ignores the pairs of sleeping bodies.
+ * A sleeping island wakes up when an awake body touches it.
+ *
+ * The units are the units of the shapes (usually pixels) and seconds.
+ * Angles are in degrees, as in the rest of the engine.
+ *
+ * Usage:
+ * <pre>
+ * PhysicsWorld world = new PhysicsWorld();
+ * world.setGravity( 0, 980 );
+ * world.addBody( ConvexShape.createBox( 400, 580, 800, 40, 0 ), PhysicsWorld.BodyType.STATIC );
+ * int box = world.addBody( ConvexShape.createBox( 400, 100, 40, 40, 30 ), PhysicsWorld.BodyType.DYNAMIC );
+ *
+ * // each frame
+ * world.update( delta );
+ * double x = world.getX( box );
+ * </pre>
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class PhysicsWorld {
+
+    /**
+     * Body type.
+     */
+    public static enum BodyType {
+
+        /**
+         * Static body. It never moves and has infinite mass.
+         */
+        STATIC,
+
+        /**
+         * Kinematic body. It moves with its velocity, is not affected by
+         * forces nor contacts and has infinite mass.
+         */
+        KINEMATIC,
+
+        /**
+         * Dynamic body. It is moved by forces and contacts.
+         */
+        DYNAMIC;
+
+    }
+
+    /**
+     * Default time step, in seconds.
+     */
+    public static final double DEFAULT_TIME_STEP = 1.0 / 60;
+
+    /**
+     * Default number of velocity iterations of the solver.
+     */
+    public static final int DEFAULT_VELOCITY_ITERATIONS = 8;
+
+    /**
+     * Default parallelism threshold, in contact points.
+     */
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 1024;
+
+    /* position correction */
+    private static final double BAUMGARTE = 0.2;
+    private static final double LINEAR_SLOP = 0.5;
+
+    /* iterations without position correction after integrating positions */
+    private static final int RELAX_ITERATIONS = 1;
+
+    /* distance below which separated shapes have speculative contacts */
+    private static final double CONTACT_MARGIN = 4;
+
+    /* relative velocity below which there is no bounce */
+    private static final double RESTITUTION_THRESHOLD = 30;
+
+    /* sleeping */
+    private static final double LINEAR_SLEEP_TOLERANCE = 4;
+    private static final double ANGULAR_SLEEP_TOLERANCE = Math.toRadians( 4 );
+    private static final double TIME_TO_SLEEP = 0.5;
+
+    /* distance for a contact point to reuse the impulses of the last step */
+    private static final double WARM_START_DISTANCE = 2;
+
+    /* maximum number of steps of an update and of collision passes of a step */
+    private static final int MAX_STEPS = 8;
+    private static final int MAX_COLLISION_PASSES = 4;
+
+    /* contact points of each task of the parallel solver */
+    private static final int CHUNK_POINTS = 256;
+
+    private static final double DEFAULT_FRICTION = 0.4;
+    private static final int NO_BODY = -1;
+
+    /* bodies, indexed by id */
+    private int capacity;
+    private int idCount;
+    private int bodyCount;
+    private int[] freeIds;
+    private int freeIdCount;
+    private boolean[] used;
+    private BodyType[] types;
+    private ConvexShape[] shapes;
+    private AABB[] aabbs;
+    private double[] xs;
+    private double[] ys;
+    private double[] angles;
+    private double[] velocityXs;
+    private double[] velocityYs;
+    private double[] angularVelocities;
+    private double[] forceXs;
+    private double[] forceYs;
+    private double[] torques;
+    private double[] masses;
+    private double[] invMasses;
+    private double[] inertias;
+    private double[] invInertias;
+    private double[] frictions;
+    private double[] restitutions;
+    private double[] linearDampings;
+    private double[] angularDampings;
+    private boolean[] awakes;
+    private double[] sleepTimes;
+
+    /* next body of the circular list of each sleeping island */
+    private int[] sleepNexts;
+
+    /* union-find of the islands and the island of each body */
+    private int[] islandParents;
+    private int[] bodyIslands;
+
+    /* contact points of the current and of the last step */
+    private ContactPoints points;
+    private ContactPoints previousPoints;
+
+    /* islands: their bodies and points, grouped by island */
+    private int islandCount;
+    private int[] islandBodyStarts;
+    private int[] islandBodies;
+    private int[] islandPointStarts;
+    private int[] islandPoints;
+    private int[] islandCursors;
+    private int[] pointIslands;
+
+    /* kinematic bodies moved in the step */
+    private int[] movedKinematics;
+    private int movedKinematicCount;
+
+    private BroadPhase broadPhase;
+    private final AABBPairBuffer pairs;
+
+    /* keys of the pairs of the broad-phase, sorted to be independent of it */
+    private long[] pairKeys;
+    private final ContactManifold manifold;
+    private final PhysicsStats stats;
+
+    private double gravityX;
+    private double gravityY;
+    private double timeStep;
+    private double accumulator;
+    private int velocityIterations;
+    private boolean sleepingEnabled;
+    private boolean wokeInCollision;
+
+    private boolean parallelIslandSolving;
+    private int parallelismThreshold;
+    private ForkJoinPool pool;
+
+    /**
+     * Constructs an empty world, without gravity, with an AABBTree as its
+     * broad-phase.
+     */
+    public PhysicsWorld() {
+        this( BroadPhase.createTree() );
+    }
+
+    /**
+     * Constructs an empty world, without gravity.
+     *
+     * @param broadPhase The broad-phase.
+     */
+    public PhysicsWorld( BroadPhase broadPhase ) {
+
+        this.broadPhase = broadPhase;
+        this.pairs = new AABBPairBuffer();
+        this.pairKeys = new long[64];
+        this.manifold = new ContactManifold();
+        this.stats = new PhysicsStats();
+        this.points = new ContactPoints();
+        this.previousPoints = new ContactPoints();
+        this.timeStep = DEFAULT_TIME_STEP;
+        this.velocityIterations = DEFAULT_VELOCITY_ITERATIONS;
+        this.sleepingEnabled = true;
+        this.parallelismThreshold = DEFAULT_PARALLELISM_THRESHOLD;
+        this.freeIds = new int[16];
+        this.islandBodyStarts = new int[17];
+        this.islandPointStarts = new int[17];
+        this.islandCursors = new int[17];
+        this.islandBodies = new int[16];
+        this.islandPoints = new int[64];
+        this.pointIslands = new int[64];
+
+        allocateBodies( 16 );
+
+    }
+
+    /**
+     * Adds a body with density 1.
+     *
+     * @param shape The shape of the body, already in its initial position
+     * and rotation. The world takes control of its transform.
+     * @param type The type of the body.
+     * @return The id of the body.
+     */
+    public int addBody( ConvexShape shape, BodyType type ) {
+        return addBody( shape, type, 1 );
+    }
+
+    /**
+     * Adds a body.
+     *
+     * @param shape The shape of the body, already in its initial position
+     * and rotation. The world takes control of its transform.
+     * @param type The type of the body.
+     * @param density The density of the body, used to compute its mass if
+     * it is dynamic.
+     * @return The id of the body.
+     * @throws IllegalArgumentException If a dynamic body has no area or a
+     * non positive density.
+     */
+    public int addBody( ConvexShape shape, BodyType type, double density ) {
+
+        if ( type == BodyType.DYNAMIC && density <= 0 ) {
+            throw new IllegalArgumentException( "the density of a dynamic body must be positive" );
+        }
+
+        int id;
+
+        if ( freeIdCount > 0 ) {
+            id = freeIds[--freeIdCount];
+        } else {
+            if ( idCount == capacity ) {
+                allocateBodies( capacity * 2 );
+            }
+            id = idCount++;
+        }
+
+        used[id] = true;
+        types[id] = type;
+        shapes[id] = shape;
+        xs[id] = shape.getX();
+        ys[id] = shape.getY();
+        angles[id] = Math.toRadians( shape.getRotation() );
+        velocityXs[id] = 0;
+        velocityYs[id] = 0;
+        angularVelocities[id] = 0;
+        forceXs[id] = 0;
+        forceYs[id] = 0;
+        torques[id] = 0;
+        frictions[id] = DEFAULT_FRICTION;
+        restitutions[id] = 0;
+        linearDampings[id] = 0;
+        angularDampings[id] = 0;
+        awakes[id] = type != BodyType.STATIC;
+        sleepTimes[id] = 0;
+        sleepNexts[id] = NO_BODY;
+
+        masses[id] = 0;
+        invMasses[id] = 0;
+        inertias[id] = 0;
+        invInertias[id] = 0;
+
+        if ( type == BodyType.DYNAMIC ) {
+            try {
+                computeMass( id, density );
+            } catch ( IllegalArgumentException exc ) {
+                release( id );
+                throw exc;
+            }
+        }
+
+        AABB aabb = new AABB( 0, 0, 0, 0, type == BodyType.STATIC ? AABB.Type.STATIC : AABB.Type.DYNAMIC, id );
+        shape.updateAABB( aabb, CONTACT_MARGIN / 2 );
+        aabbs[id] = aabb;
+        broadPhase.add( aabb );
+        bodyCount++;
+
+        return id;
+
+    }
+
+    /**
+     * Removes a body. Its id may be reused by the next bodies.
+     *
+     * @param id The id of the body.
+     */
+    public void removeBody( int id ) {
+
+        checkBody( id );
+
+        // the circular list of a sleeping island can not lose a body
+        if ( !awakes[id] && types[id] == BodyType.DYNAMIC ) {
+            wake( id );
+        }
+
+        broadPhase.remove( aabbs[id] );
+        release( id );
+        bodyCount--;
+
+    }
+
+    /**
+     * Checks whether a body exists.
+     *
+     * @param id The id of the body.
+     * @return True if the body exists, false otherwise.
+     */
+    public boolean containsBody( int id ) {
+        return id >= 0 && id < idCount && used[id];
+    }
+
+    /**
+     * Gets the number of bodies.
+     *
+     * @return The number of bodies.
+     */
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    /**
+     * Advances the simulation by the elapsed time, running as many fixed
+     * steps as needed. The time that is left is accumulated for the next
+     * update. To avoid falling behind when the steps are too slow, at
+     * most 8 steps are run and the remaining time is discarded.
+     *
+     * @param delta The elapsed time, in seconds.
+     * @return The number of steps.
+     */
+    public int update( double delta ) {
+
+        accumulator += delta;
+        int steps = 0;
+
+        while ( accumulator >= timeStep && steps < MAX_STEPS ) {
+            step();
+            accumulator -= timeStep;
+            steps++;
+        }
+
+        if ( steps == MAX_STEPS ) {
+            accumulator = 0;
+        }
+
+        return steps;
+
+    }
+
+    /**
+     * Runs a single step of the simulation.
+     */
+    public void step() {
+
+        long start = System.nanoTime();
+        long broadPhaseTime = 0;
+        long narrowPhaseTime = 0;
+        double dt = timeStep;
+
+        stats.reset();
+
+        ContactPoints swap = previousPoints;
+        previousPoints = points;
+        points = swap;
+        previousPoints.buildIndex();
+
+        // a body woken in the narrow-phase was static for the broad-phase,
+        // so its pairs with other static bodies are only found by a new pass
+        int pass = 0;
+
+        do {
+
+            long passStart = System.nanoTime();
+            stats.pairCount = broadPhase.findPairs( pairs );
+            long broadPhaseEnd = System.nanoTime();
+
+            wokeInCollision = false;
+            collide();
+
+            broadPhaseTime += broadPhaseEnd - passStart;
+            narrowPhaseTime += System.nanoTime() - broadPhaseEnd;
+            pass++;
+
+        } while ( wokeInCollision && pass < MAX_COLLISION_PASSES );
+
+        long islandStart = System.nanoTime();
+        buildIslands();
+
+        long solverStart = System.nanoTime();
+        solveIslands( dt );
+        moveKinematics( dt );
+
+        long synchronizationStart = System.nanoTime();
+        synchronize();
+
+        long end = System.nanoTime();
+
+        stats.broadPhaseTime = broadPhaseTime;
+        stats.narrowPhaseTime = narrowPhaseTime;
+        stats.islandTime = solverStart - islandStart;
+        stats.solverTime = synchronizationStart - solverStart;
+        stats.synchronizationTime = end - synchronizationStart;
+        stats.totalTime = end - start;
+        stats.bodyCount = bodyCount;
+        stats.awakeBodyCount = islandBodyStarts[islandCount];
+        stats.contactPointCount = points.count;
+        stats.islandCount = islandCount;
+
+    }
+
+    /**
+     * Gets the counters of the last step. The object is reused by the next
+     * steps.
+     *
+     * @return The counters.
+     */
+    public PhysicsStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Gets the type of a body.
+     *
+     * @param id The id of the body.
+     * @return The type of the body.
+     */
+    public BodyType getType( int id ) {
+        checkBody( id );
+        return types[id];
+    }
+
+    /**
+     * Gets the shape of a body, with the transform of the last step. It
+     * must not be moved directly, use setPosition and setRotation.
+     *
+     * @param id The id of the body.
+     * @return The shape of the body.
+     */
+    public ConvexShape getShape( int id ) {
+        checkBody( id );
+        return shapes[id];
+    }
+
+    /**
+     * Gets the AABB of a body, kept in the broad-phase and slightly larger
+     * than its shape, so close bodies get contacts before they touch. Its
+     * referenced object is the id of the body and it must not be changed.
+     *
+     * @param id The id of the body.
+     * @return The AABB of the body.
+     */
+    public AABB getAABB( int id ) {
+        checkBody( id );
+        return aabbs[id];
+    }
+
+    /**
+     * Gets the x coordinate of the position of a body.
+     *
+     * @param id The id of the body.
+     * @return The x coordinate of the position.
+     */
+    public double getX( int id ) {
+        checkBody( id );
+        return xs[id];
+    }
+
+    /**
+     * Gets the y coordinate of the position of a body.
+     *
+     * @param id The id of the body.
+     * @return The y coordinate of the position.
+     */
+    public double getY( int id ) {
+        checkBody( id );
+        return ys[id];
+    }
+
+    /**
+     * Gets the rotation of a body.
+     *
+     * @param id The id of the body.
+     * @return The rotation in degrees (clockwise).
+     */
+    public double getRotation( int id ) {
+        checkBody( id );
+        return Math.toDegrees( angles[id] );
+    }
+
+    /**
+     * Moves a body to a position, waking it up.
+     *
+     * @param id The id of the body.
+     * @param x X coordinate of the position.
+     * @param y Y coordinate of the position.
+     */
+    public void setPosition( int id, double x, double y ) {
+        checkBody( id );
+        xs[id] = x;
+        ys[id] = y;
+        synchronize( id );
+        wakeBody( id );
+    }
+
+    /**
+     * Sets the rotation of a body, waking it up.
+     *
+     * @param id The id of the body.
+     * @param rotation Rotation in degrees (clockwise).
+     */
+    public void setRotation( int id, double rotation ) {
+        checkBody( id );
+        angles[id] = Math.toRadians( rotation );
+        synchronize( id );
+        wakeBody( id );
+    }
+
+    /**
+     * Gets the x component of the linear velocity of a body.
+     *
+     * @param id The id of the body.
+     * @return The x component of the velocity, per second.
+     */
+    public double getVelocityX( int id ) {
+        checkBody( id );
+        return velocityXs[id];
+    }
+
+    /**
+     * Gets the y component of the linear velocity of a body.
+     *
+     * @param id The id of the body.
+     * @return The y component of the velocity, per second.
+     */
+    public double getVelocityY( int id ) {
+        checkBody( id );
+        return velocityYs[id];
+    }
+
+    /**
+     * Sets the linear velocity of a body, waking it up. Static bodies
+     * ignore it.
+     *
+     * @param id The id of the body.
+     * @param velocityX The x component of the velocity, per second.
+     * @param velocityY The y component of the velocity, per second.
+     */
+    public void setVelocity( int id, double velocityX, double velocityY ) {
+        checkBody( id );
+        if ( types[id] != BodyType.STATIC ) {
+            velocityXs[id] = velocityX;
+            velocityYs[id] = velocityY;
+            wakeBody( id );
+        }
+    }
+
+    /**
+     * Gets the angular velocity of a body.
+     *
+     * @param id The id of the body.
+     * @return The angular velocity, in degrees per second (clockwise).
+     */
+    public double getAngularVelocity( int id ) {
+        checkBody( id );
+        return Math.toDegrees( angularVelocities[id] );
+    }
+
+    /**
+     * Sets the angular velocity of a body, waking it up. Static bodies
+     * ignore it.
+     *
+     * @param id The id of the body.
+     * @param angularVelocity The angular velocity, in degrees per second
+     * (clockwise).
+     */
+    public void setAngularVelocity( int id, double angularVelocity ) {
+        checkBody( id );
+        if ( types[id] != BodyType.STATIC ) {
+            angularVelocities[id] = Math.toRadians( angularVelocity );
+            wakeBody( id );
+        }
+    }
+
+    /**
+     * Applies a force at the center of a dynamic body during the next
+     * step, waking it up.
+     *
+     * @param id The id of the body.
+     * @param forceX The x component of the force.
+     * @param forceY The y component of the force.
+     */
+    public void applyForce( int id, double forceX, double forceY ) {
+        checkBody( id );
+        if ( types[id] == BodyType.DYNAMIC ) {
+            forceXs[id] += forceX;
+            forceYs[id] += forceY;
+            wakeBody( id );
+        }
+    }
+
+    /**
+     * Applies a force at a point of a dynamic body during the next step,
+     * waking it up.
+     *
+     * @param id The id of the body.
+     * @param forceX The x component of the force.
+     * @param forceY The y component of the force.
+     * @param x X coordinate of the point.
+     * @param y Y coordinate of the point.
+     */
+    public void applyForce( int id, double forceX, double forceY, double x, double y ) {
+        checkBody( id );
+        if ( types[id] == BodyType.DYNAMIC ) {
+            forceXs[id] += forceX;
+            forceYs[id] += forceY;
+            torques[id] += ( x - xs[id] ) * forceY - ( y - ys[id] ) * forceX;
+            wakeBody( id );
+        }
+    }
+
+    /**
+     * Applies a torque to a dynamic body during the next step, waking it
+     * up.
+     *
+     * @param id The id of the body.
+     * @param torque The torque (clockwise).
+     */
+    public void applyTorque( int id, double torque ) {
+        checkBody( id );
+        if ( types[id] == BodyType.DYNAMIC ) {
+            torques[id] += torque;
+            wakeBody( id );
+        }
+    }
+
+    /**
+     * Applies an impulse at the center of a dynamic body, changing its
+     * velocity immediately and waking it up.
+     *
+     * @param id The id of the body.
+     * @param impulseX The x component of the impulse.
+     * @param impulseY The y component of the impulse.
+     */
+    public void applyImpulse( int id, double impulseX, double impulseY ) {
+        checkBody( id );
+        if ( types[id] == BodyType.DYNAMIC ) {
+            velocityXs[id] += impulseX * invMasses[id];
+            velocityYs[id] += impulseY * invMasses[id];
+            wakeBody( id );
+        }
+    }
+
+    /**
+     * Applies an impulse at a point of a dynamic body, changing its
+     * velocities immediately and waking it up.
+     *
+     * @param id The id of the body.
+     * @param impulseX The x component of the impulse.
+     * @param impulseY The y component of the impulse.
+     * @param x X coordinate of the point.
+     * @param y Y coordinate of the point.
+     */
+    public void applyImpulse( int id, double impulseX, double impulseY, double x, double y ) {
+        checkBody( id );
+        if ( types[id] == BodyType.DYNAMIC ) {
+            velocityXs[id] += impulseX * invMasses[id];
+            velocityYs[id] += impulseY * invMasses[id];
+            angularVelocities[id] += invInertias[id] * ( ( x - xs[id] ) * impulseY - ( y - ys[id] ) * impulseX );
+            wakeBody( id );
+        }
+    }
+
+    /**
+     * Gets the mass of a body. Static and kinematic bodies have zero mass,
+     * meaning infinite mass.
+     *
+     * @param id The id of the body.
+     * @return The mass.
+     */
+    public double getMass( int id ) {
+        checkBody( id );
+        return masses[id];
+    }
+
+    /**
+     * Gets the rotational inertia of a body around its center.
+     *
+     * @param id The id of the body.
+     * @return The rotational inertia.
+     */
+    public double getInertia( int id ) {
+        checkBody( id );
+        return inertias[id];
+    }
+
+    /**
+     * Gets the friction coefficient of a body.
+     *
+     * @param id The id of the body.
+     * @return The friction coefficient.
+     */
+    public double getFriction( int id ) {
+        checkBody( id );
+        return frictions[id];
+    }
+
+    /**
+     * Sets the friction coefficient of a body. The friction of a contact
+     * is the geometric mean of the friction of both bodies. The default
+     * is 0.4.
+     *
+     * @param id The id of the body.
+     * @param friction The friction coefficient, usually from 0 to 1.
+     */
+    public void setFriction( int id, double friction ) {
+        checkBody( id );
+        frictions[id] = Math.max( 0, friction );
+    }
+
+    /**
+     * Gets the restitution (bounciness) of a body.
+     *
+     * @param id The id of the body.
+     * @return The restitution.
+     */
+    public double getRestitution( int id ) {
+        checkBody( id );
+        return restitutions[id];
+    }
+
+    /**
+     * Sets the restitution (bounciness) of a body. The restitution of a
+     * contact is the largest restitution of both bodies. The default is 0.
+     *
+     * @param id The id of the body.
+     * @param restitution The restitution, from 0 (no bounce) to 1.
+     */
+    public void setRestitution( int id, double restitution ) {
+        checkBody( id );
+        restitutions[id] = Math.max( 0, restitution );
+    }
+
+    /**
+     * Gets the linear damping of a body.
+     *
+     * @param id The id of the body.
+     * @return The linear damping.
+     */
+    public double getLinearDamping( int id ) {
+        checkBody( id );
+        return linearDampings[id];
+    }
+
+    /**
+     * Sets the linear damping of a body, that reduces its linear velocity
+     * over time. The default is 0.
+     *
+     * @param id The id of the body.
+     * @param linearDamping The linear damping, per second.
+     */
+    public void setLinearDamping( int id, double linearDamping ) {
+        checkBody( id );
+        linearDampings[id] = Math.max( 0, linearDamping );
+    }
+
+    /**
+     * Gets the angular damping of a body.
+     *
+     * @param id The id of the body.
+     * @return The angular damping.
+     */
+    public double getAngularDamping( int id ) {
+        checkBody( id );
+        return angularDampings[id];
+    }
+
+    /**
+     * Sets the angular damping of a body, that reduces its angular
+     * velocity over time. The default is 0.
+     *
+     * @param id The id of the body.
+     * @param angularDamping The angular damping, per second.
+     */
+    public void setAngularDamping( int id, double angularDamping ) {
+        checkBody( id );
+        angularDampings[id] = Math.max( 0, angularDamping );
+    }
+
+    /**
+     * Checks whether a body is awake. Static bodies are never awake.
+     *
+     * @param id The id of the body.
+     * @return True if the body is awake, false otherwise.
+     */
+    public boolean isAwake( int id ) {
+        checkBody( id );
+        return awakes[id];
+    }
+
+    /**
+     * Wakes a sleeping dynamic body and the other bodies of its island.
+     *
+     * @param id The id of the body.
+     */
+    public void wakeBody( int id ) {
+        checkBody( id );
+        wake( id );
+    }
+
+    /**
+     * Sets the gravity, applied to all dynamic bodies.
+     *
+     * @param gravityX The x component of the gravity, per second squared.
+     * @param gravityY The y component of the gravity, per second squared.
+     */
+    public void setGravity( double gravityX, double gravityY ) {
+        this.gravityX = gravityX;
+        this.gravityY = gravityY;
+    }
+
+    /**
+     * Gets the x component of the gravity.
+     *
+     * @return The x component of the gravity.
+     */
+    public double getGravityX() {
+        return gravityX;
+    }
+
+    /**
+     * Gets the y component of the gravity.
+     *
+     * @return The y component of the gravity.
+     */
+    public double getGravityY() {
+        return gravityY;
+    }
+
+    /**
+     * Sets the fixed time step.
+     *
+     * @param timeStep The time step, in seconds.
+     * @throws IllegalArgumentException If the time step is not positive.
+     */
+    public void setTimeStep( double timeStep ) {
+        if ( !( timeStep > 0 ) ) {
+            throw new IllegalArgumentException( "the time step must be positive" );
+        }
+        this.timeStep = timeStep;
+    }
+
+    /**
+     * Gets the fixed time step.
+     *
+     * @return The time step, in seconds.
+     */
+    public double getTimeStep() {
+        return timeStep;
+    }
+
+    /**
+     * Sets the number of velocity iterations of the solver. More
+     * iterations make stacks more stable and cost more.
+     *
+     * @param velocityIterations The number of iterations.
+     */
+    public void setVelocityIterations( int velocityIterations ) {
+        this.velocityIterations = Math.max( 1, velocityIterations );
+    }
+
+    /**
+     * Gets the number of velocity iterations of the solver.
+     *
+     * @return The number of iterations.
+     */
+    public int getVelocityIterations() {
+        return velocityIterations;
+    }
+
+    /**
+     * Enables or disables sleeping. Disabling it wakes all bodies.
+     *
+     * @param sleepingEnabled True to enable sleeping.
+     */
+    public void setSleepingEnabled( boolean sleepingEnabled ) {
+        this.sleepingEnabled = sleepingEnabled;
+        if ( !sleepingEnabled ) {
+            for ( int id = 0; id < idCount; id++ ) {
+                if ( used[id] ) {
+                    wake( id );
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether sleeping is enabled.
+     *
+     * @return True if sleeping is enabled, false otherwise.
+     */
+    public boolean isSleepingEnabled() {
+        return sleepingEnabled;
+    }
+
+    /**
+     * Replaces the broad-phase, moving all bodies to it.
+     *
+     * @param broadPhase The new broad-phase.
+     */
+    public void setBroadPhase( BroadPhase broadPhase ) {
+        for ( int id = 0; id < idCount; id++ ) {
+            if ( used[id] ) {
+                this.broadPhase.remove( aabbs[id] );
+                broadPhase.add( aabbs[id] );
+            }
+        }
+        this.broadPhase = broadPhase;
+    }
+
+    /**
+     * Gets the broad-phase.
+     *
+     * @return The broad-phase.
+     */
+    public BroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    /**
+     * Enables or disables solving the islands in parallel. It only pays
+     * off with many independent islands, so it is disabled by default and
+     * the steps with less contact points than the parallelism threshold
+     * are solved sequentially anyway.
+     *
+     * @param parallelIslandSolving True to solve the islands in parallel.
+     */
+    public void setParallelIslandSolving( boolean parallelIslandSolving ) {
+        this.parallelIslandSolving = parallelIslandSolving;
+    }
+
+    /**
+     * Checks whether the islands are solved in parallel.
+     *
+     * @return True if the islands are solved in parallel, false otherwise.
+     */
+    public boolean isParallelIslandSolving() {
+        return parallelIslandSolving;
+    }
+
+    /**
+     * Sets the minimum number of contact points of a step for its islands
+     * to be solved in parallel.
+     *
+     * @param points The threshold, in contact points.
+     */
+    public void setParallelismThreshold( int points ) {
+        parallelismThreshold = Math.max( 1, points );
+    }
+
+    /**
+     * Gets the minimum number of contact points of a step for its islands
+     * to be solved in parallel.
+     *
+     * @return The threshold, in contact points.
+     */
+    public int getParallelismThreshold() {
+        return parallelismThreshold;
+    }
+
+    /**
+     * Sets the pool used to solve the islands in parallel.
+     *
+     * @param pool The pool or null to use the common pool.
+     */
+    public void setPool( ForkJoinPool pool ) {
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the contact points of the pairs found by the broad-phase. The
+     * pairs are sorted by their keys first, so the order of the points, and
+     * therefore the result of the solver, does not depend on the order in
+     * which the broad-phase reports them.
+     */
+    private void collide() {
+
+        points.clear();
+
+        int contactCount = 0;
+        int pairCount = pairs.size();
+
+        if ( pairKeys.length < pairCount ) {
+            pairKeys = new long[pairCount * 2];
+        }
+
+        // the smaller id is always body a, so the key is unique
+        for ( int p = 0; p < pairCount; p++ ) {
+            int a = (Integer) pairs.getFirst( p ).referencedObject;
+            int b = (Integer) pairs.getSecond( p ).referencedObject;
+            pairKeys[p] = ( (long) Math.min( a, b ) << 32 ) | Math.max( a, b );
+        }
+
+        Arrays.sort( pairKeys, 0, pairCount );
+
+        for ( int p = 0; p < pairCount; p++ ) {
+
+            long key = pairKeys[p];
+            int a = (int) ( key >>> 32 );
+            int b = (int) key;
+
+            if ( types[a] != BodyType.DYNAMIC && types[b] != BodyType.DYNAMIC ) {
+                continue;
+            }
+
+            if ( !isMoving( a ) && !isMoving( b ) ) {
+                continue;
+            }
+
+            if ( !CollisionUtils.checkCollisionConvexShapes( shapes[a], shapes[b], manifold, CONTACT_MARGIN ) ) {
+                continue;
+            }
+
+            if ( !awakes[a] ) {
+                wake( a );
+            }
+
+            if ( !awakes[b] ) {
+                wake( b );
+            }
+
+            int previous = previousPoints.find( key );
+            double friction = Math.sqrt( frictions[a] * frictions[b] );
+            double restitution = Math.max( restitutions[a], restitutions[b] );
+
+            for ( int k = 0; k < manifold.pointCount; k++ ) {
+
+                double x = manifold.pointX[k];
+                double y = manifold.pointY[k];
+                int i = points.add( a, b, key, x, y, manifold.normalX, manifold.normalY, manifold.pointDepth[k] );
+                points.frictions[i] = friction;
+                points.restitutions[i] = restitution;
+
+                if ( previous >= 0 ) {
+                    warmStart( i, previous, key, x, y );
+                }
+
+            }
+
+            contactCount++;
+
+        }
+
+        stats.contactCount = contactCount;
+
+    }
+
+    /**
+     * Copies the impulses of the nearest point of the same pair in the
+     * last step.
+     */
+    private void warmStart( int point, int previous, long key, double x, double y ) {
+
+        double bestDistance = WARM_START_DISTANCE * WARM_START_DISTANCE;
+        int best = -1;
+
+        for ( int i = previous; i < previousPoints.count && previousPoints.keys[i] == key; i++ ) {
+            double dx = previousPoints.xs[i] - x;
+            double dy = previousPoints.ys[i] - y;
+            double distance = dx * dx + dy * dy;
+            if ( distance <= bestDistance ) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+
+        if ( best >= 0 ) {
+            points.normalImpulses[point] = previousPoints.normalImpulses[best];
+            points.tangentImpulses[point] = previousPoints.tangentImpulses[best];
+        }
+
+    }
+
+
+    /**
+     * Groups the awake dynamic bodies that touch each other in islands and
+     * sorts the bodies and the points by island.
+     */
+    private void buildIslands() {
+
+        for ( int id = 0; id < idCount; id++ ) {
+            islandParents[id] = id;
+        }
+
+        for ( int i = 0; i < points.count; i++ ) {
+            int a = points.bodyAs[i];
+            int b = points.bodyBs[i];
+            if ( types[a] == BodyType.DYNAMIC && types[b] == BodyType.DYNAMIC ) {
+                int rootA = findIsland( a );
+                int rootB = findIsland( b );
+                if ( rootA != rootB ) {
+                    islandParents[rootA] = rootB;
+                }
+            }
+        }
+
+        // numbers the islands by their roots
+        islandCount = 0;
+
+        for ( int id = 0; id < idCount; id++ ) {
+            if ( isAwakeDynamic( id ) && findIsland( id ) == id ) {
+                bodyIslands[id] = islandCount++;
+            }
+        }
+
+        if ( islandBodyStarts.length < islandCount + 1 ) {
+            islandBodyStarts = new int[( islandCount + 1 ) * 2];
+            islandPointStarts = new int[( islandCount + 1 ) * 2];
+            islandCursors = new int[( islandCount + 1 ) * 2];
+        }
+
+        Arrays.fill( islandBodyStarts, 0, islandCount + 1, 0 );
+        Arrays.fill( islandPointStarts, 0, islandCount + 1, 0 );
+
+        // counting sort of the bodies by island
+        for ( int id = 0; id < idCount; id++ ) {
+            if ( isAwakeDynamic( id ) ) {
+                int island = bodyIslands[findIsland( id )];
+                bodyIslands[id] = island;
+                islandBodyStarts[island + 1]++;
+            }
+        }
+
+        for ( int i = 0; i < islandCount; i++ ) {
+            islandBodyStarts[i + 1] += islandBodyStarts[i];
+        }
+
+        if ( islandBodies.length < islandBodyStarts[islandCount] ) {
+            islandBodies = new int[islandBodyStarts[islandCount] * 2];
+        }
+
+        System.arraycopy( islandBodyStarts, 0, islandCursors, 0, islandCount );
+
+        for ( int id = 0; id < idCount; id++ ) {
+            if ( isAwakeDynamic( id ) ) {
+                islandBodies[islandCursors[bodyIslands[id]]++] = id;
+            }
+        }
+
+        // counting sort of the points by island
+        if ( pointIslands.length < points.count ) {
+            pointIslands = new int[points.count * 2];
+            islandPoints = new int[points.count * 2];
+        }
+
+        for ( int i = 0; i < points.count; i++ ) {
+            int a = points.bodyAs[i];
+            int island = bodyIslands[types[a] == BodyType.DYNAMIC ? a : points.bodyBs[i]];
+            pointIslands[i] = island;
+            islandPointStarts[island + 1]++;
+        }
+
+        for ( int i = 0; i < islandCount; i++ ) {
+            islandPointStarts[i + 1] += islandPointStarts[i];
+        }
+
+        System.arraycopy( islandPointStarts, 0, islandCursors, 0, islandCount );
+
+        for ( int i = 0; i < points.count; i++ ) {
+            islandPoints[islandCursors[pointIslands[i]]++] = i;
+        }
+
+    }
+
+    /**
+     * Finds the root of the island of a body, with path halving.
+     */
+    private int findIsland( int id ) {
+        while ( islandParents[id] != id ) {
+            islandParents[id] = islandParents[islandParents[id]];
+            id = islandParents[id];
+        }
+        return id;
+    }
+
+    /**
+     * Solves all islands, in parallel if there are enough contact points.
+     */
+    private void solveIslands( double dt ) {
+
+        if ( parallelIslandSolving && islandCount > 1 && points.count >= parallelismThreshold ) {
+            ForkJoinPool p = pool == null ? ForkJoinPool.commonPool() : pool;
+            if ( p.getParallelism() > 1 ) {
+                p.invoke( new IslandAction( dt, 0, islandCount ) );
+                return;
+            }
+        }
+
+        for ( int island = 0; island < islandCount; island++ ) {
+            solveIsland( island, dt );
+        }
+
+    }
+
+    /**
+     * Integrates the velocities, solves the contacts and integrates the
+     * positions of the bodies of an island, putting it to sleep if all
+     * its bodies are still. Only writes the data of the bodies of the
+     * island, so different islands can be solved at the same time.
+     */
+    private void solveIsland( int island, double dt ) {
+
+        int bodyStart = islandBodyStarts[island];
+        int bodyEnd = islandBodyStarts[island + 1];
+        int pointStart = islandPointStarts[island];
+        int pointEnd = islandPointStarts[island + 1];
+        ContactPoints c = points;
+
+        for ( int k = bodyStart; k < bodyEnd; k++ ) {
+
+            int id = islandBodies[k];
+            double invMass = invMasses[id];
+            double linearDamping = 1 / ( 1 + dt * linearDampings[id] );
+
+            velocityXs[id] = ( velocityXs[id] + dt * ( gravityX + forceXs[id] * invMass ) ) * linearDamping;
+            velocityYs[id] = ( velocityYs[id] + dt * ( gravityY + forceYs[id] * invMass ) ) * linearDamping;
+            angularVelocities[id] = ( angularVelocities[id] + dt * torques[id] * invInertias[id] ) / ( 1 + dt * angularDampings[id] );
+
+            forceXs[id] = 0;
+            forceYs[id] = 0;
+            torques[id] = 0;
+
+        }
+
+        // prepares the points and applies the impulses of the last step
+        for ( int k = pointStart; k < pointEnd; k++ ) {
+
+            int i = islandPoints[k];
+            int a = c.bodyAs[i];
+            int b = c.bodyBs[i];
+            double nx = c.normalXs[i];
+            double ny = c.normalYs[i];
+            double tx = ny;
+            double ty = -nx;
+
+            double rAx = c.xs[i] - xs[a];
+            double rAy = c.ys[i] - ys[a];
+            double rBx = c.xs[i] - xs[b];
+            double rBy = c.ys[i] - ys[b];
+            c.rAxs[i] = rAx;
+            c.rAys[i] = rAy;
+            c.rBxs[i] = rBx;
+            c.rBys[i] = rBy;
+
+            double rnA = rAx * ny - rAy * nx;
+            double rnB = rBx * ny - rBy * nx;
+            double kNormal = invMasses[a] + invMasses[b] + invInertias[a] * rnA * rnA + invInertias[b] * rnB * rnB;
+            c.normalMasses[i] = kNormal > 0 ? 1 / kNormal : 0;
+
+            double rtA = rAx * ty - rAy * tx;
+            double rtB = rBx * ty - rBy * tx;
+            double kTangent = invMasses[a] + invMasses[b] + invInertias[a] * rtA * rtA + invInertias[b] * rtB * rtB;
+            c.tangentMasses[i] = kTangent > 0 ? 1 / kTangent : 0;
+
+            double dvx = velocityXs[b] - angularVelocities[b] * rBy - velocityXs[a] + angularVelocities[a] * rAy;
+            double dvy = velocityYs[b] + angularVelocities[b] * rBx - velocityYs[a] - angularVelocities[a] * rAx;
+            double vn = dvx * nx + dvy * ny;
+
+            // speculative points let the bodies close the gap, but not more
+            double depth = c.depths[i];
+            double relaxBias = depth < 0 ? depth / dt : 0;
+            if ( vn < -RESTITUTION_THRESHOLD && vn * dt <= depth ) {
+                relaxBias = Math.max( relaxBias, -c.restitutions[i] * vn );
+            }
+            c.relaxBiases[i] = relaxBias;
+            c.biases[i] = depth < 0 ? relaxBias : Math.max( relaxBias, BAUMGARTE / dt * Math.max( 0, depth - LINEAR_SLOP ) );
+
+            applyImpulse( a, b, rAx, rAy, rBx, rBy,
+                c.normalImpulses[i] * nx + c.tangentImpulses[i] * tx,
+                c.normalImpulses[i] * ny + c.tangentImpulses[i] * ty );
+
+        }
+
+        for ( int iteration = 0; iteration < velocityIterations; iteration++ ) {
+            solvePoints( pointStart, pointEnd, c.biases );
+        }
+
+        double minSleepTime = Double.MAX_VALUE;
+
+        for ( int k = bodyStart; k < bodyEnd; k++ ) {
+
+            int id = islandBodies[k];
+            double vx = velocityXs[id];
+            double vy = velocityYs[id];
+            double w = angularVelocities[id];
+
+            xs[id] += vx * dt;
+            ys[id] += vy * dt;
+            angles[id] += w * dt;
+
+        }
+
+        // removes the velocity added by the position correction
+        for ( int iteration = 0; iteration < RELAX_ITERATIONS; iteration++ ) {
+            solvePoints( pointStart, pointEnd, c.relaxBiases );
+        }
+
+        for ( int k = bodyStart; k < bodyEnd; k++ ) {
+
+            int id = islandBodies[k];
+            double vx = velocityXs[id];
+            double vy = velocityYs[id];
+            double w = angularVelocities[id];
+
+            if ( vx * vx + vy * vy > LINEAR_SLEEP_TOLERANCE * LINEAR_SLEEP_TOLERANCE ||
+                 w * w > ANGULAR_SLEEP_TOLERANCE * ANGULAR_SLEEP_TOLERANCE ) {
+                sleepTimes[id] = 0;
+            } else {
+                sleepTimes[id] += dt;
+            }
+
+            minSleepTime = Math.min( minSleepTime, sleepTimes[id] );
+
+        }
+
+        // links the bodies in a circular list, to wake them together
+        if ( sleepingEnabled && minSleepTime >= TIME_TO_SLEEP ) {
+            for ( int k = bodyStart; k < bodyEnd; k++ ) {
+                int id = islandBodies[k];
+                awakes[id] = false;
+                velocityXs[id] = 0;
+                velocityYs[id] = 0;
+                angularVelocities[id] = 0;
+                aabbs[id].type = AABB.Type.STATIC;
+                sleepNexts[id] = islandBodies[k + 1 < bodyEnd ? k + 1 : bodyStart];
+            }
+        }
+
+    }
+
+    /**
+     * Runs one iteration of the sequential impulses over the points of an
+     * island, using the given target velocities along the normals.
+     */
+    private void solvePoints( int pointStart, int pointEnd, double[] biases ) {
+
+        ContactPoints c = points;
+
+        for ( int k = pointStart; k < pointEnd; k++ ) {
+
+            int i = islandPoints[k];
+            int a = c.bodyAs[i];
+            int b = c.bodyBs[i];
+            double nx = c.normalXs[i];
+            double ny = c.normalYs[i];
+            double tx = ny;
+            double ty = -nx;
+            double rAx = c.rAxs[i];
+            double rAy = c.rAys[i];
+            double rBx = c.rBxs[i];
+            double rBy = c.rBys[i];
+
+            // friction, limited by the normal impulse
+            double dvx = velocityXs[b] - angularVelocities[b] * rBy - velocityXs[a] + angularVelocities[a] * rAy;
+            double dvy = velocityYs[b] + angularVelocities[b] * rBx - velocityYs[a] - angularVelocities[a] * rAx;
+
+            double maxFriction = c.frictions[i] * c.normalImpulses[i];
+            double tangentImpulse = c.tangentImpulses[i] - c.tangentMasses[i] * ( dvx * tx + dvy * ty );
+            tangentImpulse = Math.max( -maxFriction, Math.min( tangentImpulse, maxFriction ) );
+            double lambda = tangentImpulse - c.tangentImpulses[i];
+            c.tangentImpulses[i] = tangentImpulse;
+
+            applyImpulse( a, b, rAx, rAy, rBx, rBy, lambda * tx, lambda * ty );
+
+            // normal, only pushing
+            dvx = velocityXs[b] - angularVelocities[b] * rBy - velocityXs[a] + angularVelocities[a] * rAy;
+            dvy = velocityYs[b] + angularVelocities[b] * rBx - velocityYs[a] - angularVelocities[a] * rAx;
+
+            double normalImpulse = Math.max( 0, c.normalImpulses[i] + c.normalMasses[i] * ( biases[i] - ( dvx * nx + dvy * ny ) ) );
+            lambda = normalImpulse - c.normalImpulses[i];
+            c.normalImpulses[i] = normalImpulse;
+
+            applyImpulse( a, b, rAx, rAy, rBx, rBy, lambda * nx, lambda * ny );
+
+        }
+
+    }
+
+    /**
+     * Applies an impulse to body b and its opposite to body a, at the
+     * given offsets from their centers.
+     */
+    private void applyImpulse( int a, int b, double rAx, double rAy, double rBx, double rBy, double px, double py ) {
+
+        double invMassA = invMasses[a];
+        if ( invMassA > 0 ) {
+            velocityXs[a] -= px * invMassA;
+            velocityYs[a] -= py * invMassA;
+            angularVelocities[a] -= invInertias[a] * ( rAx * py - rAy * px );
+        }
+
+        double invMassB = invMasses[b];
+        if ( invMassB > 0 ) {
+            velocityXs[b] += px * invMassB;
+            velocityYs[b] += py * invMassB;
+            angularVelocities[b] += invInertias[b] * ( rBx * py - rBy * px );
+        }
+
+    }
+
+    /**
+     * Moves the kinematic bodies that have velocity.
+     */
+    private void moveKinematics( double dt ) {
+
+        movedKinematicCount = 0;
+
+        for ( int id = 0; id < idCount; id++ ) {
+            if ( types[id] == BodyType.KINEMATIC && isMoving( id ) ) {
+                xs[id] += velocityXs[id] * dt;
+                ys[id] += velocityYs[id] * dt;
+                angles[id] += angularVelocities[id] * dt;
+                movedKinematics[movedKinematicCount++] = id;
+            }
+        }
+
+    }
+
+    /**
+     * Updates the shapes and the AABBs of the bodies that moved in the
+     * step. It is sequential, since the broad-phase is not thread-safe.
+     */
+    private void synchronize() {
+
+        int count = islandBodyStarts[islandCount];
+
+        for ( int k = 0; k < count; k++ ) {
+            synchronize( islandBodies[k] );
+        }
+
+        for ( int k = 0; k < movedKinematicCount; k++ ) {
+            synchronize( movedKinematics[k] );
+        }
+
+    }
+
+    private void synchronize( int id ) {
+        shapes[id].setTransform( xs[id], ys[id], Math.toDegrees( angles[id] ) );
+        shapes[id].updateAABB( aabbs[id], CONTACT_MARGIN / 2 );
+    }
+
+    /**
+     * Wakes a sleeping body and the other bodies of its island.
+     */
+    private void wake( int id ) {
+
+        if ( types[id] != BodyType.DYNAMIC || awakes[id] ) {
+            return;
+        }
+
+        int current = id;
+
+        do {
+            int next = sleepNexts[current];
+            awakes[current] = true;
+            sleepTimes[current] = 0;
+            aabbs[current].type = AABB.Type.DYNAMIC;
+            sleepNexts[current] = NO_BODY;
+            current = next;
+        } while ( current != NO_BODY && current != id );
+
+        wokeInCollision = true;
+
+    }
+
+    /**
+     * Checks whether a body moves in the step: an awake dynamic body or a
+     * kinematic body with velocity.
+     */
+    private boolean isMoving( int id ) {
+        BodyType type = types[id];
+        if ( type == BodyType.DYNAMIC ) {
+            return awakes[id];
+        }
+        return type == BodyType.KINEMATIC &&
+               ( velocityXs[id] != 0 || velocityYs[id] != 0 || angularVelocities[id] != 0 );
+    }
+
+    private boolean isAwakeDynamic( int id ) {
+        return used[id] && awakes[id] && types[id] == BodyType.DYNAMIC;
+    }
+
+    /**
+     * Computes the mass and the rotational inertia of a dynamic body around
+     * the position of its shape.
+     */
+    private void computeMass( int id, double density ) {
+
+        ConvexShape shape = shapes[id];
+        int count = shape.getVertexCount();
+        double radius = shape.getRadius();
+        double area;
+        double inertia;
+
+        if ( count == 1 ) {
+
+            double dx = shape.getVertexX( 0 ) - shape.getX();
+            double dy = shape.getVertexY( 0 ) - shape.getY();
+            area = Math.PI * radius * radius;
+            inertia = area * ( radius * radius / 2 + dx * dx + dy * dy );
+
+        } else if ( count == 2 ) {
+
+            // a box with two half circles at the ends
+            double x1 = shape.getVertexX( 0 ) - shape.getX();
+            double y1 = shape.getVertexY( 0 ) - shape.getY();
+            double x2 = shape.getVertexX( 1 ) - shape.getX();
+            double y2 = shape.getVertexY( 1 ) - shape.getY();
+            double length = Math.hypot( x2 - x1, y2 - y1 );
+            double mx = ( x1 + x2 ) / 2;
+            double my = ( y1 + y2 ) / 2;
+            double boxArea = 2 * radius * length;
+            double circleArea = Math.PI * radius * radius;
+            area = boxArea + circleArea;
+            inertia = boxArea * ( length * length + 4 * radius * radius ) / 12 +
+                      circleArea * ( radius * radius / 2 + length * length / 4 ) +
+                      area * ( mx * mx + my * my );
+
+        } else {
+
+            double perimeter = 0;
+            area = 0;
+            inertia = 0;
+
+            for ( int i = 0; i < count; i++ ) {
+                int j = ( i + 1 ) % count;
+                double x1 = shape.getVertexX( i ) - shape.getX();
+                double y1 = shape.getVertexY( i ) - shape.getY();
+                double x2 = shape.getVertexX( j ) - shape.getX();
+                double y2 = shape.getVertexY( j ) - shape.getY();
+                double cross = x1 * y2 - x2 * y1;
+                area += cross / 2;
+                inertia += cross * ( x1 * x1 + x1 * x2 + x2 * x2 + y1 * y1 + y1 * y2 + y2 * y2 ) / 12;
+                perimeter += Math.hypot( x2 - x1, y2 - y1 );
+            }
+
+            area = Math.abs( area );
+            inertia = Math.abs( inertia );
+
+            // the rounded border scales the inertia of the core
+            if ( radius > 0 && area > 0 ) {
+                double roundedArea = area + perimeter * radius + Math.PI * radius * radius;
+                inertia *= roundedArea / area;
+                area = roundedArea;
+            }
+
+        }
+
+        if ( !( area > 0 ) ) {
+            throw new IllegalArgumentException( "the shape of a dynamic body must have an area" );
+        }
+
+        masses[id] = density * area;
+        invMasses[id] = 1 / masses[id];
+        inertias[id] = density * inertia;
+        invInertias[id] = inertias[id] > 0 ? 1 / inertias[id] : 0;
+
+    }
+
+    private void release( int id ) {
+
+        used[id] = false;
+        types[id] = null;
+        shapes[id] = null;
+        aabbs[id] = null;
+        awakes[id] = false;
+
+        if ( freeIdCount == freeIds.length ) {
+            freeIds = Arrays.copyOf( freeIds, freeIdCount * 2 );
+        }
+        freeIds[freeIdCount++] = id;
+
+    }
+
+    private void allocateBodies( int capacity ) {
+
+        this.capacity = capacity;
+        used = used == null ? new boolean[capacity] : Arrays.copyOf( used, capacity );
+        types = types == null ? new BodyType[capacity] : Arrays.copyOf( types, capacity );
+        shapes = shapes == null ? new ConvexShape[capacity] : Arrays.copyOf( shapes, capacity );
+        aabbs = aabbs == null ? new AABB[capacity] : Arrays.copyOf( aabbs, capacity );
+        awakes = awakes == null ? new boolean[capacity] : Arrays.copyOf( awakes, capacity );
+        xs = grow( xs, capacity );
+        ys = grow( ys, capacity );
+        angles = grow( angles, capacity );
+        velocityXs = grow( velocityXs, capacity );
+        velocityYs = grow( velocityYs, capacity );
+        angularVelocities = grow( angularVelocities, capacity );
+        forceXs = grow( forceXs, capacity );
+        forceYs = grow( forceYs, capacity );
+        torques = grow( torques, capacity );
+        masses = grow( masses, capacity );
+        invMasses = grow( invMasses, capacity );
+        inertias = grow( inertias, capacity );
+        invInertias = grow( invInertias, capacity );
+        frictions = grow( frictions, capacity );
+        restitutions = grow( restitutions, capacity );
+        linearDampings = grow( linearDampings, capacity );
+        angularDampings = grow( angularDampings, capacity );
+        sleepTimes = grow( sleepTimes, capacity );
+        sleepNexts = grow( sleepNexts, capacity );
+        islandParents = grow( islandParents, capacity );
+        bodyIslands = grow( bodyIslands, capacity );
+        movedKinematics = grow( movedKinematics, capacity );
+
+    }
+
+    private static double[] grow( double[] array, int capacity ) {
+        return array == null ? new double[capacity] : Arrays.copyOf( array, capacity );
+    }
+
+    private static int[] grow( int[] array, int capacity ) {
+        return array == null ? new int[capacity] : Arrays.copyOf( array, capacity );
+    }
+
+    private void checkBody( int id ) {
+        if ( !containsBody( id ) ) {
+            throw new IllegalArgumentException( "there is no body with id " + id );
+        }
+    }
+
+    /**
+     * Solves a range of islands, splitting it in two ranges with about the
+     * same number of bodies and contact points until it is small enough.
+     */
+    @SuppressWarnings( "serial" )
+    private class IslandAction extends RecursiveAction {
+
+        private final double dt;
+        private final int fromIsland;
+        private final int toIsland;
+
+        IslandAction( double dt, int fromIsland, int toIsland ) {
+            this.dt = dt;
+            this.fromIsland = fromIsland;
+            this.toIsland = toIsland;
+        }
+
+        @Override
+        protected void compute() {
+
+            int fromWork = islandPointStarts[fromIsland] + islandBodyStarts[fromIsland];
+            int toWork = islandPointStarts[toIsland] + islandBodyStarts[toIsland];
+
+            if ( toIsland - fromIsland == 1 || toWork - fromWork <= CHUNK_POINTS ) {
+                for ( int island = fromIsland; island < toIsland; island++ ) {
+                    solveIsland( island, dt );
+                }
+                return;
+            }
+
+            // first island whose cumulative work reaches the middle
+            int middleWork = ( fromWork + toWork ) >>> 1;
+            int low = fromIsland + 1;
+            int high = toIsland - 1;
+
+            while ( low < high ) {
+                int middle = ( low + high ) >>> 1;
+                if ( islandPointStarts[middle] + islandBodyStarts[middle] < middleWork ) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            invokeAll( new IslandAction( dt, fromIsland, low ), new IslandAction( dt, low, toIsland ) );
+
+        }
+
+    }
+
+}
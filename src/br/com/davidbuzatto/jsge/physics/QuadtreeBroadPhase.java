@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBPairBuffer;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBQuadtree;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBQuadtreeNode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broad-phase backed by an AABBQuadtree. The pairs are found in the leaves
+ * of the quadtree and, since a pair may share several leaves, each pair is
+ * reported only by the leaf that contains the center of the intersection
+ * of its AABBs.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class QuadtreeBroadPhase implements BroadPhase {
+
+    private final List<AABB> aabbs;
+    private final AABBQuadtree quadtree;
+
+    QuadtreeBroadPhase( int width, int height, int maxDepth ) {
+        aabbs = new ArrayList<>();
+        quadtree = new AABBQuadtree( aabbs, width, height, maxDepth );
+    }
+
+    @Override
+    public void add( AABB aabb ) {
+        aabbs.add( aabb );
+    }
+
+    @Override
+    public void remove( AABB aabb ) {
+        aabbs.remove( aabb );
+    }
+
+    @Override
+    public int findPairs( AABBPairBuffer pairs ) {
+
+        pairs.clear();
+        quadtree.update();
+        findPairs( quadtree.getRoot(), pairs );
+
+        return pairs.size();
+
+    }
+
+    private void findPairs( AABBQuadtreeNode node, AABBPairBuffer pairs ) {
+
+        if ( node == null || node.aabbs.size() < 2 ) {
+            return;
+        }
+
+        if ( node.nw != null ) {
+            findPairs( node.nw, pairs );
+            findPairs( node.ne, pairs );
+            findPairs( node.sw, pairs );
+            findPairs( node.se, pairs );
+            return;
+        }
+
+        List<AABB> leafAABBs = node.aabbs;
+        int size = leafAABBs.size();
+
+        for ( int i = 0; i < size; i++ ) {
+
+            AABB a = leafAABBs.get( i );
+
+            for ( int j = i + 1; j < size; j++ ) {
+
+                AABB b = leafAABBs.get( j );
+
+                if ( ( a.type == AABB.Type.DYNAMIC || b.type == AABB.Type.DYNAMIC ) &&
+                     a.collidesWith( b ) && ownerLeaf( a, b ) == node ) {
+                    pairs.add( a, b );
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Finds the leaf that contains the center of the intersection of two
+     * AABBs, following the same rules used by the quadtree to insert them.
+     */
+    private AABBQuadtreeNode ownerLeaf( AABB a, AABB b ) {
+
+        double x = ( Math.max( a.x1, b.x1 ) + Math.min( a.x2, b.x2 ) ) / 2;
+        double y = ( Math.max( a.y1, b.y1 ) + Math.min( a.y2, b.y2 ) ) / 2;
+        AABBQuadtreeNode node = quadtree.getRoot();
+
+        while ( node.nw != null ) {
+            if ( y < node.yCenter ) {
+                node = x < node.xCenter ? node.nw : node.ne;
+            } else {
+                node = x < node.xCenter ? node.sw : node.se;
+            }
+        }
+
+        return node;
+
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBPairBuffer;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBSpatialHashGrid;
+
+/**
+ * Broad-phase backed by an AABBSpatialHashGrid.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class SpatialHashGridBroadPhase implements BroadPhase {
+
+    private final AABBSpatialHashGrid grid;
+
+    SpatialHashGridBroadPhase( double cellSize ) {
+        grid = new AABBSpatialHashGrid( cellSize );
+    }
+
+    @Override
+    public void add( AABB aabb ) {
+        grid.add( aabb );
+    }
+
+    @Override
+    public void remove( AABB aabb ) {
+        grid.remove( aabb );
+    }
+
+    @Override
+    public int findPairs( AABBPairBuffer pairs ) {
+        grid.update();
+        return grid.findPairs( pairs );
+    }
+
+}
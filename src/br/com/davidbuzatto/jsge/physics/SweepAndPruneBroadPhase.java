@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBPairBuffer;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBSweepAndPrune;
+
+/**
+ * Broad-phase backed by an AABBSweepAndPrune.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class SweepAndPruneBroadPhase implements BroadPhase {
+
+    private final AABBSweepAndPrune sweepAndPrune = new AABBSweepAndPrune();
+
+    @Override
+    public void add( AABB aabb ) {
+        sweepAndPrune.add( aabb );
+    }
+
+    @Override
+    public void remove( AABB aabb ) {
+        sweepAndPrune.remove( aabb );
+    }
+
+    @Override
+    public int findPairs( AABBPairBuffer pairs ) {
+
+        sweepAndPrune.update();
+        AABBPairBuffer found = sweepAndPrune.getPairs();
+
+        pairs.clear();
+        for ( int i = 0; i < found.size(); i++ ) {
+            pairs.add( found.getFirst( i ), found.getSecond( i ) );
+        }
+
+        return pairs.size();
+
+    }
+
+}
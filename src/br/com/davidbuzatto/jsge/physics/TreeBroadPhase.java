@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.physics;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBPairBuffer;
+import br.com.davidbuzatto.jsge.collision.aabb.AABBTree;
+
+/**
+ * Broad-phase backed by an AABBTree.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+final class TreeBroadPhase implements BroadPhase {
+
+    private final AABBTree tree = new AABBTree();
+
+    @Override
+    public void add( AABB aabb ) {
+        tree.add( aabb );
+    }
+
+    @Override
+    public void remove( AABB aabb ) {
+        tree.remove( aabb );
+    }
+
+    @Override
+    public int findPairs( AABBPairBuffer pairs ) {
+        return tree.findPairs( pairs );
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.tests;
+
+import br.com.davidbuzatto.jsge.collision.ConvexShape;
+import br.com.davidbuzatto.jsge.physics.BroadPhase;
+import br.com.davidbuzatto.jsge.physics.PhysicsWorld;
+
+/**
+ * Stacking test of the physics world: a stack of boxes must stand still
+ * and fall asleep with every broad-phase, with the same final positions.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class PhysicsStackingTest {
+
+    private static final int BOX_COUNT = 8;
+    private static final double BOX_SIZE = 40;
+    private static final double GROUND_Y = 1000;
+    private static final int STEP_COUNT = 1200;
+
+    /* maximum distance of a box from its initial position */
+    private static final double MAX_DRIFT = 10;
+
+    /**
+     * Runs the test.
+     * @param args Arguments.
+     */
+    public static void main( String[] args ) {
+
+        String[] names = { "tree", "sweep and prune", "spatial hash grid", "quadtree" };
+        BroadPhase[] broadPhases = {
+            BroadPhase.createTree(),
+            BroadPhase.createSweepAndPrune(),
+            BroadPhase.createSpatialHashGrid( 64 ),
+            BroadPhase.createQuadtree( 4096, 4096, 6 )
+        };
+
+        double[] reference = null;
+        boolean passed = true;
+
+        for ( int i = 0; i < broadPhases.length; i++ ) {
+
+            double[] result = runStack( broadPhases[i] );
+            String error = check( result, reference );
+
+            if ( error == null ) {
+                System.out.printf( "%s: ok%n", names[i] );
+            } else {
+                System.out.printf( "%s: FAILED, %s%n", names[i], error );
+                passed = false;
+            }
+
+            if ( reference == null ) {
+                reference = result;
+            }
+
+        }
+
+        if ( !passed ) {
+            System.exit( 1 );
+        }
+
+    }
+
+    /**
+     * Simulates the stack and returns the positions of the boxes, followed
+     * by the number of awake boxes.
+     */
+    private static double[] runStack( BroadPhase broadPhase ) {
+
+        PhysicsWorld world = new PhysicsWorld( broadPhase );
+        world.setGravity( 0, 980 );
+        world.addBody( ConvexShape.createBox( 400, GROUND_Y, 800, 40, 0 ), PhysicsWorld.BodyType.STATIC );
+
+        int[] boxes = new int[BOX_COUNT];
+        for ( int i = 0; i < BOX_COUNT; i++ ) {
+            boxes[i] = world.addBody( ConvexShape.createBox( 400, initialY( i ), BOX_SIZE, BOX_SIZE, 0 ), PhysicsWorld.BodyType.DYNAMIC );
+        }
+
+        for ( int i = 0; i < STEP_COUNT; i++ ) {
+            world.step();
+        }
+
+        double[] result = new double[BOX_COUNT * 2 + 1];
+        for ( int i = 0; i < BOX_COUNT; i++ ) {
+            result[i * 2] = world.getX( boxes[i] );
+            result[i * 2 + 1] = world.getY( boxes[i] );
+            if ( world.isAwake( boxes[i] ) ) {
+                result[BOX_COUNT * 2]++;
+            }
+        }
+
+        return result;
+
+    }
+
+    /**
+     * Checks the result of a stack, returning the error or null.
+     */
+    private static String check( double[] result, double[] reference ) {
+
+        for ( int i = 0; i < BOX_COUNT; i++ ) {
+            double drift = Math.hypot( result[i * 2] - 400, result[i * 2 + 1] - initialY( i ) );
+            if ( drift > MAX_DRIFT ) {
+                return String.format( "box %d drifted %.2f", i, drift );
+            }
+        }
+
+        if ( result[BOX_COUNT * 2] != 0 ) {
+            return String.format( "%d boxes still awake", (int) result[BOX_COUNT * 2] );
+        }
+
+        if ( reference != null ) {
+            for ( int i = 0; i < result.length; i++ ) {
+                if ( result[i] != reference[i] ) {
+                    return "result differs from the first broad-phase";
+                }
+            }
+        }
+
+        return null;
+
+    }
+
+    private static double initialY( int box ) {
+        return GROUND_Y - 20 - BOX_SIZE / 2 - box * ( BOX_SIZE + 1 );
+    }
+
+}
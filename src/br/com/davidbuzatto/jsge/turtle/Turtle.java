@@ -130,8 +130,8 @@ public class Turtle {
      */
     public void forward( double distance ) {
         addStep(
-            currentStep.x() + distance * Math.cos(currentStep.angle() * MathUtils.DEG2RAD ),
-            currentStep.y() + distance * Math.sin(currentStep.angle() * MathUtils.DEG2RAD ),
+            currentStep.x() + distance * MathUtils.cos( currentStep.angle() * MathUtils.DEG2RAD ),
+            currentStep.y() + distance * MathUtils.sin( currentStep.angle() * MathUtils.DEG2RAD ),
             currentStep.angle(),
             currentStep.paint(),
             currentStep.stroke(),
@@ -147,8 +147,8 @@ public class Turtle {
      */
     public void backward( double distance ) {
         addStep(
-            currentStep.x() - distance * Math.cos(currentStep.angle() * MathUtils.DEG2RAD ),
-            currentStep.y() - distance * Math.sin(currentStep.angle() * MathUtils.DEG2RAD ),
+            currentStep.x() - distance * MathUtils.cos( currentStep.angle() * MathUtils.DEG2RAD ),
+            currentStep.y() - distance * MathUtils.sin( currentStep.angle() * MathUtils.DEG2RAD ),
             currentStep.angle(),
             currentStep.paint(),
             currentStep.stroke(),